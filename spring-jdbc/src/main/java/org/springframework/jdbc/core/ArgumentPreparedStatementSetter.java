@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,6 +18,7 @@ package org.springframework.jdbc.core;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.Map;
 
 import org.springframework.lang.Nullable;
 
@@ -32,6 +33,9 @@ public class ArgumentPreparedStatementSetter implements PreparedStatementSetter,
 	@Nullable
 	private final Object[] args;
 
+	@Nullable
+	private Map<Integer, Integer> nullTypeCache;
+
 
 	/**
 	 * Create a new ArgPreparedStatementSetter for the given arguments.
@@ -41,6 +45,27 @@ public class ArgumentPreparedStatementSetter implements PreparedStatementSetter,
 		this.args = args;
 	}
 
+	/**
+	 * Return the arguments to set, if any.
+	 * @since 5.3
+	 */
+	@Nullable
+	Object[] getArgs() {
+		return this.args;
+	}
+
+	/**
+	 * Set a cache for the SQL types resolved for {@code null} arguments,
+	 * typically shared by all setters for the same SQL statement.
+	 * @param nullTypeCache the cache of SQL types per parameter index
+	 * (needs to be thread-safe if shared), or {@code null} for none
+	 * @since 5.3
+	 * @see StatementCreatorUtils#setParameterValue(PreparedStatement, int, int, String, Object, Map)
+	 */
+	public void setNullTypeCache(@Nullable Map<Integer, Integer> nullTypeCache) {
+		this.nullTypeCache = nullTypeCache;
+	}
+
 
 	@Override
 	public void setValues(PreparedStatement ps) throws SQLException {
@@ -66,7 +91,8 @@ public class ArgumentPreparedStatementSetter implements PreparedStatementSetter,
 			StatementCreatorUtils.setParameterValue(ps, parameterPosition, paramValue, paramValue.getValue());
 		}
 		else {
-			StatementCreatorUtils.setParameterValue(ps, parameterPosition, SqlTypeValue.TYPE_UNKNOWN, argValue);
+			StatementCreatorUtils.setParameterValue(
+					ps, parameterPosition, SqlTypeValue.TYPE_UNKNOWN, null, argValue, this.nullTypeCache);
 		}
 	}
 
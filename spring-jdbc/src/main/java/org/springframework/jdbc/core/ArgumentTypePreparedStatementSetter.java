@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -54,6 +54,24 @@ public class ArgumentTypePreparedStatementSetter implements PreparedStatementSet
 		this.argTypes = argTypes;
 	}
 
+	/**
+	 * Return the arguments to set, if any.
+	 * @since 5.3
+	 */
+	@Nullable
+	Object[] getArgs() {
+		return this.args;
+	}
+
+	/**
+	 * Return the SQL types of the arguments, if any.
+	 * @since 5.3
+	 */
+	@Nullable
+	int[] getArgTypes() {
+		return this.argTypes;
+	}
+
 
 	@Override
 	public void setValues(PreparedStatement ps) throws SQLException {
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+import org.springframework.dao.DataAccessException;
+
+/**
+ * Callback interface for the outcome of each chunk of a chunked batch update,
+ * as executed by {@link JdbcTemplate#batchUpdate(String, java.util.Iterator,
+ * BatchChunkSettings, ParameterizedPreparedStatementSetter)}.
+ *
+ * <p>Callbacks for a given batch update are never invoked concurrently, even
+ * if its chunks are executed in parallel; they may however be invoked from
+ * a different thread than the one that started the batch update.
+ *
+ * @author agent
+ * @since 5.3
+ * @see BatchChunkSettings#setChunkCallback
+ */
+@FunctionalInterface
+public interface BatchChunkCallback {
+
+	/**
+	 * Called after a chunk has been executed successfully.
+	 * @param chunkIndex the index of the chunk, starting at 0
+	 * @param offset the index of the first batch argument in the chunk
+	 * @param rowsAffected the numbers of rows affected by each update in the chunk
+	 * (may also contain special JDBC-defined negative values for affected rows such as
+	 * {@link java.sql.Statement#SUCCESS_NO_INFO}/{@link java.sql.Statement#EXECUTE_FAILED})
+	 */
+	void chunkCompleted(int chunkIndex, long offset, int[] rowsAffected);
+
+	/**
+	 * Called when the execution of a chunk failed.
+	 * <p>The default implementation rethrows the given exception, aborting
+	 * the batch update. Implementations may record the failure and return
+	 * normally instead, in which case the batch update continues with the
+	 * next chunk. Note that a failed chunk may end at the batch argument
+	 * that caused the failure, in which case the next chunk starts right
+	 * after that argument.
+	 * @param chunkIndex the index of the chunk, starting at 0
+	 * @param offset the index of the first batch argument in the chunk
+	 * @param ex the exception that the chunk failed with
+	 * @throws DataAccessException to abort the batch update
+	 */
+	default void chunkFailed(int chunkIndex, long offset, DataAccessException ex) throws DataAccessException {
+		throw ex;
+	}
+
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+import java.util.Collection;
+import java.util.concurrent.Executor;
+import java.util.function.ToLongFunction;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Settings for a chunked batch update, as executed by
+ * {@link JdbcTemplate#batchUpdate(String, java.util.Iterator, BatchChunkSettings,
+ * ParameterizedPreparedStatementSetter)}.
+ *
+ * <p>Batch arguments are consumed lazily and sent to the database in chunks
+ * of at most {@link #setMaxRows maxRows} rows, a chunk also being closed as
+ * soon as the estimated size of its batch arguments reaches
+ * {@link #setMaxBytes maxBytes}. Only a single chunk is held in memory at any
+ * time, or {@link #setConcurrency concurrency} chunks when executing chunks in
+ * parallel.
+ *
+ * <p>Parallel execution requires an {@link #setExecutor Executor} and only
+ * applies when no transaction or connection is bound to the current thread,
+ * each chunk then running on its own connection from the {@code DataSource}.
+ * Otherwise, chunks are executed one after another on the current connection.
+ *
+ * @author agent
+ * @since 5.3
+ * @see BatchChunkCallback
+ */
+public class BatchChunkSettings {
+
+	private final int maxRows;
+
+	private long maxBytes = Long.MAX_VALUE;
+
+	private ToLongFunction<Object> sizeEstimator = BatchChunkSettings::estimateSize;
+
+	private int concurrency = 1;
+
+	@Nullable
+	private Executor executor;
+
+	@Nullable
+	private BatchChunkCallback chunkCallback;
+
+
+	/**
+	 * Create new settings for chunks of the given maximum number of rows.
+	 * @param maxRows the maximum number of rows per chunk
+	 */
+	public BatchChunkSettings(int maxRows) {
+		Assert.isTrue(maxRows > 0, "maxRows must be greater than 0");
+		this.maxRows = maxRows;
+	}
+
+
+	/**
+	 * Return the maximum number of rows per chunk.
+	 */
+	public int getMaxRows() {
+		return this.maxRows;
+	}
+
+	/**
+	 * Set the estimated number of bytes after which a chunk is closed,
+	 * even if it has not reached the maximum number of rows yet.
+	 * <p>Default is unlimited.
+	 * @see #setSizeEstimator
+	 */
+	public void setMaxBytes(long maxBytes) {
+		Assert.isTrue(maxBytes > 0, "maxBytes must be greater than 0");
+		this.maxBytes = maxBytes;
+	}
+
+	/**
+	 * Return the estimated number of bytes after which a chunk is closed.
+	 */
+	public long getMaxBytes() {
+		return this.maxBytes;
+	}
+
+	/**
+	 * Set the function to estimate the size of a batch argument in bytes.
+	 * <p>The default estimator handles Object arrays and collections of values,
+	 * counting two bytes per character of a {@code CharSequence}, the length
+	 * of a byte array, and eight bytes for any other value.
+	 */
+	public void setSizeEstimator(ToLongFunction<Object> sizeEstimator) {
+		Assert.notNull(sizeEstimator, "ToLongFunction must not be null");
+		this.sizeEstimator = sizeEstimator;
+	}
+
+	/**
+	 * Return the function to estimate the size of a batch argument in bytes.
+	 */
+	public ToLongFunction<Object> getSizeEstimator() {
+		return this.sizeEstimator;
+	}
+
+	/**
+	 * Set the maximum number of chunks to execute in parallel, each on its
+	 * own connection. Requires an {@link #setExecutor Executor}.
+	 * <p>Default is 1, executing chunks one after another.
+	 */
+	public void setConcurrency(int concurrency) {
+		Assert.isTrue(concurrency > 0, "concurrency must be greater than 0");
+		this.concurrency = concurrency;
+	}
+
+	/**
+	 * Return the maximum number of chunks to execute in parallel.
+	 */
+	public int getConcurrency() {
+		return this.concurrency;
+	}
+
+	/**
+	 * Set the Executor to run chunks on when executing them in parallel.
+	 * @see #setConcurrency
+	 */
+	public void setExecutor(@Nullable Executor executor) {
+		this.executor = executor;
+	}
+
+	/**
+	 * Return the Executor to run chunks on, if any.
+	 */
+	@Nullable
+	public Executor getExecutor() {
+		return this.executor;
+	}
+
+	/**
+	 * Set a callback to be notified of the outcome of each chunk.
+	 * <p>By default, the first failing chunk aborts the batch update.
+	 */
+	public void setChunkCallback(@Nullable BatchChunkCallback chunkCallback) {
+		this.chunkCallback = chunkCallback;
+	}
+
+	/**
+	 * Return the callback to be notified of the outcome of each chunk, if any.
+	 */
+	@Nullable
+	public BatchChunkCallback getChunkCallback() {
+		return this.chunkCallback;
+	}
+
+
+	private static long estimateSize(@Nullable Object value) {
+		if (value instanceof SqlParameterValue) {
+			return estimateSize(((SqlParameterValue) value).getValue());
+		}
+		else if (value instanceof CharSequence) {
+			return 2L * ((CharSequence) value).length();
+		}
+		else if (value instanceof byte[]) {
+			return ((byte[]) value).length;
+		}
+		else if (value instanceof Object[]) {
+			long size = 0;
+			for (Object element : (Object[]) value) {
+				size += estimateSize(element);
+			}
+			return size;
+		}
+		else if (value instanceof Collection) {
+			long size = 0;
+			for (Object element : (Collection<?>) value) {
+				size += estimateSize(element);
+			}
+			return size;
+		}
+		else {
+			return 8;
+		}
+	}
+
+}
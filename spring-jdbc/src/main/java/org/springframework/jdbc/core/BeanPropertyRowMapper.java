@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,7 +16,14 @@
 
 package org.springframework.jdbc.core;
 
+import java.beans.PropertyChangeEvent;
 import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
@@ -31,6 +38,7 @@ import org.apache.commons.logging.LogFactory;
 
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.MethodInvocationException;
 import org.springframework.beans.NotWritablePropertyException;
 import org.springframework.beans.PropertyAccessorFactory;
 import org.springframework.beans.TypeMismatchException;
@@ -42,6 +50,8 @@ import org.springframework.jdbc.support.JdbcUtils;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ReflectionUtils;
 import org.springframework.util.StringUtils;
 
 /**
@@ -102,6 +112,21 @@ public class BeanPropertyRowMapper<T> implements RowMapper<T> {
 	@Nullable
 	private Set<String> mappedProperties;
 
+	/** Whether bean properties may be written without a BeanWrapper. */
+	private final boolean directWritesAllowed =
+			!isOverridden(getClass(), "initBeanWrapper", BeanWrapper.class);
+
+	/** Whether primitive properties may be read with typed ResultSet getters. */
+	private final boolean typedReadsAllowed = (this.directWritesAllowed &&
+			!isOverridden(getClass(), "getColumnValue", ResultSet.class, int.class, PropertyDescriptor.class));
+
+	/** Cache of mapping plans, keyed by the column signature of a result set. */
+	private final Map<String, MappingPlan> mappingPlans = new ConcurrentReferenceHashMap<>();
+
+	/** The mapping plan of the most recently mapped result set. */
+	@Nullable
+	private volatile ResultSetMappingPlan lastMappingPlan;
+
 
 	/**
 	 * Create a new {@code BeanPropertyRowMapper} for bean-style configuration.
@@ -222,6 +247,8 @@ public class BeanPropertyRowMapper<T> implements RowMapper<T> {
 		this.mappedClass = mappedClass;
 		this.mappedFields = new HashMap<>();
 		this.mappedProperties = new HashSet<>();
+		this.mappingPlans.clear();
+		this.lastMappingPlan = null;
 		PropertyDescriptor[] pds = BeanUtils.getPropertyDescriptors(mappedClass);
 		for (PropertyDescriptor pd : pds) {
 			if (pd.getWriteMethod() != null) {
@@ -275,31 +302,43 @@ public class BeanPropertyRowMapper<T> implements RowMapper<T> {
 
 	/**
 	 * Extract the values for all columns in the current row.
-	 * <p>Utilizes public setters and result set meta-data.
+	 * <p>Utilizes public setters and result set meta-data. The mapping from
+	 * columns to properties is worked out once per result set shape and then
+	 * reused, and values that already match the property type are passed
+	 * straight to the setter, with a {@link BeanWrapper} created only for
+	 * values that need conversion. Non-null values for primitive properties
+	 * are read through the typed {@code ResultSet} getters (e.g.
+	 * {@code getLong}) and passed to the setter without boxing.
 	 * @see java.sql.ResultSetMetaData
 	 */
 	@Override
 	public T mapRow(ResultSet rs, int rowNumber) throws SQLException {
 		Assert.state(this.mappedClass != null, "Mapped class was not specified");
+		MappingPlan plan = getMappingPlan(rs);
 		T mappedObject = BeanUtils.instantiateClass(this.mappedClass);
-		BeanWrapper bw = PropertyAccessorFactory.forBeanPropertyAccess(mappedObject);
-		initBeanWrapper(bw);
+		BeanWrapper bw = null;
 
-		ResultSetMetaData rsmd = rs.getMetaData();
-		int columnCount = rsmd.getColumnCount();
-		Set<String> populatedProperties = (isCheckFullyPopulated() ? new HashSet<>() : null);
-
-		for (int index = 1; index <= columnCount; index++) {
-			String column = JdbcUtils.lookupColumnName(rsmd, index);
-			String field = lowerCaseName(StringUtils.delete(column, " "));
-			PropertyDescriptor pd = (this.mappedFields != null ? this.mappedFields.get(field) : null);
+		for (ColumnMapping mapping : plan.columns) {
+			String column = mapping.column;
+			PropertyDescriptor pd = mapping.propertyDescriptor;
 			if (pd != null) {
 				try {
-					Object value = getColumnValue(rs, index, pd);
 					if (rowNumber == 0 && logger.isDebugEnabled()) {
 						logger.debug("Mapping column '" + column + "' to property '" + pd.getName() +
 								"' of type '" + ClassUtils.getQualifiedName(pd.getPropertyType()) + "'");
 					}
+					if (mapping.writePrimitive(rs, mappedObject)) {
+						continue;
+					}
+					Object value = getColumnValue(rs, mapping.index, pd);
+					if (mapping.canWriteDirectly(value)) {
+						mapping.write(mappedObject, value);
+						continue;
+					}
+					if (bw == null) {
+						bw = PropertyAccessorFactory.forBeanPropertyAccess(mappedObject);
+						initBeanWrapper(bw);
+					}
 					try {
 						bw.setPropertyValue(pd.getName(), value);
 					}
@@ -317,9 +356,6 @@ public class BeanPropertyRowMapper<T> implements RowMapper<T> {
 							throw ex;
 						}
 					}
-					if (populatedProperties != null) {
-						populatedProperties.add(pd.getName());
-					}
 				}
 				catch (NotWritablePropertyException ex) {
 					throw new DataRetrievalFailureException(
@@ -329,12 +365,13 @@ public class BeanPropertyRowMapper<T> implements RowMapper<T> {
 			else {
 				// No PropertyDescriptor found
 				if (rowNumber == 0 && logger.isDebugEnabled()) {
-					logger.debug("No property found for column '" + column + "' mapped to field '" + field + "'");
+					logger.debug("No property found for column '" + column + "' mapped to field '" +
+							mapping.field + "'");
 				}
 			}
 		}
 
-		if (populatedProperties != null && !populatedProperties.equals(this.mappedProperties)) {
+		if (isCheckFullyPopulated() && !plan.mappedProperties.equals(this.mappedProperties)) {
 			throw new InvalidDataAccessApiUsageException("Given ResultSet does not contain all fields " +
 					"necessary to populate object of class [" + this.mappedClass.getName() + "]: " +
 					this.mappedProperties);
@@ -343,6 +380,72 @@ public class BeanPropertyRowMapper<T> implements RowMapper<T> {
 		return mappedObject;
 	}
 
+	/**
+	 * Return the mapping plan for the given result set, reusing the plan of
+	 * the previous row of the same result set, or else the cached plan for
+	 * a result set with the same columns.
+	 */
+	private MappingPlan getMappingPlan(ResultSet rs) throws SQLException {
+		ResultSetMappingPlan last = this.lastMappingPlan;
+		if (last != null && last.resultSet.get() == rs) {
+			return last.plan;
+		}
+		ResultSetMetaData rsmd = rs.getMetaData();
+		int columnCount = rsmd.getColumnCount();
+		String[] columns = new String[columnCount];
+		StringBuilder signature = new StringBuilder();
+		for (int index = 1; index <= columnCount; index++) {
+			columns[index - 1] = JdbcUtils.lookupColumnName(rsmd, index);
+			signature.append(columns[index - 1]).append('\0');
+		}
+		MappingPlan plan = this.mappingPlans.computeIfAbsent(signature.toString(), key -> createMappingPlan(columns));
+		this.lastMappingPlan = new ResultSetMappingPlan(rs, plan);
+		return plan;
+	}
+
+	private MappingPlan createMappingPlan(String[] columns) {
+		ColumnMapping[] mappings = new ColumnMapping[columns.length];
+		Set<String> mappedProperties = new HashSet<>();
+		for (int i = 0; i < columns.length; i++) {
+			String field = lowerCaseName(StringUtils.delete(columns[i], " "));
+			PropertyDescriptor pd = (this.mappedFields != null ? this.mappedFields.get(field) : null);
+			Method writeMethod = null;
+			MethodHandle primitiveWriter = null;
+			if (pd != null) {
+				mappedProperties.add(pd.getName());
+				if (this.directWritesAllowed && pd.getWriteMethod() != null) {
+					writeMethod = pd.getWriteMethod();
+					ReflectionUtils.makeAccessible(writeMethod);
+					if (this.typedReadsAllowed && ColumnMapping.isTypedReadSupported(pd.getPropertyType())) {
+						primitiveWriter = createPrimitiveWriter(writeMethod, pd.getPropertyType());
+					}
+				}
+			}
+			mappings[i] = new ColumnMapping(i + 1, columns[i], field, pd, writeMethod, primitiveWriter);
+		}
+		return new MappingPlan(mappings, mappedProperties);
+	}
+
+	/**
+	 * Adapt the given write method to an exact {@code (Object, primitive)}
+	 * signature, so that it can be invoked without boxing the value.
+	 */
+	@Nullable
+	private static MethodHandle createPrimitiveWriter(Method writeMethod, Class<?> primitiveType) {
+		try {
+			return MethodHandles.lookup().unreflect(writeMethod)
+					.asType(MethodType.methodType(void.class, Object.class, primitiveType));
+		}
+		catch (IllegalAccessException ex) {
+			return null;
+		}
+	}
+
+	private static boolean isOverridden(Class<?> mapperClass, String methodName, Class<?>... paramTypes) {
+		Method method = ReflectionUtils.findMethod(mapperClass, methodName, paramTypes);
+		return (method != null && method.getDeclaringClass() != BeanPropertyRowMapper.class);
+	}
+
 	/**
 	 * Initialize the given BeanWrapper to be used for row mapping.
 	 * To be called for each row.
@@ -406,4 +509,176 @@ public class BeanPropertyRowMapper<T> implements RowMapper<T> {
 		return rowMapper;
 	}
 
+
+	/**
+	 * The columns of a result set shape, resolved to bean properties.
+	 */
+	private static final class MappingPlan {
+
+		final ColumnMapping[] columns;
+
+		final Set<String> mappedProperties;
+
+		MappingPlan(ColumnMapping[] columns, Set<String> mappedProperties) {
+			this.columns = columns;
+			this.mappedProperties = mappedProperties;
+		}
+	}
+
+
+	/**
+	 * A single column, with the bean property it maps to, if any.
+	 */
+	private static final class ColumnMapping {
+
+		final int index;
+
+		final String column;
+
+		final String field;
+
+		@Nullable
+		final PropertyDescriptor propertyDescriptor;
+
+		@Nullable
+		private final Method writeMethod;
+
+		@Nullable
+		private final MethodHandle primitiveWriter;
+
+		private final Class<?> valueType;
+
+		ColumnMapping(int index, String column, String field, @Nullable PropertyDescriptor pd,
+				@Nullable Method writeMethod, @Nullable MethodHandle primitiveWriter) {
+
+			this.index = index;
+			this.column = column;
+			this.field = field;
+			this.propertyDescriptor = pd;
+			this.writeMethod = writeMethod;
+			this.primitiveWriter = primitiveWriter;
+			this.valueType = (pd != null ? ClassUtils.resolvePrimitiveIfNecessary(pd.getPropertyType()) : Object.class);
+		}
+
+		static boolean isTypedReadSupported(Class<?> propertyType) {
+			return (propertyType == int.class || propertyType == long.class || propertyType == double.class ||
+					propertyType == boolean.class || propertyType == float.class || propertyType == short.class ||
+					propertyType == byte.class);
+		}
+
+		/**
+		 * Read the column through the typed {@code ResultSet} getter for a
+		 * primitive property and pass the value to the setter without boxing.
+		 * @return {@code true} if written, or {@code false} if not applicable,
+		 * i.e. for a non-primitive property or a {@code null} column value
+		 */
+		boolean writePrimitive(ResultSet rs, Object target) throws SQLException {
+			MethodHandle writer = this.primitiveWriter;
+			if (writer == null) {
+				return false;
+			}
+			try {
+				if (this.valueType == Integer.class) {
+					int value = rs.getInt(this.index);
+					if (rs.wasNull()) {
+						return false;
+					}
+					writer.invokeExact(target, value);
+				}
+				else if (this.valueType == Long.class) {
+					long value = rs.getLong(this.index);
+					if (rs.wasNull()) {
+						return false;
+					}
+					writer.invokeExact(target, value);
+				}
+				else if (this.valueType == Double.class) {
+					double value = rs.getDouble(this.index);
+					if (rs.wasNull()) {
+						return false;
+					}
+					writer.invokeExact(target, value);
+				}
+				else if (this.valueType == Boolean.class) {
+					boolean value = rs.getBoolean(this.index);
+					if (rs.wasNull()) {
+						return false;
+					}
+					writer.invokeExact(target, value);
+				}
+				else if (this.valueType == Float.class) {
+					float value = rs.getFloat(this.index);
+					if (rs.wasNull()) {
+						return false;
+					}
+					writer.invokeExact(target, value);
+				}
+				else if (this.valueType == Short.class) {
+					short value = rs.getShort(this.index);
+					if (rs.wasNull()) {
+						return false;
+					}
+					writer.invokeExact(target, value);
+				}
+				else {
+					byte value = rs.getByte(this.index);
+					if (rs.wasNull()) {
+						return false;
+					}
+					writer.invokeExact(target, value);
+				}
+				return true;
+			}
+			catch (SQLException ex) {
+				throw ex;
+			}
+			catch (Throwable ex) {
+				Assert.state(this.propertyDescriptor != null, "No property");
+				PropertyChangeEvent event = new PropertyChangeEvent(
+						target, this.propertyDescriptor.getName(), null, null);
+				throw new MethodInvocationException(event, ex);
+			}
+		}
+
+		/**
+		 * Whether the given value can be passed to the setter as-is, i.e.
+		 * without conversion or special handling of {@code null}.
+		 */
+		boolean canWriteDirectly(@Nullable Object value) {
+			return (this.writeMethod != null && value != null && this.valueType.isInstance(value));
+		}
+
+		void write(Object target, Object value) {
+			Assert.state(this.writeMethod != null && this.propertyDescriptor != null, "No write method");
+			try {
+				this.writeMethod.invoke(target, value);
+			}
+			catch (InvocationTargetException ex) {
+				PropertyChangeEvent event = new PropertyChangeEvent(
+						target, this.propertyDescriptor.getName(), null, value);
+				throw new MethodInvocationException(event, ex.getTargetException());
+			}
+			catch (IllegalAccessException ex) {
+				throw new IllegalStateException("Could not access write method: " + this.writeMethod, ex);
+			}
+		}
+	}
+
+
+	/**
+	 * The mapping plan of a specific result set, held weakly so as not to
+	 * keep the result set from being collected.
+	 */
+	private static final class ResultSetMappingPlan {
+
+		final WeakReference<ResultSet> resultSet;
+
+		final MappingPlan plan;
+
+		ResultSetMappingPlan(ResultSet resultSet, MappingPlan plan) {
+			this.resultSet = new WeakReference<>(resultSet);
+			this.plan = plan;
+		}
+	}
+
 }
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.function.ToLongFunction;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Derives a JDBC fetch size from the estimated width of a row, first from
+ * the result set metadata and then from the observed sizes of mapped rows.
+ *
+ * @author agent
+ * @since 5.3
+ * @see StreamingQuerySettings
+ */
+class FetchSizeTuner {
+
+	private static final int MAX_COLUMN_WIDTH = 4096;
+
+	private final StreamingQuerySettings settings;
+
+	private int fetchSize;
+
+	private long sampledBytes;
+
+	private int sampledRows;
+
+
+	FetchSizeTuner(StreamingQuerySettings settings) {
+		this.settings = settings;
+		this.fetchSize = settings.getMinFetchSize();
+	}
+
+
+	/**
+	 * Return the current fetch size.
+	 */
+	public int getFetchSize() {
+		return this.fetchSize;
+	}
+
+	/**
+	 * Derive the fetch size from the column types and display sizes
+	 * of the given metadata.
+	 * @return the derived fetch size
+	 */
+	public int initFetchSize(ResultSetMetaData rsmd) throws SQLException {
+		long rowWidth = 0;
+		for (int i = 1; i <= rsmd.getColumnCount(); i++) {
+			rowWidth += estimateColumnWidth(rsmd.getColumnType(i), rsmd.getColumnDisplaySize(i));
+		}
+		this.fetchSize = fetchSizeFor(rowWidth);
+		return this.fetchSize;
+	}
+
+	/**
+	 * Observe a mapped row, re-adjusting the fetch size once per sample if
+	 * a row size estimator has been specified.
+	 * @return the new fetch size, or -1 if it remains unchanged
+	 */
+	public int rowMapped(@Nullable Object row) {
+		ToLongFunction<Object> estimator = this.settings.getRowSizeEstimator();
+		if (estimator == null || row == null) {
+			return -1;
+		}
+		this.sampledBytes += estimator.applyAsLong(row);
+		this.sampledRows++;
+		if (this.sampledRows < this.settings.getSampleSize()) {
+			return -1;
+		}
+		int newFetchSize = fetchSizeFor(this.sampledBytes / this.sampledRows);
+		this.sampledBytes = 0;
+		this.sampledRows = 0;
+		// Only switch on a significant change, avoiding needless driver churn
+		if (Math.abs(newFetchSize - this.fetchSize) * 4 < this.fetchSize) {
+			return -1;
+		}
+		this.fetchSize = newFetchSize;
+		return newFetchSize;
+	}
+
+	private int fetchSizeFor(long rowWidth) {
+		long fetchSize = this.settings.getTargetFetchBytes() / Math.max(rowWidth, 1);
+		return (int) Math.max(this.settings.getMinFetchSize(), Math.min(fetchSize, this.settings.getMaxFetchSize()));
+	}
+
+	private static int estimateColumnWidth(int sqlType, int displaySize) {
+		switch (sqlType) {
+			case Types.BIT:
+			case Types.BOOLEAN:
+			case Types.TINYINT:
+				return 1;
+			case Types.SMALLINT:
+				return 2;
+			case Types.INTEGER:
+			case Types.REAL:
+			case Types.DATE:
+				return 4;
+			case Types.BIGINT:
+			case Types.DOUBLE:
+			case Types.FLOAT:
+			case Types.TIME:
+			case Types.TIMESTAMP:
+				return 8;
+			case Types.CHAR:
+			case Types.VARCHAR:
+			case Types.NCHAR:
+			case Types.NVARCHAR:
+				return Math.min(Math.max(displaySize, 1) * 2, MAX_COLUMN_WIDTH);
+			case Types.BLOB:
+			case Types.CLOB:
+			case Types.NCLOB:
+			case Types.LONGVARCHAR:
+			case Types.LONGNVARCHAR:
+			case Types.LONGVARBINARY:
+				return MAX_COLUMN_WIDTH;
+			default:
+				return Math.min(Math.max(displaySize, 8), MAX_COLUMN_WIDTH);
+		}
+	}
+
+}
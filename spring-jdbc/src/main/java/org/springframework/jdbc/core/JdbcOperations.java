@@ -17,6 +17,7 @@
 package org.springframework.jdbc.core;
 
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Stream;
@@ -591,6 +592,53 @@ public interface JdbcOperations {
 	<T> Stream<T> queryForStream(String sql, RowMapper<T> rowMapper, @Nullable Object... args)
 			throws DataAccessException;
 
+	/**
+	 * Query using a prepared statement, reading the rows on the Executor of the
+	 * given settings and handing the mapped objects off through a bounded buffer.
+	 * <p>In contrast to {@link #queryForStream(String, PreparedStatementSetter, RowMapper)},
+	 * the JDBC reads happen on a separate thread, ahead of the consumer by at most
+	 * the configured prefetch, and the fetch size is derived from the width of
+	 * the rows rather than taken from {@link JdbcTemplate#setFetchSize}. Note that
+	 * the query runs on its own connection and does not participate in a
+	 * transaction of the calling thread.
+	 * <p>Some drivers only stream results within a transaction or with auto-commit
+	 * disabled (e.g. PostgreSQL), which needs to be arranged for through the
+	 * {@code DataSource} or the PreparedStatementCreator.
+	 * @param psc a callback that creates a PreparedStatement given a Connection
+	 * @param pss a callback that knows how to set values on the prepared statement.
+	 * If this is {@code null}, the SQL will be assumed to contain no bind parameters.
+	 * @param rowMapper a callback that will map one object per row
+	 * @param settings the settings for the streaming query
+	 * @return the pipeline of mapped objects, needing to be closed unless
+	 * consumed to the end (e.g. through a try-with-resources clause)
+	 * @throws org.springframework.core.task.TaskRejectedException or a similar
+	 * exception if the Executor does not accept the query
+	 * @since 5.3
+	 * @see RowPipeline#stream()
+	 * @see RowPipeline#toPublisher()
+	 */
+	<T> RowPipeline<T> queryForPipeline(PreparedStatementCreator psc, @Nullable PreparedStatementSetter pss,
+			RowMapper<T> rowMapper, StreamingQuerySettings settings);
+
+	/**
+	 * Query given SQL to create a prepared statement from SQL and a list of
+	 * arguments to bind to the query, reading the rows on the Executor of the
+	 * given settings and handing the mapped objects off through a bounded buffer.
+	 * @param sql the SQL query to execute
+	 * @param rowMapper a callback that will map one object per row
+	 * @param settings the settings for the streaming query
+	 * @param args arguments to bind to the query
+	 * (leaving it to the PreparedStatement to guess the corresponding SQL type);
+	 * may also contain {@link SqlParameterValue} objects which indicate not
+	 * only the argument value but also the SQL type and optionally the scale
+	 * @return the pipeline of mapped objects, needing to be closed unless
+	 * consumed to the end (e.g. through a try-with-resources clause)
+	 * @since 5.3
+	 * @see #queryForPipeline(PreparedStatementCreator, PreparedStatementSetter, RowMapper, StreamingQuerySettings)
+	 */
+	<T> RowPipeline<T> queryForPipeline(String sql, RowMapper<T> rowMapper, StreamingQuerySettings settings,
+			@Nullable Object... args);
+
 	/**
 	 * Query given SQL to create a prepared statement from SQL and a list
 	 * of arguments to bind to the query, mapping a single result row to a
@@ -1025,6 +1073,29 @@ public interface JdbcOperations {
 	<T> int[][] batchUpdate(String sql, Collection<T> batchArgs, int batchSize,
 			ParameterizedPreparedStatementSetter<T> pss) throws DataAccessException;
 
+	/**
+	 * Execute a chunked batch update using the supplied SQL statement, consuming
+	 * the given batch arguments lazily so that only a chunk at a time needs to be
+	 * held in memory. The arguments' values will be set using the
+	 * ParameterizedPreparedStatementSetter.
+	 * <p>Chunks are closed by row count and estimated byte size, and may be
+	 * executed in parallel if no transaction is active, as specified by the
+	 * given {@link BatchChunkSettings}. Per-chunk results and failures are
+	 * reported to its {@link BatchChunkCallback}, if any.
+	 * @param sql the SQL statement to execute
+	 * @param batchArgs the Iterator of batch arguments, consumed once
+	 * @param settings the chunk settings to apply
+	 * @param pss the ParameterizedPreparedStatementSetter to use
+	 * @return the total number of rows affected by all successful chunks
+	 * (not counting special JDBC-defined negative values such as
+	 * {@link java.sql.Statement#SUCCESS_NO_INFO})
+	 * @throws DataAccessException if there is any problem issuing the update
+	 * and the chunk callback does not handle it
+	 * @since 5.3
+	 */
+	<T> long batchUpdate(String sql, Iterator<? extends T> batchArgs, BatchChunkSettings settings,
+			ParameterizedPreparedStatementSetter<T> pss) throws DataAccessException;
+
 
 	//-------------------------------------------------------------------------
 	// Methods dealing with callable statements
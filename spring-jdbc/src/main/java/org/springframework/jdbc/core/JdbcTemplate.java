@@ -31,11 +31,18 @@ import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -47,6 +54,7 @@ import org.springframework.dao.support.DataAccessUtils;
 import org.springframework.jdbc.InvalidResultSetAccessException;
 import org.springframework.jdbc.SQLWarningException;
 import org.springframework.jdbc.UncategorizedSQLException;
+import org.springframework.jdbc.datasource.ConnectionHolder;
 import org.springframework.jdbc.datasource.ConnectionProxy;
 import org.springframework.jdbc.datasource.DataSourceUtils;
 import org.springframework.jdbc.support.JdbcAccessor;
@@ -54,7 +62,10 @@ import org.springframework.jdbc.support.JdbcUtils;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.jdbc.support.rowset.SqlRowSet;
 import org.springframework.lang.Nullable;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentReferenceHashMap;
 import org.springframework.util.LinkedCaseInsensitiveMap;
 import org.springframework.util.StringUtils;
 
@@ -152,6 +163,22 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 	 */
 	private boolean resultsMapCaseInsensitive = false;
 
+	/**
+	 * If this variable is set to a positive value, up to this number of prepared
+	 * statements will be kept open for reuse on a transaction-bound Connection.
+	 */
+	private int statementCacheLimit = 0;
+
+	/** Cache for query results, if any. */
+	@Nullable
+	private QueryResultCache queryResultCache;
+
+	/** If this variable is true, SQL types resolved for null arguments are cached per SQL statement. */
+	private boolean cacheNullArgumentTypes = false;
+
+	/** Cache of resolved SQL types for null arguments, per SQL statement. */
+	private final Map<String, Map<Integer, Integer>> nullTypeCaches = new ConcurrentReferenceHashMap<>(256);
+
 
 	/**
 	 * Construct a new JdbcTemplate for bean usage.
@@ -316,6 +343,78 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 		return this.resultsMapCaseInsensitive;
 	}
 
+	/**
+	 * Set the maximum number of prepared statements to keep open for reuse on
+	 * a transaction-bound Connection, avoiding re-preparation when the same SQL
+	 * is executed repeatedly within a transaction. Cached statements are closed
+	 * on transaction completion.
+	 * <p>Default is 0, closing every statement after use. Only applies to plain
+	 * SQL statements without custom {@link PreparedStatementCreator}, and not to
+	 * {@code queryForStream} variants. Statements are shared with any other
+	 * JdbcTemplate with statement caching on the same DataSource, which should
+	 * therefore use the same fetch size, max rows and query timeout settings.
+	 * @since 5.3
+	 * @see ConnectionHolder#cachePreparedStatement
+	 */
+	public void setStatementCacheLimit(int statementCacheLimit) {
+		this.statementCacheLimit = statementCacheLimit;
+	}
+
+	/**
+	 * Return the maximum number of prepared statements to keep open for reuse
+	 * on a transaction-bound Connection.
+	 * @since 5.3
+	 */
+	public int getStatementCacheLimit() {
+		return this.statementCacheLimit;
+	}
+
+	/**
+	 * Set whether to cache the SQL types resolved for {@code null} arguments
+	 * per SQL statement, for the variants taking an array of arguments without
+	 * explicit types. Resolving such a type takes a {@code getParameterMetaData}
+	 * round trip or a database metadata fallback per parameter, which repeated
+	 * executions of the same SQL then skip.
+	 * <p>Default is "false". Only enable this when the SQL types of the
+	 * parameters of a given SQL statement do not change over time.
+	 * @since 5.3
+	 * @see ArgumentPreparedStatementSetter#setNullTypeCache
+	 */
+	public void setCacheNullArgumentTypes(boolean cacheNullArgumentTypes) {
+		this.cacheNullArgumentTypes = cacheNullArgumentTypes;
+	}
+
+	/**
+	 * Return whether SQL types resolved for {@code null} arguments are cached
+	 * per SQL statement.
+	 * @since 5.3
+	 */
+	public boolean isCacheNullArgumentTypes() {
+		return this.cacheNullArgumentTypes;
+	}
+
+	/**
+	 * Set a cache for the results of plain SQL queries, keyed by SQL statement
+	 * plus arguments. Results are cached per transaction, and outside of
+	 * transactions in the cache's shared {@link org.springframework.cache.Cache}
+	 * (if any), getting invalidated by any update executed through this template.
+	 * <p>Default is none, always executing queries against the database.
+	 * @since 5.3
+	 * @see QueryResultCache
+	 */
+	public void setQueryResultCache(@Nullable QueryResultCache queryResultCache) {
+		this.queryResultCache = queryResultCache;
+	}
+
+	/**
+	 * Return the cache for query results, if any.
+	 * @since 5.3
+	 */
+	@Nullable
+	public QueryResultCache getQueryResultCache() {
+		return this.queryResultCache;
+	}
+
 
 	//-------------------------------------------------------------------------
 	// Methods dealing with a plain java.sql.Connection
@@ -341,6 +440,7 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 			throw translateException("ConnectionCallback", sql, ex);
 		}
 		finally {
+			invalidateQueryResultCache(getSql(action));
 			DataSourceUtils.releaseConnection(con, getDataSource());
 		}
 	}
@@ -392,6 +492,7 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 			throw translateException("StatementCallback", sql, ex);
 		}
 		finally {
+			invalidateQueryResultCache(getSql(action));
 			if (closeResources) {
 				JdbcUtils.closeStatement(stmt);
 				DataSourceUtils.releaseConnection(con, getDataSource());
@@ -442,14 +543,18 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 		/**
 		 * Callback to execute the query.
 		 */
-		class QueryStatementCallback implements StatementCallback<T>, SqlProvider {
+		class QueryStatementCallback<R> implements StatementCallback<R>, SqlProvider {
+			private final ResultSetExtractor<R> extractor;
+			QueryStatementCallback(ResultSetExtractor<R> extractor) {
+				this.extractor = extractor;
+			}
 			@Override
 			@Nullable
-			public T doInStatement(Statement stmt) throws SQLException {
+			public R doInStatement(Statement stmt) throws SQLException {
 				ResultSet rs = null;
 				try {
 					rs = stmt.executeQuery(sql);
-					return rse.extractData(rs);
+					return this.extractor.extractData(rs);
 				}
 				finally {
 					JdbcUtils.closeResultSet(rs);
@@ -461,7 +566,13 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 			}
 		}
 
-		return execute(new QueryStatementCallback(), true);
+		QueryResultCache cache = this.queryResultCache;
+		Object cacheKey = (cache != null ? cache.createKey(sql, null) : null);
+		if (cache != null && cacheKey != null) {
+			return queryCachedRows(cache, cacheKey, sql, () -> result(
+					execute(new QueryStatementCallback<>(QueryResultCache.CACHED_ROWS_EXTRACTOR), true)), rse);
+		}
+		return execute(new QueryStatementCallback<>(rse), true);
 	}
 
 	@Override
@@ -643,12 +754,26 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 		}
 
 		Connection con = DataSourceUtils.getConnection(obtainDataSource());
+		ConnectionHolder statementCache = (closeResources ? getStatementCache(con, psc) : null);
+		String cacheableSql = (statementCache != null ? getSql(psc) : null);
+		String statementSql = getSql(psc);
 		PreparedStatement ps = null;
+		boolean reusable = false;
 		try {
-			ps = psc.createPreparedStatement(con);
+			if (statementCache != null && cacheableSql != null) {
+				ps = statementCache.getCachedPreparedStatement(cacheableSql);
+				if (ps != null) {
+					ps.clearParameters();
+					ps.clearWarnings();
+				}
+			}
+			if (ps == null) {
+				ps = psc.createPreparedStatement(con);
+			}
 			applyStatementSettings(ps);
 			T result = action.doInPreparedStatement(ps);
 			handleWarnings(ps);
+			reusable = true;
 			return result;
 		}
 		catch (SQLException ex) {
@@ -666,16 +791,93 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 			throw translateException("PreparedStatementCallback", sql, ex);
 		}
 		finally {
+			invalidateQueryResultCache(statementSql);
 			if (closeResources) {
 				if (psc instanceof ParameterDisposer) {
 					((ParameterDisposer) psc).cleanupParameters();
 				}
-				JdbcUtils.closeStatement(ps);
+				if (reusable && statementCache != null && cacheableSql != null) {
+					statementCache.cachePreparedStatement(cacheableSql, ps, this.statementCacheLimit);
+				}
+				else {
+					JdbcUtils.closeStatement(ps);
+				}
 				DataSourceUtils.releaseConnection(con, getDataSource());
 			}
 		}
 	}
 
+	/**
+	 * Determine the transaction-bound ConnectionHolder to cache the statement
+	 * for the given PreparedStatementCreator in, if any.
+	 * @see #setStatementCacheLimit
+	 */
+	@Nullable
+	private ConnectionHolder getStatementCache(Connection con, PreparedStatementCreator psc) {
+		if (this.statementCacheLimit <= 0 || !(psc instanceof SimplePreparedStatementCreator) ||
+				!TransactionSynchronizationManager.isSynchronizationActive()) {
+			return null;
+		}
+		Object resource = TransactionSynchronizationManager.getResource(obtainDataSource());
+		if (!(resource instanceof ConnectionHolder)) {
+			return null;
+		}
+		ConnectionHolder conHolder = (ConnectionHolder) resource;
+		if (!conHolder.isSynchronizedWithTransaction() || conHolder.getConnectionHandle() == null ||
+				conHolder.getConnection() != con) {
+			return null;
+		}
+		if (!conHolder.hasCachedPreparedStatements()) {
+			// First statement to cache: close all of them once the transaction has completed.
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCompletion(int status) {
+					conHolder.closeCachedPreparedStatements();
+				}
+			});
+		}
+		return conHolder;
+	}
+
+	/**
+	 * Query through the given result cache: extract the cached rows for the
+	 * given key, executing the query through the given loader if not cached yet.
+	 * @see #setQueryResultCache
+	 */
+	@Nullable
+	private <T> T queryCachedRows(QueryResultCache cache, Object cacheKey, String sql,
+			Supplier<QueryResultCache.CachedRows> loader, ResultSetExtractor<T> rse) throws DataAccessException {
+
+		QueryResultCache.CachedRows rows = cache.get(cacheKey);
+		if (rows != null) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Using cached result for SQL query [" + sql + "]");
+			}
+		}
+		else {
+			rows = loader.get();
+			cache.put(sql, cacheKey, rows);
+		}
+		try {
+			return rse.extractData(rows.createResultSet());
+		}
+		catch (SQLException ex) {
+			throw translateException("QueryResultCache", sql, ex);
+		}
+	}
+
+	/**
+	 * Invalidate cached query results affected by the given executed SQL statement.
+	 * <p>Called from the {@code finally} block of each {@code execute} variant,
+	 * since a failed statement or batch may have modified rows before failing.
+	 * @see #setQueryResultCache
+	 */
+	private void invalidateQueryResultCache(@Nullable String sql) {
+		if (this.queryResultCache != null) {
+			this.queryResultCache.invalidate(sql);
+		}
+	}
+
 	@Override
 	@Nullable
 	public <T> T execute(PreparedStatementCreator psc, PreparedStatementCallback<T> action)
@@ -740,6 +942,12 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 	@Override
 	@Nullable
 	public <T> T query(String sql, @Nullable PreparedStatementSetter pss, ResultSetExtractor<T> rse) throws DataAccessException {
+		QueryResultCache cache = this.queryResultCache;
+		Object cacheKey = (cache != null ? cache.createKey(sql, pss) : null);
+		if (cache != null && cacheKey != null) {
+			return queryCachedRows(cache, cacheKey, sql, () -> result(query(
+					new SimplePreparedStatementCreator(sql), pss, QueryResultCache.CACHED_ROWS_EXTRACTOR)), rse);
+		}
 		return query(new SimplePreparedStatementCreator(sql), pss, rse);
 	}
 
@@ -753,13 +961,13 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 	@Override
 	@Nullable
 	public <T> T query(String sql, @Nullable Object[] args, ResultSetExtractor<T> rse) throws DataAccessException {
-		return query(sql, newArgPreparedStatementSetter(args), rse);
+		return query(sql, newArgPreparedStatementSetter(sql, args), rse);
 	}
 
 	@Override
 	@Nullable
 	public <T> T query(String sql, ResultSetExtractor<T> rse, @Nullable Object... args) throws DataAccessException {
-		return query(sql, newArgPreparedStatementSetter(args), rse);
+		return query(sql, newArgPreparedStatementSetter(sql, args), rse);
 	}
 
 	@Override
@@ -780,12 +988,12 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 	@Deprecated
 	@Override
 	public void query(String sql, @Nullable Object[] args, RowCallbackHandler rch) throws DataAccessException {
-		query(sql, newArgPreparedStatementSetter(args), rch);
+		query(sql, newArgPreparedStatementSetter(sql, args), rch);
 	}
 
 	@Override
 	public void query(String sql, RowCallbackHandler rch, @Nullable Object... args) throws DataAccessException {
-		query(sql, newArgPreparedStatementSetter(args), rch);
+		query(sql, newArgPreparedStatementSetter(sql, args), rch);
 	}
 
 	@Override
@@ -859,7 +1067,66 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 
 	@Override
 	public <T> Stream<T> queryForStream(String sql, RowMapper<T> rowMapper, @Nullable Object... args) throws DataAccessException {
-		return queryForStream(new SimplePreparedStatementCreator(sql), newArgPreparedStatementSetter(args), rowMapper);
+		return queryForStream(new SimplePreparedStatementCreator(sql), newArgPreparedStatementSetter(sql, args), rowMapper);
+	}
+
+	@Override
+	public <T> RowPipeline<T> queryForPipeline(PreparedStatementCreator psc, @Nullable PreparedStatementSetter pss,
+			RowMapper<T> rowMapper, StreamingQuerySettings settings) {
+
+		RowPipeline<T> pipeline = new RowPipeline<>(settings.getPrefetch());
+		settings.getExecutor().execute(() -> {
+			RuntimeException failure = null;
+			try {
+				execute(psc, ps -> {
+					pipeline.setStatement(ps);
+					if (pss != null) {
+						pss.setValues(ps);
+					}
+					FetchSizeTuner tuner = new FetchSizeTuner(settings);
+					ps.setFetchSize(tuner.getFetchSize());
+					ResultSet rs = ps.executeQuery();
+					try {
+						applyFetchSize(rs, tuner.initFetchSize(rs.getMetaData()));
+						int rowNum = 0;
+						while (!pipeline.isCancelled() && rs.next()) {
+							T row = rowMapper.mapRow(rs, rowNum++);
+							int fetchSize = tuner.rowMapped(row);
+							if (fetchSize != -1) {
+								applyFetchSize(rs, fetchSize);
+							}
+							if (!pipeline.emit(row)) {
+								break;
+							}
+						}
+						return null;
+					}
+					finally {
+						JdbcUtils.closeResultSet(rs);
+						if (pss instanceof ParameterDisposer) {
+							((ParameterDisposer) pss).cleanupParameters();
+						}
+					}
+				});
+			}
+			catch (RuntimeException ex) {
+				if (!pipeline.isCancelled()) {
+					failure = ex;
+				}
+			}
+			finally {
+				pipeline.complete(failure);
+			}
+		});
+		return pipeline;
+	}
+
+	@Override
+	public <T> RowPipeline<T> queryForPipeline(String sql, RowMapper<T> rowMapper, StreamingQuerySettings settings,
+			@Nullable Object... args) {
+
+		return queryForPipeline(new SimplePreparedStatementCreator(sql), newArgPreparedStatementSetter(sql, args),
+				rowMapper, settings);
 	}
 
 	@Override
@@ -1021,7 +1288,7 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 
 	@Override
 	public int update(String sql, @Nullable Object... args) throws DataAccessException {
-		return update(sql, newArgPreparedStatementSetter(args));
+		return update(sql, newArgPreparedStatementSetter(sql, args));
 	}
 
 	@Override
@@ -1164,6 +1431,177 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 		return result;
 	}
 
+	@Override
+	public <T> long batchUpdate(String sql, Iterator<? extends T> batchArgs, BatchChunkSettings settings,
+			ParameterizedPreparedStatementSetter<T> pss) throws DataAccessException {
+
+		if (logger.isDebugEnabled()) {
+			logger.debug("Executing chunked SQL batch update [" + sql + "] with chunks of up to " +
+					settings.getMaxRows() + " rows");
+		}
+		if (settings.getConcurrency() > 1 && !TransactionSynchronizationManager.isActualTransactionActive() &&
+				!TransactionSynchronizationManager.hasResource(obtainDataSource())) {
+			Assert.state(settings.getExecutor() != null, "An Executor is required for parallel chunk execution");
+			return executeChunksInParallel(sql, batchArgs, settings, pss);
+		}
+
+		Long result = execute(sql, (PreparedStatementCallback<Long>) ps -> {
+			try {
+				boolean batchSupported = JdbcUtils.supportsBatchUpdates(ps.getConnection());
+				long rowsAffected = 0;
+				long offset = 0;
+				int chunkIndex = 0;
+				while (batchArgs.hasNext()) {
+					int rows = 0;
+					long bytes = 0;
+					List<Integer> rowsAffectedUnbatched = (batchSupported ? null : new ArrayList<>());
+					try {
+						while (batchArgs.hasNext() && rows < settings.getMaxRows() && bytes < settings.getMaxBytes()) {
+							T obj = batchArgs.next();
+							rows++;
+							bytes += settings.getSizeEstimator().applyAsLong(obj);
+							pss.setValues(ps, obj);
+							if (rowsAffectedUnbatched != null) {
+								rowsAffectedUnbatched.add(ps.executeUpdate());
+							}
+							else {
+								ps.addBatch();
+							}
+						}
+						if (logger.isTraceEnabled()) {
+							logger.trace("Sending SQL batch update chunk #" + chunkIndex + " with " + rows + " items");
+						}
+						int[] chunkRowsAffected = (rowsAffectedUnbatched != null ?
+								rowsAffectedUnbatched.stream().mapToInt(Integer::intValue).toArray() : ps.executeBatch());
+						rowsAffected += chunkCompleted(settings, chunkIndex, offset, chunkRowsAffected);
+					}
+					catch (SQLException ex) {
+						if (rowsAffectedUnbatched == null) {
+							ps.clearBatch();
+						}
+						chunkFailed(settings, chunkIndex, offset, translateException("PreparedStatementCallback", sql, ex));
+					}
+					offset += rows;
+					chunkIndex++;
+				}
+				return rowsAffected;
+			}
+			finally {
+				if (pss instanceof ParameterDisposer) {
+					((ParameterDisposer) pss).cleanupParameters();
+				}
+			}
+		});
+
+		Assert.state(result != null, "No result");
+		return result;
+	}
+
+	private <T> long executeChunksInParallel(String sql, Iterator<? extends T> batchArgs,
+			BatchChunkSettings settings, ParameterizedPreparedStatementSetter<T> pss) {
+
+		Executor executor = settings.getExecutor();
+		Assert.state(executor != null, "No Executor");
+		int concurrency = settings.getConcurrency();
+		Semaphore permits = new Semaphore(concurrency);
+		AtomicLong rowsAffected = new AtomicLong();
+		AtomicReference<RuntimeException> failure = new AtomicReference<>();
+		long offset = 0;
+		int chunkIndex = 0;
+		try {
+			while (batchArgs.hasNext() && failure.get() == null) {
+				List<T> chunk = new ArrayList<>();
+				long bytes = 0;
+				while (batchArgs.hasNext() && chunk.size() < settings.getMaxRows() && bytes < settings.getMaxBytes()) {
+					T obj = batchArgs.next();
+					chunk.add(obj);
+					bytes += settings.getSizeEstimator().applyAsLong(obj);
+				}
+				int index = chunkIndex++;
+				long chunkOffset = offset;
+				offset += chunk.size();
+				permits.acquireUninterruptibly();
+				try {
+					executor.execute(() -> {
+						try {
+							int[] chunkRowsAffected;
+							try {
+								if (logger.isTraceEnabled()) {
+									logger.trace("Sending SQL batch update chunk #" + index + " with " + chunk.size() + " items");
+								}
+								chunkRowsAffected = batchUpdate(sql, new BatchPreparedStatementSetter() {
+									@Override
+									public void setValues(PreparedStatement ps, int i) throws SQLException {
+										pss.setValues(ps, chunk.get(i));
+									}
+									@Override
+									public int getBatchSize() {
+										return chunk.size();
+									}
+								});
+							}
+							catch (DataAccessException ex) {
+								synchronized (settings) {
+									chunkFailed(settings, index, chunkOffset, ex);
+								}
+								return;
+							}
+							synchronized (settings) {
+								rowsAffected.addAndGet(chunkCompleted(settings, index, chunkOffset, chunkRowsAffected));
+							}
+						}
+						catch (RuntimeException ex) {
+							failure.compareAndSet(null, ex);
+						}
+						finally {
+							permits.release();
+						}
+					});
+				}
+				catch (RuntimeException ex) {
+					permits.release();
+					throw ex;
+				}
+			}
+		}
+		finally {
+			// Wait for all chunks in flight
+			permits.acquireUninterruptibly(concurrency);
+			permits.release(concurrency);
+			if (pss instanceof ParameterDisposer) {
+				((ParameterDisposer) pss).cleanupParameters();
+			}
+		}
+
+		RuntimeException ex = failure.get();
+		if (ex != null) {
+			throw ex;
+		}
+		return rowsAffected.get();
+	}
+
+	private static long chunkCompleted(BatchChunkSettings settings, int chunkIndex, long offset, int[] rowsAffected) {
+		BatchChunkCallback callback = settings.getChunkCallback();
+		if (callback != null) {
+			callback.chunkCompleted(chunkIndex, offset, rowsAffected);
+		}
+		long total = 0;
+		for (int count : rowsAffected) {
+			if (count > 0) {
+				total += count;
+			}
+		}
+		return total;
+	}
+
+	private static void chunkFailed(BatchChunkSettings settings, int chunkIndex, long offset, DataAccessException ex) {
+		BatchChunkCallback callback = settings.getChunkCallback();
+		if (callback == null) {
+			throw ex;
+		}
+		callback.chunkFailed(chunkIndex, offset, ex);
+	}
+
 
 	//-------------------------------------------------------------------------
 	// Methods dealing with callable statements
@@ -1181,6 +1619,7 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 			logger.debug("Calling stored procedure" + (sql != null ? " [" + sql  + "]" : ""));
 		}
 
+		String statementSql = getSql(csc);
 		Connection con = DataSourceUtils.getConnection(obtainDataSource());
 		CallableStatement cs = null;
 		try {
@@ -1205,6 +1644,7 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 			throw translateException("CallableStatementCallback", sql, ex);
 		}
 		finally {
+			invalidateQueryResultCache(statementSql);
 			if (csc instanceof ParameterDisposer) {
 				((ParameterDisposer) csc).cleanupParameters();
 			}
@@ -1492,6 +1932,35 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 		return new ArgumentTypePreparedStatementSetter(args, argTypes);
 	}
 
+	/**
+	 * Create a new arg-based PreparedStatementSetter for the given SQL,
+	 * sharing the cache of null argument types for that SQL if enabled.
+	 * @see #setCacheNullArgumentTypes
+	 */
+	private PreparedStatementSetter newArgPreparedStatementSetter(String sql, @Nullable Object[] args) {
+		PreparedStatementSetter pss = newArgPreparedStatementSetter(args);
+		if (this.cacheNullArgumentTypes && pss instanceof ArgumentPreparedStatementSetter) {
+			((ArgumentPreparedStatementSetter) pss).setNullTypeCache(
+					this.nullTypeCaches.computeIfAbsent(sql, key -> new ConcurrentHashMap<>(8)));
+		}
+		return pss;
+	}
+
+	/**
+	 * Apply the given fetch size to the given ResultSet, as a hint that
+	 * drivers may ignore or not support at this point.
+	 */
+	private void applyFetchSize(ResultSet rs, int fetchSize) {
+		try {
+			rs.setFetchSize(fetchSize);
+		}
+		catch (SQLException ex) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Could not apply fetch size " + fetchSize + " to ResultSet: " + ex.getMessage());
+			}
+		}
+	}
+
 	/**
 	 * Throw an SQLWarningException if we're not ignoring warnings,
 	 * otherwise log the warnings at debug level.
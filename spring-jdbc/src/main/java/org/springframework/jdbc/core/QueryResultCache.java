@@ -0,0 +1,743 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+import java.io.Serializable;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import javax.sql.rowset.CachedRowSet;
+
+import org.springframework.cache.Cache;
+import org.springframework.core.NamedThreadLocal;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.LinkedCaseInsensitiveMap;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Opt-in cache for the results of {@link JdbcTemplate} queries, keyed by
+ * SQL statement plus arguments. Results are held as disconnected
+ * {@link CachedRowSet} instances and replayed through the given
+ * {@link ResultSetExtractor} (or {@link RowMapper}) on every call,
+ * so callers always receive fresh result objects. Columns of a replayed
+ * result can be accessed by label (i.e. by alias) as with the original
+ * {@link ResultSet}, even if the {@code CachedRowSet} implementation
+ * only resolves column names.
+ *
+ * <p>Within a transaction (or, more specifically, with transaction
+ * synchronization active), results are cached for the scope of that
+ * transaction only. Any statement executed through the same template that
+ * is not a query invalidates the cached results for the tables it refers
+ * to, as determined by simple table name extraction from the SQL; statements
+ * without recognizable table names (such as stored procedure calls)
+ * invalidate all cached results. This includes the cached results of
+ * transactions suspended on the same thread, e.g. for an inner
+ * {@code REQUIRES_NEW} transaction.
+ *
+ * <p>Outside of transactions, results may be cached in a shared Spring
+ * {@link Cache}, if specified. Since a shared cache cannot be invalidated
+ * per table, it gets cleared on any non-query statement executed through
+ * the same template (after commit in case of a transaction). This is
+ * therefore primarily suitable for reference data which is rarely updated.
+ *
+ * <p>Only plain SQL queries with plain argument values (or no arguments) are
+ * cached; queries with custom {@link PreparedStatementSetter},
+ * {@link PreparedStatementCreator} or {@link SqlTypeValue} arguments are
+ * always executed. Queries without recognizable table names, e.g.
+ * {@code SELECT CURRENT_TIMESTAMP}, and {@code SELECT ... FOR UPDATE} queries
+ * are never cached either. Note that any other non-deterministic query
+ * (e.g. sequence access) must not be executed through a template with a
+ * result cache.
+ *
+ * @author agent
+ * @since 5.3
+ * @see JdbcTemplate#setQueryResultCache
+ */
+public class QueryResultCache {
+
+	/**
+	 * Default maximum number of query results to cache per transaction: 256.
+	 */
+	public static final int DEFAULT_TRANSACTION_CACHE_LIMIT = 256;
+
+	/**
+	 * Extractor for the disconnected {@link CachedRows} to cache.
+	 */
+	static final ResultSetExtractor<CachedRows> CACHED_ROWS_EXTRACTOR = new ResultSetExtractor<CachedRows>() {
+		private final SqlRowSetResultSetExtractor rowSetFactory = new SqlRowSetResultSetExtractor();
+		@Override
+		public CachedRows extractData(ResultSet rs) throws SQLException {
+			CachedRowSet rowSet = this.rowSetFactory.newCachedRowSet();
+			rowSet.populate(rs);
+			return new CachedRows(rowSet);
+		}
+	};
+
+	private static final Object[] EMPTY_ARGS = new Object[0];
+
+	private static final Set<String> TABLE_KEYWORDS =
+			new HashSet<>(Arrays.asList("from", "join", "into", "update", "table"));
+
+	private static final Set<String> DML_KEYWORDS =
+			new HashSet<>(Arrays.asList("insert", "update", "delete", "merge"));
+
+	private static final Set<String> CLAUSE_KEYWORDS = new HashSet<>(Arrays.asList(
+			"where", "join", "inner", "left", "right", "full", "cross", "outer", "natural", "on", "using",
+			"group", "order", "having", "limit", "offset", "fetch", "union", "intersect", "except",
+			"set", "values", "select", "for", "window", "returning", "as"));
+
+
+	@Nullable
+	private final Cache sharedCache;
+
+	private int transactionCacheLimit = DEFAULT_TRANSACTION_CACHE_LIMIT;
+
+	/** Cache of analyzed SQL statements. */
+	private final Map<String, SqlStatementInfo> statementInfoCache = new ConcurrentReferenceHashMap<>(256);
+
+	/** Transaction-scoped caches of transactions suspended on the current thread. */
+	private final ThreadLocal<Deque<TransactionCache>> suspendedTransactionCaches =
+			new NamedThreadLocal<>("Suspended query result caches");
+
+
+	/**
+	 * Create a new {@code QueryResultCache} for transaction-scoped caching only.
+	 */
+	public QueryResultCache() {
+		this.sharedCache = null;
+	}
+
+	/**
+	 * Create a new {@code QueryResultCache} for transaction-scoped caching,
+	 * backed by the given shared {@link Cache} for queries outside of transactions.
+	 * @param sharedCache the shared cache to use outside of transactions
+	 */
+	public QueryResultCache(Cache sharedCache) {
+		Assert.notNull(sharedCache, "Shared Cache must not be null");
+		this.sharedCache = sharedCache;
+	}
+
+
+	/**
+	 * Return the shared {@link Cache} used outside of transactions, if any.
+	 */
+	@Nullable
+	public Cache getSharedCache() {
+		return this.sharedCache;
+	}
+
+	/**
+	 * Specify the maximum number of query results to cache per transaction,
+	 * evicting the least recently used results beyond that. Default is 256.
+	 */
+	public void setTransactionCacheLimit(int transactionCacheLimit) {
+		this.transactionCacheLimit = transactionCacheLimit;
+	}
+
+	/**
+	 * Return the maximum number of query results to cache per transaction.
+	 */
+	public int getTransactionCacheLimit() {
+		return this.transactionCacheLimit;
+	}
+
+
+	/**
+	 * Create a cache key for the given query, if cacheable in the current scope.
+	 * @param sql the SQL query
+	 * @param pss the setter for the query arguments (may be {@code null})
+	 * @return the cache key, or {@code null} if the query is not cacheable
+	 */
+	@Nullable
+	Object createKey(String sql, @Nullable PreparedStatementSetter pss) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive() && this.sharedCache == null) {
+			return null;
+		}
+		if (!getStatementInfo(sql).isCacheableQuery()) {
+			return null;
+		}
+		if (pss == null) {
+			return new QueryKey(sql, EMPTY_ARGS, null);
+		}
+		Object[] args;
+		int[] argTypes = null;
+		if (pss instanceof ArgumentTypePreparedStatementSetter) {
+			args = ((ArgumentTypePreparedStatementSetter) pss).getArgs();
+			argTypes = ((ArgumentTypePreparedStatementSetter) pss).getArgTypes();
+		}
+		else if (pss instanceof ArgumentPreparedStatementSetter) {
+			args = ((ArgumentPreparedStatementSetter) pss).getArgs();
+		}
+		else {
+			return null;
+		}
+		if (args == null) {
+			return new QueryKey(sql, EMPTY_ARGS, argTypes);
+		}
+		for (Object arg : args) {
+			if (arg instanceof SqlTypeValue || arg instanceof SqlParameterValue) {
+				// Custom binding, potentially with resources to dispose
+				return null;
+			}
+		}
+		return new QueryKey(sql, args, argTypes);
+	}
+
+	/**
+	 * Return the cached result for the given key in the current scope, if any.
+	 * @param key the cache key, as created by {@link #createKey}
+	 * @return the cached result, or {@code null} if none
+	 */
+	@Nullable
+	CachedRows get(Object key) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionCache transactionCache = getTransactionCache();
+			return (transactionCache != null ? transactionCache.get(key) : null);
+		}
+		return (this.sharedCache != null ? this.sharedCache.get(key, CachedRows.class) : null);
+	}
+
+	/**
+	 * Cache the given result for the given key in the current scope.
+	 * @param sql the SQL query
+	 * @param key the cache key, as created by {@link #createKey}
+	 * @param rows the result to cache
+	 */
+	void put(String sql, Object key, CachedRows rows) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			obtainTransactionCache().put(key, rows, getStatementInfo(sql).getTables());
+		}
+		else if (this.sharedCache != null) {
+			this.sharedCache.put(key, rows);
+		}
+	}
+
+	/**
+	 * Invalidate cached results affected by the given executed SQL statement.
+	 * Queries do not invalidate anything.
+	 * @param sql the executed SQL statement, or {@code null} if unknown
+	 * (invalidating all cached results)
+	 */
+	void invalidate(@Nullable String sql) {
+		Set<String> tables = Collections.emptySet();
+		if (sql != null) {
+			SqlStatementInfo info = getStatementInfo(sql);
+			if (info.isQuery()) {
+				return;
+			}
+			tables = info.getTables();
+		}
+		Deque<TransactionCache> suspendedCaches = this.suspendedTransactionCaches.get();
+		if (suspendedCaches != null) {
+			for (TransactionCache suspendedCache : suspendedCaches) {
+				suspendedCache.invalidate(tables);
+			}
+		}
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionCache transactionCache =
+					(this.sharedCache != null ? obtainTransactionCache() : getTransactionCache());
+			if (transactionCache != null) {
+				transactionCache.invalidate(tables);
+			}
+		}
+		else if (this.sharedCache != null) {
+			this.sharedCache.clear();
+		}
+	}
+
+	private SqlStatementInfo getStatementInfo(String sql) {
+		SqlStatementInfo info = this.statementInfoCache.get(sql);
+		if (info == null) {
+			info = SqlStatementInfo.parse(sql);
+			this.statementInfoCache.put(sql, info);
+		}
+		return info;
+	}
+
+	@Nullable
+	private TransactionCache getTransactionCache() {
+		return (TransactionCache) TransactionSynchronizationManager.getResource(this);
+	}
+
+	private TransactionCache obtainTransactionCache() {
+		TransactionCache transactionCache = getTransactionCache();
+		if (transactionCache == null) {
+			transactionCache = new TransactionCache(this.transactionCacheLimit);
+			TransactionSynchronizationManager.bindResource(this, transactionCache);
+			TransactionSynchronizationManager.registerSynchronization(
+					new TransactionCacheSynchronization(transactionCache));
+		}
+		return transactionCache;
+	}
+
+
+	/**
+	 * Extract the names of the tables referred to by the given SQL statement,
+	 * in lower case and without schema prefix or quotes.
+	 * @param sql the SQL statement
+	 * @return the table names (empty if none could be determined)
+	 */
+	static Set<String> extractTableNames(String sql) {
+		return SqlStatementInfo.parse(sql).getTables();
+	}
+
+	/**
+	 * Determine whether the given SQL statement is a pure query, i.e. does
+	 * not modify any data (also not through a data-modifying WITH clause).
+	 * @param sql the SQL statement
+	 * @return {@code true} for a query, {@code false} for any other statement
+	 */
+	static boolean isQuery(String sql) {
+		return SqlStatementInfo.parse(sql).isQuery();
+	}
+
+
+	/**
+	 * Simple analysis of a SQL statement: whether it is a query, and
+	 * which tables it refers to.
+	 */
+	private static final class SqlStatementInfo {
+
+		private final boolean query;
+
+		private final boolean lockingQuery;
+
+		private final Set<String> tables;
+
+		private SqlStatementInfo(boolean query, boolean lockingQuery, Set<String> tables) {
+			this.query = query;
+			this.lockingQuery = lockingQuery;
+			this.tables = tables;
+		}
+
+		boolean isQuery() {
+			return this.query;
+		}
+
+		boolean isCacheableQuery() {
+			return (this.query && !this.lockingQuery && !this.tables.isEmpty());
+		}
+
+		Set<String> getTables() {
+			return this.tables;
+		}
+
+		static SqlStatementInfo parse(String sql) {
+			List<String> tokens = tokenize(sql);
+			boolean query = false;
+			boolean modifying = false;
+			boolean lockingQuery = false;
+			Set<String> tables = new HashSet<>();
+			for (int i = 0; i < tokens.size(); i++) {
+				String token = tokens.get(i).toLowerCase(Locale.ROOT);
+				if (i == 0) {
+					query = (token.equals("select") || token.equals("with") || token.equals("values"));
+				}
+				if (DML_KEYWORDS.contains(token)) {
+					String previous = (i > 0 ? tokens.get(i - 1).toLowerCase(Locale.ROOT) : "");
+					if (token.equals("update") && (previous.equals("for") || previous.equals("key"))) {
+						// Locking clause: FOR UPDATE, FOR NO KEY UPDATE
+						lockingQuery = true;
+					}
+					else {
+						// Data-modifying statement, possibly behind a WITH clause
+						modifying = true;
+					}
+				}
+				if (TABLE_KEYWORDS.contains(token)) {
+					int index = addTable(tokens, i + 1, tables);
+					if (token.equals("from")) {
+						// Comma-separated table list: FROM a x, b AS y, c
+						while (index >= 0) {
+							int next = index + 1;
+							if (next < tokens.size() && tokens.get(next).equalsIgnoreCase("as")) {
+								next++;
+							}
+							if (next < tokens.size() && isIdentifier(tokens.get(next))) {
+								next++;
+							}
+							index = (next < tokens.size() && tokens.get(next).equals(",") ?
+									addTable(tokens, next + 1, tables) : -1);
+						}
+					}
+				}
+			}
+			return new SqlStatementInfo(query && !modifying, lockingQuery, Collections.unmodifiableSet(tables));
+		}
+
+		private static int addTable(List<String> tokens, int index, Set<String> tables) {
+			if (index < tokens.size() && isIdentifier(tokens.get(index))) {
+				String name = tokens.get(index);
+				int separator = name.lastIndexOf('.');
+				if (separator >= 0) {
+					name = name.substring(separator + 1);
+				}
+				name = name.replace("\"", "").replace("`", "").replace("[", "").replace("]", "");
+				if (!name.isEmpty()) {
+					tables.add(name.toLowerCase(Locale.ROOT));
+					return index;
+				}
+			}
+			return -1;
+		}
+
+		private static boolean isIdentifier(String token) {
+			char first = token.charAt(0);
+			return ((Character.isLetter(first) || first == '_' || first == '"' || first == '`' || first == '[') &&
+					!CLAUSE_KEYWORDS.contains(token.toLowerCase(Locale.ROOT)));
+		}
+
+		/**
+		 * Split the given SQL statement into identifier tokens (including
+		 * qualified and quoted names) and single-character punctuation tokens,
+		 * skipping literals and comments.
+		 */
+		private static List<String> tokenize(String sql) {
+			List<String> tokens = new ArrayList<>();
+			int length = sql.length();
+			int i = 0;
+			while (i < length) {
+				char c = sql.charAt(i);
+				if (Character.isWhitespace(c)) {
+					i++;
+				}
+				else if (c == '\'') {
+					int end = sql.indexOf('\'', i + 1);
+					i = (end < 0 ? length : end + 1);
+				}
+				else if (c == '-' && i + 1 < length && sql.charAt(i + 1) == '-') {
+					int end = sql.indexOf('\n', i);
+					i = (end < 0 ? length : end + 1);
+				}
+				else if (c == '/' && i + 1 < length && sql.charAt(i + 1) == '*') {
+					int end = sql.indexOf("*/", i + 2);
+					i = (end < 0 ? length : end + 2);
+				}
+				else if (Character.isLetterOrDigit(c) || c == '_' || c == '"' || c == '`' || c == '[') {
+					int start = i;
+					while (i < length) {
+						char ch = sql.charAt(i);
+						if (ch == '"' || ch == '`' || ch == '[') {
+							char closing = (ch == '[' ? ']' : ch);
+							int end = sql.indexOf(closing, i + 1);
+							i = (end < 0 ? length : end + 1);
+						}
+						else if (Character.isLetterOrDigit(ch) || ch == '_' || ch == '$' || ch == '.') {
+							i++;
+						}
+						else {
+							break;
+						}
+					}
+					tokens.add(sql.substring(start, i));
+				}
+				else {
+					tokens.add(String.valueOf(c));
+					i++;
+				}
+			}
+			return tokens;
+		}
+	}
+
+
+	/**
+	 * Cache key for a query: SQL statement plus arguments and argument types.
+	 */
+	@SuppressWarnings("serial")
+	private static final class QueryKey implements Serializable {
+
+		private final String sql;
+
+		private final Object[] args;
+
+		@Nullable
+		private final int[] argTypes;
+
+		private final int hashCode;
+
+		QueryKey(String sql, Object[] args, @Nullable int[] argTypes) {
+			this.sql = sql;
+			this.args = args;
+			this.argTypes = argTypes;
+			this.hashCode = 31 * sql.hashCode() + Arrays.deepHashCode(args);
+		}
+
+		@Override
+		public boolean equals(@Nullable Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof QueryKey)) {
+				return false;
+			}
+			QueryKey otherKey = (QueryKey) other;
+			return (this.sql.equals(otherKey.sql) && Arrays.deepEquals(this.args, otherKey.args) &&
+					Arrays.equals(this.argTypes, otherKey.argTypes));
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hashCode;
+		}
+
+		@Override
+		public String toString() {
+			return this.sql + " " + Arrays.deepToString(this.args);
+		}
+	}
+
+
+	/**
+	 * Cached query result: a disconnected {@link CachedRowSet} along with an
+	 * index of its column labels, since {@code CachedRowSet} implementations
+	 * such as the JDK's default one may only resolve column names.
+	 */
+	@SuppressWarnings("serial")
+	static final class CachedRows implements Serializable {
+
+		private final CachedRowSet rowSet;
+
+		private final Map<String, Integer> columnIndexes;
+
+		CachedRows(CachedRowSet rowSet) throws SQLException {
+			this.rowSet = rowSet;
+			ResultSetMetaData rsmd = rowSet.getMetaData();
+			int columnCount = (rsmd != null ? rsmd.getColumnCount() : 0);
+			this.columnIndexes = new LinkedCaseInsensitiveMap<>(columnCount);
+			for (int i = 1; i <= columnCount; i++) {
+				// Preserve the first matching column for any given label
+				this.columnIndexes.putIfAbsent(rsmd.getColumnLabel(i), i);
+			}
+		}
+
+		/**
+		 * Create a {@link ResultSet} with a separate cursor over the cached rows,
+		 * positioned before the first row and resolving columns by label.
+		 */
+		ResultSet createResultSet() throws SQLException {
+			ResultSet rs = this.rowSet.createShared();
+			rs.beforeFirst();
+			return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(),
+					new Class<?>[] {ResultSet.class}, new ColumnLabelInvocationHandler(rs, this.columnIndexes));
+		}
+	}
+
+
+	/**
+	 * Invocation handler that redirects {@link ResultSet} methods identifying
+	 * a column by label to the corresponding methods taking a column index.
+	 */
+	private static class ColumnLabelInvocationHandler implements InvocationHandler {
+
+		private static final Map<Method, Method> indexMethodCache = new ConcurrentReferenceHashMap<>(64);
+
+		private final ResultSet target;
+
+		private final Map<String, Integer> columnIndexes;
+
+		ColumnLabelInvocationHandler(ResultSet target, Map<String, Integer> columnIndexes) {
+			this.target = target;
+			this.columnIndexes = columnIndexes;
+		}
+
+		@Override
+		@Nullable
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			Method methodToUse = method;
+			Object[] argsToUse = args;
+			if (args != null && args.length > 0 && args[0] instanceof String &&
+					method.getParameterTypes()[0] == String.class) {
+				Integer index = this.columnIndexes.get(args[0]);
+				if (index != null) {
+					if (method.getName().equals("findColumn")) {
+						return index;
+					}
+					Method indexMethod = getIndexMethod(method);
+					if (indexMethod != null) {
+						methodToUse = indexMethod;
+						argsToUse = args.clone();
+						argsToUse[0] = index;
+					}
+				}
+			}
+			try {
+				return methodToUse.invoke(this.target, argsToUse);
+			}
+			catch (InvocationTargetException ex) {
+				throw ex.getTargetException();
+			}
+		}
+
+		@Nullable
+		private static Method getIndexMethod(Method labelMethod) {
+			Method indexMethod = indexMethodCache.get(labelMethod);
+			if (indexMethod == null) {
+				Class<?>[] parameterTypes = labelMethod.getParameterTypes().clone();
+				parameterTypes[0] = int.class;
+				indexMethod = ReflectionUtils.findMethod(ResultSet.class, labelMethod.getName(), parameterTypes);
+				if (indexMethod == null) {
+					// No index variant: keep resolving by name
+					indexMethod = labelMethod;
+				}
+				indexMethodCache.put(labelMethod, indexMethod);
+			}
+			return (indexMethod != labelMethod ? indexMethod : null);
+		}
+	}
+
+
+	/**
+	 * Cache entry: the cached result along with the tables it was read from.
+	 */
+	private static final class CacheEntry {
+
+		final CachedRows rows;
+
+		final Set<String> tables;
+
+		CacheEntry(CachedRows rows, Set<String> tables) {
+			this.rows = rows;
+			this.tables = tables;
+		}
+	}
+
+
+	/**
+	 * Transaction-scoped cache of query results, bound as a
+	 * transactional resource and confined to the transaction's thread.
+	 */
+	private static final class TransactionCache {
+
+		private final Map<Object, CacheEntry> entries;
+
+		private boolean sharedCacheStale;
+
+		@SuppressWarnings("serial")
+		TransactionCache(int limit) {
+			this.entries = new LinkedHashMap<Object, CacheEntry>(16, 0.75f, true) {
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<Object, CacheEntry> eldest) {
+					return size() > limit;
+				}
+			};
+		}
+
+		@Nullable
+		CachedRows get(Object key) {
+			CacheEntry entry = this.entries.get(key);
+			return (entry != null ? entry.rows : null);
+		}
+
+		void put(Object key, CachedRows rows, Set<String> tables) {
+			this.entries.put(key, new CacheEntry(rows, tables));
+		}
+
+		void invalidate(Set<String> tables) {
+			this.sharedCacheStale = true;
+			if (tables.isEmpty()) {
+				this.entries.clear();
+				return;
+			}
+			for (Iterator<CacheEntry> it = this.entries.values().iterator(); it.hasNext();) {
+				CacheEntry entry = it.next();
+				if (!Collections.disjoint(entry.tables, tables)) {
+					it.remove();
+				}
+			}
+		}
+
+		boolean isSharedCacheStale() {
+			return this.sharedCacheStale;
+		}
+	}
+
+
+	/**
+	 * Synchronization that unbinds the transaction-scoped cache on completion
+	 * (and on suspension), clearing the shared cache after a commit which
+	 * executed non-query statements. While suspended, the cache is registered
+	 * for invalidation by statements executed in other transactions on the
+	 * same thread.
+	 */
+	private class TransactionCacheSynchronization implements TransactionSynchronization {
+
+		private final TransactionCache transactionCache;
+
+		TransactionCacheSynchronization(TransactionCache transactionCache) {
+			this.transactionCache = transactionCache;
+		}
+
+		@Override
+		public void suspend() {
+			TransactionSynchronizationManager.unbindResourceIfPossible(QueryResultCache.this);
+			Deque<TransactionCache> suspendedCaches = QueryResultCache.this.suspendedTransactionCaches.get();
+			if (suspendedCaches == null) {
+				suspendedCaches = new ArrayDeque<>();
+				QueryResultCache.this.suspendedTransactionCaches.set(suspendedCaches);
+			}
+			suspendedCaches.push(this.transactionCache);
+		}
+
+		@Override
+		public void resume() {
+			Deque<TransactionCache> suspendedCaches = QueryResultCache.this.suspendedTransactionCaches.get();
+			if (suspendedCaches != null) {
+				suspendedCaches.remove(this.transactionCache);
+				if (suspendedCaches.isEmpty()) {
+					QueryResultCache.this.suspendedTransactionCaches.remove();
+				}
+			}
+			TransactionSynchronizationManager.bindResource(QueryResultCache.this, this.transactionCache);
+		}
+
+		@Override
+		public void afterCommit() {
+			Cache sharedCache = QueryResultCache.this.sharedCache;
+			if (sharedCache != null && this.transactionCache.isSharedCacheStale()) {
+				sharedCache.clear();
+			}
+		}
+
+		@Override
+		public void afterCompletion(int status) {
+			TransactionSynchronizationManager.unbindResourceIfPossible(QueryResultCache.this);
+		}
+	}
+
+}
@@ -0,0 +1,359 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.lang.Nullable;
+
+/**
+ * Bounded handoff of mapped rows from a query running on a separate thread,
+ * as returned by {@link JdbcTemplate#queryForPipeline(PreparedStatementCreator,
+ * PreparedStatementSetter, RowMapper, StreamingQuerySettings)}.
+ *
+ * <p>Rows can be consumed either through the blocking {@link Iterator} methods
+ * (or the corresponding {@link #stream() Stream}), or through a non-blocking
+ * {@link #toPublisher() Publisher} that honors downstream demand. The reading
+ * thread pauses whenever the prefetch buffer is full, so the memory held by a
+ * pipeline is bounded regardless of the size of the result.
+ *
+ * <p>A pipeline must be {@link #close() closed} when not consumed to the end,
+ * which cancels the running statement and releases its connection. Cancelling
+ * the Publisher subscription has the same effect. Closing a pipeline from
+ * another thread ends the rows for its consumer, i.e. {@link #hasNext()}
+ * returns {@code false} and a subscriber is completed.
+ *
+ * @author agent
+ * @since 5.3
+ * @param <T> the row type
+ * @see StreamingQuerySettings
+ */
+public final class RowPipeline<T> implements Iterator<T>, AutoCloseable {
+
+	private static final Object END = new Object();
+
+	private static final Object NULL_ROW = new Object();
+
+	private static final long OFFER_TIMEOUT_MILLIS = 100;
+
+
+	private final BlockingQueue<Object> queue;
+
+	private volatile boolean cancelled;
+
+	private volatile boolean done;
+
+	@Nullable
+	private volatile Statement statement;
+
+	@Nullable
+	private volatile RuntimeException failure;
+
+	private final AtomicBoolean subscribed = new AtomicBoolean();
+
+	@Nullable
+	private volatile RowSubscription subscription;
+
+	@Nullable
+	private Object nextRow;
+
+	private boolean exhausted;
+
+
+	RowPipeline(int prefetch) {
+		this.queue = new ArrayBlockingQueue<>(prefetch);
+	}
+
+
+	// Producer side, called on the reading thread
+
+	void setStatement(Statement statement) {
+		this.statement = statement;
+	}
+
+	boolean isCancelled() {
+		return this.cancelled;
+	}
+
+	/**
+	 * Hand off the given row, waiting for buffer space if necessary.
+	 * @return {@code true} if the row was handed off, or {@code false}
+	 * if the pipeline has been cancelled in the meantime
+	 */
+	boolean emit(@Nullable T row) {
+		return offer(row != null ? row : NULL_ROW);
+	}
+
+	/**
+	 * Signal the end of the rows, with the given failure if any.
+	 * The end is always delivered, even if the pipeline has been cancelled.
+	 */
+	void complete(@Nullable RuntimeException failure) {
+		if (failure != null) {
+			this.failure = failure;
+		}
+		this.done = true;
+		if (!offer(END)) {
+			signalEnd();
+		}
+	}
+
+	private boolean offer(Object element) {
+		try {
+			while (!this.cancelled) {
+				if (this.queue.offer(element, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+					drainSubscription();
+					return true;
+				}
+			}
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			if (this.failure == null) {
+				this.failure = new DataAccessResourceFailureException("Interrupted while handing off rows", ex);
+			}
+			signalEnd();
+		}
+		return false;
+	}
+
+	/**
+	 * Replace any buffered rows with the end signal, without waiting.
+	 */
+	private void signalEnd() {
+		do {
+			this.queue.clear();
+		}
+		while (!this.queue.offer(END));
+		drainSubscription();
+	}
+
+	private void drainSubscription() {
+		RowSubscription subscription = this.subscription;
+		if (subscription != null) {
+			subscription.drain();
+		}
+	}
+
+
+	// Consumer side
+
+	@Override
+	public boolean hasNext() {
+		if (this.cancelled) {
+			this.nextRow = null;
+			this.exhausted = true;
+			return false;
+		}
+		if (this.nextRow == null && !this.exhausted) {
+			Object element;
+			try {
+				element = this.queue.take();
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				close();
+				throw new DataAccessResourceFailureException("Interrupted while waiting for next row", ex);
+			}
+			if (element == END || this.cancelled) {
+				this.exhausted = true;
+				RuntimeException failure = this.failure;
+				if (failure != null && !this.cancelled) {
+					throw failure;
+				}
+			}
+			else {
+				this.nextRow = element;
+			}
+		}
+		return (this.nextRow != null);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	@Nullable
+	public T next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		Object row = this.nextRow;
+		this.nextRow = null;
+		return (row != NULL_ROW ? (T) row : null);
+	}
+
+	/**
+	 * Return a sequential {@link Stream} over the remaining rows,
+	 * closing this pipeline when the Stream is closed.
+	 */
+	public Stream<T> stream() {
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED), false)
+				.onClose(this::close);
+	}
+
+	/**
+	 * Return a {@link Publisher} for the remaining rows, emitting rows as they
+	 * become available without ever blocking the subscriber. Only a single
+	 * subscriber is supported, and {@code null} rows are skipped.
+	 * <p>Not to be combined with consumption through the {@link Iterator} methods.
+	 */
+	public Publisher<T> toPublisher() {
+		return subscriber -> {
+			if (!this.subscribed.compareAndSet(false, true)) {
+				subscriber.onSubscribe(new Subscription() {
+					@Override
+					public void request(long n) {
+					}
+					@Override
+					public void cancel() {
+					}
+				});
+				subscriber.onError(new IllegalStateException("RowPipeline allows only a single subscriber"));
+				return;
+			}
+			RowSubscription subscription = new RowSubscription(subscriber);
+			this.subscription = subscription;
+			subscriber.onSubscribe(subscription);
+			subscription.drain();
+		};
+	}
+
+	/**
+	 * Stop reading rows, cancelling the running statement if necessary.
+	 * The statement is closed and its connection released on the reading thread.
+	 * <p>A consumer waiting for the next row, possibly on another thread,
+	 * is woken up and sees the end of the rows.
+	 */
+	@Override
+	public void close() {
+		if (this.cancelled) {
+			return;
+		}
+		this.cancelled = true;
+		signalEnd();
+		Statement statement = this.statement;
+		if (statement != null && !this.done) {
+			try {
+				statement.cancel();
+			}
+			catch (SQLException | RuntimeException ex) {
+				// Statement may have completed or been closed in the meantime
+			}
+		}
+	}
+
+
+	/**
+	 * Subscription draining the buffer in line with downstream demand.
+	 */
+	private class RowSubscription implements Subscription {
+
+		private final Subscriber<? super T> subscriber;
+
+		private final AtomicLong demand = new AtomicLong();
+
+		private final AtomicInteger wip = new AtomicInteger();
+
+		private volatile boolean cancelled;
+
+		private boolean terminated;
+
+		RowSubscription(Subscriber<? super T> subscriber) {
+			this.subscriber = subscriber;
+		}
+
+		@Override
+		public void request(long n) {
+			if (n <= 0) {
+				close();
+				this.subscriber.onError(new IllegalArgumentException(
+						"Spec. Rule 3.9 - Cannot request a non strictly positive number: " + n));
+				return;
+			}
+			this.demand.getAndUpdate(current -> (current + n < 0 ? Long.MAX_VALUE : current + n));
+			drain();
+		}
+
+		@Override
+		public void cancel() {
+			this.cancelled = true;
+			close();
+		}
+
+		@SuppressWarnings("unchecked")
+		void drain() {
+			if (this.wip.getAndIncrement() != 0) {
+				return;
+			}
+			int missed = 1;
+			do {
+				long requested = this.demand.get();
+				long emitted = 0;
+				while (!this.terminated && !this.cancelled) {
+					Object element = queue.peek();
+					if (element == END) {
+						queue.poll();
+						terminate();
+						break;
+					}
+					if (element == null || emitted == requested) {
+						break;
+					}
+					queue.poll();
+					if (element != NULL_ROW) {
+						this.subscriber.onNext((T) element);
+						emitted++;
+					}
+				}
+				if (emitted != 0 && requested != Long.MAX_VALUE) {
+					this.demand.addAndGet(-emitted);
+				}
+				missed = this.wip.addAndGet(-missed);
+			}
+			while (missed != 0);
+		}
+
+		private void terminate() {
+			this.terminated = true;
+			RuntimeException failure = RowPipeline.this.failure;
+			if (failure != null && !RowPipeline.this.cancelled) {
+				this.subscriber.onError(failure);
+			}
+			else {
+				this.subscriber.onComplete();
+			}
+		}
+	}
+
+}
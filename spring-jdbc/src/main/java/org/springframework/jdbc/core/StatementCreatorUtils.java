@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -82,6 +82,9 @@ public abstract class StatementCreatorUtils {
 
 	private static final Map<Class<?>, Integer> javaTypeToSqlTypeMap = new HashMap<>(32);
 
+	/** Marker for null parameters that need to be set through {@code setObject}. */
+	private static final Integer NULL_VIA_SET_OBJECT = Integer.MIN_VALUE;
+
 	static {
 		javaTypeToSqlTypeMap.put(boolean.class, Types.BOOLEAN);
 		javaTypeToSqlTypeMap.put(Boolean.class, Types.BOOLEAN);
@@ -144,7 +147,8 @@ public abstract class StatementCreatorUtils {
 	public static void setParameterValue(PreparedStatement ps, int paramIndex, SqlParameter param,
 			@Nullable Object inValue) throws SQLException {
 
-		setParameterValueInternal(ps, paramIndex, param.getSqlType(), param.getTypeName(), param.getScale(), inValue);
+		setParameterValueInternal(ps, paramIndex, param.getSqlType(), param.getTypeName(), param.getScale(),
+				inValue, null);
 	}
 
 	/**
@@ -160,7 +164,7 @@ public abstract class StatementCreatorUtils {
 	public static void setParameterValue(PreparedStatement ps, int paramIndex, int sqlType,
 			@Nullable Object inValue) throws SQLException {
 
-		setParameterValueInternal(ps, paramIndex, sqlType, null, null, inValue);
+		setParameterValueInternal(ps, paramIndex, sqlType, null, null, inValue, null);
 	}
 
 	/**
@@ -178,7 +182,32 @@ public abstract class StatementCreatorUtils {
 	public static void setParameterValue(PreparedStatement ps, int paramIndex, int sqlType, String typeName,
 			@Nullable Object inValue) throws SQLException {
 
-		setParameterValueInternal(ps, paramIndex, sqlType, typeName, null, inValue);
+		setParameterValueInternal(ps, paramIndex, sqlType, typeName, null, inValue, null);
+	}
+
+	/**
+	 * Set the value for a parameter, memoizing the SQL type resolved for a
+	 * {@code null} value of unknown type in the given cache.
+	 * <p>Resolving such a type takes a {@link java.sql.ParameterMetaData} round
+	 * trip or a database-specific fallback; with a cache shared by all statements
+	 * for the same SQL, this happens once per parameter index.
+	 * @param ps the prepared statement or callable statement
+	 * @param paramIndex index of the parameter we are setting
+	 * @param sqlType the SQL type of the parameter
+	 * @param typeName the type name of the parameter
+	 * (optional, only used for SQL NULL and SqlTypeValue)
+	 * @param inValue the value to set (plain value or an SqlTypeValue)
+	 * @param nullTypeCache the cache of SQL types per parameter index
+	 * (needs to be thread-safe if shared), or {@code null} for none
+	 * @throws SQLException if thrown by PreparedStatement methods
+	 * @since 5.3
+	 * @see ArgumentPreparedStatementSetter#setNullTypeCache
+	 */
+	public static void setParameterValue(PreparedStatement ps, int paramIndex, int sqlType,
+			@Nullable String typeName, @Nullable Object inValue, @Nullable Map<Integer, Integer> nullTypeCache)
+			throws SQLException {
+
+		setParameterValueInternal(ps, paramIndex, sqlType, typeName, null, inValue, nullTypeCache);
 	}
 
 	/**
@@ -192,11 +221,13 @@ public abstract class StatementCreatorUtils {
 	 * @param scale the number of digits after the decimal point
 	 * (for DECIMAL and NUMERIC types)
 	 * @param inValue the value to set (plain value or an SqlTypeValue)
+	 * @param nullTypeCache the cache of SQL types for null parameters, if any
 	 * @throws SQLException if thrown by PreparedStatement methods
 	 * @see SqlTypeValue
 	 */
 	private static void setParameterValueInternal(PreparedStatement ps, int paramIndex, int sqlType,
-			@Nullable String typeName, @Nullable Integer scale, @Nullable Object inValue) throws SQLException {
+			@Nullable String typeName, @Nullable Integer scale, @Nullable Object inValue,
+			@Nullable Map<Integer, Integer> nullTypeCache) throws SQLException {
 
 		String typeNameToUse = typeName;
 		int sqlTypeToUse = sqlType;
@@ -226,7 +257,7 @@ public abstract class StatementCreatorUtils {
 		}
 
 		if (inValueToUse == null) {
-			setNull(ps, paramIndex, sqlTypeToUse, typeNameToUse);
+			setNull(ps, paramIndex, sqlTypeToUse, typeNameToUse, nullTypeCache);
 		}
 		else {
 			setValue(ps, paramIndex, sqlTypeToUse, typeNameToUse, scale, inValueToUse);
@@ -237,41 +268,18 @@ public abstract class StatementCreatorUtils {
 	 * Set the specified PreparedStatement parameter to null,
 	 * respecting database-specific peculiarities.
 	 */
-	private static void setNull(PreparedStatement ps, int paramIndex, int sqlType, @Nullable String typeName)
-			throws SQLException {
+	private static void setNull(PreparedStatement ps, int paramIndex, int sqlType, @Nullable String typeName,
+			@Nullable Map<Integer, Integer> nullTypeCache) throws SQLException {
 
 		if (sqlType == SqlTypeValue.TYPE_UNKNOWN || (sqlType == Types.OTHER && typeName == null)) {
-			boolean useSetObject = false;
-			Integer sqlTypeToUse = null;
-			if (!shouldIgnoreGetParameterType) {
-				try {
-					sqlTypeToUse = ps.getParameterMetaData().getParameterType(paramIndex);
-				}
-				catch (SQLException ex) {
-					if (logger.isDebugEnabled()) {
-						logger.debug("JDBC getParameterType call failed - using fallback method instead: " + ex);
-					}
-				}
-			}
+			Integer sqlTypeToUse = (nullTypeCache != null ? nullTypeCache.get(paramIndex) : null);
 			if (sqlTypeToUse == null) {
-				// Proceed with database-specific checks
-				sqlTypeToUse = Types.NULL;
-				DatabaseMetaData dbmd = ps.getConnection().getMetaData();
-				String jdbcDriverName = dbmd.getDriverName();
-				String databaseProductName = dbmd.getDatabaseProductName();
-				if (databaseProductName.startsWith("Informix") ||
-						(jdbcDriverName.startsWith("Microsoft") && jdbcDriverName.contains("SQL Server"))) {
-						// "Microsoft SQL Server JDBC Driver 3.0" versus "Microsoft JDBC Driver 4.0 for SQL Server"
-					useSetObject = true;
-				}
-				else if (databaseProductName.startsWith("DB2") ||
-						jdbcDriverName.startsWith("jConnect") ||
-						jdbcDriverName.startsWith("SQLServer")||
-						jdbcDriverName.startsWith("Apache Derby")) {
-					sqlTypeToUse = Types.VARCHAR;
+				sqlTypeToUse = resolveNullType(ps, paramIndex);
+				if (nullTypeCache != null) {
+					nullTypeCache.put(paramIndex, sqlTypeToUse);
 				}
 			}
-			if (useSetObject) {
+			if (sqlTypeToUse.equals(NULL_VIA_SET_OBJECT)) {
 				ps.setObject(paramIndex, null);
 			}
 			else {
@@ -286,6 +294,40 @@ public abstract class StatementCreatorUtils {
 		}
 	}
 
+	/**
+	 * Determine the SQL type to use for a null parameter of unknown type,
+	 * respecting database-specific peculiarities.
+	 * @return the SQL type, or {@code NULL_VIA_SET_OBJECT} for {@code setObject}
+	 */
+	private static Integer resolveNullType(PreparedStatement ps, int paramIndex) throws SQLException {
+		if (!shouldIgnoreGetParameterType) {
+			try {
+				return ps.getParameterMetaData().getParameterType(paramIndex);
+			}
+			catch (SQLException ex) {
+				if (logger.isDebugEnabled()) {
+					logger.debug("JDBC getParameterType call failed - using fallback method instead: " + ex);
+				}
+			}
+		}
+		// Proceed with database-specific checks
+		DatabaseMetaData dbmd = ps.getConnection().getMetaData();
+		String jdbcDriverName = dbmd.getDriverName();
+		String databaseProductName = dbmd.getDatabaseProductName();
+		if (databaseProductName.startsWith("Informix") ||
+				(jdbcDriverName.startsWith("Microsoft") && jdbcDriverName.contains("SQL Server"))) {
+				// "Microsoft SQL Server JDBC Driver 3.0" versus "Microsoft JDBC Driver 4.0 for SQL Server"
+			return NULL_VIA_SET_OBJECT;
+		}
+		else if (databaseProductName.startsWith("DB2") ||
+				jdbcDriverName.startsWith("jConnect") ||
+				jdbcDriverName.startsWith("SQLServer")||
+				jdbcDriverName.startsWith("Apache Derby")) {
+			return Types.VARCHAR;
+		}
+		return Types.NULL;
+	}
+
 	private static void setValue(PreparedStatement ps, int paramIndex, int sqlType,
 			@Nullable String typeName, @Nullable Integer scale, Object inValue) throws SQLException {
 
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+import java.util.concurrent.Executor;
+import java.util.function.ToLongFunction;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Settings for a pipelined streaming query, as executed by
+ * {@link JdbcTemplate#queryForPipeline(PreparedStatementCreator, PreparedStatementSetter,
+ * RowMapper, StreamingQuerySettings)}.
+ *
+ * <p>Rows are read on the given {@link Executor} into a buffer of at most
+ * {@link #setPrefetch prefetch} mapped rows, the reading thread pausing while
+ * the buffer is full. The JDBC fetch size is derived from the estimated width
+ * of a row, aiming at {@link #setTargetFetchBytes targetFetchBytes} per round
+ * trip: initially based on the result set metadata, then re-adjusted from
+ * the sizes of the mapped rows if a {@link #setRowSizeEstimator row size
+ * estimator} is specified.
+ *
+ * @author agent
+ * @since 5.3
+ * @see RowPipeline
+ */
+public class StreamingQuerySettings {
+
+	private final Executor executor;
+
+	private int prefetch = 256;
+
+	private long targetFetchBytes = 1024 * 1024;
+
+	private int minFetchSize = 16;
+
+	private int maxFetchSize = 10000;
+
+	@Nullable
+	private ToLongFunction<Object> rowSizeEstimator;
+
+	private int sampleSize = 256;
+
+
+	/**
+	 * Create new settings for reading rows on the given Executor.
+	 * @param executor the Executor to run the JDBC reads on; every running
+	 * query occupies one of its threads as well as one connection
+	 */
+	public StreamingQuerySettings(Executor executor) {
+		Assert.notNull(executor, "Executor must not be null");
+		this.executor = executor;
+	}
+
+
+	/**
+	 * Return the Executor to run the JDBC reads on.
+	 */
+	public Executor getExecutor() {
+		return this.executor;
+	}
+
+	/**
+	 * Set the maximum number of mapped rows to buffer ahead of the consumer.
+	 * <p>Default is 256.
+	 */
+	public void setPrefetch(int prefetch) {
+		Assert.isTrue(prefetch > 0, "prefetch must be greater than 0");
+		this.prefetch = prefetch;
+	}
+
+	/**
+	 * Return the maximum number of mapped rows to buffer ahead of the consumer.
+	 */
+	public int getPrefetch() {
+		return this.prefetch;
+	}
+
+	/**
+	 * Set the number of bytes to aim for per JDBC fetch.
+	 * <p>Default is 1 MB.
+	 */
+	public void setTargetFetchBytes(long targetFetchBytes) {
+		Assert.isTrue(targetFetchBytes > 0, "targetFetchBytes must be greater than 0");
+		this.targetFetchBytes = targetFetchBytes;
+	}
+
+	/**
+	 * Return the number of bytes to aim for per JDBC fetch.
+	 */
+	public long getTargetFetchBytes() {
+		return this.targetFetchBytes;
+	}
+
+	/**
+	 * Set the bounds for the derived fetch size.
+	 * <p>Default is 16 to 10000 rows.
+	 */
+	public void setFetchSizeRange(int minFetchSize, int maxFetchSize) {
+		Assert.isTrue(minFetchSize > 0, "minFetchSize must be greater than 0");
+		Assert.isTrue(maxFetchSize >= minFetchSize, "maxFetchSize must not be less than minFetchSize");
+		this.minFetchSize = minFetchSize;
+		this.maxFetchSize = maxFetchSize;
+	}
+
+	/**
+	 * Return the lower bound for the derived fetch size.
+	 */
+	public int getMinFetchSize() {
+		return this.minFetchSize;
+	}
+
+	/**
+	 * Return the upper bound for the derived fetch size.
+	 */
+	public int getMaxFetchSize() {
+		return this.maxFetchSize;
+	}
+
+	/**
+	 * Set a function to estimate the size of a mapped row in bytes, used to
+	 * re-adjust the fetch size every {@link #setSampleSize sampleSize} rows.
+	 * <p>By default, the fetch size is only derived from the result set metadata.
+	 */
+	public void setRowSizeEstimator(@Nullable ToLongFunction<Object> rowSizeEstimator) {
+		this.rowSizeEstimator = rowSizeEstimator;
+	}
+
+	/**
+	 * Return the function to estimate the size of a mapped row in bytes, if any.
+	 */
+	@Nullable
+	public ToLongFunction<Object> getRowSizeEstimator() {
+		return this.rowSizeEstimator;
+	}
+
+	/**
+	 * Set the number of rows to observe before re-adjusting the fetch size.
+	 * <p>Default is 256.
+	 */
+	public void setSampleSize(int sampleSize) {
+		Assert.isTrue(sampleSize > 0, "sampleSize must be greater than 0");
+		this.sampleSize = sampleSize;
+	}
+
+	/**
+	 * Return the number of rows to observe before re-adjusting the fetch size.
+	 */
+	public int getSampleSize() {
+		return this.sampleSize;
+	}
+
+}
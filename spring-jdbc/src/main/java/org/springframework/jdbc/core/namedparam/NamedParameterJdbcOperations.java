@@ -16,11 +16,13 @@
 
 package org.springframework.jdbc.core.namedparam;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Stream;
 
 import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchChunkSettings;
 import org.springframework.jdbc.core.JdbcOperations;
 import org.springframework.jdbc.core.PreparedStatementCallback;
 import org.springframework.jdbc.core.ResultSetExtractor;
@@ -548,4 +550,25 @@ public interface NamedParameterJdbcOperations {
 	 */
 	int[] batchUpdate(String sql, SqlParameterSource[] batchArgs);
 
+	/**
+	 * Execute a chunked batch update using the supplied SQL statement, consuming
+	 * the given batch arguments lazily so that only a chunk at a time needs to be
+	 * held in memory.
+	 * <p>The SQL statement is expanded once, based on the first batch argument.
+	 * @param sql the SQL statement to execute
+	 * @param batchArgs the Iterator of {@link SqlParameterSource} containing the
+	 * batch of arguments for the query, consumed once
+	 * @param settings the chunk settings to apply
+	 * @return the total number of rows affected by all successful chunks
+	 * (not counting special JDBC-defined negative values such as
+	 * {@link java.sql.Statement#SUCCESS_NO_INFO})
+	 * @throws DataAccessException if there is any problem issuing the update
+	 * and the chunk callback does not handle it
+	 * @since 5.3
+	 * @see JdbcOperations#batchUpdate(String, Iterator, BatchChunkSettings,
+	 * org.springframework.jdbc.core.ParameterizedPreparedStatementSetter)
+	 */
+	long batchUpdate(String sql, Iterator<? extends SqlParameterSource> batchArgs, BatchChunkSettings settings)
+			throws DataAccessException;
+
 }
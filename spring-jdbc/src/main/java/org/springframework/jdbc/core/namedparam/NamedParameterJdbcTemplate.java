@@ -18,6 +18,9 @@ package org.springframework.jdbc.core.namedparam;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -28,6 +31,7 @@ import javax.sql.DataSource;
 
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.support.DataAccessUtils;
+import org.springframework.jdbc.core.BatchChunkSettings;
 import org.springframework.jdbc.core.BatchPreparedStatementSetter;
 import org.springframework.jdbc.core.ColumnMapRowMapper;
 import org.springframework.jdbc.core.JdbcOperations;
@@ -40,6 +44,7 @@ import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.SingleColumnRowMapper;
 import org.springframework.jdbc.core.SqlParameter;
+import org.springframework.jdbc.core.SqlParameterValue;
 import org.springframework.jdbc.core.SqlRowSetResultSetExtractor;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.jdbc.support.rowset.SqlRowSet;
@@ -78,6 +83,8 @@ public class NamedParameterJdbcTemplate implements NamedParameterJdbcOperations
 
 	private volatile int cacheLimit = DEFAULT_CACHE_LIMIT;
 
+	private boolean inClauseParameterPadding = false;
+
 	/** Cache of original SQL String to ParsedSql representation. */
 	@SuppressWarnings("serial")
 	private final Map<String, ParsedSql> parsedSqlCache =
@@ -146,6 +153,30 @@ public class NamedParameterJdbcTemplate implements NamedParameterJdbcOperations
 		return this.cacheLimit;
 	}
 
+	/**
+	 * Specify whether to pad {@link Collection} parameter values to the next
+	 * power of two in size, repeating their last element.
+	 * <p>Default is {@code false}. Switch this to {@code true} for statements
+	 * with collection parameters in {@code IN} clauses only, where repeated
+	 * elements do not change the result: This bounds the number of distinct
+	 * expanded SQL statements to one per power of two, allowing for effective
+	 * caching of prepared statements in the driver or connection pool.
+	 * @since 5.3
+	 * @see NamedParameterUtils#substituteNamedParameters(ParsedSql, SqlParameterSource)
+	 */
+	public void setInClauseParameterPadding(boolean inClauseParameterPadding) {
+		this.inClauseParameterPadding = inClauseParameterPadding;
+	}
+
+	/**
+	 * Return whether {@link Collection} parameter values get padded to the
+	 * next power of two in size.
+	 * @since 5.3
+	 */
+	public boolean isInClauseParameterPadding() {
+		return this.inClauseParameterPadding;
+	}
+
 
 	@Override
 	@Nullable
@@ -393,6 +424,35 @@ public class NamedParameterJdbcTemplate implements NamedParameterJdbcOperations
 				});
 	}
 
+	@Override
+	public long batchUpdate(String sql, Iterator<? extends SqlParameterSource> batchArgs, BatchChunkSettings settings) {
+		if (!batchArgs.hasNext()) {
+			return 0;
+		}
+
+		SqlParameterSource firstArgs = batchArgs.next();
+		ParsedSql parsedSql = getParsedSql(sql);
+		PreparedStatementCreatorFactory pscf = getPreparedStatementCreatorFactory(parsedSql, firstArgs);
+
+		Iterator<Object[]> batchValues = new Iterator<Object[]>() {
+			@Nullable
+			private SqlParameterSource pending = firstArgs;
+			@Override
+			public boolean hasNext() {
+				return (this.pending != null || batchArgs.hasNext());
+			}
+			@Override
+			public Object[] next() {
+				SqlParameterSource paramSource = (this.pending != null ? this.pending : batchArgs.next());
+				this.pending = null;
+				return NamedParameterUtils.buildValueArray(parsedSql, paramSource, null);
+			}
+		};
+
+		return getJdbcOperations().batchUpdate(pscf.getSql(), batchValues, settings,
+				(ps, values) -> pscf.newPreparedStatementSetter(values).setValues(ps));
+	}
+
 
 	/**
 	 * Build a {@link PreparedStatementCreator} based on the given SQL and named parameters.
@@ -426,11 +486,13 @@ public class NamedParameterJdbcTemplate implements NamedParameterJdbcOperations
 			@Nullable Consumer<PreparedStatementCreatorFactory> customizer) {
 
 		ParsedSql parsedSql = getParsedSql(sql);
-		PreparedStatementCreatorFactory pscf = getPreparedStatementCreatorFactory(parsedSql, paramSource);
+		SqlParameterSource paramSourceToUse = (this.inClauseParameterPadding ?
+				new PaddedCollectionParameterSource(paramSource) : paramSource);
+		PreparedStatementCreatorFactory pscf = getPreparedStatementCreatorFactory(parsedSql, paramSourceToUse);
 		if (customizer != null) {
 			customizer.accept(pscf);
 		}
-		Object[] params = NamedParameterUtils.buildValueArray(parsedSql, paramSource, null);
+		Object[] params = NamedParameterUtils.buildValueArray(parsedSql, paramSourceToUse, null);
 		return pscf.newPreparedStatementCreator(params);
 	}
 
@@ -466,4 +528,72 @@ public class NamedParameterJdbcTemplate implements NamedParameterJdbcOperations
 		return new PreparedStatementCreatorFactory(sqlToUse, declaredParameters);
 	}
 
+
+	/**
+	 * {@link SqlParameterSource} decorator which pads {@link Collection} values
+	 * to the next power of two in size, repeating their last element.
+	 * @see #setInClauseParameterPadding
+	 */
+	private static class PaddedCollectionParameterSource implements SqlParameterSource {
+
+		private final SqlParameterSource source;
+
+		PaddedCollectionParameterSource(SqlParameterSource source) {
+			this.source = source;
+		}
+
+		@Override
+		public boolean hasValue(String paramName) {
+			return this.source.hasValue(paramName);
+		}
+
+		@Override
+		@Nullable
+		public Object getValue(String paramName) throws IllegalArgumentException {
+			return pad(this.source.getValue(paramName));
+		}
+
+		@Override
+		public int getSqlType(String paramName) {
+			return this.source.getSqlType(paramName);
+		}
+
+		@Override
+		@Nullable
+		public String getTypeName(String paramName) {
+			return this.source.getTypeName(paramName);
+		}
+
+		@Override
+		@Nullable
+		public String[] getParameterNames() {
+			return this.source.getParameterNames();
+		}
+
+		@Nullable
+		private static Object pad(@Nullable Object value) {
+			if (value instanceof SqlParameterValue) {
+				SqlParameterValue parameterValue = (SqlParameterValue) value;
+				Object paddedValue = pad(parameterValue.getValue());
+				return (paddedValue != parameterValue.getValue() ?
+						new SqlParameterValue(parameterValue, paddedValue) : parameterValue);
+			}
+			if (value instanceof Collection) {
+				Collection<?> collection = (Collection<?>) value;
+				int size = collection.size();
+				int paddedSize = (size > 1 ? Integer.highestOneBit(size - 1) << 1 : size);
+				if (paddedSize != size) {
+					List<Object> paddedValue = new ArrayList<>(paddedSize);
+					paddedValue.addAll(collection);
+					Object lastElement = paddedValue.get(size - 1);
+					while (paddedValue.size() < paddedSize) {
+						paddedValue.add(lastElement);
+					}
+					return paddedValue;
+				}
+			}
+			return value;
+		}
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,6 +17,7 @@
 package org.springframework.jdbc.core.namedparam;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -259,6 +260,10 @@ public abstract class NamedParameterUtils {
 	 * be used for a select list. Select lists should be limited to 100 or fewer elements.
 	 * A larger number of elements is not guaranteed to be supported by the database and
 	 * is strictly vendor-dependent.
+	 * <p>As of 5.3, the expanded SQL statement is cached per {@link ParsedSql}
+	 * for each shape of collection parameters (that is, their sizes and the
+	 * lengths of any nested arrays), so that repeated executions with equally
+	 * sized collections reuse the same SQL String.
 	 * @param parsedSql the parsed representation of the SQL statement
 	 * @param paramSource the source for named parameters
 	 * @return the SQL statement with substituted parameters
@@ -270,6 +275,17 @@ public abstract class NamedParameterUtils {
 		if (paramNames.isEmpty()) {
 			return originalSql;
 		}
+		ParameterShape shape = ParameterShape.of(paramNames, paramSource);
+		if (shape == null) {
+			// Nested arrays of varying length: no shape to cache for
+			return expandNamedParameters(parsedSql, paramSource);
+		}
+		return parsedSql.getExpandedSql(shape, () -> shape.expand(parsedSql));
+	}
+
+	private static String expandNamedParameters(ParsedSql parsedSql, @Nullable SqlParameterSource paramSource) {
+		String originalSql = parsedSql.getOriginalSql();
+		List<String> paramNames = parsedSql.getParameterNames();
 		StringBuilder actualSql = new StringBuilder(originalSql.length());
 		int lastIndex = 0;
 		for (int i = 0; i < paramNames.size(); i++) {
@@ -479,6 +495,116 @@ public abstract class NamedParameterUtils {
 	}
 
 
+	/**
+	 * The shape of the parameter values for a given SQL statement: for each
+	 * parameter occurrence, whether it is a single value or an {@link Iterable}
+	 * and if so, its number of elements as well as the length of its nested
+	 * arrays (if any). Determines the expanded form of the SQL statement.
+	 */
+	private static final class ParameterShape {
+
+		private static final int SINGLE_VALUE = -1;
+
+		// Pairs of element count (or SINGLE_VALUE) and array length + 1 (0 for plain elements)
+		private final int[] codes;
+
+		private final int hashCode;
+
+		private ParameterShape(int[] codes) {
+			this.codes = codes;
+			this.hashCode = Arrays.hashCode(codes);
+		}
+
+		/**
+		 * Determine the shape of the given parameter values.
+		 * @return the shape, or {@code null} if an {@code Iterable} contains
+		 * arrays of differing lengths
+		 */
+		@Nullable
+		static ParameterShape of(List<String> paramNames, @Nullable SqlParameterSource paramSource) {
+			int[] codes = new int[paramNames.size() * 2];
+			for (int i = 0; i < paramNames.size(); i++) {
+				String paramName = paramNames.get(i);
+				codes[i * 2] = SINGLE_VALUE;
+				if (paramSource != null && paramSource.hasValue(paramName)) {
+					Object value = paramSource.getValue(paramName);
+					if (value instanceof SqlParameterValue) {
+						value = ((SqlParameterValue) value).getValue();
+					}
+					if (value instanceof Iterable) {
+						int count = 0;
+						int elementCode = 0;
+						for (Object entryItem : (Iterable<?>) value) {
+							int entryCode = (entryItem instanceof Object[] ? ((Object[]) entryItem).length + 1 : 0);
+							if (count > 0 && entryCode != elementCode) {
+								return null;
+							}
+							elementCode = entryCode;
+							count++;
+						}
+						codes[i * 2] = count;
+						codes[i * 2 + 1] = elementCode;
+					}
+				}
+			}
+			return new ParameterShape(codes);
+		}
+
+		/**
+		 * Expand the given SQL statement according to this shape.
+		 */
+		String expand(ParsedSql parsedSql) {
+			String originalSql = parsedSql.getOriginalSql();
+			List<String> paramNames = parsedSql.getParameterNames();
+			StringBuilder actualSql = new StringBuilder(originalSql.length());
+			int lastIndex = 0;
+			for (int i = 0; i < paramNames.size(); i++) {
+				int[] indexes = parsedSql.getParameterIndexes(i);
+				actualSql.append(originalSql, lastIndex, indexes[0]);
+				int count = this.codes[i * 2];
+				if (count == SINGLE_VALUE) {
+					actualSql.append('?');
+				}
+				else {
+					int elementCode = this.codes[i * 2 + 1];
+					for (int k = 0; k < count; k++) {
+						if (k > 0) {
+							actualSql.append(", ");
+						}
+						if (elementCode > 0) {
+							actualSql.append('(');
+							for (int m = 0; m < elementCode - 1; m++) {
+								if (m > 0) {
+									actualSql.append(", ");
+								}
+								actualSql.append('?');
+							}
+							actualSql.append(')');
+						}
+						else {
+							actualSql.append('?');
+						}
+					}
+				}
+				lastIndex = indexes[1];
+			}
+			actualSql.append(originalSql, lastIndex, originalSql.length());
+			return actualSql.toString();
+		}
+
+		@Override
+		public boolean equals(@Nullable Object other) {
+			return (this == other || (other instanceof ParameterShape &&
+					Arrays.equals(this.codes, ((ParameterShape) other).codes)));
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hashCode;
+		}
+	}
+
+
 	private static class ParameterHolder {
 
 		private final String parameterName;
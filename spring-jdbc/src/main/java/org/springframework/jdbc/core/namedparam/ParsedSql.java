@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2016 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,6 +18,9 @@ package org.springframework.jdbc.core.namedparam;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 /**
  * Holds information about a parsed SQL statement.
@@ -28,6 +31,12 @@ import java.util.List;
  */
 public class ParsedSql {
 
+	/**
+	 * Maximum number of expanded SQL statements to cache per parsed statement.
+	 */
+	static final int EXPANDED_SQL_CACHE_LIMIT = 64;
+
+
 	private String originalSql;
 
 	private List<String> parameterNames = new ArrayList<>();
@@ -40,6 +49,9 @@ public class ParsedSql {
 
 	private int totalParameterCount;
 
+	/** Cache of expanded SQL Strings, keyed by the shape of the parameter values. */
+	private final Map<Object, String> expandedSqlCache = new ConcurrentHashMap<>(4);
+
 
 	/**
 	 * Create a new instance of the {@link ParsedSql} class.
@@ -133,6 +145,27 @@ public class ParsedSql {
 		return this.totalParameterCount;
 	}
 
+	/**
+	 * Return the expanded SQL statement for the given shape of parameter values,
+	 * expanding it through the given supplier if not cached yet.
+	 * <p>At most {@link #EXPANDED_SQL_CACHE_LIMIT} shapes are cached per statement;
+	 * further shapes get expanded on every call.
+	 * @param shape the shape of the parameter values (with equality semantics)
+	 * @param expander the supplier for the expanded SQL statement
+	 * @return the expanded SQL statement
+	 * @since 5.3
+	 */
+	String getExpandedSql(Object shape, Supplier<String> expander) {
+		String expandedSql = this.expandedSqlCache.get(shape);
+		if (expandedSql == null) {
+			expandedSql = expander.get();
+			if (this.expandedSqlCache.size() < EXPANDED_SQL_CACHE_LIMIT) {
+				this.expandedSqlCache.put(shape, expandedSql);
+			}
+		}
+		return expandedSql;
+	}
+
 
 	/**
 	 * Exposes the original SQL String.
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,8 +17,11 @@
 package org.springframework.jdbc.datasource;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Savepoint;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import org.springframework.lang.Nullable;
 import org.springframework.transaction.support.ResourceHolderSupport;
@@ -60,6 +63,9 @@ public class ConnectionHolder extends ResourceHolderSupport {
 
 	private int savepointCounter = 0;
 
+	@Nullable
+	private Map<String, PreparedStatement> preparedStatements;
+
 
 	/**
 	 * Create a new ConnectionHolder for the given ConnectionHandle.
@@ -134,6 +140,7 @@ public class ConnectionHolder extends ResourceHolderSupport {
 	 * argument) and setting a fresh Connection on resume.
 	 */
 	protected void setConnection(@Nullable Connection connection) {
+		closeCachedPreparedStatements();
 		if (this.currentConnection != null) {
 			if (this.connectionHandle != null) {
 				this.connectionHandle.releaseConnection(this.currentConnection);
@@ -187,6 +194,79 @@ public class ConnectionHolder extends ResourceHolderSupport {
 		return getConnection().setSavepoint(SAVEPOINT_NAME_PREFIX + this.savepointCounter);
 	}
 
+	/**
+	 * Check out a PreparedStatement for the given SQL from the statement cache
+	 * of this ConnectionHolder, removing it from the cache until it is returned
+	 * through {@link #cachePreparedStatement}.
+	 * @param sql the SQL that the statement has been prepared for
+	 * @return the cached statement, or {@code null} if none
+	 * @since 5.3
+	 */
+	@Nullable
+	public PreparedStatement getCachedPreparedStatement(String sql) {
+		return (this.preparedStatements != null ? this.preparedStatements.remove(sql) : null);
+	}
+
+	/**
+	 * Return the given PreparedStatement to the statement cache of this
+	 * ConnectionHolder, for reuse until the cache is cleared along with this
+	 * holder. If a statement for the same SQL is already cached, or if the
+	 * cache exceeds the given limit, a statement is closed right away.
+	 * @param sql the SQL that the statement has been prepared for
+	 * @param ps the statement to cache
+	 * @param cacheLimit the maximum number of statements to cache
+	 * @since 5.3
+	 * @see #closeCachedPreparedStatements()
+	 */
+	public void cachePreparedStatement(String sql, PreparedStatement ps, int cacheLimit) {
+		if (this.preparedStatements == null) {
+			this.preparedStatements = new LinkedHashMap<String, PreparedStatement>(16, 0.75f, true) {
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+					if (size() > cacheLimit) {
+						closePreparedStatement(eldest.getValue());
+						return true;
+					}
+					return false;
+				}
+			};
+		}
+		PreparedStatement existing = this.preparedStatements.putIfAbsent(sql, ps);
+		if (existing != null && existing != ps) {
+			closePreparedStatement(ps);
+		}
+	}
+
+	/**
+	 * Return whether this ConnectionHolder currently caches any PreparedStatements.
+	 * @since 5.3
+	 */
+	public boolean hasCachedPreparedStatements() {
+		return (this.preparedStatements != null && !this.preparedStatements.isEmpty());
+	}
+
+	/**
+	 * Close all PreparedStatements cached by this ConnectionHolder.
+	 * @since 5.3
+	 */
+	public void closeCachedPreparedStatements() {
+		if (this.preparedStatements != null) {
+			for (PreparedStatement ps : this.preparedStatements.values()) {
+				closePreparedStatement(ps);
+			}
+			this.preparedStatements = null;
+		}
+	}
+
+	private static void closePreparedStatement(PreparedStatement ps) {
+		try {
+			ps.close();
+		}
+		catch (Throwable ex) {
+			// Statement may be unusable already, e.g. after its Connection has been closed
+		}
+	}
+
 	/**
 	 * Releases the current Connection held by this ConnectionHolder.
 	 * <p>This is necessary for ConnectionHandles that expect "Connection borrowing",
@@ -198,6 +278,7 @@ public class ConnectionHolder extends ResourceHolderSupport {
 	public void released() {
 		super.released();
 		if (!isOpen() && this.currentConnection != null) {
+			closeCachedPreparedStatements();
 			if (this.connectionHandle != null) {
 				this.connectionHandle.releaseConnection(this.currentConnection);
 			}
@@ -209,6 +290,7 @@ public class ConnectionHolder extends ResourceHolderSupport {
 	@Override
 	public void clear() {
 		super.clear();
+		closeCachedPreparedStatements();
 		this.transactionActive = false;
 		this.savepointsSupported = null;
 		this.savepointCounter = 0;
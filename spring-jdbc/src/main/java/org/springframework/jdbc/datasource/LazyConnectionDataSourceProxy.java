@@ -207,6 +207,27 @@ public class LazyConnectionDataSourceProxy extends DelegatingDataSource {
 	}
 
 
+	/**
+	 * Fetch an actual JDBC Connection for a lazy Connection handle, on its
+	 * first creation of a Statement.
+	 * <p>The default implementation obtains a Connection from the target
+	 * DataSource. Can be overridden to choose among several DataSources,
+	 * e.g. based on whether the Connection has been marked as read-only.
+	 * @param username the per-Connection username, if any
+	 * @param password the per-Connection password, if any
+	 * @param readOnly whether the Connection handle has been marked as read-only
+	 * (typically through a read-only transaction definition)
+	 * @return the target Connection
+	 * @throws SQLException if thrown by the target DataSource
+	 * @since 5.3
+	 */
+	protected Connection obtainTargetConnection(@Nullable String username, @Nullable String password,
+			boolean readOnly) throws SQLException {
+
+		return (username != null ? obtainTargetDataSource().getConnection(username, password) :
+				obtainTargetDataSource().getConnection());
+	}
+
 	/**
 	 * Return a Connection handle that lazily fetches an actual JDBC Connection
 	 * when asked for a Statement (or PreparedStatement or CallableStatement).
@@ -400,9 +421,7 @@ public class LazyConnectionDataSourceProxy extends DelegatingDataSource {
 				}
 
 				// Fetch physical Connection from DataSource.
-				this.target = (this.username != null) ?
-						obtainTargetDataSource().getConnection(this.username, this.password) :
-						obtainTargetDataSource().getConnection();
+				this.target = obtainTargetConnection(this.username, this.password, this.readOnly);
 
 				// If we still lack default connection properties, check them now.
 				checkDefaultConnectionProperties(this.target);
@@ -0,0 +1,518 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.datasource;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+
+/**
+ * DataSource that routes read-only work to a set of replica DataSources,
+ * sending everything else to the primary (target) DataSource.
+ *
+ * <p>Connections are fetched lazily, as with {@link LazyConnectionDataSourceProxy},
+ * so that the routing decision can take the current transaction definition into
+ * account: a Connection marked as read-only before its first use (as done by
+ * {@link DataSourceTransactionManager} for {@code @Transactional(readOnly = true)})
+ * or requested within a read-only transaction scope goes to a replica, with no
+ * need for an additional proxy in front of this DataSource.
+ *
+ * <p>Among the available replicas, the one with the least outstanding requests,
+ * i.e. Connections currently in use, is chosen. Replicas can be checked through
+ * a {@link #setReplicaLagQuery lag query}, being ejected while their lag exceeds
+ * {@link #setMaxReplicaLag maxReplicaLag} or while they are unreachable; checks
+ * run every {@link #setReplicaCheckInterval replicaCheckInterval} on the first
+ * read-only request thereafter, or on demand through {@link #checkReplicas()}.
+ * A replica that fails to hand out a Connection is ejected as well. Independent
+ * of the check interval, an ejected replica is checked again on the first
+ * read-only request after a cool-down of {@link #setReplicaRetryDelay
+ * replicaRetryDelay} (30 seconds by default) and re-admitted if it has recovered,
+ * so that a transient failure never removes a replica for good.
+ * If no replica is available, read-only work goes to the primary DataSource.
+ * Per-target statistics are exposed through {@link #getTargetMetrics()}.
+ *
+ * <p>Example configuration, with PostgreSQL replicas:
+ *
+ * <pre class="code">
+ * ReadWriteRoutingDataSource dataSource = new ReadWriteRoutingDataSource();
+ * dataSource.setTargetDataSource(primary);
+ * dataSource.setReplicaDataSources(replicas);  // e.g. "replica1", "replica2"
+ * dataSource.setReplicaLagQuery(
+ *     "SELECT EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp())");
+ * dataSource.setMaxReplicaLag(Duration.ofSeconds(5));
+ * dataSource.afterPropertiesSet();</pre>
+ *
+ * @author agent
+ * @since 5.3
+ * @see DataSourceTransactionManager
+ * @see org.springframework.transaction.annotation.Transactional#readOnly()
+ */
+public class ReadWriteRoutingDataSource extends LazyConnectionDataSourceProxy {
+
+	/** The name under which metrics for the primary DataSource are exposed. */
+	public static final String PRIMARY_NAME = "primary";
+
+	private static final Log logger = LogFactory.getLog(ReadWriteRoutingDataSource.class);
+
+
+	private final RoutingTarget primary = new RoutingTarget(PRIMARY_NAME, null);
+
+	private volatile RoutingTarget[] replicas = new RoutingTarget[0];
+
+	@Nullable
+	private String replicaLagQuery;
+
+	private Duration maxReplicaLag = Duration.ofSeconds(10);
+
+	private Duration replicaCheckInterval = Duration.ZERO;
+
+	private Duration replicaRetryDelay = Duration.ofSeconds(30);
+
+	private final AtomicLong nextReplicaCheck = new AtomicLong(System.nanoTime());
+
+	private final AtomicInteger roundRobin = new AtomicInteger();
+
+
+	/**
+	 * Create a new ReadWriteRoutingDataSource.
+	 * @see #setTargetDataSource
+	 * @see #setReplicaDataSources
+	 */
+	public ReadWriteRoutingDataSource() {
+	}
+
+	/**
+	 * Create a new ReadWriteRoutingDataSource.
+	 * @param primaryDataSource the primary DataSource, for read-write work
+	 * @param replicaDataSources the replica DataSources, for read-only work,
+	 * keyed by name
+	 */
+	public ReadWriteRoutingDataSource(DataSource primaryDataSource, Map<String, DataSource> replicaDataSources) {
+		setTargetDataSource(primaryDataSource);
+		setReplicaDataSources(replicaDataSources);
+		afterPropertiesSet();
+	}
+
+
+	/**
+	 * Set the replica DataSources to route read-only work to, keyed by name
+	 * (the names being used for logging and metrics).
+	 * <p>The primary DataSource is to be set as {@link #setTargetDataSource target DataSource}.
+	 */
+	public void setReplicaDataSources(Map<String, DataSource> replicaDataSources) {
+		Assert.notNull(replicaDataSources, "Replica DataSources must not be null");
+		RoutingTarget[] replicas = new RoutingTarget[replicaDataSources.size()];
+		int i = 0;
+		for (Map.Entry<String, DataSource> entry : replicaDataSources.entrySet()) {
+			Assert.isTrue(!PRIMARY_NAME.equals(entry.getKey()), "Replica name must not be '" + PRIMARY_NAME + "'");
+			replicas[i++] = new RoutingTarget(entry.getKey(), entry.getValue());
+		}
+		this.replicas = replicas;
+	}
+
+	/**
+	 * Set a query that returns the replication lag of a replica in seconds,
+	 * as a single numeric value. A {@code NULL} result is interpreted as no lag.
+	 * <p>If not specified, replica checks only verify that a replica is reachable.
+	 * @see #setMaxReplicaLag
+	 */
+	public void setReplicaLagQuery(@Nullable String replicaLagQuery) {
+		this.replicaLagQuery = replicaLagQuery;
+	}
+
+	/**
+	 * Set the maximum replication lag beyond which a replica is ejected
+	 * until a subsequent check finds it caught up again.
+	 * <p>Default is 10 seconds.
+	 */
+	public void setMaxReplicaLag(Duration maxReplicaLag) {
+		Assert.notNull(maxReplicaLag, "Duration must not be null");
+		this.maxReplicaLag = maxReplicaLag;
+	}
+
+	/**
+	 * Set the interval at which replicas are checked, the check being performed
+	 * on the thread of the first read-only request once the interval has elapsed.
+	 * <p>Default is none, only checking replicas when {@link #checkReplicas()} is
+	 * called explicitly, e.g. from a scheduled task.
+	 */
+	public void setReplicaCheckInterval(Duration replicaCheckInterval) {
+		Assert.notNull(replicaCheckInterval, "Duration must not be null");
+		this.replicaCheckInterval = replicaCheckInterval;
+	}
+
+	/**
+	 * Set the cool-down after which an ejected replica is checked again,
+	 * the check being performed on the thread of the first read-only request
+	 * once the cool-down has elapsed. A replica that passes the check is
+	 * re-admitted, while a failed check starts another cool-down.
+	 * <p>Default is 30 seconds. This applies regardless of the
+	 * {@link #setReplicaCheckInterval replicaCheckInterval}, re-admitting
+	 * replicas ejected after a failure to obtain a Connection even if no
+	 * periodic checks are configured.
+	 */
+	public void setReplicaRetryDelay(Duration replicaRetryDelay) {
+		Assert.notNull(replicaRetryDelay, "Duration must not be null");
+		this.replicaRetryDelay = replicaRetryDelay;
+	}
+
+
+	/**
+	 * Check all replicas for reachability and replication lag, ejecting
+	 * unhealthy ones and re-admitting recovered ones.
+	 * @see #setReplicaLagQuery
+	 */
+	public void checkReplicas() {
+		for (RoutingTarget replica : this.replicas) {
+			checkReplica(replica);
+		}
+	}
+
+	private void checkReplica(RoutingTarget replica) {
+		Assert.state(replica.dataSource != null, "No replica DataSource");
+		try (Connection con = replica.dataSource.getConnection()) {
+			Duration lag = Duration.ZERO;
+			if (this.replicaLagQuery != null) {
+				try (Statement stmt = con.createStatement(); ResultSet rs = stmt.executeQuery(this.replicaLagQuery)) {
+					if (rs.next()) {
+						double seconds = rs.getDouble(1);
+						if (!rs.wasNull()) {
+							lag = Duration.ofNanos((long) (seconds * 1_000_000_000));
+						}
+					}
+				}
+			}
+			replica.lag = lag;
+			boolean ejected = (lag.compareTo(this.maxReplicaLag) > 0);
+			if (ejected != replica.ejected && logger.isInfoEnabled()) {
+				logger.info((ejected ? "Ejecting" : "Re-admitting") + " replica '" + replica.name +
+						"' with replication lag of " + lag.toMillis() + " ms");
+			}
+			if (ejected) {
+				replica.eject();
+			}
+			else {
+				replica.ejected = false;
+			}
+		}
+		catch (SQLException ex) {
+			replica.failedChecks.incrementAndGet();
+			if (!replica.ejected && logger.isInfoEnabled()) {
+				logger.info("Ejecting replica '" + replica.name + "' after failed check: " + ex);
+			}
+			replica.eject();
+		}
+	}
+
+	private void checkReplicasIfDue() {
+		long interval = this.replicaCheckInterval.toNanos();
+		if (interval > 0) {
+			long nextCheck = this.nextReplicaCheck.get();
+			long now = System.nanoTime();
+			if (now - nextCheck >= 0 && this.nextReplicaCheck.compareAndSet(nextCheck, now + interval)) {
+				checkReplicas();
+			}
+		}
+	}
+
+	private void retryEjectedReplicasIfDue() {
+		long delay = this.replicaRetryDelay.toNanos();
+		for (RoutingTarget replica : this.replicas) {
+			if (replica.ejected) {
+				long ejectedAt = replica.ejectedAt.get();
+				long now = System.nanoTime();
+				if (now - ejectedAt >= delay && replica.ejectedAt.compareAndSet(ejectedAt, now)) {
+					checkReplica(replica);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Return a snapshot of the statistics for the primary DataSource
+	 * (under {@link #PRIMARY_NAME}) and each replica DataSource.
+	 */
+	public Map<String, TargetMetrics> getTargetMetrics() {
+		Map<String, TargetMetrics> metrics = new LinkedHashMap<>();
+		metrics.put(PRIMARY_NAME, this.primary.metrics());
+		for (RoutingTarget replica : this.replicas) {
+			metrics.put(replica.name, replica.metrics());
+		}
+		return Collections.unmodifiableMap(metrics);
+	}
+
+
+	/**
+	 * Fetch the actual JDBC Connection from a replica if the Connection has been
+	 * marked as read-only or is requested within a read-only transaction scope,
+	 * and from the primary DataSource otherwise.
+	 */
+	@Override
+	protected Connection obtainTargetConnection(@Nullable String username, @Nullable String password,
+			boolean readOnly) throws SQLException {
+
+		if (readOnly || TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+			checkReplicasIfDue();
+			retryEjectedReplicasIfDue();
+			RoutingTarget replica = selectReplica();
+			if (replica != null) {
+				Assert.state(replica.dataSource != null, "No replica DataSource");
+				try {
+					return replica.getConnection(replica.dataSource, username, password);
+				}
+				catch (SQLException ex) {
+					if (logger.isInfoEnabled()) {
+						logger.info("Ejecting replica '" + replica.name + "' after failure to obtain Connection " +
+								"- falling back to primary DataSource: " + ex);
+					}
+					replica.eject();
+				}
+			}
+		}
+		return this.primary.getConnection(obtainTargetDataSource(), username, password);
+	}
+
+	/**
+	 * Select the available replica with the least outstanding requests,
+	 * starting at a rotating position to spread ties evenly.
+	 */
+	@Nullable
+	private RoutingTarget selectReplica() {
+		RoutingTarget[] replicas = this.replicas;
+		int count = replicas.length;
+		if (count == 0) {
+			return null;
+		}
+		int start = Math.floorMod(this.roundRobin.getAndIncrement(), count);
+		RoutingTarget selected = null;
+		int selectedOutstanding = Integer.MAX_VALUE;
+		for (int i = 0; i < count; i++) {
+			RoutingTarget candidate = replicas[(start + i) % count];
+			if (!candidate.ejected) {
+				int outstanding = candidate.outstanding.get();
+				if (outstanding < selectedOutstanding) {
+					selected = candidate;
+					selectedOutstanding = outstanding;
+				}
+			}
+		}
+		return selected;
+	}
+
+
+	/**
+	 * Snapshot of the statistics for a target DataSource.
+	 */
+	public static final class TargetMetrics {
+
+		private final int outstandingRequests;
+
+		private final long totalRequests;
+
+		private final boolean ejected;
+
+		@Nullable
+		private final Duration replicationLag;
+
+		private final long failedChecks;
+
+		TargetMetrics(int outstandingRequests, long totalRequests, boolean ejected,
+				@Nullable Duration replicationLag, long failedChecks) {
+
+			this.outstandingRequests = outstandingRequests;
+			this.totalRequests = totalRequests;
+			this.ejected = ejected;
+			this.replicationLag = replicationLag;
+			this.failedChecks = failedChecks;
+		}
+
+		/**
+		 * Return the number of Connections currently in use.
+		 */
+		public int getOutstandingRequests() {
+			return this.outstandingRequests;
+		}
+
+		/**
+		 * Return the total number of Connections obtained so far.
+		 */
+		public long getTotalRequests() {
+			return this.totalRequests;
+		}
+
+		/**
+		 * Return whether the target is currently ejected from routing.
+		 * Always {@code false} for the primary DataSource.
+		 */
+		public boolean isEjected() {
+			return this.ejected;
+		}
+
+		/**
+		 * Return the replication lag determined by the latest successful check,
+		 * or {@code null} if not checked yet or for the primary DataSource.
+		 */
+		@Nullable
+		public Duration getReplicationLag() {
+			return this.replicationLag;
+		}
+
+		/**
+		 * Return the number of failed checks so far.
+		 */
+		public long getFailedChecks() {
+			return this.failedChecks;
+		}
+
+		@Override
+		public String toString() {
+			return "TargetMetrics [outstandingRequests=" + this.outstandingRequests +
+					", totalRequests=" + this.totalRequests + ", ejected=" + this.ejected +
+					", replicationLag=" + this.replicationLag + ", failedChecks=" + this.failedChecks + "]";
+		}
+	}
+
+
+	/**
+	 * State of a target DataSource, tracking outstanding requests
+	 * through the Connections it hands out.
+	 */
+	private static final class RoutingTarget {
+
+		final String name;
+
+		@Nullable
+		final DataSource dataSource;
+
+		final AtomicInteger outstanding = new AtomicInteger();
+
+		final AtomicLong requests = new AtomicLong();
+
+		final AtomicLong failedChecks = new AtomicLong();
+
+		final AtomicLong ejectedAt = new AtomicLong();
+
+		volatile boolean ejected;
+
+		@Nullable
+		volatile Duration lag;
+
+		RoutingTarget(String name, @Nullable DataSource dataSource) {
+			this.name = name;
+			this.dataSource = dataSource;
+		}
+
+		void eject() {
+			this.ejectedAt.set(System.nanoTime());
+			this.ejected = true;
+		}
+
+		Connection getConnection(DataSource dataSource, @Nullable String username, @Nullable String password)
+				throws SQLException {
+
+			Connection con = (username != null ? dataSource.getConnection(username, password) :
+					dataSource.getConnection());
+			this.outstanding.incrementAndGet();
+			this.requests.incrementAndGet();
+			return (Connection) Proxy.newProxyInstance(
+					ConnectionProxy.class.getClassLoader(),
+					new Class<?>[] {ConnectionProxy.class},
+					new OutstandingRequestInvocationHandler(con, this.outstanding));
+		}
+
+		TargetMetrics metrics() {
+			return new TargetMetrics(this.outstanding.get(), this.requests.get(), this.ejected,
+					this.lag, this.failedChecks.get());
+		}
+	}
+
+
+	/**
+	 * Invocation handler that decrements the outstanding request count
+	 * of a target when its Connection gets closed.
+	 */
+	private static class OutstandingRequestInvocationHandler implements InvocationHandler {
+
+		private final Connection target;
+
+		private final AtomicInteger outstanding;
+
+		private final AtomicBoolean closed = new AtomicBoolean();
+
+		OutstandingRequestInvocationHandler(Connection target, AtomicInteger outstanding) {
+			this.target = target;
+			this.outstanding = outstanding;
+		}
+
+		@Override
+		@Nullable
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			switch (method.getName()) {
+				case "equals":
+					return (proxy == args[0]);
+				case "hashCode":
+					return System.identityHashCode(proxy);
+				case "getTargetConnection":
+					return this.target;
+				case "unwrap":
+					if (((Class<?>) args[0]).isInstance(proxy)) {
+						return proxy;
+					}
+					break;
+				case "isWrapperFor":
+					if (((Class<?>) args[0]).isInstance(proxy)) {
+						return true;
+					}
+					break;
+				case "close":
+					if (this.closed.compareAndSet(false, true)) {
+						this.outstanding.decrementAndGet();
+					}
+					break;
+			}
+
+			try {
+				return method.invoke(this.target, args);
+			}
+			catch (InvocationTargetException ex) {
+				throw ex.getTargetException();
+			}
+		}
+	}
+
+}
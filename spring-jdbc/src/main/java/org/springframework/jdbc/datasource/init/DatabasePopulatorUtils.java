@@ -36,6 +36,10 @@ public abstract class DatabasePopulatorUtils {
 
 	/**
 	 * Execute the given {@link DatabasePopulator} against the given {@link DataSource}.
+	 * <p>A {@link ResourceDatabasePopulator} configured with a
+	 * {@link ResourceDatabasePopulator#setConcurrency concurrency} greater than 1
+	 * executes its scripts in parallel on separate connections, unless a
+	 * transactional connection is bound to the current thread.
 	 * @param populator the {@code DatabasePopulator} to execute
 	 * @param dataSource the {@code DataSource} to execute against
 	 * @throws DataAccessException if an error occurs, specifically a {@link ScriptException}
@@ -44,6 +48,11 @@ public abstract class DatabasePopulatorUtils {
 		Assert.notNull(populator, "DatabasePopulator must not be null");
 		Assert.notNull(dataSource, "DataSource must not be null");
 		try {
+			if (populator instanceof ResourceDatabasePopulator &&
+					((ResourceDatabasePopulator) populator).canExecuteInParallel(dataSource)) {
+				((ResourceDatabasePopulator) populator).executeInParallel(dataSource);
+				return;
+			}
 			Connection connection = DataSourceUtils.getConnection(dataSource);
 			try {
 				populator.populate(connection);
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,12 +20,17 @@ import java.sql.Connection;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
 
 import javax.sql.DataSource;
 
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.support.EncodedResource;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.lang.Nullable;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 
@@ -72,6 +77,15 @@ public class ResourceDatabasePopulator implements DatabasePopulator {
 
 	private boolean ignoreFailedDrops = false;
 
+	private boolean streaming = false;
+
+	private int insertBatchSize = 100;
+
+	private int concurrency = 1;
+
+	@Nullable
+	private Executor executor;
+
 
 	/**
 	 * Construct a new {@code ResourceDatabasePopulator} with default settings.
@@ -241,6 +255,60 @@ public class ResourceDatabasePopulator implements DatabasePopulator {
 		this.ignoreFailedDrops = ignoreFailedDrops;
 	}
 
+	/**
+	 * Flag to indicate that scripts should be read one statement at a time
+	 * rather than being loaded into memory upfront, with consecutive
+	 * {@code INSERT} statements sent to the database in JDBC batches.
+	 * <p>Defaults to {@code false}. Recommended for large data loading scripts.
+	 * @param streaming {@code true} to stream scripts and batch inserts
+	 * @since 5.3
+	 * @see #setInsertBatchSize
+	 * @see ScriptUtils#executeSqlScript(Connection, EncodedResource, boolean, boolean, String[], String, String, String, int)
+	 */
+	public void setStreaming(boolean streaming) {
+		this.streaming = streaming;
+	}
+
+	/**
+	 * Specify the maximum number of consecutive {@code INSERT} statements to
+	 * send in a single JDBC batch when {@link #setStreaming streaming} scripts.
+	 * <p>Defaults to 100. Set this to 1 in order to stream scripts without batching.
+	 * @param insertBatchSize the maximum number of statements per batch
+	 * @since 5.3
+	 */
+	public void setInsertBatchSize(int insertBatchSize) {
+		Assert.isTrue(insertBatchSize > 0, "'insertBatchSize' must be greater than 0");
+		this.insertBatchSize = insertBatchSize;
+	}
+
+	/**
+	 * Specify the maximum number of scripts to execute in parallel, each on its
+	 * own connection, when executing against a {@link DataSource}.
+	 * <p>Defaults to 1, executing all scripts in order on a single connection.
+	 * Only set this to a higher value if the configured scripts are independent
+	 * of each other. Scripts are always executed in order when populating a given
+	 * {@link Connection} or when a transactional connection is bound to the thread.
+	 * @param concurrency the maximum number of scripts to execute concurrently
+	 * @since 5.3
+	 * @see #setExecutor
+	 * @see #execute(DataSource)
+	 */
+	public void setConcurrency(int concurrency) {
+		Assert.isTrue(concurrency > 0, "'concurrency' must be greater than 0");
+		this.concurrency = concurrency;
+	}
+
+	/**
+	 * Set the {@link Executor} to execute scripts on when executing them in parallel.
+	 * <p>Defaults to a {@link SimpleAsyncTaskExecutor} for each execution.
+	 * @param executor the executor to use
+	 * @since 5.3
+	 * @see #setConcurrency
+	 */
+	public void setExecutor(@Nullable Executor executor) {
+		this.executor = executor;
+	}
+
 
 	/**
 	 * {@inheritDoc}
@@ -250,16 +318,16 @@ public class ResourceDatabasePopulator implements DatabasePopulator {
 	public void populate(Connection connection) throws ScriptException {
 		Assert.notNull(connection, "'connection' must not be null");
 		for (Resource script : this.scripts) {
-			EncodedResource encodedScript = new EncodedResource(script, this.sqlScriptEncoding);
-			ScriptUtils.executeSqlScript(connection, encodedScript, this.continueOnError, this.ignoreFailedDrops,
-					this.commentPrefixes, this.separator, this.blockCommentStartDelimiter, this.blockCommentEndDelimiter);
+			executeScript(connection, script);
 		}
 	}
 
 	/**
 	 * Execute this {@code ResourceDatabasePopulator} against the given
 	 * {@link DataSource}.
-	 * <p>Delegates to {@link DatabasePopulatorUtils#execute}.
+	 * <p>Delegates to {@link DatabasePopulatorUtils#execute}, executing scripts
+	 * in parallel if a {@link #setConcurrency concurrency} greater than 1 has
+	 * been specified.
 	 * @param dataSource the {@code DataSource} to execute against (never {@code null})
 	 * @throws ScriptException if an error occurs
 	 * @since 4.1
@@ -269,4 +337,71 @@ public class ResourceDatabasePopulator implements DatabasePopulator {
 		DatabasePopulatorUtils.execute(this, dataSource);
 	}
 
+	/**
+	 * Determine whether the scripts can be executed in parallel against the
+	 * given {@link DataSource}.
+	 */
+	boolean canExecuteInParallel(DataSource dataSource) {
+		return (this.concurrency > 1 && this.scripts.size() > 1 &&
+				!TransactionSynchronizationManager.hasResource(dataSource));
+	}
+
+	/**
+	 * Execute the scripts in parallel against the given {@link DataSource},
+	 * each on its own connection, waiting for all of them to complete.
+	 * <p>No further scripts are started once a script has failed; the first
+	 * failure is propagated after all running scripts have completed.
+	 */
+	void executeInParallel(DataSource dataSource) {
+		Executor executor = (this.executor != null ? this.executor :
+				new SimpleAsyncTaskExecutor(getClass().getSimpleName() + "-"));
+		Semaphore permits = new Semaphore(this.concurrency);
+		AtomicReference<RuntimeException> failure = new AtomicReference<>();
+		for (Resource script : this.scripts) {
+			permits.acquireUninterruptibly();
+			if (failure.get() != null) {
+				permits.release();
+				break;
+			}
+			try {
+				executor.execute(() -> {
+					try {
+						DatabasePopulatorUtils.execute(connection -> executeScript(connection, script), dataSource);
+					}
+					catch (RuntimeException ex) {
+						failure.compareAndSet(null, ex);
+					}
+					finally {
+						permits.release();
+					}
+				});
+			}
+			catch (RuntimeException ex) {
+				permits.release();
+				failure.compareAndSet(null, new UncategorizedScriptException(
+						"Failed to execute database script from resource [" + script + "]", ex));
+				break;
+			}
+		}
+		// Wait for all running scripts to complete
+		permits.acquireUninterruptibly(this.concurrency);
+		RuntimeException ex = failure.get();
+		if (ex != null) {
+			throw ex;
+		}
+	}
+
+	private void executeScript(Connection connection, Resource script) throws ScriptException {
+		EncodedResource encodedScript = new EncodedResource(script, this.sqlScriptEncoding);
+		if (this.streaming) {
+			ScriptUtils.executeSqlScript(connection, encodedScript, this.continueOnError, this.ignoreFailedDrops,
+					this.commentPrefixes, this.separator, this.blockCommentStartDelimiter, this.blockCommentEndDelimiter,
+					this.insertBatchSize);
+		}
+		else {
+			ScriptUtils.executeSqlScript(connection, encodedScript, this.continueOnError, this.ignoreFailedDrops,
+					this.commentPrefixes, this.separator, this.blockCommentStartDelimiter, this.blockCommentEndDelimiter);
+		}
+	}
+
 }
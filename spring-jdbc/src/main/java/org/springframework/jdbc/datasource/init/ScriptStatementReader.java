@@ -0,0 +1,365 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.datasource.init;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.LineNumberReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.core.io.support.EncodedResource;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * Reads the statements of an SQL script one at a time, applying the same rules
+ * as {@link ScriptUtils#readScript} followed by {@link ScriptUtils#splitSqlScript}
+ * but without holding the entire script in memory.
+ *
+ * <p>If the given separator does not occur in the script at all, statements are
+ * separated by {@link ScriptUtils#FALLBACK_STATEMENT_SEPARATOR} instead. Since
+ * this can only be decided once a separator has been encountered, the script
+ * is buffered up to the first separator.
+ *
+ * @author agent
+ * @since 5.3
+ * @see ScriptUtils#executeSqlScript(java.sql.Connection, EncodedResource, boolean, boolean, String[], String, String, String, int)
+ */
+final class ScriptStatementReader implements Closeable {
+
+	private final LineNumberReader reader;
+
+	@Nullable
+	private final EncodedResource resource;
+
+	private String separator;
+
+	private final String[] commentPrefixes;
+
+	private final String blockCommentStartDelimiter;
+
+	private final String blockCommentEndDelimiter;
+
+	private final int lookahead;
+
+	private final StringBuilder buffer = new StringBuilder();
+
+	private int position;
+
+	private boolean lineRead;
+
+	private boolean endOfInput;
+
+	private boolean separatorFound;
+
+	@Nullable
+	private String pendingStatement;
+
+
+	/**
+	 * Create a new {@code ScriptStatementReader} for the given resource.
+	 * @param resource the resource (potentially associated with a specific encoding)
+	 * to read the SQL script from
+	 * @param separator the script statement separator; defaults to
+	 * {@value ScriptUtils#DEFAULT_STATEMENT_SEPARATOR} if not specified
+	 * @param commentPrefixes the prefixes that identify single-line comments
+	 * @param blockCommentStartDelimiter the <em>start</em> block comment delimiter
+	 * @param blockCommentEndDelimiter the <em>end</em> block comment delimiter
+	 * @throws IOException if the resource could not be opened
+	 */
+	ScriptStatementReader(EncodedResource resource, @Nullable String separator, String[] commentPrefixes,
+			String blockCommentStartDelimiter, String blockCommentEndDelimiter) throws IOException {
+
+		this(new LineNumberReader(resource.getReader()), resource, separator, commentPrefixes,
+				blockCommentStartDelimiter, blockCommentEndDelimiter);
+	}
+
+	/**
+	 * Create a new {@code ScriptStatementReader} for the given reader.
+	 * @param reader the reader to read the SQL script from
+	 * @param resource the resource from which the script is read, if any
+	 * @param separator the script statement separator; defaults to
+	 * {@value ScriptUtils#DEFAULT_STATEMENT_SEPARATOR} if not specified
+	 * @param commentPrefixes the prefixes that identify single-line comments
+	 * @param blockCommentStartDelimiter the <em>start</em> block comment delimiter
+	 * @param blockCommentEndDelimiter the <em>end</em> block comment delimiter
+	 */
+	ScriptStatementReader(LineNumberReader reader, @Nullable EncodedResource resource, @Nullable String separator,
+			String[] commentPrefixes, String blockCommentStartDelimiter, String blockCommentEndDelimiter) {
+
+		Assert.notEmpty(commentPrefixes, "'commentPrefixes' must not be null or empty");
+		for (String commentPrefix : commentPrefixes) {
+			Assert.hasText(commentPrefix, "'commentPrefixes' must not contain null or empty elements");
+		}
+		Assert.hasText(blockCommentStartDelimiter, "'blockCommentStartDelimiter' must not be null or empty");
+		Assert.hasText(blockCommentEndDelimiter, "'blockCommentEndDelimiter' must not be null or empty");
+		this.reader = reader;
+		this.resource = resource;
+		this.separator = (separator != null ? separator : ScriptUtils.DEFAULT_STATEMENT_SEPARATOR);
+		this.commentPrefixes = commentPrefixes;
+		this.blockCommentStartDelimiter = blockCommentStartDelimiter;
+		this.blockCommentEndDelimiter = blockCommentEndDelimiter;
+		int lookahead = Math.max(this.separator.length(), blockCommentStartDelimiter.length());
+		for (String commentPrefix : commentPrefixes) {
+			lookahead = Math.max(lookahead, commentPrefix.length());
+		}
+		this.lookahead = lookahead;
+		this.separatorFound = (ScriptUtils.EOF_STATEMENT_SEPARATOR.equals(this.separator) ||
+				ScriptUtils.FALLBACK_STATEMENT_SEPARATOR.equals(this.separator));
+	}
+
+
+	/**
+	 * Read the next statement from the script.
+	 * @return the next statement, or {@code null} if the end of the script
+	 * has been reached
+	 * @throws IOException in case of I/O errors
+	 * @throws ScriptParseException if a block comment is not terminated
+	 */
+	@Nullable
+	String nextStatement() throws IOException {
+		String statement = this.pendingStatement;
+		if (statement != null) {
+			this.pendingStatement = null;
+			return statement;
+		}
+		return readStatement();
+	}
+
+	/**
+	 * Read the next group of statements from the script: either a single
+	 * statement or up to the given number of consecutive {@code INSERT}
+	 * statements, suitable for execution in a single batch.
+	 * @param maxInserts the maximum number of {@code INSERT} statements to group
+	 * @return the next statements, or an empty list if the end of the script
+	 * has been reached
+	 * @throws IOException in case of I/O errors
+	 * @throws ScriptParseException if a block comment is not terminated
+	 */
+	List<String> nextStatements(int maxInserts) throws IOException {
+		List<String> statements = new ArrayList<>();
+		String statement = nextStatement();
+		if (statement != null) {
+			statements.add(statement);
+			if (isInsert(statement)) {
+				while (statements.size() < maxInserts && (statement = readStatement()) != null) {
+					if (!isInsert(statement)) {
+						this.pendingStatement = statement;
+						break;
+					}
+					statements.add(statement);
+				}
+			}
+		}
+		return statements;
+	}
+
+	@Override
+	public void close() throws IOException {
+		this.reader.close();
+	}
+
+
+	@Nullable
+	private String readStatement() throws IOException {
+		while (true) {
+			if (this.separatorFound && this.position > 0) {
+				// Statements before the current position won't be needed again
+				this.buffer.delete(0, this.position);
+				this.position = 0;
+			}
+
+			StringBuilder sb = new StringBuilder();
+			boolean inSingleQuote = false;
+			boolean inDoubleQuote = false;
+			boolean inEscape = false;
+
+			while (ensureAvailable(this.lookahead)) {
+				char c = this.buffer.charAt(this.position);
+				if (inEscape) {
+					inEscape = false;
+					sb.append(c);
+					this.position++;
+					continue;
+				}
+				// MySQL style escapes
+				if (c == '\\') {
+					inEscape = true;
+					sb.append(c);
+					this.position++;
+					continue;
+				}
+				if (!inDoubleQuote && (c == '\'')) {
+					inSingleQuote = !inSingleQuote;
+				}
+				else if (!inSingleQuote && (c == '"')) {
+					inDoubleQuote = !inDoubleQuote;
+				}
+				if (!inSingleQuote && !inDoubleQuote) {
+					if (startsWith(this.separator)) {
+						// We've reached the end of the current statement
+						this.separatorFound = true;
+						this.position += this.separator.length();
+						if (sb.length() > 0) {
+							return sb.toString();
+						}
+						continue;
+					}
+					else if (startsWithAny(this.commentPrefixes)) {
+						// Skip over any content from the start of the comment to the EOL
+						int indexOfNextNewline = indexOf("\n");
+						if (indexOfNextNewline > this.position) {
+							this.position = indexOfNextNewline + 1;
+							continue;
+						}
+						else {
+							// If there's no EOL, we must be at the end of the script, so stop here.
+							this.position = this.buffer.length();
+							break;
+						}
+					}
+					else if (startsWith(this.blockCommentStartDelimiter)) {
+						// Skip over any block comments
+						int indexOfCommentEnd = indexOf(this.blockCommentEndDelimiter);
+						if (indexOfCommentEnd > this.position) {
+							this.position = indexOfCommentEnd + this.blockCommentEndDelimiter.length();
+							continue;
+						}
+						else {
+							throw new ScriptParseException(
+									"Missing block comment end delimiter: " + this.blockCommentEndDelimiter, this.resource);
+						}
+					}
+					else if (c == ' ' || c == '\r' || c == '\n' || c == '\t') {
+						// Avoid multiple adjacent whitespace characters
+						this.position++;
+						if (sb.length() > 0 && sb.charAt(sb.length() - 1) != ' ') {
+							sb.append(' ');
+						}
+						continue;
+					}
+				}
+				sb.append(c);
+				this.position++;
+			}
+
+			if (!this.separatorFound) {
+				// No separator in the entire script: start over with the fallback separator
+				this.separator = ScriptUtils.FALLBACK_STATEMENT_SEPARATOR;
+				this.separatorFound = true;
+				this.position = 0;
+				continue;
+			}
+			return (StringUtils.hasText(sb) ? sb.toString() : null);
+		}
+	}
+
+	private boolean ensureAvailable(int length) throws IOException {
+		while (this.buffer.length() - this.position < length) {
+			if (!readLine()) {
+				break;
+			}
+		}
+		return (this.position < this.buffer.length());
+	}
+
+	private boolean readLine() throws IOException {
+		if (this.endOfInput) {
+			return false;
+		}
+		String line = this.reader.readLine();
+		while (line != null && !line.contains(this.blockCommentEndDelimiter) && startsWithAny(line, this.commentPrefixes)) {
+			// Lines beginning with a comment prefix are excluded, as in ScriptUtils.readScript
+			line = this.reader.readLine();
+		}
+		if (line == null) {
+			this.endOfInput = true;
+			appendSeparatorIfNecessary();
+			return false;
+		}
+		if (this.lineRead) {
+			this.buffer.append('\n');
+		}
+		this.buffer.append(line);
+		this.lineRead = true;
+		return true;
+	}
+
+	private void appendSeparatorIfNecessary() {
+		String trimmed = this.separator.trim();
+		if (trimmed.length() == this.separator.length()) {
+			return;
+		}
+		// separator ends in whitespace, so we might want to see if the script is trying
+		// to end the same way
+		if (this.buffer.lastIndexOf(trimmed) == this.buffer.length() - trimmed.length()) {
+			this.buffer.append(this.separator.substring(trimmed.length()));
+		}
+	}
+
+	private int indexOf(String str) throws IOException {
+		int from = this.position;
+		while (true) {
+			int index = this.buffer.indexOf(str, from);
+			if (index >= 0) {
+				return index;
+			}
+			from = Math.max(from, this.buffer.length() - str.length() + 1);
+			if (!readLine()) {
+				return -1;
+			}
+		}
+	}
+
+	private boolean startsWith(String str) {
+		int length = str.length();
+		if (this.buffer.length() - this.position < length) {
+			return false;
+		}
+		for (int i = 0; i < length; i++) {
+			if (this.buffer.charAt(this.position + i) != str.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private boolean startsWithAny(String[] prefixes) {
+		for (String prefix : prefixes) {
+			if (startsWith(prefix)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean isInsert(String statement) {
+		return StringUtils.startsWithIgnoreCase(statement.trim(), "insert");
+	}
+
+	private static boolean startsWithAny(String line, String[] prefixes) {
+		for (String prefix : prefixes) {
+			if (line.startsWith(prefix)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+}
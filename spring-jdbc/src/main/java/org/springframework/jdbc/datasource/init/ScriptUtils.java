@@ -18,6 +18,7 @@ package org.springframework.jdbc.datasource.init;
 
 import java.io.IOException;
 import java.io.LineNumberReader;
+import java.sql.BatchUpdateException;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.SQLWarning;
@@ -30,6 +31,7 @@ import org.apache.commons.logging.LogFactory;
 
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.support.EncodedResource;
+import org.springframework.jdbc.support.JdbcUtils;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
@@ -597,31 +599,7 @@ public abstract class ScriptUtils {
 			try {
 				for (String statement : statements) {
 					stmtNumber++;
-					try {
-						stmt.execute(statement);
-						int rowsAffected = stmt.getUpdateCount();
-						if (logger.isDebugEnabled()) {
-							logger.debug(rowsAffected + " returned as update count for SQL: " + statement);
-							SQLWarning warningToLog = stmt.getWarnings();
-							while (warningToLog != null) {
-								logger.debug("SQLWarning ignored: SQL state '" + warningToLog.getSQLState() +
-										"', error code '" + warningToLog.getErrorCode() +
-										"', message [" + warningToLog.getMessage() + "]");
-								warningToLog = warningToLog.getNextWarning();
-							}
-						}
-					}
-					catch (SQLException ex) {
-						boolean dropStatement = StringUtils.startsWithIgnoreCase(statement.trim(), "drop");
-						if (continueOnError || (dropStatement && ignoreFailedDrops)) {
-							if (logger.isDebugEnabled()) {
-								logger.debug(ScriptStatementFailedException.buildErrorMessage(statement, stmtNumber, resource), ex);
-							}
-						}
-						else {
-							throw new ScriptStatementFailedException(statement, stmtNumber, resource, ex);
-						}
-					}
+					executeStatement(stmt, statement, stmtNumber, resource, continueOnError, ignoreFailedDrops);
 				}
 			}
 			finally {
@@ -647,4 +625,166 @@ public abstract class ScriptUtils {
 		}
 	}
 
+	/**
+	 * Execute the given SQL script, reading one statement at a time instead of
+	 * loading the entire script into memory upfront.
+	 * <p>Consecutive {@code INSERT} statements are sent to the database in JDBC
+	 * batches of up to the given size, provided that the driver supports batch
+	 * updates and {@code continueOnError} is not set (which requires individual
+	 * execution in order to skip failing statements).
+	 * <p>Statement separators and comments will be removed before executing
+	 * individual statements within the supplied script.
+	 * <p><strong>Warning</strong>: this method does <em>not</em> release the
+	 * provided {@link Connection}.
+	 * @param connection the JDBC connection to use to execute the script; already
+	 * configured and ready to use
+	 * @param resource the resource (potentially associated with a specific encoding)
+	 * to load the SQL script from
+	 * @param continueOnError whether or not to continue without throwing an exception
+	 * in the event of an error
+	 * @param ignoreFailedDrops whether or not to continue in the event of specifically
+	 * an error on a {@code DROP} statement
+	 * @param commentPrefixes the prefixes that identify single-line comments in the
+	 * SQL script (typically "--")
+	 * @param separator the script statement separator; defaults to
+	 * {@value #DEFAULT_STATEMENT_SEPARATOR} if not specified and falls back to
+	 * {@value #FALLBACK_STATEMENT_SEPARATOR} as a last resort; may be set to
+	 * {@value #EOF_STATEMENT_SEPARATOR} to signal that the script contains a
+	 * single statement without a separator
+	 * @param blockCommentStartDelimiter the <em>start</em> block comment delimiter
+	 * @param blockCommentEndDelimiter the <em>end</em> block comment delimiter
+	 * @param insertBatchSize the maximum number of consecutive {@code INSERT}
+	 * statements to send in a single batch (1 for no batching)
+	 * @throws ScriptException if an error occurred while executing the SQL script
+	 * @since 5.3
+	 * @see #executeSqlScript(Connection, EncodedResource, boolean, boolean, String[], String, String, String)
+	 */
+	public static void executeSqlScript(Connection connection, EncodedResource resource, boolean continueOnError,
+			boolean ignoreFailedDrops, String[] commentPrefixes, @Nullable String separator,
+			String blockCommentStartDelimiter, String blockCommentEndDelimiter, int insertBatchSize)
+			throws ScriptException {
+
+		Assert.isTrue(insertBatchSize > 0, "'insertBatchSize' must be greater than 0");
+		try {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Executing SQL script from " + resource);
+			}
+			long startTime = System.currentTimeMillis();
+
+			int batchSize = (insertBatchSize > 1 && !continueOnError &&
+					JdbcUtils.supportsBatchUpdates(connection) ? insertBatchSize : 1);
+			try (ScriptStatementReader reader = new ScriptStatementReader(resource, separator, commentPrefixes,
+					blockCommentStartDelimiter, blockCommentEndDelimiter)) {
+				int stmtNumber = 0;
+				Statement stmt = connection.createStatement();
+				try {
+					List<String> statements;
+					while (!(statements = reader.nextStatements(batchSize)).isEmpty()) {
+						if (statements.size() > 1) {
+							executeBatch(stmt, statements, stmtNumber + 1, resource);
+							stmtNumber += statements.size();
+						}
+						else {
+							stmtNumber++;
+							executeStatement(stmt, statements.get(0), stmtNumber, resource, continueOnError, ignoreFailedDrops);
+						}
+					}
+				}
+				finally {
+					try {
+						stmt.close();
+					}
+					catch (Throwable ex) {
+						logger.trace("Could not close JDBC Statement", ex);
+					}
+				}
+			}
+			catch (IOException ex) {
+				throw new CannotReadScriptException(resource, ex);
+			}
+
+			long elapsedTime = System.currentTimeMillis() - startTime;
+			if (logger.isDebugEnabled()) {
+				logger.debug("Executed SQL script from " + resource + " in " + elapsedTime + " ms.");
+			}
+		}
+		catch (Exception ex) {
+			if (ex instanceof ScriptException) {
+				throw (ScriptException) ex;
+			}
+			throw new UncategorizedScriptException(
+				"Failed to execute database script from resource [" + resource + "]", ex);
+		}
+	}
+
+	private static void executeStatement(Statement stmt, String statement, int stmtNumber, EncodedResource resource,
+			boolean continueOnError, boolean ignoreFailedDrops) throws SQLException {
+
+		try {
+			stmt.execute(statement);
+			int rowsAffected = stmt.getUpdateCount();
+			if (logger.isDebugEnabled()) {
+				logger.debug(rowsAffected + " returned as update count for SQL: " + statement);
+				SQLWarning warningToLog = stmt.getWarnings();
+				while (warningToLog != null) {
+					logger.debug("SQLWarning ignored: SQL state '" + warningToLog.getSQLState() +
+							"', error code '" + warningToLog.getErrorCode() +
+							"', message [" + warningToLog.getMessage() + "]");
+					warningToLog = warningToLog.getNextWarning();
+				}
+			}
+		}
+		catch (SQLException ex) {
+			boolean dropStatement = StringUtils.startsWithIgnoreCase(statement.trim(), "drop");
+			if (continueOnError || (dropStatement && ignoreFailedDrops)) {
+				if (logger.isDebugEnabled()) {
+					logger.debug(ScriptStatementFailedException.buildErrorMessage(statement, stmtNumber, resource), ex);
+				}
+			}
+			else {
+				throw new ScriptStatementFailedException(statement, stmtNumber, resource, ex);
+			}
+		}
+	}
+
+	private static void executeBatch(Statement stmt, List<String> statements, int firstStmtNumber,
+			EncodedResource resource) throws SQLException {
+
+		try {
+			for (String statement : statements) {
+				stmt.addBatch(statement);
+			}
+			stmt.executeBatch();
+			if (logger.isDebugEnabled()) {
+				logger.debug("Executed batch of " + statements.size() + " INSERT statements starting with statement #" +
+						firstStmtNumber);
+			}
+		}
+		catch (SQLException ex) {
+			// Identify the failing statement: the first one reported as failed, or the
+			// first one without an update count if the driver stopped processing the batch
+			int failedIndex = 0;
+			if (ex instanceof BatchUpdateException) {
+				int[] updateCounts = ((BatchUpdateException) ex).getUpdateCounts();
+				if (updateCounts != null) {
+					failedIndex = updateCounts.length;
+					for (int i = 0; i < updateCounts.length; i++) {
+						if (updateCounts[i] == Statement.EXECUTE_FAILED) {
+							failedIndex = i;
+							break;
+						}
+					}
+					if (failedIndex >= statements.size()) {
+						failedIndex = 0;
+					}
+				}
+			}
+			throw new ScriptStatementFailedException(
+					statements.get(failedIndex), firstStmtNumber + failedIndex, resource, ex);
+		}
+		finally {
+			stmt.clearBatch();
+		}
+	}
+
 }
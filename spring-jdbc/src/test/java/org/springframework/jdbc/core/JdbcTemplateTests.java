@@ -20,6 +20,7 @@ import java.sql.BatchUpdateException;
 import java.sql.CallableStatement;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
+import java.sql.ParameterMetaData;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
@@ -33,13 +34,21 @@ import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 import javax.sql.DataSource;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
 
 import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.jdbc.BadSqlGrammarException;
 import org.springframework.jdbc.CannotGetJdbcConnectionException;
@@ -47,9 +56,11 @@ import org.springframework.jdbc.SQLWarningException;
 import org.springframework.jdbc.UncategorizedSQLException;
 import org.springframework.jdbc.core.support.AbstractInterruptibleBatchPreparedStatementSetter;
 import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
 import org.springframework.jdbc.datasource.SingleConnectionDataSource;
 import org.springframework.jdbc.support.SQLErrorCodeSQLExceptionTranslator;
 import org.springframework.jdbc.support.SQLStateSQLExceptionTranslator;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.LinkedCaseInsensitiveMap;
 import org.springframework.util.StringUtils;
 
@@ -58,10 +69,12 @@ import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.atLeast;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -781,6 +794,379 @@ public class JdbcTemplateTests {
 		verify(this.connection, atLeastOnce()).close();
 	}
 
+	@Test
+	public void testChunkedBatchUpdate() throws Exception {
+		final String sql = "UPDATE NOSUCHTABLE SET DATE_DISPATCHED = SYSDATE WHERE ID = ?";
+		final List<Integer> ids = Arrays.asList(100, 200, 300, 400, 500);
+		given(this.preparedStatement.executeBatch()).willReturn(new int[] {1, 1}, new int[] {1, 1}, new int[] {1});
+		mockDatabaseMetaData(true);
+
+		List<String> chunks = new ArrayList<>();
+		BatchChunkSettings settings = new BatchChunkSettings(2);
+		settings.setChunkCallback((chunkIndex, offset, rowsAffected) ->
+				chunks.add(chunkIndex + "@" + offset + ":" + rowsAffected.length));
+		JdbcTemplate template = new JdbcTemplate(this.dataSource, false);
+
+		long rowsAffected = template.batchUpdate(sql, ids.iterator(), settings,
+				(ps, argument) -> ps.setInt(1, argument.intValue()));
+		assertThat(rowsAffected).isEqualTo(5);
+		assertThat(chunks).containsExactly("0@0:2", "1@2:2", "2@4:1");
+
+		verify(this.preparedStatement, times(5)).addBatch();
+		verify(this.preparedStatement, times(3)).executeBatch();
+		verify(this.preparedStatement).close();
+		verify(this.connection, atLeastOnce()).close();
+	}
+
+	@Test
+	public void testChunkedBatchUpdateWithMaxBytes() throws Exception {
+		final String sql = "UPDATE NOSUCHTABLE SET DATE_DISPATCHED = SYSDATE WHERE NAME = ?";
+		final List<String> names = Arrays.asList("ab", "cd", "ef");
+		given(this.preparedStatement.executeBatch()).willReturn(new int[] {1, 1}, new int[] {1});
+		mockDatabaseMetaData(true);
+
+		BatchChunkSettings settings = new BatchChunkSettings(100);
+		settings.setMaxBytes(8);
+		JdbcTemplate template = new JdbcTemplate(this.dataSource, false);
+
+		long rowsAffected = template.batchUpdate(sql, names.iterator(), settings,
+				(ps, argument) -> ps.setString(1, argument));
+		assertThat(rowsAffected).isEqualTo(3);
+
+		verify(this.preparedStatement, times(3)).addBatch();
+		verify(this.preparedStatement, times(2)).executeBatch();
+		verify(this.preparedStatement).close();
+	}
+
+	@Test
+	public void testChunkedBatchUpdateWithChunkFailure() throws Exception {
+		final String sql = "UPDATE NOSUCHTABLE SET DATE_DISPATCHED = SYSDATE WHERE ID = ?";
+		final List<Integer> ids = Arrays.asList(100, 200, 300, 400, 500);
+		given(this.preparedStatement.executeBatch())
+				.willReturn(new int[] {1, 1})
+				.willThrow(new SQLException("Bad update", "42001"))
+				.willReturn(new int[] {1});
+		mockDatabaseMetaData(true);
+
+		List<Long> failedOffsets = new ArrayList<>();
+		BatchChunkSettings settings = new BatchChunkSettings(2);
+		settings.setChunkCallback(new BatchChunkCallback() {
+			@Override
+			public void chunkCompleted(int chunkIndex, long offset, int[] rowsAffected) {
+			}
+			@Override
+			public void chunkFailed(int chunkIndex, long offset, DataAccessException ex) {
+				assertThat(ex).isInstanceOf(BadSqlGrammarException.class);
+				failedOffsets.add(offset);
+			}
+		});
+		JdbcTemplate template = new JdbcTemplate(this.dataSource, false);
+
+		long rowsAffected = template.batchUpdate(sql, ids.iterator(), settings,
+				(ps, argument) -> ps.setInt(1, argument.intValue()));
+		assertThat(rowsAffected).isEqualTo(3);
+		assertThat(failedOffsets).containsExactly(2L);
+
+		verify(this.preparedStatement).clearBatch();
+		verify(this.preparedStatement).close();
+	}
+
+	@Test
+	public void testChunkedBatchUpdateFailsWithoutCallback() throws Exception {
+		final String sql = "UPDATE NOSUCHTABLE SET DATE_DISPATCHED = SYSDATE WHERE ID = ?";
+		final List<Integer> ids = Arrays.asList(100, 200, 300);
+		given(this.preparedStatement.executeBatch()).willThrow(new SQLException("Bad update", "42001"));
+		mockDatabaseMetaData(true);
+
+		JdbcTemplate template = new JdbcTemplate(this.dataSource, false);
+		assertThatExceptionOfType(BadSqlGrammarException.class).isThrownBy(() ->
+				template.batchUpdate(sql, ids.iterator(), new BatchChunkSettings(2),
+						(ps, argument) -> ps.setInt(1, argument.intValue())));
+
+		verify(this.preparedStatement, times(1)).executeBatch();
+		verify(this.preparedStatement).close();
+		verify(this.connection, atLeastOnce()).close();
+	}
+
+	@Test
+	public void testChunkedBatchUpdateInParallel() throws Exception {
+		final String sql = "UPDATE NOSUCHTABLE SET DATE_DISPATCHED = SYSDATE WHERE ID = ?";
+		final List<Integer> ids = Arrays.asList(100, 200, 300, 400, 500);
+		given(this.preparedStatement.executeBatch()).willReturn(new int[] {1, 1}, new int[] {1, 1}, new int[] {1});
+		mockDatabaseMetaData(true);
+
+		BatchChunkSettings settings = new BatchChunkSettings(2);
+		settings.setConcurrency(2);
+		settings.setExecutor(Runnable::run);
+		JdbcTemplate template = new JdbcTemplate(this.dataSource, false);
+
+		long rowsAffected = template.batchUpdate(sql, ids.iterator(), settings,
+				(ps, argument) -> ps.setInt(1, argument.intValue()));
+		assertThat(rowsAffected).isEqualTo(5);
+
+		verify(this.connection, times(3)).prepareStatement(sql);
+		verify(this.preparedStatement, times(5)).addBatch();
+		verify(this.preparedStatement, times(3)).close();
+		verify(this.connection, atLeast(3)).close();
+	}
+
+	@Test
+	public void testQueryForPipeline() throws Exception {
+		String sql = "SELECT FORENAME FROM CUSTMR";
+		mockResultSetMetaData(Types.VARCHAR, 100);
+		given(this.resultSet.next()).willReturn(true, true, false);
+		given(this.resultSet.getString(1)).willReturn("rod", "juergen");
+
+		StreamingQuerySettings settings = new StreamingQuerySettings(Runnable::run);
+		settings.setPrefetch(4);
+		settings.setTargetFetchBytes(10000);
+		List<String> forenames = new ArrayList<>();
+		try (RowPipeline<String> pipeline = this.template.queryForPipeline(
+				sql, (rs, rowNum) -> rs.getString(1), settings)) {
+			pipeline.forEachRemaining(forenames::add);
+		}
+		assertThat(forenames).containsExactly("rod", "juergen");
+
+		verify(this.preparedStatement).setFetchSize(16);
+		verify(this.resultSet).setFetchSize(50);
+		verify(this.resultSet).close();
+		verify(this.preparedStatement).close();
+		verify(this.connection).close();
+	}
+
+	@Test
+	public void testQueryForPipelineWithFetchSizeAdjustment() throws Exception {
+		String sql = "SELECT FORENAME FROM CUSTMR";
+		mockResultSetMetaData(Types.VARCHAR, 100);
+		given(this.resultSet.next()).willReturn(true, true, false);
+		given(this.resultSet.getString(1)).willReturn("rod", "juergen");
+
+		StreamingQuerySettings settings = new StreamingQuerySettings(Runnable::run);
+		settings.setTargetFetchBytes(10000);
+		settings.setRowSizeEstimator(row -> 20);
+		settings.setSampleSize(2);
+		try (Stream<String> stream = this.template.queryForPipeline(
+				sql, (rs, rowNum) -> rs.getString(1), settings).stream()) {
+			assertThat(stream.count()).isEqualTo(2);
+		}
+
+		verify(this.resultSet).setFetchSize(50);
+		verify(this.resultSet).setFetchSize(500);
+		verify(this.connection).close();
+	}
+
+	@Test
+	public void testQueryForPipelineAsPublisher() throws Exception {
+		String sql = "SELECT FORENAME FROM CUSTMR";
+		mockResultSetMetaData(Types.VARCHAR, 100);
+		given(this.resultSet.next()).willReturn(true, true, false);
+		given(this.resultSet.getString(1)).willReturn("rod", "juergen");
+
+		StreamingQuerySettings settings = new StreamingQuerySettings(Runnable::run);
+		RowPipeline<String> pipeline = this.template.queryForPipeline(sql, (rs, rowNum) -> rs.getString(1), settings);
+
+		StepVerifier.create(pipeline.toPublisher(), 1)
+				.expectNext("rod")
+				.thenRequest(1)
+				.expectNext("juergen")
+				.verifyComplete();
+
+		verify(this.connection).close();
+	}
+
+	@Test
+	public void testQueryForPipelineWithFailure() throws Exception {
+		String sql = "SELECT FORENAME FROM CUSTMR";
+		mockResultSetMetaData(Types.VARCHAR, 100);
+		given(this.resultSet.next()).willReturn(true).willThrow(new SQLException("Bad read", "07xxx"));
+		given(this.resultSet.getString(1)).willReturn("rod");
+
+		StreamingQuerySettings settings = new StreamingQuerySettings(Runnable::run);
+		RowPipeline<String> pipeline = this.template.queryForPipeline(sql, (rs, rowNum) -> rs.getString(1), settings);
+
+		assertThat(pipeline.next()).isEqualTo("rod");
+		assertThatExceptionOfType(DataAccessException.class).isThrownBy(pipeline::hasNext);
+		verify(this.connection).close();
+	}
+
+	@Test
+	public void testQueryForPipelineClosedEarly() throws Exception {
+		String sql = "SELECT FORENAME FROM CUSTMR";
+		mockResultSetMetaData(Types.VARCHAR, 100);
+		given(this.resultSet.next()).willReturn(true);
+		given(this.resultSet.getString(1)).willReturn("rod");
+
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			StreamingQuerySettings settings = new StreamingQuerySettings(executor);
+			settings.setPrefetch(2);
+			RowPipeline<String> pipeline = this.template.queryForPipeline(
+					sql, (rs, rowNum) -> rs.getString(1), settings);
+			assertThat(pipeline.next()).isEqualTo("rod");
+			pipeline.close();
+
+			verify(this.resultSet, timeout(5000)).close();
+			verify(this.preparedStatement, timeout(5000)).close();
+			verify(this.connection, timeout(5000)).close();
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testQueryForPipelineClosedFromOtherThread() throws Exception {
+		String sql = "SELECT FORENAME FROM CUSTMR";
+		mockResultSetMetaData(Types.VARCHAR, 100);
+		CountDownLatch readLatch = new CountDownLatch(1);
+		given(this.resultSet.next()).willAnswer(invocation -> {
+			readLatch.await(5, TimeUnit.SECONDS);
+			return false;
+		});
+
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			StreamingQuerySettings settings = new StreamingQuerySettings(executor);
+			RowPipeline<String> pipeline = this.template.queryForPipeline(
+					sql, (rs, rowNum) -> rs.getString(1), settings);
+			Future<Boolean> hasNext = executor.submit(pipeline::hasNext);
+
+			verify(this.resultSet, timeout(5000)).next();
+			pipeline.close();
+			assertThat(hasNext.get(5, TimeUnit.SECONDS)).isFalse();
+			assertThat(pipeline.hasNext()).isFalse();
+			verify(this.preparedStatement).cancel();
+
+			readLatch.countDown();
+			verify(this.connection, timeout(5000)).close();
+		}
+		finally {
+			readLatch.countDown();
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testQueryForPipelineConsumerInterrupted() throws Exception {
+		String sql = "SELECT FORENAME FROM CUSTMR";
+		mockResultSetMetaData(Types.VARCHAR, 100);
+		given(this.resultSet.next()).willReturn(true);
+		given(this.resultSet.getString(1)).willReturn("rod");
+
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			StreamingQuerySettings settings = new StreamingQuerySettings(executor);
+			settings.setPrefetch(1);
+			RowPipeline<String> pipeline = this.template.queryForPipeline(
+					sql, (rs, rowNum) -> rs.getString(1), settings);
+
+			Thread.currentThread().interrupt();
+			assertThatExceptionOfType(DataAccessResourceFailureException.class).isThrownBy(pipeline::hasNext);
+			assertThat(Thread.interrupted()).isTrue();
+			assertThat(pipeline.hasNext()).isFalse();
+
+			verify(this.connection, timeout(5000)).close();
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testQueryForPipelineProducerInterrupted() throws Exception {
+		String sql = "SELECT FORENAME FROM CUSTMR";
+		mockResultSetMetaData(Types.VARCHAR, 100);
+		given(this.resultSet.next()).willReturn(true);
+		given(this.resultSet.getString(1)).willReturn("rod");
+
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			StreamingQuerySettings settings = new StreamingQuerySettings(executor);
+			settings.setPrefetch(1);
+			RowPipeline<String> pipeline = this.template.queryForPipeline(
+					sql, (rs, rowNum) -> rs.getString(1), settings);
+
+			// First row buffered, second row waiting for buffer space
+			verify(this.resultSet, timeout(5000).times(2)).getString(1);
+			executor.shutdownNow();
+
+			assertThatExceptionOfType(DataAccessResourceFailureException.class).isThrownBy(() -> {
+				while (pipeline.hasNext()) {
+					pipeline.next();
+				}
+			});
+			verify(this.connection, timeout(5000)).close();
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testUpdateWithNullArgumentTypeCache() throws Exception {
+		String sql = "UPDATE CUSTMR SET FORENAME = ? WHERE ID = ?";
+		ParameterMetaData pmd = mock(ParameterMetaData.class);
+		given(this.preparedStatement.getParameterMetaData()).willReturn(pmd);
+		given(pmd.getParameterType(1)).willReturn(Types.VARCHAR);
+		given(this.preparedStatement.executeUpdate()).willReturn(1);
+		this.template.setCacheNullArgumentTypes(true);
+
+		this.template.update(sql, null, 1);
+		this.template.update(sql, null, 2);
+
+		verify(pmd, times(1)).getParameterType(1);
+		verify(this.preparedStatement, times(2)).setNull(1, Types.VARCHAR);
+	}
+
+	@Test
+	public void testUpdateWithoutNullArgumentTypeCache() throws Exception {
+		String sql = "UPDATE CUSTMR SET FORENAME = ? WHERE ID = ?";
+		ParameterMetaData pmd = mock(ParameterMetaData.class);
+		given(this.preparedStatement.getParameterMetaData()).willReturn(pmd);
+		given(pmd.getParameterType(1)).willReturn(Types.VARCHAR);
+		given(this.preparedStatement.executeUpdate()).willReturn(1);
+
+		this.template.update(sql, null, 1);
+		this.template.update(sql, null, 2);
+
+		verify(pmd, times(2)).getParameterType(1);
+	}
+
+	@Test
+	public void testStatementReuseInTransaction() throws Exception {
+		String sql = "UPDATE CUSTMR SET FORENAME = NULL WHERE ID = ?";
+		given(this.preparedStatement.executeUpdate()).willReturn(1);
+		this.template.setStatementCacheLimit(4);
+
+		TransactionTemplate tt = new TransactionTemplate(new DataSourceTransactionManager(this.dataSource));
+		tt.executeWithoutResult(status -> {
+			assertThat(this.template.update(sql, 1)).isEqualTo(1);
+			assertThat(this.template.update(sql, 2)).isEqualTo(1);
+			verify(this.preparedStatement, never()).close();
+		});
+
+		verify(this.connection, times(1)).prepareStatement(sql);
+		verify(this.preparedStatement).clearParameters();
+		verify(this.preparedStatement, times(2)).executeUpdate();
+		verify(this.preparedStatement).close();
+		verify(this.connection).commit();
+		verify(this.connection).close();
+	}
+
+	@Test
+	public void testNoStatementReuseWithoutTransaction() throws Exception {
+		String sql = "UPDATE CUSTMR SET FORENAME = NULL WHERE ID = ?";
+		given(this.preparedStatement.executeUpdate()).willReturn(1);
+		this.template.setStatementCacheLimit(4);
+
+		this.template.update(sql, 1);
+		this.template.update(sql, 2);
+
+		verify(this.connection, times(2)).prepareStatement(sql);
+		verify(this.preparedStatement, times(2)).close();
+		verify(this.connection, times(2)).close();
+	}
+
 	@Test
 	public void testCouldNotGetConnectionForOperationOrExceptionTranslator() throws SQLException {
 		SQLException sqlException = new SQLException("foo", "07xxx");
@@ -1093,6 +1479,14 @@ public class JdbcTemplateTests {
 	}
 
 
+	private void mockResultSetMetaData(int columnType, int displaySize) throws SQLException {
+		ResultSetMetaData resultSetMetaData = mock(ResultSetMetaData.class);
+		given(resultSetMetaData.getColumnCount()).willReturn(1);
+		given(resultSetMetaData.getColumnType(1)).willReturn(columnType);
+		given(resultSetMetaData.getColumnDisplaySize(1)).willReturn(displaySize);
+		given(this.resultSet.getMetaData()).willReturn(resultSetMetaData);
+	}
+
 	private void mockDatabaseMetaData(boolean supportsBatchUpdates) throws SQLException {
 		DatabaseMetaData databaseMetaData = mock(DatabaseMetaData.class);
 		given(databaseMetaData.getDatabaseProductName()).willReturn("MySQL");
@@ -0,0 +1,258 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+import java.sql.SQLException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Tests for {@link QueryResultCache} with {@link JdbcTemplate},
+ * using an embedded H2 database.
+ *
+ * @author agent
+ */
+public class QueryResultCacheTests {
+
+	private static final String COUNTRY_QUERY = "SELECT name FROM country WHERE code = ?";
+
+	private EmbeddedDatabase database;
+
+	private JdbcTemplate cachingTemplate;
+
+	private JdbcTemplate plainTemplate;
+
+	private TransactionTemplate transactionTemplate;
+
+	private ConcurrentMapCache sharedCache;
+
+
+	@BeforeEach
+	public void setup() {
+		this.database = new EmbeddedDatabaseBuilder()
+				.generateUniqueName(true).setType(EmbeddedDatabaseType.H2).build();
+		this.plainTemplate = new JdbcTemplate(this.database);
+		this.plainTemplate.execute("CREATE TABLE country (code VARCHAR(2), name VARCHAR(50))");
+		this.plainTemplate.execute("CREATE TABLE audit (message VARCHAR(50))");
+		this.plainTemplate.update("INSERT INTO country VALUES (?, ?)", "AT", "Austria");
+		this.sharedCache = new ConcurrentMapCache("queries");
+		this.cachingTemplate = new JdbcTemplate(this.database);
+		this.cachingTemplate.setQueryResultCache(new QueryResultCache(this.sharedCache));
+		this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(this.database));
+	}
+
+	@AfterEach
+	public void shutdown() {
+		this.database.shutdown();
+		assertThat(TransactionSynchronizationManager.getResourceMap()).isEmpty();
+	}
+
+
+	@Test
+	public void cachedWithinTransaction() {
+		this.cachingTemplate.setQueryResultCache(new QueryResultCache());
+		this.transactionTemplate.executeWithoutResult(status -> {
+			assertThat(queryCountry()).isEqualTo("Austria");
+			this.plainTemplate.update("UPDATE country SET name = ? WHERE code = ?", "Österreich", "AT");
+			assertThat(queryCountry()).isEqualTo("Austria");
+		});
+		assertThat(queryCountry()).isEqualTo("Österreich");
+	}
+
+	@Test
+	public void invalidatedByUpdateOnSameTable() {
+		this.cachingTemplate.setQueryResultCache(new QueryResultCache());
+		this.transactionTemplate.executeWithoutResult(status -> {
+			assertThat(queryCountry()).isEqualTo("Austria");
+			this.plainTemplate.update("UPDATE country SET name = ? WHERE code = ?", "Österreich", "AT");
+			this.cachingTemplate.update("INSERT INTO country VALUES (?, ?)", "DE", "Germany");
+			assertThat(queryCountry()).isEqualTo("Österreich");
+		});
+	}
+
+	@Test
+	public void notInvalidatedByUpdateOnOtherTable() {
+		this.cachingTemplate.setQueryResultCache(new QueryResultCache());
+		this.transactionTemplate.executeWithoutResult(status -> {
+			assertThat(queryCountry()).isEqualTo("Austria");
+			this.plainTemplate.update("UPDATE country SET name = ? WHERE code = ?", "Österreich", "AT");
+			this.cachingTemplate.update("INSERT INTO audit VALUES (?)", "country renamed");
+			assertThat(queryCountry()).isEqualTo("Austria");
+			this.cachingTemplate.execute("CALL ABS(1)");
+			assertThat(queryCountry()).isEqualTo("Österreich");
+		});
+	}
+
+	@Test
+	public void cachedPerArguments() {
+		this.cachingTemplate.setQueryResultCache(new QueryResultCache());
+		this.plainTemplate.update("INSERT INTO country VALUES (?, ?)", "DE", "Germany");
+		this.transactionTemplate.executeWithoutResult(status -> {
+			assertThat(queryCountry()).isEqualTo("Austria");
+			assertThat(this.cachingTemplate.queryForObject(COUNTRY_QUERY, String.class, "DE")).isEqualTo("Germany");
+			assertThat(this.cachingTemplate.queryForList("SELECT code FROM country ORDER BY code", String.class))
+					.containsExactly("AT", "DE");
+			this.plainTemplate.update("DELETE FROM country WHERE code = ?", "DE");
+			assertThat(this.cachingTemplate.queryForObject(COUNTRY_QUERY, String.class, "DE")).isEqualTo("Germany");
+			assertThat(this.cachingTemplate.queryForList("SELECT code FROM country ORDER BY code", String.class))
+					.containsExactly("AT", "DE");
+		});
+	}
+
+	@Test
+	public void cachedWithColumnAliases() {
+		String sql = "SELECT code AS country_code, name AS country_name FROM country WHERE code = ?";
+		RowMapper<String> rowMapper = (rs, rowNum) ->
+				rs.getString("country_code") + "=" + rs.getString(rs.findColumn("COUNTRY_NAME"));
+		assertThat(this.cachingTemplate.queryForObject(sql, rowMapper, "AT")).isEqualTo("AT=Austria");
+		this.plainTemplate.update("UPDATE country SET name = ? WHERE code = ?", "Österreich", "AT");
+		// Cache hit, resolving the aliases against the cached rows
+		assertThat(this.cachingTemplate.queryForObject(sql, rowMapper, "AT")).isEqualTo("AT=Austria");
+		assertThat(this.cachingTemplate.queryForList(sql, "AT").get(0).get("country_name")).isEqualTo("Austria");
+	}
+
+	@Test
+	public void invalidatedByUpdateInInnerTransaction() {
+		this.cachingTemplate.setQueryResultCache(new QueryResultCache());
+		TransactionTemplate innerTransactionTemplate =
+				new TransactionTemplate(this.transactionTemplate.getTransactionManager());
+		innerTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		this.transactionTemplate.executeWithoutResult(status -> {
+			assertThat(queryCountry()).isEqualTo("Austria");
+			innerTransactionTemplate.executeWithoutResult(innerStatus -> {
+				assertThat(queryCountry()).isEqualTo("Austria");
+				this.cachingTemplate.update("INSERT INTO audit VALUES (?)", "country renamed");
+			});
+			this.plainTemplate.update("UPDATE country SET name = ? WHERE code = ?", "Österreich", "AT");
+			assertThat(queryCountry()).isEqualTo("Austria");
+			innerTransactionTemplate.executeWithoutResult(innerStatus ->
+					this.cachingTemplate.update("UPDATE country SET name = ? WHERE code = ?", "Austria", "AT"));
+			this.plainTemplate.update("UPDATE country SET name = ? WHERE code = ?", "Österreich", "AT");
+			assertThat(queryCountry()).isEqualTo("Österreich");
+		});
+	}
+
+	@Test
+	public void notCachedOutsideOfTransactionWithoutSharedCache() {
+		this.cachingTemplate.setQueryResultCache(new QueryResultCache());
+		assertThat(queryCountry()).isEqualTo("Austria");
+		this.plainTemplate.update("UPDATE country SET name = ? WHERE code = ?", "Österreich", "AT");
+		assertThat(queryCountry()).isEqualTo("Österreich");
+	}
+
+	@Test
+	public void sharedCacheOutsideOfTransaction() {
+		assertThat(queryCountry()).isEqualTo("Austria");
+		assertThat(this.sharedCache.getNativeCache()).hasSize(1);
+		this.plainTemplate.update("UPDATE country SET name = ? WHERE code = ?", "Österreich", "AT");
+		assertThat(queryCountry()).isEqualTo("Austria");
+		this.cachingTemplate.update("INSERT INTO audit VALUES (?)", "country renamed");
+		assertThat(this.sharedCache.getNativeCache()).isEmpty();
+		assertThat(queryCountry()).isEqualTo("Österreich");
+	}
+
+	@Test
+	public void sharedCacheClearedAfterCommit() {
+		assertThat(queryCountry()).isEqualTo("Austria");
+		this.transactionTemplate.executeWithoutResult(status -> {
+			this.cachingTemplate.update("UPDATE country SET name = ? WHERE code = ?", "Österreich", "AT");
+			assertThat(queryCountry()).isEqualTo("Österreich");
+			assertThat(this.sharedCache.getNativeCache()).hasSize(1);
+		});
+		assertThat(this.sharedCache.getNativeCache()).isEmpty();
+		assertThat(queryCountry()).isEqualTo("Österreich");
+	}
+
+	@Test
+	public void extractTableNames() {
+		assertThat(QueryResultCache.extractTableNames(
+				"select c.name from Country c join REGION r on r.id = c.region_id where c.code = ?"))
+				.containsOnly("country", "region");
+		assertThat(QueryResultCache.extractTableNames("SELECT a.x, b.y FROM a AS a1, b b1, \"Schema\".\"C\""))
+				.containsOnly("a", "b", "c");
+		assertThat(QueryResultCache.extractTableNames("INSERT INTO public.country (code) VALUES ('from x')"))
+				.containsOnly("country");
+		assertThat(QueryResultCache.extractTableNames("delete from country -- from other\n where 1 = 1"))
+				.containsOnly("country");
+		assertThat(QueryResultCache.extractTableNames("SELECT CURRENT_TIMESTAMP")).isEmpty();
+	}
+
+	@Test
+	public void isQuery() {
+		assertThat(QueryResultCache.isQuery("SELECT name FROM country FOR UPDATE")).isTrue();
+		assertThat(QueryResultCache.isQuery("select * from country for no key update")).isTrue();
+		assertThat(QueryResultCache.isQuery("WITH c AS (SELECT * FROM country) SELECT name FROM c")).isTrue();
+		assertThat(QueryResultCache.isQuery("VALUES (1)")).isTrue();
+		assertThat(QueryResultCache.isQuery(
+				"WITH old AS (SELECT code FROM country) DELETE FROM country WHERE code IN (SELECT code FROM old)"))
+				.isFalse();
+		assertThat(QueryResultCache.isQuery(
+				"with moved as (delete from country returning *) insert into audit select name from moved"))
+				.isFalse();
+		assertThat(QueryResultCache.isQuery("UPDATE country SET name = 'update'")).isFalse();
+	}
+
+	@Test
+	public void invalidatedByUpdateBehindWithClause() {
+		this.cachingTemplate.setQueryResultCache(new QueryResultCache());
+		this.transactionTemplate.executeWithoutResult(status -> {
+			assertThat(queryCountry()).isEqualTo("Austria");
+			this.plainTemplate.update("UPDATE country SET name = ? WHERE code = ?", "Österreich", "AT");
+			this.cachingTemplate.update(
+					"WITH c AS (SELECT code FROM country) DELETE FROM country WHERE code = 'XX'");
+			assertThat(queryCountry()).isEqualTo("Österreich");
+		});
+	}
+
+	@Test
+	public void invalidatedByFailingStatement() {
+		this.cachingTemplate.setQueryResultCache(new QueryResultCache());
+		this.transactionTemplate.executeWithoutResult(status -> {
+			assertThat(queryCountry()).isEqualTo("Austria");
+			assertThatExceptionOfType(DataAccessException.class).isThrownBy(() ->
+					this.cachingTemplate.execute("UPDATE country SET name = ? WHERE code = ?",
+							(PreparedStatementCallback<Integer>) ps -> {
+								ps.setString(1, "Österreich");
+								ps.setString(2, "AT");
+								ps.executeUpdate();
+								throw new SQLException("failure after partial execution");
+							}));
+			assertThat(queryCountry()).isEqualTo("Österreich");
+		});
+	}
+
+
+	private String queryCountry() {
+		return this.cachingTemplate.queryForObject(COUNTRY_QUERY, String.class, "AT");
+	}
+
+}
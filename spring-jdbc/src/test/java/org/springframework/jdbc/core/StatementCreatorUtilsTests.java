@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -23,13 +23,17 @@ import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Types;
 import java.util.GregorianCalendar;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 /**
@@ -73,6 +77,21 @@ public class StatementCreatorUtilsTests {
 		StatementCreatorUtils.shouldIgnoreGetParameterType = false;
 	}
 
+	@Test
+	public void testSetParameterValueWithNullAndUnknownTypeAndNullTypeCache() throws SQLException {
+		ParameterMetaData pmd = mock(ParameterMetaData.class);
+		given(preparedStatement.getParameterMetaData()).willReturn(pmd);
+		given(pmd.getParameterType(1)).willReturn(Types.INTEGER);
+		Map<Integer, Integer> nullTypeCache = new ConcurrentHashMap<>();
+		StatementCreatorUtils.setParameterValue(
+				preparedStatement, 1, SqlTypeValue.TYPE_UNKNOWN, null, null, nullTypeCache);
+		StatementCreatorUtils.setParameterValue(
+				preparedStatement, 1, SqlTypeValue.TYPE_UNKNOWN, null, null, nullTypeCache);
+		verify(pmd, times(1)).getParameterType(1);
+		verify(preparedStatement, times(2)).setNull(1, Types.INTEGER);
+		assertThat(nullTypeCache).containsEntry(1, Types.INTEGER);
+	}
+
 	@Test
 	public void testSetParameterValueWithNullAndUnknownTypeOnInformix() throws SQLException {
 		StatementCreatorUtils.shouldIgnoreGetParameterType = true;
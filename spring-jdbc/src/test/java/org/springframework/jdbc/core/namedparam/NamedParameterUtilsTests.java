@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,7 @@
 
 package org.springframework.jdbc.core.namedparam;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
@@ -303,4 +304,40 @@ public class NamedParameterUtilsTests {
 		assertThat(psql2.getParameterNames().get(0)).isEqualTo("xxx");
 	}
 
+	@Test
+	public void substituteNamedParametersReusesExpansionForSameCollectionSizes() {
+		ParsedSql parsedSql = NamedParameterUtils.parseSqlStatement("select * from t where id in (:ids) and name = :name");
+		MapSqlParameterSource source1 = new MapSqlParameterSource()
+				.addValue("ids", Arrays.asList(1, 2, 3)).addValue("name", "a");
+		MapSqlParameterSource source2 = new MapSqlParameterSource()
+				.addValue("ids", Arrays.asList(4, 5, 6)).addValue("name", "b");
+		MapSqlParameterSource source3 = new MapSqlParameterSource()
+				.addValue("ids", Arrays.asList(7, 8)).addValue("name", "c");
+
+		String sql1 = NamedParameterUtils.substituteNamedParameters(parsedSql, source1);
+		String sql2 = NamedParameterUtils.substituteNamedParameters(parsedSql, source2);
+		String sql3 = NamedParameterUtils.substituteNamedParameters(parsedSql, source3);
+		assertThat(sql1).isEqualTo("select * from t where id in (?, ?, ?) and name = ?");
+		assertThat(sql2).isSameAs(sql1);
+		assertThat(sql3).isEqualTo("select * from t where id in (?, ?) and name = ?");
+	}
+
+	@Test
+	public void substituteNamedParametersWithTupleCollections() {
+		ParsedSql parsedSql = NamedParameterUtils.parseSqlStatement("select * from t where (a, b) in (:tuples)");
+		MapSqlParameterSource source1 = new MapSqlParameterSource("tuples",
+				Arrays.asList(new Object[] {1, "x"}, new Object[] {2, "y"}));
+		MapSqlParameterSource source2 = new MapSqlParameterSource("tuples",
+				Arrays.asList(new Object[] {1, "x", true}, new Object[] {2, "y", false}));
+		MapSqlParameterSource source3 = new MapSqlParameterSource("tuples",
+				Arrays.asList(new Object[] {1, "x"}, new Object[] {2, "y", false}));
+
+		assertThat(NamedParameterUtils.substituteNamedParameters(parsedSql, source1))
+				.isEqualTo("select * from t where (a, b) in ((?, ?), (?, ?))");
+		assertThat(NamedParameterUtils.substituteNamedParameters(parsedSql, source2))
+				.isEqualTo("select * from t where (a, b) in ((?, ?, ?), (?, ?, ?))");
+		assertThat(NamedParameterUtils.substituteNamedParameters(parsedSql, source3))
+				.isEqualTo("select * from t where (a, b) in ((?, ?), (?, ?, ?))");
+	}
+
 }
@@ -0,0 +1,239 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.datasource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ReadWriteRoutingDataSource}, using embedded H2 databases
+ * as primary and replicas.
+ *
+ * @author agent
+ */
+public class ReadWriteRoutingDataSourceTests {
+
+	private EmbeddedDatabase primary;
+
+	private EmbeddedDatabase replica1;
+
+	private EmbeddedDatabase replica2;
+
+	private ReadWriteRoutingDataSource dataSource;
+
+	private JdbcTemplate jdbcTemplate;
+
+	private TransactionTemplate transactionTemplate;
+
+	private TransactionTemplate readOnlyTransactionTemplate;
+
+
+	@BeforeEach
+	public void setup() {
+		this.primary = createDatabase("primary");
+		this.replica1 = createDatabase("replica1");
+		this.replica2 = createDatabase("replica2");
+		Map<String, DataSource> replicas = new LinkedHashMap<>();
+		replicas.put("replica1", this.replica1);
+		replicas.put("replica2", this.replica2);
+		this.dataSource = new ReadWriteRoutingDataSource(this.primary, replicas);
+		this.dataSource.setReplicaLagQuery("SELECT seconds FROM replica_lag");
+		this.dataSource.setMaxReplicaLag(Duration.ofSeconds(5));
+		this.jdbcTemplate = new JdbcTemplate(this.dataSource);
+		DataSourceTransactionManager tm = new DataSourceTransactionManager(this.dataSource);
+		this.transactionTemplate = new TransactionTemplate(tm);
+		this.readOnlyTransactionTemplate = new TransactionTemplate(tm);
+		this.readOnlyTransactionTemplate.setReadOnly(true);
+	}
+
+	@AfterEach
+	public void shutdown() {
+		this.primary.shutdown();
+		this.replica1.shutdown();
+		this.replica2.shutdown();
+		assertThat(TransactionSynchronizationManager.getResourceMap()).isEmpty();
+	}
+
+	private static EmbeddedDatabase createDatabase(String name) {
+		EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+				.generateUniqueName(true).setType(EmbeddedDatabaseType.H2).build();
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+		jdbcTemplate.execute("CREATE TABLE origin (name VARCHAR(50))");
+		jdbcTemplate.update("INSERT INTO origin VALUES (?)", name);
+		jdbcTemplate.execute("CREATE TABLE replica_lag (seconds DOUBLE)");
+		jdbcTemplate.update("INSERT INTO replica_lag VALUES (?)", 0.5);
+		return database;
+	}
+
+
+	@Test
+	public void readWriteTransactionGoesToPrimary() {
+		String origin = this.transactionTemplate.execute(status -> queryOrigin());
+		assertThat(origin).isEqualTo("primary");
+		assertThat(this.dataSource.getTargetMetrics().get(ReadWriteRoutingDataSource.PRIMARY_NAME)
+				.getTotalRequests()).isEqualTo(1);
+	}
+
+	@Test
+	public void readOnlyTransactionGoesToReplica() {
+		String origin = this.readOnlyTransactionTemplate.execute(status -> queryOrigin());
+		assertThat(origin).startsWith("replica");
+		assertThat(this.dataSource.getTargetMetrics().get(ReadWriteRoutingDataSource.PRIMARY_NAME)
+				.getTotalRequests()).isEqualTo(0);
+	}
+
+	@Test
+	public void nonTransactionalAccessGoesToPrimary() {
+		assertThat(queryOrigin()).isEqualTo("primary");
+	}
+
+	@Test
+	public void readOnlyTransactionsPreferLeastOutstandingReplica() {
+		String outer = this.readOnlyTransactionTemplate.execute(status -> {
+			String first = queryOrigin();
+			// Replica of the outer transaction is busy -> the other one gets picked
+			String second = new TransactionTemplate(this.readOnlyTransactionTemplate.getTransactionManager(),
+					newReadOnlyDefinition()).execute(innerStatus -> queryOrigin());
+			assertThat(second).isNotEqualTo(first);
+			return first;
+		});
+		assertThat(outer).startsWith("replica");
+		Map<String, ReadWriteRoutingDataSource.TargetMetrics> metrics = this.dataSource.getTargetMetrics();
+		assertThat(metrics.get("replica1").getTotalRequests()).isEqualTo(1);
+		assertThat(metrics.get("replica2").getTotalRequests()).isEqualTo(1);
+		assertThat(metrics.get("replica1").getOutstandingRequests()).isEqualTo(0);
+		assertThat(metrics.get("replica2").getOutstandingRequests()).isEqualTo(0);
+	}
+
+	@Test
+	public void laggingReplicaIsEjected() {
+		new JdbcTemplate(this.replica1).update("UPDATE replica_lag SET seconds = ?", 60);
+		this.dataSource.checkReplicas();
+
+		Map<String, ReadWriteRoutingDataSource.TargetMetrics> metrics = this.dataSource.getTargetMetrics();
+		assertThat(metrics.get("replica1").isEjected()).isTrue();
+		assertThat(metrics.get("replica1").getReplicationLag()).isEqualTo(Duration.ofSeconds(60));
+		assertThat(metrics.get("replica2").isEjected()).isFalse();
+		assertThat(metrics.get("replica2").getReplicationLag()).isEqualTo(Duration.ofMillis(500));
+		for (int i = 0; i < 4; i++) {
+			assertThat(this.readOnlyTransactionTemplate.execute(status -> queryOrigin())).isEqualTo("replica2");
+		}
+
+		new JdbcTemplate(this.replica1).update("UPDATE replica_lag SET seconds = ?", 1);
+		this.dataSource.checkReplicas();
+		assertThat(this.dataSource.getTargetMetrics().get("replica1").isEjected()).isFalse();
+	}
+
+	@Test
+	public void allReplicasEjectedFallsBackToPrimary() {
+		this.replica1.shutdown();
+		this.replica2.shutdown();
+		this.dataSource.checkReplicas();
+
+		Map<String, ReadWriteRoutingDataSource.TargetMetrics> metrics = this.dataSource.getTargetMetrics();
+		assertThat(metrics.get("replica1").isEjected()).isTrue();
+		assertThat(metrics.get("replica1").getFailedChecks()).isEqualTo(1);
+		assertThat(metrics.get("replica2").isEjected()).isTrue();
+		assertThat(this.readOnlyTransactionTemplate.execute(status -> queryOrigin())).isEqualTo("primary");
+	}
+
+	@Test
+	public void periodicReplicaCheck() {
+		new JdbcTemplate(this.replica2).update("UPDATE replica_lag SET seconds = ?", 60);
+		this.dataSource.setReplicaCheckInterval(Duration.ofHours(1));
+		for (int i = 0; i < 4; i++) {
+			assertThat(this.readOnlyTransactionTemplate.execute(status -> queryOrigin())).isEqualTo("replica1");
+		}
+		assertThat(this.dataSource.getTargetMetrics().get("replica2").isEjected()).isTrue();
+	}
+
+	@Test
+	public void replicaFailingToObtainConnectionIsReadmittedAfterRetryDelay() {
+		AtomicBoolean failing = new AtomicBoolean(true);
+		DataSource replica = new DelegatingDataSource(this.replica1) {
+			@Override
+			public Connection getConnection() throws SQLException {
+				if (failing.get()) {
+					throw new SQLException("Replica unavailable");
+				}
+				return super.getConnection();
+			}
+		};
+		this.dataSource.setReplicaDataSources(Collections.singletonMap("replica1", replica));
+		assertThat(this.readOnlyTransactionTemplate.execute(status -> queryOrigin())).isEqualTo("primary");
+		assertThat(this.dataSource.getTargetMetrics().get("replica1").isEjected()).isTrue();
+
+		// Recovered, but still within the default cool-down
+		failing.set(false);
+		assertThat(this.readOnlyTransactionTemplate.execute(status -> queryOrigin())).isEqualTo("primary");
+		assertThat(this.dataSource.getTargetMetrics().get("replica1").isEjected()).isTrue();
+
+		this.dataSource.setReplicaRetryDelay(Duration.ZERO);
+		assertThat(this.readOnlyTransactionTemplate.execute(status -> queryOrigin())).isEqualTo("replica1");
+		assertThat(this.dataSource.getTargetMetrics().get("replica1").isEjected()).isFalse();
+	}
+
+	@Test
+	public void laggingReplicaIsReadmittedOnRetry() {
+		this.dataSource.setReplicaRetryDelay(Duration.ZERO);
+		new JdbcTemplate(this.replica1).update("UPDATE replica_lag SET seconds = ?", 60);
+		this.dataSource.checkReplicas();
+		for (int i = 0; i < 4; i++) {
+			assertThat(this.readOnlyTransactionTemplate.execute(status -> queryOrigin())).isEqualTo("replica2");
+		}
+		assertThat(this.dataSource.getTargetMetrics().get("replica1").isEjected()).isTrue();
+
+		new JdbcTemplate(this.replica1).update("UPDATE replica_lag SET seconds = ?", 1);
+		this.readOnlyTransactionTemplate.execute(status -> queryOrigin());
+		assertThat(this.dataSource.getTargetMetrics().get("replica1").isEjected()).isFalse();
+	}
+
+
+	private String queryOrigin() {
+		return this.jdbcTemplate.queryForObject("SELECT name FROM origin", String.class);
+	}
+
+	private static TransactionDefinition newReadOnlyDefinition() {
+		DefaultTransactionDefinition definition =
+				new DefaultTransactionDefinition(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		definition.setReadOnly(true);
+		return definition;
+	}
+
+}
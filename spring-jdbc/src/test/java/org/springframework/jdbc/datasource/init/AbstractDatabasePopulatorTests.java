@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -26,6 +26,7 @@ import org.springframework.jdbc.datasource.DataSourceUtils;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 
@@ -186,6 +187,84 @@ abstract class AbstractDatabasePopulatorTests extends AbstractDatabaseInitializa
 		DatabasePopulatorUtils.execute(databasePopulator, db);
 	}
 
+	@Test
+	void scriptWithMultipleStatementsInStreamingMode() throws Exception {
+		databasePopulator.addScript(defaultSchema());
+		databasePopulator.addScript(resource("db-test-data-multiple.sql"));
+		databasePopulator.setStreaming(true);
+		DatabasePopulatorUtils.execute(databasePopulator, db);
+		assertThat(jdbcTemplate.queryForObject(COUNT_KEITH_SQL, Integer.class)).isEqualTo(1);
+		assertThat(jdbcTemplate.queryForObject(COUNT_DAVE_SQL, Integer.class)).isEqualTo(1);
+	}
+
+	@Test
+	void scriptWithMultipleStatementsAndWhitespaceSeparatorInStreamingMode() throws Exception {
+		databasePopulator.addScript(defaultSchema());
+		databasePopulator.addScript(resource("db-test-data-whitespace.sql"));
+		databasePopulator.setSeparator("/\n");
+		databasePopulator.setStreaming(true);
+		DatabasePopulatorUtils.execute(databasePopulator, db);
+		assertThat(jdbcTemplate.queryForObject(COUNT_KEITH_SQL, Integer.class)).isEqualTo(1);
+		assertThat(jdbcTemplate.queryForObject(COUNT_DAVE_SQL, Integer.class)).isEqualTo(1);
+	}
+
+	@Test
+	void scriptWithMultipleStatementsAndNewlineSeparatorInStreamingMode() throws Exception {
+		databasePopulator.addScript(defaultSchema());
+		databasePopulator.addScript(resource("db-test-data-newline.sql"));
+		databasePopulator.setStreaming(true);
+		DatabasePopulatorUtils.execute(databasePopulator, db);
+		assertThat(jdbcTemplate.queryForObject(COUNT_KEITH_SQL, Integer.class)).isEqualTo(1);
+		assertThat(jdbcTemplate.queryForObject(COUNT_DAVE_SQL, Integer.class)).isEqualTo(1);
+	}
+
+	@Test
+	void scriptWithFailedDropAndCommentsInStreamingMode() throws Exception {
+		databasePopulator.addScript(resource("db-schema-failed-drop-comments.sql"));
+		databasePopulator.addScript(resource("db-test-data.sql"));
+		databasePopulator.setIgnoreFailedDrops(true);
+		databasePopulator.setStreaming(true);
+		DatabasePopulatorUtils.execute(databasePopulator, db);
+		assertTestDatabaseCreated();
+	}
+
+	@Test
+	void scriptWithFailedInsertInStreamingMode() throws Exception {
+		databasePopulator.addScript(resource("db-test-data-multiple.sql"));
+		databasePopulator.setStreaming(true);
+		assertThatExceptionOfType(ScriptStatementFailedException.class)
+				.isThrownBy(() -> DatabasePopulatorUtils.execute(databasePopulator, db))
+				.withMessageContaining("statement #1");
+	}
+
+	@Test
+	void scriptsExecutedInParallel() throws Exception {
+		databasePopulator.addScript(defaultSchema());
+		databasePopulator.addScript(usersSchema());
+		databasePopulator.setConcurrency(2);
+		DatabasePopulatorUtils.execute(databasePopulator, db);
+		assertThat(jdbcTemplate.queryForObject("select COUNT(*) from T_TEST", Integer.class)).isEqualTo(0);
+		assertThat(jdbcTemplate.queryForObject("select COUNT(*) from users", Integer.class)).isEqualTo(0);
+	}
+
+	@Test
+	void scriptsExecutedInParallelWithFailure() throws Exception {
+		databasePopulator.addScript(defaultSchema());
+		databasePopulator.addScript(resource("users-data.sql"));
+		databasePopulator.setConcurrency(2);
+		assertThatExceptionOfType(ScriptStatementFailedException.class)
+				.isThrownBy(() -> databasePopulator.execute(db));
+	}
+
+	@Test
+	@Timeout(1)
+	void executesHugeScriptInReasonableTimeInStreamingMode() throws SQLException {
+		databasePopulator.addScript(defaultSchema());
+		databasePopulator.addScript(resource("db-test-data-huge.sql"));
+		databasePopulator.setStreaming(true);
+		DatabasePopulatorUtils.execute(databasePopulator, db);
+	}
+
 	private void assertTestDatabaseCreated() {
 		assertTestDatabaseCreated("Keith");
 	}
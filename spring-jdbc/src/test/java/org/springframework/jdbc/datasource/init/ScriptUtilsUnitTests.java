@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,8 @@
 
 package org.springframework.jdbc.datasource.init;
 
+import java.io.LineNumberReader;
+import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -25,10 +27,12 @@ import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.support.EncodedResource;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.springframework.jdbc.datasource.init.ScriptUtils.DEFAULT_BLOCK_COMMENT_END_DELIMITER;
 import static org.springframework.jdbc.datasource.init.ScriptUtils.DEFAULT_BLOCK_COMMENT_START_DELIMITER;
 import static org.springframework.jdbc.datasource.init.ScriptUtils.DEFAULT_COMMENT_PREFIXES;
 import static org.springframework.jdbc.datasource.init.ScriptUtils.DEFAULT_STATEMENT_SEPARATOR;
+import static org.springframework.jdbc.datasource.init.ScriptUtils.FALLBACK_STATEMENT_SEPARATOR;
 import static org.springframework.jdbc.datasource.init.ScriptUtils.containsSqlScriptDelimiters;
 import static org.springframework.jdbc.datasource.init.ScriptUtils.splitSqlScript;
 
@@ -178,6 +182,78 @@ public class ScriptUtilsUnitTests {
 		assertThat(containsSqlScriptDelimiters("insert into users(first_name, last_name)\nvalues('Charles', 'd\\'Artagnan'); select 1;", ";")).isTrue();
 	}
 
+	@Test
+	public void readStatementsIncrementally() throws Exception {
+		assertReadStatementsMatchSplitScript("test-data-with-comments.sql", ";", DEFAULT_COMMENT_PREFIXES);
+		assertReadStatementsMatchSplitScript("test-data-with-multi-prefix-comments.sql", ";", "--", "#", "^");
+		assertReadStatementsMatchSplitScript("test-data-with-comments-and-leading-tabs.sql", ";", DEFAULT_COMMENT_PREFIXES);
+		assertReadStatementsMatchSplitScript("test-data-with-multi-line-comments.sql", ";", DEFAULT_COMMENT_PREFIXES);
+		assertReadStatementsMatchSplitScript("test-data-with-multi-line-nested-comments.sql", ";", DEFAULT_COMMENT_PREFIXES);
+		assertReadStatementsMatchSplitScript("db-test-data-multi-newline.sql", "\n\n", DEFAULT_COMMENT_PREFIXES);
+		assertReadStatementsMatchSplitScript("db-test-data-whitespace.sql", "/\n", DEFAULT_COMMENT_PREFIXES);
+		assertReadStatementsMatchSplitScript("db-test-data-endings.sql", "@@", DEFAULT_COMMENT_PREFIXES);
+	}
+
+	@Test
+	public void readStatementsIncrementallyWithFallbackSeparator() throws Exception {
+		List<String> statements = readStatements("db-test-data-newline.sql", ";", DEFAULT_COMMENT_PREFIXES);
+		String statement1 = "insert into T_TEST (NAME) values ('Keith')";
+		String statement2 = "insert into T_TEST (NAME) values ('Dave')";
+		assertThat(statements).containsExactly(statement1, statement2);
+	}
+
+	@Test
+	public void readStatementsIncrementallyWithUnterminatedBlockComment() throws Exception {
+		LineNumberReader reader = new LineNumberReader(new StringReader("select 1;\n/* select 2;\nselect 3;"));
+		ScriptStatementReader statementReader = new ScriptStatementReader(reader, null, ";", DEFAULT_COMMENT_PREFIXES,
+				DEFAULT_BLOCK_COMMENT_START_DELIMITER, DEFAULT_BLOCK_COMMENT_END_DELIMITER);
+		assertThat(statementReader.nextStatement()).isEqualTo("select 1");
+		assertThatExceptionOfType(ScriptParseException.class).isThrownBy(statementReader::nextStatement);
+	}
+
+	@Test
+	public void readStatementGroupsIncrementally() throws Exception {
+		LineNumberReader reader = new LineNumberReader(new StringReader("create table t (id int);\n" +
+				"insert into t values (1);\ninsert into t values (2);\nINSERT into t values (3);\n" +
+				"select 1;\ninsert into t values (4);"));
+		ScriptStatementReader statementReader = new ScriptStatementReader(reader, null, ";", DEFAULT_COMMENT_PREFIXES,
+				DEFAULT_BLOCK_COMMENT_START_DELIMITER, DEFAULT_BLOCK_COMMENT_END_DELIMITER);
+		assertThat(statementReader.nextStatements(2)).containsExactly("create table t (id int)");
+		assertThat(statementReader.nextStatements(2)).containsExactly("insert into t values (1)", "insert into t values (2)");
+		assertThat(statementReader.nextStatements(2)).containsExactly("INSERT into t values (3)");
+		assertThat(statementReader.nextStatements(2)).containsExactly("select 1");
+		assertThat(statementReader.nextStatements(2)).containsExactly("insert into t values (4)");
+		assertThat(statementReader.nextStatements(2)).isEmpty();
+	}
+
+	private void assertReadStatementsMatchSplitScript(String path, String separator, String... commentPrefixes)
+			throws Exception {
+
+		EncodedResource resource = new EncodedResource(new ClassPathResource(path, getClass()));
+		String script;
+		try (LineNumberReader reader = new LineNumberReader(resource.getReader())) {
+			script = ScriptUtils.readScript(reader, commentPrefixes, separator, DEFAULT_BLOCK_COMMENT_END_DELIMITER);
+		}
+		String separatorToUse = (containsSqlScriptDelimiters(script, separator) ? separator : FALLBACK_STATEMENT_SEPARATOR);
+		List<String> expected = new ArrayList<>();
+		splitSqlScript(resource, script, separatorToUse, commentPrefixes, DEFAULT_BLOCK_COMMENT_START_DELIMITER,
+				DEFAULT_BLOCK_COMMENT_END_DELIMITER, expected);
+		assertThat(readStatements(path, separator, commentPrefixes)).as(path).isNotEmpty().isEqualTo(expected);
+	}
+
+	private List<String> readStatements(String path, String separator, String... commentPrefixes) throws Exception {
+		EncodedResource resource = new EncodedResource(new ClassPathResource(path, getClass()));
+		List<String> statements = new ArrayList<>();
+		try (ScriptStatementReader reader = new ScriptStatementReader(resource, separator, commentPrefixes,
+				DEFAULT_BLOCK_COMMENT_START_DELIMITER, DEFAULT_BLOCK_COMMENT_END_DELIMITER)) {
+			String statement;
+			while ((statement = reader.nextStatement()) != null) {
+				statements.add(statement);
+			}
+		}
+		return statements;
+	}
+
 	private String readScript(String path) throws Exception {
 		EncodedResource resource = new EncodedResource(new ClassPathResource(path, getClass()));
 		return ScriptUtils.readScript(resource);
@@ -22,6 +22,7 @@ import java.util.Arrays;
 import java.util.List;
 
 import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -29,7 +30,11 @@ import org.springframework.core.io.Resource;
 import org.springframework.core.io.buffer.DataBufferFactory;
 import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.core.io.support.EncodedResource;
+import org.springframework.dao.DataAccessException;
 import org.springframework.lang.Nullable;
+import org.springframework.r2dbc.connection.ConnectionFactoryUtils;
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 
@@ -76,6 +81,12 @@ public class ResourceDatabasePopulator implements DatabasePopulator {
 
 	private DataBufferFactory dataBufferFactory = DefaultDataBufferFactory.sharedInstance;
 
+	private boolean streaming = false;
+
+	private int insertBatchSize = 100;
+
+	private int concurrency = 1;
+
 
 	/**
 	 * Create a new {@code ResourceDatabasePopulator} with default settings.
@@ -258,16 +269,97 @@ public class ResourceDatabasePopulator implements DatabasePopulator {
 		this.dataBufferFactory = dataBufferFactory;
 	}
 
+	/**
+	 * Flag to indicate that scripts should be read one statement at a time
+	 * rather than being loaded into memory upfront, with consecutive
+	 * {@code INSERT} statements sent to the database in batches.
+	 * <p>Defaults to {@code false}. Recommended for large data loading scripts.
+	 * @param streaming {@code true} to stream scripts and batch inserts
+	 * @see #setInsertBatchSize
+	 * @see ScriptUtils#executeSqlScript(Connection, EncodedResource, boolean, boolean, String[], String, String, String, int)
+	 */
+	public void setStreaming(boolean streaming) {
+		this.streaming = streaming;
+	}
+
+	/**
+	 * Specify the maximum number of consecutive {@code INSERT} statements to
+	 * send in a single batch when {@link #setStreaming streaming} scripts.
+	 * <p>Defaults to 100. Set this to 1 in order to stream scripts without batching.
+	 * @param insertBatchSize the maximum number of statements per batch
+	 */
+	public void setInsertBatchSize(int insertBatchSize) {
+		Assert.isTrue(insertBatchSize > 0, "'insertBatchSize' must be greater than 0");
+		this.insertBatchSize = insertBatchSize;
+	}
+
+	/**
+	 * Specify the maximum number of scripts to execute in parallel, each on its
+	 * own connection, when populating a {@link ConnectionFactory}.
+	 * <p>Defaults to 1, executing all scripts in order on a single connection.
+	 * Only set this to a higher value if the configured scripts are independent
+	 * of each other. Scripts are always executed in order when populating a given
+	 * {@link Connection} or within an active transaction.
+	 * @param concurrency the maximum number of scripts to execute concurrently
+	 * @see #populate(ConnectionFactory)
+	 */
+	public void setConcurrency(int concurrency) {
+		Assert.isTrue(concurrency > 0, "'concurrency' must be greater than 0");
+		this.concurrency = concurrency;
+	}
+
 
 	@Override
 	public Mono<Void> populate(Connection connection) throws ScriptException {
 		Assert.notNull(connection, "Connection must not be null");
-		return Flux.fromIterable(this.scripts).concatMap(resource -> {
-			EncodedResource encodedScript = new EncodedResource(resource, this.sqlScriptEncoding);
-			return ScriptUtils.executeSqlScript(connection, encodedScript, this.dataBufferFactory, this.continueOnError,
+		return Flux.fromIterable(this.scripts).concatMap(resource -> executeScript(connection, resource)).then();
+	}
+
+	/**
+	 * Populate the given {@link ConnectionFactory}, executing scripts in parallel
+	 * if a {@link #setConcurrency concurrency} greater than 1 has been specified.
+	 * @see #setConcurrency
+	 */
+	@Override
+	public Mono<Void> populate(ConnectionFactory connectionFactory) throws DataAccessException {
+		if (this.concurrency == 1 || this.scripts.size() < 2) {
+			return populateSequentially(connectionFactory);
+		}
+		Assert.notNull(connectionFactory, "ConnectionFactory must not be null");
+		return TransactionSynchronizationManager.forCurrentTransaction()
+				.map(TransactionSynchronizationManager::isSynchronizationActive)
+				.onErrorResume(NoTransactionException.class, ex -> Mono.just(false))
+				.flatMap(inTransaction -> (inTransaction ? populateSequentially(connectionFactory) :
+						populateInParallel(connectionFactory)));
+	}
+
+	private Mono<Void> populateSequentially(ConnectionFactory connectionFactory) {
+		return DatabasePopulator.super.populate(connectionFactory);
+	}
+
+	private Mono<Void> populateInParallel(ConnectionFactory connectionFactory) {
+		return Flux.fromIterable(this.scripts).flatMap(resource ->
+				Mono.usingWhen(ConnectionFactoryUtils.getConnection(connectionFactory),
+						connection -> executeScript(connection, resource),
+						connection -> ConnectionFactoryUtils.releaseConnection(connection, connectionFactory),
+						(connection, err) -> ConnectionFactoryUtils.releaseConnection(connection, connectionFactory),
+						connection -> ConnectionFactoryUtils.releaseConnection(connection, connectionFactory)),
+				this.concurrency)
+				.then()
+				.onErrorMap(ex -> !(ex instanceof ScriptException),
+						ex -> new UncategorizedScriptException("Failed to execute database script", ex));
+	}
+
+	private Mono<Void> executeScript(Connection connection, Resource resource) {
+		EncodedResource encodedScript = new EncodedResource(resource, this.sqlScriptEncoding);
+		if (this.streaming) {
+			return ScriptUtils.executeSqlScript(connection, encodedScript, this.continueOnError,
 					this.ignoreFailedDrops, this.commentPrefixes, this.separator, this.blockCommentStartDelimiter,
-					this.blockCommentEndDelimiter);
-		}).then();
+					this.blockCommentEndDelimiter, this.insertBatchSize);
+		}
+		return ScriptUtils.executeSqlScript(connection, encodedScript, this.dataBufferFactory, this.continueOnError,
+				this.ignoreFailedDrops, this.commentPrefixes, this.separator, this.blockCommentStartDelimiter,
+				this.blockCommentEndDelimiter);
 	}
 
 }
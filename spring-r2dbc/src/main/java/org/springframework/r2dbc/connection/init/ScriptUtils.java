@@ -25,6 +25,7 @@ import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
+import io.r2dbc.spi.Batch;
 import io.r2dbc.spi.Connection;
 import io.r2dbc.spi.Result;
 import org.apache.commons.logging.Log;
@@ -32,6 +33,7 @@ import org.apache.commons.logging.LogFactory;
 import org.reactivestreams.Publisher;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.buffer.DataBufferFactory;
@@ -636,6 +638,132 @@ public abstract class ScriptUtils {
 				.then();
 	}
 
+	/**
+	 * Execute the given SQL script, reading one statement at a time instead of
+	 * loading the entire script into memory upfront.
+	 * <p>Consecutive {@code INSERT} statements are sent to the database in a
+	 * {@link Batch} of up to the given size, unless {@code continueOnError} is
+	 * set (which requires individual execution in order to skip failing statements).
+	 * <p>Statement separators and comments will be removed before executing
+	 * individual statements within the supplied script.
+	 * <p><strong>Warning</strong>: this method does <em>not</em> release the
+	 * provided {@link Connection}.
+	 * @param connection the R2DBC connection to use to execute the script; already
+	 * configured and ready to use
+	 * @param resource the resource (potentially associated with a specific encoding)
+	 * to load the SQL script from
+	 * @param continueOnError whether or not to continue without throwing an exception
+	 * in the event of an error
+	 * @param ignoreFailedDrops whether or not to continue in the event of specifically
+	 * an error on a {@code DROP} statement
+	 * @param commentPrefixes the prefixes that identify single-line comments in the
+	 * SQL script (typically "--")
+	 * @param separator the script statement separator; defaults to
+	 * {@value #DEFAULT_STATEMENT_SEPARATOR} if not specified and falls back to
+	 * {@value #FALLBACK_STATEMENT_SEPARATOR} as a last resort; may be set to
+	 * {@value #EOF_STATEMENT_SEPARATOR} to signal that the script contains a
+	 * single statement without a separator
+	 * @param blockCommentStartDelimiter the <em>start</em> block comment delimiter
+	 * @param blockCommentEndDelimiter the <em>end</em> block comment delimiter
+	 * @param insertBatchSize the maximum number of consecutive {@code INSERT}
+	 * statements to send in a single batch (1 for no batching)
+	 * @return {@link Mono} that initiates script execution and is
+	 * notified upon completion
+	 * @throws ScriptException if an error occurred while executing the SQL script
+	 * @see #executeSqlScript(Connection, EncodedResource, DataBufferFactory, boolean, boolean, String[], String, String, String)
+	 */
+	public static Mono<Void> executeSqlScript(Connection connection, EncodedResource resource,
+			boolean continueOnError, boolean ignoreFailedDrops, String[] commentPrefixes, @Nullable String separator,
+			String blockCommentStartDelimiter, String blockCommentEndDelimiter, int insertBatchSize)
+			throws ScriptException {
+
+		Assert.isTrue(insertBatchSize > 0, "'insertBatchSize' must be greater than 0");
+		if (logger.isDebugEnabled()) {
+			logger.debug("Executing SQL script from " + resource);
+		}
+
+		long startTime = System.currentTimeMillis();
+		int batchSize = (continueOnError ? 1 : insertBatchSize);
+
+		// Reading from the resource blocks: keep it off the thread requesting
+		// the next statements, typically a driver event loop thread.
+		Flux<List<String>> statementGroups = Flux.generate(
+				() -> new ScriptStatementReader(resource, separator, commentPrefixes,
+						blockCommentStartDelimiter, blockCommentEndDelimiter),
+				(reader, sink) -> {
+					try {
+						List<String> statements = reader.nextStatements(batchSize);
+						if (statements.isEmpty()) {
+							sink.complete();
+						}
+						else {
+							sink.next(statements);
+						}
+					}
+					catch (IOException ex) {
+						sink.error(new CannotReadScriptException(resource, ex));
+					}
+					return reader;
+				},
+				reader -> {
+					try {
+						reader.close();
+					}
+					catch (IOException ex) {
+						logger.trace("Could not close SQL script reader", ex);
+					}
+				})
+				.subscribeOn(Schedulers.boundedElastic());
+
+		AtomicInteger statementNumber = new AtomicInteger();
+
+		Flux<Void> executeScript = statementGroups
+				.onErrorMap(IOException.class, ex -> new CannotReadScriptException(resource, ex))
+				.concatMap(statements -> {
+					if (statements.size() > 1) {
+						int firstStatementNumber = statementNumber.get() + 1;
+						statementNumber.addAndGet(statements.size());
+						return runBatch(statements, connection, resource, firstStatementNumber);
+					}
+					statementNumber.incrementAndGet();
+					return runStatement(statements.get(0), connection, resource, continueOnError, ignoreFailedDrops,
+							statementNumber);
+				});
+
+		if (logger.isDebugEnabled()) {
+
+			executeScript = executeScript.doOnComplete(() -> {
+
+				long elapsedTime = System.currentTimeMillis() - startTime;
+				logger.debug("Executed SQL script from " + resource + " in " + elapsedTime + " ms.");
+			});
+		}
+
+		return executeScript.onErrorMap(ex -> !(ex instanceof ScriptException),
+				ex -> new UncategorizedScriptException("Failed to execute database script from resource [" + resource + "]",
+						ex))
+				.then();
+	}
+
+	private static Publisher<? extends Void> runBatch(List<String> statements, Connection connection,
+			EncodedResource resource, int firstStatementNumber) {
+
+		Batch batch = connection.createBatch();
+		statements.forEach(batch::add);
+		Mono<Long> execution = Flux.from(batch.execute())
+				.flatMap(Result::getRowsUpdated)
+				.collect(Collectors.summingLong(count -> count));
+
+		if (logger.isDebugEnabled()) {
+			execution = execution.doOnNext(rowsAffected -> logger.debug(rowsAffected + " returned as update count for batch of " +
+					statements.size() + " INSERT statements starting with statement #" + firstStatementNumber));
+		}
+
+		// The failing statement cannot be identified within a batch: report the first one
+		return execution.onErrorMap(ex -> new ScriptStatementFailedException(
+				statements.get(0), firstStatementNumber, resource, ex)).then();
+	}
+
 	private static Publisher<? extends Void> runStatement(String statement, Connection connection,
 			EncodedResource resource, boolean continueOnError, boolean ignoreFailedDrops, AtomicInteger statementNumber) {
 
@@ -16,6 +16,7 @@
 
 package org.springframework.r2dbc.core;
 
+import java.time.Duration;
 import java.util.Map;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
@@ -26,6 +27,8 @@ import io.r2dbc.spi.ConnectionFactory;
 import io.r2dbc.spi.Row;
 import io.r2dbc.spi.RowMetadata;
 import io.r2dbc.spi.Statement;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import org.springframework.r2dbc.core.binding.BindMarkersFactory;
@@ -134,6 +137,18 @@ public interface DatabaseClient extends ConnectionAccessor {
 		 */
 		Builder namedParameters(boolean enabled);
 
+		/**
+		 * Configure whether to pad collection parameters used in {@code IN} clauses
+		 * to the next power of two (by repeating their last element), bounding the
+		 * number of distinct statements sent to the database. Defaults to {@code false}.
+		 * <p>Only effective with named parameter expansion. Only to be switched on if
+		 * all collection parameters are used in {@code IN} clauses where duplicate
+		 * values do not change the result.
+		 * @param enabled {@code true} to pad collection parameters
+		 * @see #namedParameters(boolean)
+		 */
+		Builder inClauseParameterPadding(boolean enabled);
+
 		/**
 		 * Configures a {@link Consumer} to configure this builder.
 		 * @param builderConsumer must not be {@code null}.
@@ -237,6 +252,40 @@ public interface DatabaseClient extends ConnectionAccessor {
 		 * @return a {@link Mono} ignoring its payload (actively dropping).
 		 */
 		Mono<Void> then();
+
+		/**
+		 * Execute the SQL statement once for each of the given parameter bindings,
+		 * combining up to {@code batchSize} consecutive bindings in a single
+		 * {@link Statement} through {@link Statement#add()}. All batches are
+		 * executed on the same {@link io.r2dbc.spi.Connection}, with the next
+		 * batch getting collected while the current one is executing.
+		 * <p>Each binding maps parameter names to values (either scalar values or
+		 * {@link Parameter}, the latter required for {@code null} values), on top
+		 * of any bindings specified on this spec. Bindings expanding to different
+		 * SQL (e.g. collections of different size) are executed as separate statements.
+		 * @param bindings the parameter bindings, one {@link Map} per execution
+		 * @param batchSize the maximum number of bindings per batch
+		 * @return the number of rows updated per binding, in binding order
+		 */
+		Flux<Integer> batch(Publisher<? extends Map<String, ?>> bindings, int batchSize);
+
+		/**
+		 * Execute the SQL statement once for each of the given parameter bindings,
+		 * combining consecutive bindings in a single {@link Statement} through
+		 * {@link Statement#add()} until either {@code batchSize} bindings have been
+		 * collected or {@code maxWait} has elapsed, whichever comes first.
+		 * <p>Suitable for continuous streams of bindings, e.g. in ingestion
+		 * scenarios, where a batch should not wait for further bindings indefinitely.
+		 * Bindings are requested from the given publisher only while the next
+		 * batch is being collected, with at most one batch waiting for the
+		 * execution of the previous one, so slow execution slows down the source.
+		 * @param bindings the parameter bindings, one {@link Map} per execution
+		 * @param batchSize the maximum number of bindings per batch
+		 * @param maxWait the maximum time to wait for a batch to fill up
+		 * @return the number of rows updated per binding, in binding order
+		 * @see #batch(Publisher, int)
+		 */
+		Flux<Integer> batch(Publisher<? extends Map<String, ?>> bindings, int batchSize, Duration maxWait);
 	}
 
 }
@@ -20,12 +20,20 @@ import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiFunction;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -41,8 +49,13 @@ import io.r2dbc.spi.Wrapped;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscription;
+import reactor.core.Disposable;
+import reactor.core.publisher.BaseSubscriber;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.InvalidDataAccessApiUsageException;
@@ -76,12 +89,15 @@ class DefaultDatabaseClient implements DatabaseClient {
 
 
 	DefaultDatabaseClient(BindMarkersFactory bindMarkersFactory, ConnectionFactory connectionFactory,
-			ExecuteFunction executeFunction, boolean namedParameters) {
+			ExecuteFunction executeFunction, boolean namedParameters, boolean inClauseParameterPadding) {
 
 		this.bindMarkersFactory = bindMarkersFactory;
 		this.connectionFactory = connectionFactory;
 		this.executeFunction = executeFunction;
 		this.namedParameterExpander = (namedParameters ? new NamedParameterExpander() : null);
+		if (this.namedParameterExpander != null) {
+			this.namedParameterExpander.setInClauseParameterPadding(inClauseParameterPadding);
+		}
 	}
 
 
@@ -337,38 +353,9 @@ class DefaultDatabaseClient implements DatabaseClient {
 					return statement;
 				}
 
-				if (DefaultDatabaseClient.this.namedParameterExpander != null) {
-					Map<String, Parameter> remainderByName = new LinkedHashMap<>(this.byName);
-					Map<Integer, Parameter> remainderByIndex = new LinkedHashMap<>(this.byIndex);
-
-					List<String> parameterNames = DefaultDatabaseClient.this.namedParameterExpander.getParameterNames(sql);
-					MapBindParameterSource namedBindings = retrieveParameters(
-							sql, parameterNames, remainderByName, remainderByIndex);
-
-					PreparedOperation<String> operation = DefaultDatabaseClient.this.namedParameterExpander.expand(
-							sql, DefaultDatabaseClient.this.bindMarkersFactory, namedBindings);
-
-					String expanded = getRequiredSql(operation);
-					if (logger.isTraceEnabled()) {
-						logger.trace("Expanded SQL [" + expanded + "]");
-					}
-
-					Statement statement = connection.createStatement(expanded);
-					BindTarget bindTarget = new StatementWrapper(statement);
-
-					operation.bindTo(bindTarget);
-
-					bindByName(statement, remainderByName);
-					bindByIndex(statement, remainderByIndex);
-
-					return statement;
-				}
-
-				Statement statement = connection.createStatement(sql);
-
-				bindByIndex(statement, this.byIndex);
-				bindByName(statement, this.byName);
-
+				PreparedOperation<String> operation = prepareOperation(sql);
+				Statement statement = connection.createStatement(operation.toQuery());
+				operation.bindTo(new StatementWrapper(statement));
 				return statement;
 			};
 
@@ -385,6 +372,108 @@ class DefaultDatabaseClient implements DatabaseClient {
 					mappingFunction);
 		}
 
+		@Override
+		public Flux<Integer> batch(Publisher<? extends Map<String, ?>> bindings, int batchSize) {
+			Assert.notNull(bindings, "Bindings Publisher must not be null");
+			Assert.isTrue(batchSize > 0, "Batch size must be greater than 0");
+			return executeBatches(Flux.<Map<String, ?>>from(bindings).buffer(batchSize));
+		}
+
+		@Override
+		public Flux<Integer> batch(Publisher<? extends Map<String, ?>> bindings, int batchSize, Duration maxWait) {
+			Assert.notNull(bindings, "Bindings Publisher must not be null");
+			Assert.isTrue(batchSize > 0, "Batch size must be greater than 0");
+			Assert.notNull(maxWait, "Max wait Duration must not be null");
+			return executeBatches(collectBatches(bindings, batchSize, maxWait));
+		}
+
+		private Flux<Integer> executeBatches(Flux<List<Map<String, ?>>> batches) {
+			assertNotPreparedOperation();
+			String sql = getRequiredSql(this.sqlSupplier);
+			// Collecting the next batch while the current one executes, all on the same Connection,
+			// with no more than one batch queued up for execution
+			return DefaultDatabaseClient.this.inConnectionMany(new ConnectionFunction<>(sql,
+					connection -> batches.concatMap(batch -> executeBatch(connection, sql, batch), 1)));
+		}
+
+		/**
+		 * Execute the given batch of bindings, adding consecutive bindings that
+		 * expand to the same SQL to a single {@link Statement} via {@link Statement#add()}.
+		 */
+		private Flux<Integer> executeBatch(Connection connection, String sql, List<Map<String, ?>> batch) {
+			List<Statement> statements = new ArrayList<>();
+			Statement statement = null;
+			String statementSql = null;
+			for (Map<String, ?> bindings : batch) {
+				PreparedOperation<String> operation = withBindings(bindings).prepareOperation(sql);
+				String operationSql = operation.toQuery();
+				if (statement == null || !operationSql.equals(statementSql)) {
+					statement = connection.createStatement(operationSql);
+					statementSql = operationSql;
+					statements.add(statement);
+				}
+				else {
+					statement.add();
+				}
+				operation.bindTo(new StatementWrapper(statement));
+			}
+			if (logger.isDebugEnabled()) {
+				logger.debug("Executing SQL batch of " + batch.size() + " bindings in " +
+						statements.size() + " statement(s) [" + sql + "]");
+			}
+			return Flux.fromIterable(statements)
+					.concatMap(batchStatement -> Flux.from(this.filterFunction.filter(
+							batchStatement, DefaultDatabaseClient.this.executeFunction)).cast(Result.class))
+					.concatMap(Result::getRowsUpdated)
+					.checkpoint("SQL batch \"" + sql + "\" [DatabaseClient]");
+		}
+
+		private DefaultGenericExecuteSpec withBindings(Map<String, ?> bindings) {
+			Map<String, Parameter> byName = new LinkedHashMap<>(this.byName);
+			bindings.forEach((name, value) -> {
+				Assert.hasText(name, "Parameter name must not be null or empty!");
+				Assert.notNull(value, () -> String.format(
+						"Value for parameter %s must not be null. Use Parameter.empty(…) instead.", name));
+				byName.put(name, (value instanceof Parameter ? (Parameter) value :
+						Parameter.fromOrEmpty(value, value.getClass())));
+			});
+			return new DefaultGenericExecuteSpec(this.byIndex, byName, this.sqlSupplier, this.filterFunction);
+		}
+
+		/**
+		 * Prepare the given SQL statement with the bindings of this spec,
+		 * expanding named parameters if enabled.
+		 */
+		private PreparedOperation<String> prepareOperation(String sql) {
+			if (DefaultDatabaseClient.this.namedParameterExpander != null) {
+				Map<String, Parameter> remainderByName = new LinkedHashMap<>(this.byName);
+				Map<Integer, Parameter> remainderByIndex = new LinkedHashMap<>(this.byIndex);
+
+				List<String> parameterNames = DefaultDatabaseClient.this.namedParameterExpander.getParameterNames(sql);
+				MapBindParameterSource namedBindings = retrieveParameters(
+						sql, parameterNames, remainderByName, remainderByIndex);
+
+				PreparedOperation<String> operation = DefaultDatabaseClient.this.namedParameterExpander.expand(
+						sql, DefaultDatabaseClient.this.bindMarkersFactory, namedBindings);
+
+				String expanded = getRequiredSql(operation);
+				if (logger.isTraceEnabled()) {
+					logger.trace("Expanded SQL [" + expanded + "]");
+				}
+
+				return new BoundOperation(expanded, bindTarget -> {
+					operation.bindTo(bindTarget);
+					bindByName(bindTarget, remainderByName);
+					bindByIndex(bindTarget, remainderByIndex);
+				});
+			}
+
+			return new BoundOperation(sql, bindTarget -> {
+				bindByIndex(bindTarget, this.byIndex);
+				bindByName(bindTarget, this.byName);
+			});
+		}
+
 		private MapBindParameterSource retrieveParameters(String sql, List<String> parameterNames,
 				Map<String, Parameter> remainderByName, Map<Integer, Parameter> remainderByIndex) {
 
@@ -425,26 +514,26 @@ class DefaultDatabaseClient implements DatabaseClient {
 			}
 		}
 
-		private void bindByName(Statement statement, Map<String, Parameter> byName) {
+		private void bindByName(BindTarget target, Map<String, Parameter> byName) {
 			byName.forEach((name, parameter) -> {
 				Object value = parameter.getValue();
 				if (value != null) {
-					statement.bind(name, value);
+					target.bind(name, value);
 				}
 				else {
-					statement.bindNull(name, parameter.getType());
+					target.bindNull(name, parameter.getType());
 				}
 			});
 		}
 
-		private void bindByIndex(Statement statement, Map<Integer, Parameter> byIndex) {
+		private void bindByIndex(BindTarget target, Map<Integer, Parameter> byIndex) {
 			byIndex.forEach((i, parameter) -> {
 				Object value = parameter.getValue();
 				if (value != null) {
-					statement.bind(i, value);
+					target.bind(i, value);
 				}
 				else {
-					statement.bindNull(i, parameter.getType());
+					target.bindNull(i, parameter.getType());
 				}
 			});
 		}
@@ -458,6 +547,54 @@ class DefaultDatabaseClient implements DatabaseClient {
 	}
 
 
+	/**
+	 * Collect the elements of the given publisher into batches of up to the given
+	 * size, emitting a partial batch once the given time has passed since its
+	 * first element. Unlike {@link Flux#bufferTimeout(int, Duration)}, a batch is
+	 * emitted on downstream demand only, with no further elements requested from
+	 * upstream while a complete batch is waiting.
+	 */
+	static <T> Flux<List<T>> collectBatches(Publisher<? extends T> source, int batchSize, Duration maxWait) {
+		return Flux.create(sink -> {
+			BatchingSubscriber<T> subscriber = new BatchingSubscriber<>(sink, batchSize, maxWait);
+			sink.onRequest(n -> subscriber.drain());
+			sink.onCancel(subscriber::cancelBatching);
+			source.subscribe(subscriber);
+		});
+	}
+
+
+	/**
+	 * {@link PreparedOperation} for a SQL statement along with a binding callback.
+	 */
+	private static class BoundOperation implements PreparedOperation<String> {
+
+		private final String sql;
+
+		private final Consumer<BindTarget> binder;
+
+		BoundOperation(String sql, Consumer<BindTarget> binder) {
+			this.sql = sql;
+			this.binder = binder;
+		}
+
+		@Override
+		public String getSource() {
+			return this.sql;
+		}
+
+		@Override
+		public void bindTo(BindTarget target) {
+			this.binder.accept(target);
+		}
+
+		@Override
+		public String toQuery() {
+			return this.sql;
+		}
+	}
+
+
 	/**
 	 * Invocation handler that suppresses close calls on R2DBC Connections. Also prepares
 	 * returned Statement (Prepared/CallbackStatement) objects.
@@ -558,4 +695,163 @@ class DefaultDatabaseClient implements DatabaseClient {
 		}
 	}
 
+
+	/**
+	 * Subscriber that collects elements into batches, emitting a batch on
+	 * downstream demand only, and requesting elements from upstream only
+	 * while no complete batch is waiting to be emitted.
+	 */
+	private static class BatchingSubscriber<T> extends BaseSubscriber<T> {
+
+		private final FluxSink<List<T>> sink;
+
+		private final int batchSize;
+
+		private final Duration maxWait;
+
+		private final Queue<T> received = new ConcurrentLinkedQueue<>();
+
+		private final AtomicInteger wip = new AtomicInteger();
+
+		private final AtomicLong generation = new AtomicLong();
+
+		private volatile boolean timedOut;
+
+		private volatile boolean done;
+
+		@Nullable
+		private volatile Throwable error;
+
+		private volatile boolean cancelled;
+
+		// Fields below are only accessed from within drain()
+
+		private List<T> pending = new ArrayList<>();
+
+		private int outstanding;
+
+		private boolean terminated;
+
+		@Nullable
+		private Disposable timer;
+
+		BatchingSubscriber(FluxSink<List<T>> sink, int batchSize, Duration maxWait) {
+			this.sink = sink;
+			this.batchSize = batchSize;
+			this.maxWait = maxWait;
+		}
+
+		@Override
+		protected void hookOnSubscribe(Subscription subscription) {
+			drain();
+		}
+
+		@Override
+		protected void hookOnNext(T value) {
+			this.received.offer(value);
+			drain();
+		}
+
+		@Override
+		protected void hookOnError(Throwable ex) {
+			this.error = ex;
+			this.done = true;
+			drain();
+		}
+
+		@Override
+		protected void hookOnComplete() {
+			this.done = true;
+			drain();
+		}
+
+		void cancelBatching() {
+			this.cancelled = true;
+			dispose();
+			drain();
+		}
+
+		void drain() {
+			if (this.wip.getAndIncrement() != 0) {
+				return;
+			}
+			int missed = 1;
+			do {
+				if (this.cancelled || this.terminated) {
+					discardAll();
+				}
+				else {
+					drainReceived();
+				}
+				missed = this.wip.addAndGet(-missed);
+			}
+			while (missed != 0);
+		}
+
+		private void drainReceived() {
+			T value;
+			while ((value = this.received.poll()) != null) {
+				this.outstanding--;
+				this.pending.add(value);
+				if (this.timer == null) {
+					long current = this.generation.get();
+					this.timer = Schedulers.parallel().schedule(() -> onTimeout(current),
+							this.maxWait.toMillis(), TimeUnit.MILLISECONDS);
+				}
+			}
+			Throwable ex = this.error;
+			if (ex != null) {
+				this.terminated = true;
+				discardAll();
+				this.sink.error(ex);
+				return;
+			}
+			boolean ready = !this.pending.isEmpty() &&
+					(this.pending.size() >= this.batchSize || this.timedOut || this.done);
+			if (ready && this.sink.requestedFromDownstream() > 0) {
+				emitPending();
+				ready = false;
+			}
+			if (this.done) {
+				if (this.pending.isEmpty()) {
+					this.terminated = true;
+					this.sink.complete();
+				}
+			}
+			else if (!ready && this.outstanding == 0 && upstream() != null) {
+				this.outstanding = this.batchSize - this.pending.size();
+				request(this.outstanding);
+			}
+		}
+
+		private void emitPending() {
+			List<T> batch = this.pending;
+			this.pending = new ArrayList<>();
+			resetTimer();
+			this.sink.next(batch);
+		}
+
+		private void onTimeout(long expected) {
+			if (this.generation.get() == expected) {
+				this.timedOut = true;
+				drain();
+			}
+		}
+
+		private void resetTimer() {
+			this.generation.incrementAndGet();
+			this.timedOut = false;
+			if (this.timer != null) {
+				this.timer.dispose();
+				this.timer = null;
+			}
+		}
+
+		private void discardAll() {
+			resetTimer();
+			this.pending.clear();
+			this.received.clear();
+		}
+	}
+
 }
@@ -44,6 +44,8 @@ class DefaultDatabaseClientBuilder implements DatabaseClient.Builder {
 
 	private boolean namedParameters = true;
 
+	private boolean inClauseParameterPadding = false;
+
 
 	DefaultDatabaseClientBuilder() {
 	}
@@ -76,6 +78,12 @@ class DefaultDatabaseClientBuilder implements DatabaseClient.Builder {
 		return this;
 	}
 
+	@Override
+	public DatabaseClient.Builder inClauseParameterPadding(boolean enabled) {
+		this.inClauseParameterPadding = enabled;
+		return this;
+	}
+
 	@Override
 	public DatabaseClient build() {
 		Assert.notNull(this.connectionFactory, "ConnectionFactory must not be null");
@@ -92,7 +100,7 @@ class DefaultDatabaseClientBuilder implements DatabaseClient.Builder {
 		}
 
 		return new DefaultDatabaseClient(bindMarkers, this.connectionFactory,
-				this.executeFunction, this.namedParameters);
+				this.executeFunction, this.namedParameters, this.inClauseParameterPadding);
 	}
 
 	@Override
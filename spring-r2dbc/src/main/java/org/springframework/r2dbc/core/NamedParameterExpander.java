@@ -16,6 +16,8 @@
 
 package org.springframework.r2dbc.core;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -23,6 +25,7 @@ import java.util.Map;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
+import org.springframework.lang.Nullable;
 import org.springframework.r2dbc.core.binding.BindMarkersFactory;
 
 
@@ -51,6 +54,8 @@ class NamedParameterExpander {
 
 	private volatile int cacheLimit = DEFAULT_CACHE_LIMIT;
 
+	private boolean inClauseParameterPadding = false;
+
 	private final Log logger = LogFactory.getLog(getClass());
 
 	/**
@@ -86,6 +91,26 @@ class NamedParameterExpander {
 		return this.cacheLimit;
 	}
 
+	/**
+	 * Specify whether to pad {@link Collection} parameter values to the next
+	 * power of two (by repeating their last element), bounding the number of
+	 * distinct expanded statements for {@code IN} clauses of varying size.
+	 * <p>Default is {@code false}. Only to be switched on if all collection
+	 * parameters are used in {@code IN} clauses where duplicate values do
+	 * not change the result.
+	 */
+	public void setInClauseParameterPadding(boolean inClauseParameterPadding) {
+		this.inClauseParameterPadding = inClauseParameterPadding;
+	}
+
+	/**
+	 * Return whether {@link Collection} parameter values get padded to the
+	 * next power of two.
+	 */
+	public boolean isInClauseParameterPadding() {
+		return this.inClauseParameterPadding;
+	}
+
 	/**
 	 * Obtain a parsed representation of the given SQL statement.
 	 * <p>
@@ -138,9 +163,11 @@ class NamedParameterExpander {
 			BindParameterSource paramSource) {
 
 		ParsedSql parsedSql = getParsedSql(sql);
+		BindParameterSource paramSourceToUse = (this.inClauseParameterPadding ?
+				new PaddedCollectionParameterSource(paramSource) : paramSource);
 
 		PreparedOperation<String> expanded = NamedParameterUtils.substituteNamedParameters(parsedSql, bindMarkersFactory,
-				paramSource);
+				paramSourceToUse);
 
 		if (logger.isDebugEnabled()) {
 			logger.debug(String.format("Expanding SQL statement [%s] to [%s]", sql, expanded.toQuery()));
@@ -159,4 +186,56 @@ class NamedParameterExpander {
 		return getParsedSql(sql).getParameterNames();
 	}
 
+
+	/**
+	 * {@link BindParameterSource} decorator that pads {@link Collection} values
+	 * to the next power of two by repeating their last element.
+	 */
+	private static class PaddedCollectionParameterSource implements BindParameterSource {
+
+		private final BindParameterSource delegate;
+
+		PaddedCollectionParameterSource(BindParameterSource delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public boolean hasValue(String paramName) {
+			return this.delegate.hasValue(paramName);
+		}
+
+		@Override
+		@Nullable
+		public Object getValue(String paramName) throws IllegalArgumentException {
+			Object value = this.delegate.getValue(paramName);
+			if (value instanceof Collection) {
+				Collection<?> collection = (Collection<?>) value;
+				int size = collection.size();
+				if (size > 1) {
+					int paddedSize = Integer.highestOneBit(size - 1) << 1;
+					if (paddedSize > size) {
+						List<Object> padded = new ArrayList<>(paddedSize);
+						padded.addAll(collection);
+						Object last = padded.get(size - 1);
+						while (padded.size() < paddedSize) {
+							padded.add(last);
+						}
+						return padded;
+					}
+				}
+			}
+			return value;
+		}
+
+		@Override
+		public Class<?> getType(String paramName) {
+			return this.delegate.getType(paramName);
+		}
+
+		@Override
+		public Iterable<String> getParameterNames() {
+			return this.delegate.getParameterNames();
+		}
+	}
+
 }
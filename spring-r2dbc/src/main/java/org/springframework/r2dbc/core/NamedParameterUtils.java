@@ -17,6 +17,7 @@
 package org.springframework.r2dbc.core;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -265,6 +266,10 @@ abstract class NamedParameterUtils {
 	 * be used for a select list. Select lists should be limited to 100 or fewer elements.
 	 * A larger number of elements is not guaranteed to be supported by the database and
 	 * is strictly vendor-dependent.
+	 * <p>The expanded SQL statement and its bind markers are cached per
+	 * {@link ParsedSql} for each bind marker factory and shape of collection
+	 * parameters (that is, their sizes and the lengths of any nested arrays),
+	 * so that repeated executions with equally sized collections reuse them.
 	 * @param parsedSql the parsed representation of the SQL statement
 	 * @param bindMarkersFactory the bind marker factory.
 	 * @param paramSource the source for named parameters
@@ -274,12 +279,28 @@ abstract class NamedParameterUtils {
 	 */
 	public static PreparedOperation<String> substituteNamedParameters(ParsedSql parsedSql,
 			BindMarkersFactory bindMarkersFactory, BindParameterSource paramSource) {
-		NamedParameters markerHolder = new NamedParameters(bindMarkersFactory);
-		String originalSql = parsedSql.getOriginalSql();
 		List<String> paramNames = parsedSql.getParameterNames();
 		if (paramNames.isEmpty()) {
-			return new ExpandedQuery(originalSql, markerHolder, paramSource);
+			return new ExpandedQuery(parsedSql.getOriginalSql(), new NamedParameters(bindMarkersFactory), paramSource);
+		}
+		ParameterShape shape = ParameterShape.of(bindMarkersFactory, paramNames, paramSource);
+		if (shape == null) {
+			// Nested arrays of varying length: no shape to cache for
+			return expandNamedParameters(parsedSql, bindMarkersFactory, paramSource);
 		}
+		// Cache the expanded SQL and its bind markers only, not the parameter values
+		ExpandedQuery expanded = (ExpandedQuery) parsedSql.getExpandedQuery(shape, () -> {
+			ExpandedQuery query = expandNamedParameters(parsedSql, bindMarkersFactory, paramSource);
+			return new ExpandedQuery(query.expandedSql, query.parameters, new MapBindParameterSource());
+		});
+		return new ExpandedQuery(expanded.expandedSql, expanded.parameters, paramSource);
+	}
+
+	private static ExpandedQuery expandNamedParameters(ParsedSql parsedSql,
+			BindMarkersFactory bindMarkersFactory, BindParameterSource paramSource) {
+		NamedParameters markerHolder = new NamedParameters(bindMarkersFactory);
+		String originalSql = parsedSql.getOriginalSql();
+		List<String> paramNames = parsedSql.getParameterNames();
 		StringBuilder actualSql = new StringBuilder(originalSql.length());
 		int lastIndex = 0;
 		for (int i = 0; i < paramNames.size(); i++) {
@@ -364,6 +385,84 @@ abstract class NamedParameterUtils {
 	}
 
 
+	/**
+	 * The shape of the parameter values for a given SQL statement and bind marker
+	 * factory: for each parameter occurrence, whether it is a single value or a
+	 * {@link Collection} and if so, its number of elements as well as the length
+	 * of its nested arrays (if any). Determines the expanded form of the SQL
+	 * statement along with its bind markers.
+	 */
+	private static final class ParameterShape {
+
+		private static final int SINGLE_VALUE = -1;
+
+		private final BindMarkersFactory bindMarkersFactory;
+
+		// Pairs of element count (or SINGLE_VALUE) and array length + 1 (0 for plain elements)
+		private final int[] codes;
+
+		private final int hashCode;
+
+		private ParameterShape(BindMarkersFactory bindMarkersFactory, int[] codes) {
+			this.bindMarkersFactory = bindMarkersFactory;
+			this.codes = codes;
+			this.hashCode = 31 * bindMarkersFactory.hashCode() + Arrays.hashCode(codes);
+		}
+
+		/**
+		 * Determine the shape of the given parameter values.
+		 * @return the shape, or {@code null} if a {@code Collection} contains
+		 * arrays of differing lengths
+		 */
+		@Nullable
+		static ParameterShape of(BindMarkersFactory bindMarkersFactory, List<String> paramNames,
+				BindParameterSource paramSource) {
+
+			int[] codes = new int[paramNames.size() * 2];
+			for (int i = 0; i < paramNames.size(); i++) {
+				String paramName = paramNames.get(i);
+				codes[i * 2] = SINGLE_VALUE;
+				if (paramSource.hasValue(paramName)) {
+					Object value = paramSource.getValue(paramName);
+					if (value instanceof Collection) {
+						int count = 0;
+						int elementCode = 0;
+						for (Object entryItem : (Collection<?>) value) {
+							int entryCode = (entryItem instanceof Object[] ? ((Object[]) entryItem).length + 1 : 0);
+							if (count > 0 && entryCode != elementCode) {
+								return null;
+							}
+							elementCode = entryCode;
+							count++;
+						}
+						codes[i * 2] = count;
+						codes[i * 2 + 1] = elementCode;
+					}
+				}
+			}
+			return new ParameterShape(bindMarkersFactory, codes);
+		}
+
+		@Override
+		public boolean equals(@Nullable Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof ParameterShape)) {
+				return false;
+			}
+			ParameterShape otherShape = (ParameterShape) other;
+			return (this.bindMarkersFactory == otherShape.bindMarkersFactory &&
+					Arrays.equals(this.codes, otherShape.codes));
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hashCode;
+		}
+	}
+
+
 	private static class ParameterHolder {
 
 		private final String parameterName;
@@ -18,6 +18,9 @@ package org.springframework.r2dbc.core;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 /**
  * Holds information about a parsed SQL statement.
@@ -28,6 +31,12 @@ import java.util.List;
  */
 class ParsedSql {
 
+	/**
+	 * Maximum number of expanded queries to cache per parsed statement.
+	 */
+	static final int EXPANDED_QUERY_CACHE_LIMIT = 64;
+
+
 	private String originalSql;
 
 	private List<String> parameterNames = new ArrayList<>();
@@ -40,6 +49,9 @@ class ParsedSql {
 
 	private int totalParameterCount;
 
+	/** Cache of expanded queries, keyed by the shape of the parameter values. */
+	private final Map<Object, PreparedOperation<String>> expandedQueryCache = new ConcurrentHashMap<>(4);
+
 
 	/**
 	 * Create a new instance of the {@link ParsedSql} class.
@@ -133,6 +145,26 @@ class ParsedSql {
 		return this.totalParameterCount;
 	}
 
+	/**
+	 * Return the expanded query for the given shape of parameter values,
+	 * expanding it through the given supplier if not cached yet.
+	 * <p>At most {@link #EXPANDED_QUERY_CACHE_LIMIT} shapes are cached per
+	 * statement; further shapes get expanded on every call.
+	 * @param shape the shape of the parameter values (with equality semantics)
+	 * @param expander the supplier for the expanded query
+	 * @return the expanded query
+	 */
+	PreparedOperation<String> getExpandedQuery(Object shape, Supplier<PreparedOperation<String>> expander) {
+		PreparedOperation<String> expandedQuery = this.expandedQueryCache.get(shape);
+		if (expandedQuery == null) {
+			expandedQuery = expander.get();
+			if (this.expandedQueryCache.size() < EXPANDED_QUERY_CACHE_LIMIT) {
+				this.expandedQueryCache.put(shape, expandedQuery);
+			}
+		}
+		return expandedQuery;
+	}
+
 
 	/**
 	 * Exposes the original SQL String.
@@ -96,6 +96,55 @@ public abstract class AbstractDatabaseInitializationTests {
 		assertUsersDatabaseCreated("Heisenberg", "Jesse");
 	}
 
+	@Test
+	public void scriptWithMultipleStatementsInStreamingMode() {
+		databasePopulator.addScript(defaultSchema());
+		databasePopulator.addScript(resource("db-test-data-multiple.sql"));
+		databasePopulator.setStreaming(true);
+
+		runPopulator();
+
+		assertUsersDatabaseCreated("Heisenberg", "Jesse");
+	}
+
+	@Test
+	public void scriptWithSingleLineCommentsAndFailedDropInStreamingMode() {
+		databasePopulator.addScript(resource("db-schema-failed-drop-comments.sql"));
+		databasePopulator.addScript(resource("db-test-data.sql"));
+		databasePopulator.setIgnoreFailedDrops(true);
+		databasePopulator.setStreaming(true);
+
+		runPopulator();
+
+		assertUsersDatabaseCreated("Heisenberg");
+	}
+
+	@Test
+	public void scriptWithFailedInsertInStreamingMode() {
+		databasePopulator.addScript(resource("db-test-data-multiple.sql"));
+		databasePopulator.setStreaming(true);
+
+		databasePopulator.populate(getConnectionFactory()) //
+				.as(StepVerifier::create) //
+				.expectError(ScriptStatementFailedException.class) //
+				.verify();
+	}
+
+	@Test
+	public void scriptsInParallel() {
+		databasePopulator.addScript(defaultSchema());
+		runPopulator();
+
+		ResourceDatabasePopulator populator = new ResourceDatabasePopulator(
+				resource("db-test-data-escaped-literal.sql"), resource("db-test-data-multiple.sql"));
+		populator.setConcurrency(2);
+		populator.populate(getConnectionFactory()) //
+				.as(StepVerifier::create) //
+				.verifyComplete();
+
+		assertUsersDatabaseCreated("'Heisenberg'", "Heisenberg", "Jesse");
+	}
+
 	abstract ConnectionFactory getConnectionFactory();
 
 	Resource resource(String path) {
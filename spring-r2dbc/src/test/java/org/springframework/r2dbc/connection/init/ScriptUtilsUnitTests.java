@@ -16,6 +16,8 @@
 
 package org.springframework.r2dbc.connection.init;
 
+import java.io.LineNumberReader;
+import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -216,4 +218,20 @@ public class ScriptUtilsUnitTests {
 		return ScriptUtils.readScript(resource, DefaultDataBufferFactory.sharedInstance).block();
 	}
 
+	@Test
+	public void readStatementGroupsIncrementally() throws Exception {
+		LineNumberReader reader = new LineNumberReader(new StringReader("create table t (id int);\n" +
+				"insert into t values (1);\ninsert into t values (2);\nINSERT into t values (3);\n" +
+				"select 1;\ninsert into t values (4);"));
+		ScriptStatementReader statementReader = new ScriptStatementReader(reader, null, ";",
+				ScriptUtils.DEFAULT_COMMENT_PREFIXES, ScriptUtils.DEFAULT_BLOCK_COMMENT_START_DELIMITER,
+				ScriptUtils.DEFAULT_BLOCK_COMMENT_END_DELIMITER);
+		assertThat(statementReader.nextStatements(2)).containsExactly("create table t (id int)");
+		assertThat(statementReader.nextStatements(2)).containsExactly("insert into t values (1)", "insert into t values (2)");
+		assertThat(statementReader.nextStatements(2)).containsExactly("INSERT into t values (3)");
+		assertThat(statementReader.nextStatements(2)).containsExactly("select 1");
+		assertThat(statementReader.nextStatements(2)).containsExactly("insert into t values (4)");
+		assertThat(statementReader.nextStatements(2)).isEmpty();
+	}
+
 }
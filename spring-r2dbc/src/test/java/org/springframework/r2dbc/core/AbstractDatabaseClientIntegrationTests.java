@@ -16,6 +16,9 @@
 
 package org.springframework.r2dbc.core;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import io.r2dbc.spi.ConnectionFactory;
 import io.r2dbc.spi.Result;
 import org.junit.jupiter.api.BeforeEach;
@@ -94,6 +97,32 @@ public abstract class AbstractDatabaseClientIntegrationTests {
 						}).verifyComplete();
 	}
 
+	@Test
+	public void executeBatchInsert() {
+		DatabaseClient databaseClient = DatabaseClient.create(connectionFactory);
+
+		Flux<Map<String, Object>> bindings = Flux.range(1, 5).map(id -> {
+			Map<String, Object> binding = new LinkedHashMap<>();
+			binding.put("id", id);
+			binding.put("name", "SCHAUFELRADBAGGER " + id);
+			binding.put("manual", Parameter.empty(Integer.class));
+			return binding;
+		});
+
+		databaseClient.sql("INSERT INTO legoset (id, name, manual) VALUES(:id, :name, :manual)")
+				.batch(bindings, 2)
+				.as(StepVerifier::create)
+				.expectNext(1, 1, 1, 1, 1)
+				.verifyComplete();
+
+		databaseClient.sql("SELECT COUNT(*) FROM legoset")
+				.map(row -> row.get(0, Long.class))
+				.first()
+				.as(StepVerifier::create)
+				.expectNext(5L)
+				.verifyComplete();
+	}
+
 	@Test
 	public void shouldTranslateDuplicateKeyException() {
 		DatabaseClient databaseClient = DatabaseClient.create(connectionFactory);
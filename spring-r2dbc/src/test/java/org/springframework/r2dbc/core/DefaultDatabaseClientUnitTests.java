@@ -16,7 +16,12 @@
 
 package org.springframework.r2dbc.core;
 
+import java.time.Duration;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import io.r2dbc.spi.Connection;
 import io.r2dbc.spi.ConnectionFactory;
@@ -46,6 +51,7 @@ import org.springframework.lang.Nullable;
 import org.springframework.r2dbc.core.binding.BindMarkersFactory;
 import org.springframework.r2dbc.core.binding.BindTarget;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.doReturn;
@@ -185,6 +191,133 @@ class DefaultDatabaseClientUnitTests {
 		verifyNoMoreInteractions(statement);
 	}
 
+	@Test
+	void executeShouldPadInClauseParameters() {
+		Statement statement = mockStatementFor(
+				"SELECT id, name, manual FROM legoset WHERE name IN ($1, $2, $3, $4)");
+
+		DatabaseClient databaseClient = databaseClientBuilder.inClauseParameterPadding(true).build();
+
+		databaseClient.sql(
+				"SELECT id, name, manual FROM legoset WHERE name IN (:name)").bind("name",
+						Arrays.asList("unknown", "dunno", "other")).then().as(
+								StepVerifier::create).verifyComplete();
+
+		verify(statement).bind(0, "unknown");
+		verify(statement).bind(1, "dunno");
+		verify(statement).bind(2, "other");
+		verify(statement).bind(3, "other");
+		verify(statement).execute();
+		verifyNoMoreInteractions(statement);
+	}
+
+	@Test
+	void batchShouldAddBindingsToSingleStatement() {
+		Result result1 = mockRowsUpdated(1);
+		Result result2 = mockRowsUpdated(2);
+		Result result3 = mockRowsUpdated(3);
+		Statement statement = mockStatementFor("INSERT INTO legoset (id) VALUES ($1)");
+		doReturn(Flux.just(result1, result2, result3)).when(statement).execute();
+
+		DatabaseClient databaseClient = databaseClientBuilder.build();
+
+		databaseClient.sql("INSERT INTO legoset (id) VALUES (:id)")
+				.batch(Flux.just(Collections.singletonMap("id", 1),
+						Collections.singletonMap("id", 2),
+						Collections.singletonMap("id", 3)), 10)
+				.as(StepVerifier::create)
+				.expectNext(1, 2, 3)
+				.verifyComplete();
+
+		InOrder inOrder = inOrder(statement);
+		inOrder.verify(statement).bind(0, 1);
+		inOrder.verify(statement).add();
+		inOrder.verify(statement).bind(0, 2);
+		inOrder.verify(statement).add();
+		inOrder.verify(statement).bind(0, 3);
+		inOrder.verify(statement).execute();
+		inOrder.verifyNoMoreInteractions();
+		verify(connection, times(1)).close();
+	}
+
+	@Test
+	void batchShouldFlushByBatchSize() {
+		Result result1 = mockRowsUpdated(1);
+		Result result2 = mockRowsUpdated(1);
+		Result result3 = mockRowsUpdated(1);
+		Statement statement = mockStatementFor("INSERT INTO legoset (id) VALUES ($1)");
+		doReturn(Flux.just(result1, result2), Flux.just(result3)).when(statement).execute();
+
+		DatabaseClient databaseClient = databaseClientBuilder.build();
+
+		databaseClient.sql("INSERT INTO legoset (id) VALUES (:id)")
+				.batch(Flux.just(Collections.singletonMap("id", 1),
+						Collections.singletonMap("id", 2),
+						Collections.singletonMap("id", 3)), 2, Duration.ofSeconds(10))
+				.as(StepVerifier::create)
+				.expectNext(1, 1, 1)
+				.verifyComplete();
+
+		verify(connection, times(2)).createStatement("INSERT INTO legoset (id) VALUES ($1)");
+		verify(statement, times(1)).add();
+		verify(statement, times(2)).execute();
+		verify(connection, times(1)).close();
+	}
+
+	@Test
+	void batchWithMaxWaitShouldHonorDemandOfSlowExecution() {
+		Result result = mockRowsUpdated(1);
+		Statement statement = mockStatementFor("INSERT INTO legoset (id) VALUES ($1)");
+		doReturn(Mono.just(result).delayElement(Duration.ofMillis(10))).when(statement).execute();
+
+		DatabaseClient databaseClient = databaseClientBuilder.build();
+
+		// Partial batches time out faster than they can be executed
+		AtomicLong requested = new AtomicLong();
+		Flux<Map<String, Integer>> bindings = Flux.range(1, 50)
+				.delayElements(Duration.ofMillis(2))
+				.map(id -> Collections.singletonMap("id", id))
+				.doOnRequest(requested::addAndGet);
+
+		AtomicInteger executed = new AtomicInteger();
+		AtomicLong maxRequestedAhead = new AtomicLong();
+		databaseClient.sql("INSERT INTO legoset (id) VALUES (:id)")
+				.batch(bindings, 5, Duration.ofMillis(1))
+				.doOnNext(rowsUpdated -> maxRequestedAhead.accumulateAndGet(
+						requested.get() - executed.incrementAndGet(), Math::max))
+				.as(StepVerifier::create)
+				.expectNextCount(50)
+				.verifyComplete();
+
+		// At most one batch executing, one batch queued, and one batch being collected
+		assertThat(maxRequestedAhead.get()).isLessThanOrEqualTo(3 * 5);
+
+		verify(connection, times(1)).close();
+	}
+
+	@Test
+	void batchShouldSplitStatementsForDifferentExpansions() {
+		Statement statement1 = mockStatementFor("SELECT * FROM legoset WHERE id IN ($1)");
+		Statement statement2 = mockStatementFor("SELECT * FROM legoset WHERE id IN ($1, $2)");
+
+		DatabaseClient databaseClient = databaseClientBuilder.build();
+
+		databaseClient.sql("SELECT * FROM legoset WHERE id IN (:ids)")
+				.batch(Flux.just(Collections.singletonMap("ids", Collections.singletonList(1)),
+						Collections.singletonMap("ids", Arrays.asList(2, 3))), 10)
+				.as(StepVerifier::create)
+				.verifyComplete();
+
+		InOrder inOrder = inOrder(statement1, statement2);
+		inOrder.verify(statement1).bind(0, 1);
+		inOrder.verify(statement2).bind(0, 2);
+		inOrder.verify(statement2).bind(1, 3);
+		inOrder.verify(statement1).execute();
+		inOrder.verify(statement2).execute();
+		verify(statement1, times(0)).add();
+		verify(statement2, times(0)).add();
+	}
+
 	@Test
 	void executeShouldBindValues() {
 		Statement statement = mockStatementFor("SELECT * FROM table WHERE key = $1");
@@ -413,6 +546,12 @@ class DefaultDatabaseClientUnitTests {
 		return statement;
 	}
 
+	private Result mockRowsUpdated(int rowsUpdated) {
+		Result result = mock(Result.class);
+		doReturn(Mono.just(rowsUpdated)).when(result).getRowsUpdated();
+		return result;
+	}
+
 	private MockResult mockSingleColumnEmptyResult() {
 		return mockSingleColumnResult(null);
 	}
@@ -108,6 +108,57 @@ public class NamedParameterUtilsUnitTests {
 		verify(bindTarget).bind(3, "Flynn");
 	}
 
+	@Test
+	public void shouldReuseExpansionForSameCollectionSizes() {
+		ParsedSql parsedSql = NamedParameterUtils.parseSqlStatement("SELECT * FROM person WHERE id IN (:ids)");
+
+		MapBindParameterSource namedParams1 = new MapBindParameterSource(new HashMap<>());
+		namedParams1.addValue("ids", Arrays.asList(1, 2, 3));
+		MapBindParameterSource namedParams2 = new MapBindParameterSource(new HashMap<>());
+		namedParams2.addValue("ids", Arrays.asList(4, 5, 6));
+		MapBindParameterSource namedParams3 = new MapBindParameterSource(new HashMap<>());
+		namedParams3.addValue("ids", Arrays.asList(7, 8));
+
+		PreparedOperation<String> operation1 = NamedParameterUtils.substituteNamedParameters(
+				parsedSql, BIND_MARKERS, namedParams1);
+		PreparedOperation<String> operation2 = NamedParameterUtils.substituteNamedParameters(
+				parsedSql, BIND_MARKERS, namedParams2);
+		PreparedOperation<String> operation3 = NamedParameterUtils.substituteNamedParameters(
+				parsedSql, BIND_MARKERS, namedParams3);
+
+		assertThat(operation1.toQuery()).isEqualTo("SELECT * FROM person WHERE id IN ($1, $2, $3)");
+		assertThat(operation2.toQuery()).isSameAs(operation1.toQuery());
+		assertThat(operation3.toQuery()).isEqualTo("SELECT * FROM person WHERE id IN ($1, $2)");
+
+		BindTarget bindTarget = mock(BindTarget.class);
+		operation2.bindTo(bindTarget);
+
+		verify(bindTarget).bind(0, 4);
+		verify(bindTarget).bind(1, 5);
+		verify(bindTarget).bind(2, 6);
+	}
+
+	@Test
+	public void shouldNotReuseExpansionForDifferentTupleLengths() {
+		ParsedSql parsedSql = NamedParameterUtils.parseSqlStatement("xxx :a");
+
+		MapBindParameterSource namedParams1 = new MapBindParameterSource(new HashMap<>());
+		namedParams1.addValue("a", Arrays.asList(new Object[] { "Walter", "Heisenberg" },
+				new Object[] { "Walt Jr.", "Flynn" }));
+		MapBindParameterSource namedParams2 = new MapBindParameterSource(new HashMap<>());
+		namedParams2.addValue("a", Arrays.asList(new Object[] { "Walter" }, new Object[] { "Walt Jr." }));
+		MapBindParameterSource namedParams3 = new MapBindParameterSource(new HashMap<>());
+		namedParams3.addValue("a", Arrays.asList(new Object[] { "Walter" },
+				new Object[] { "Walt Jr.", "Flynn" }));
+
+		assertThat(NamedParameterUtils.substituteNamedParameters(parsedSql, BIND_MARKERS, namedParams1).toQuery())
+				.isEqualTo("xxx ($1, $2), ($3, $4)");
+		assertThat(NamedParameterUtils.substituteNamedParameters(parsedSql, BIND_MARKERS, namedParams2).toQuery())
+				.isEqualTo("xxx ($1), ($2)");
+		assertThat(NamedParameterUtils.substituteNamedParameters(parsedSql, BIND_MARKERS, namedParams3).toQuery())
+				.isEqualTo("xxx ($1), ($2, $3)");
+	}
+
 	@Test
 	public void parseSqlContainingComments() {
 		String sql1 = "/*+ HINT */ xxx /* comment ? */ :a yyyy :b :c :a zzzzz -- :xx XX\n";
@@ -33,6 +33,7 @@ import org.springframework.beans.factory.BeanFactoryAware;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.BeanFactoryAnnotationUtils;
 import org.springframework.core.KotlinDetector;
+import org.springframework.core.MethodClassKey;
 import org.springframework.core.NamedThreadLocal;
 import org.springframework.core.ReactiveAdapter;
 import org.springframework.core.ReactiveAdapterRegistry;
@@ -41,15 +42,21 @@ import org.springframework.transaction.NoTransactionException;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.ReactiveTransaction;
 import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.TransactionManager;
 import org.springframework.transaction.TransactionStatus;
 import org.springframework.transaction.TransactionSystemException;
 import org.springframework.transaction.TransactionUsageException;
 import org.springframework.transaction.reactive.TransactionContextManager;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
 import org.springframework.transaction.support.CallbackPreferringPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ReflectionUtils;
 import org.springframework.util.StringUtils;
 
 /**
@@ -149,10 +156,11 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 	 */
 	public static TransactionStatus currentTransactionStatus() throws NoTransactionException {
 		TransactionInfo info = currentTransactionInfo();
-		if (info == null || info.transactionStatus == null) {
+		TransactionStatus status = (info != null ? info.getTransactionStatus() : null);
+		if (status == null) {
 			throw new NoTransactionException("No transaction aspect-managed TransactionStatus in scope");
 		}
-		return info.transactionStatus;
+		return status;
 	}
 
 
@@ -179,6 +187,11 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 	private final ConcurrentMap<Method, ReactiveTransactionSupport> transactionSupportCache =
 			new ConcurrentReferenceHashMap<>(1024);
 
+	private final ConcurrentMap<MethodClassKey, TransactionPlan> transactionPlanCache =
+			new ConcurrentReferenceHashMap<>(1024);
+
+	private final boolean transactionManagerCacheable;
+
 
 	protected TransactionAspectSupport() {
 		if (reactiveStreamsPresent) {
@@ -187,6 +200,13 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 		else {
 			this.reactiveAdapterRegistry = null;
 		}
+		// A custom determineTransactionManager implementation may be dynamic,
+		// e.g. routing per tenant: only bind the transaction manager per method
+		// if the standard lookup algorithm is in place.
+		Method determineMethod = ReflectionUtils.findMethod(
+				getClass(), "determineTransactionManager", TransactionAttribute.class);
+		this.transactionManagerCacheable =
+				(determineMethod == null || determineMethod.getDeclaringClass() == TransactionAspectSupport.class);
 	}
 
 
@@ -197,6 +217,7 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 	 */
 	public void setTransactionManagerBeanName(@Nullable String transactionManagerBeanName) {
 		this.transactionManagerBeanName = transactionManagerBeanName;
+		this.transactionPlanCache.clear();
 	}
 
 	/**
@@ -218,6 +239,7 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 	 */
 	public void setTransactionManager(@Nullable TransactionManager transactionManager) {
 		this.transactionManager = transactionManager;
+		this.transactionPlanCache.clear();
 	}
 
 	/**
@@ -246,6 +268,7 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 		NameMatchTransactionAttributeSource tas = new NameMatchTransactionAttributeSource();
 		tas.setProperties(transactionAttributes);
 		this.transactionAttributeSource = tas;
+		this.transactionPlanCache.clear();
 	}
 
 	/**
@@ -258,6 +281,7 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 	 */
 	public void setTransactionAttributeSources(TransactionAttributeSource... transactionAttributeSources) {
 		this.transactionAttributeSource = new CompositeTransactionAttributeSource(transactionAttributeSources);
+		this.transactionPlanCache.clear();
 	}
 
 	/**
@@ -271,6 +295,7 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 	 */
 	public void setTransactionAttributeSource(@Nullable TransactionAttributeSource transactionAttributeSource) {
 		this.transactionAttributeSource = transactionAttributeSource;
+		this.transactionPlanCache.clear();
 	}
 
 	/**
@@ -287,6 +312,7 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 	@Override
 	public void setBeanFactory(@Nullable BeanFactory beanFactory) {
 		this.beanFactory = beanFactory;
+		this.transactionPlanCache.clear();
 	}
 
 	/**
@@ -320,6 +346,15 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 	 * methods on this class. Able to handle {@link CallbackPreferringPlatformTransactionManager}
 	 * as well as regular {@link PlatformTransactionManager} implementations and
 	 * {@link ReactiveTransactionManager} implementations for reactive return types.
+	 * <p>With an {@link AbstractFallbackTransactionAttributeSource} (such as the
+	 * annotation-based one) which does not change its attributes at runtime, the
+	 * transaction attribute, the transaction manager and the joinpoint identification
+	 * are resolved once per method and target class. Other attribute sources, such as
+	 * a {@link NameMatchTransactionAttributeSource}, are consulted on every call. Calls with
+	 * {@code PROPAGATION_REQUIRED} or {@code PROPAGATION_SUPPORTS} that join a
+	 * transaction opened by an outer invocation on the same transaction manager
+	 * only obtain a {@link TransactionStatus} when actually needed: that is,
+	 * on rollback or when asked for via {@link #currentTransactionStatus()}.
 	 * @param method the Method being invoked
 	 * @param targetClass the target class that we're invoking the method on
 	 * @param invocation the callback to use for proceeding with the target invocation
@@ -331,9 +366,10 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 			final InvocationCallback invocation) throws Throwable {
 
 		// If the transaction attribute is null, the method is non-transactional.
-		TransactionAttributeSource tas = getTransactionAttributeSource();
-		final TransactionAttribute txAttr = (tas != null ? tas.getTransactionAttribute(method, targetClass) : null);
-		final TransactionManager tm = determineTransactionManager(txAttr);
+		TransactionPlan plan = getTransactionPlan(method, targetClass);
+		final TransactionAttribute txAttr = plan.transactionAttribute;
+		final TransactionManager tm = (this.transactionManagerCacheable ?
+				plan.transactionManager : determineTransactionManager(txAttr));
 
 		if (this.reactiveAdapterRegistry != null && tm instanceof ReactiveTransactionManager) {
 			ReactiveTransactionSupport txSupport = this.transactionSupportCache.computeIfAbsent(method, key -> {
@@ -354,11 +390,23 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 		}
 
 		PlatformTransactionManager ptm = asPlatformTransactionManager(tm);
-		final String joinpointIdentification = methodIdentification(method, targetClass, txAttr);
+		final String joinpointIdentification = plan.joinpointIdentification;
 
 		if (txAttr == null || !(ptm instanceof CallbackPreferringPlatformTransactionManager)) {
 			// Standard transaction demarcation with getTransaction and commit/rollback calls.
-			TransactionInfo txInfo = createTransactionIfNecessary(ptm, txAttr, joinpointIdentification);
+			TransactionInfo txInfo;
+			JoinedTransaction joinedTransaction =
+					(plan.joinCandidate && ptm != null ? getJoinableTransaction(ptm) : null);
+			if (joinedTransaction != null) {
+				// Participating in an outer aspect-managed transaction: no status needed upfront.
+				txInfo = new TransactionInfo(ptm, plan.namedTransactionAttribute, joinpointIdentification);
+				txInfo.joinedWithoutStatus = true;
+				txInfo.joinedTransaction = joinedTransaction;
+				txInfo.bindToThread();
+			}
+			else {
+				txInfo = createTransactionIfNecessary(ptm, plan.namedTransactionAttribute, joinpointIdentification);
+			}
 
 			Object retVal;
 			try {
@@ -454,9 +502,99 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 	 */
 	protected void clearTransactionManagerCache() {
 		this.transactionManagerCache.clear();
+		this.transactionPlanCache.clear();
 		this.beanFactory = null;
 	}
 
+	/**
+	 * Obtain the precomputed transaction plan for the given method,
+	 * resolving it on first invocation.
+	 */
+	private TransactionPlan getTransactionPlan(Method method, @Nullable Class<?> targetClass) {
+		TransactionAttributeSource tas = getTransactionAttributeSource();
+		if (!isStaticTransactionAttributeSource(tas)) {
+			// Attributes may get registered or changed at runtime: resolve on every call.
+			return createTransactionPlan(tas, method, targetClass);
+		}
+		MethodClassKey cacheKey = new MethodClassKey(method, targetClass);
+		TransactionPlan plan = this.transactionPlanCache.get(cacheKey);
+		if (plan == null) {
+			plan = createTransactionPlan(tas, method, targetClass);
+			this.transactionPlanCache.put(cacheKey, plan);
+		}
+		return plan;
+	}
+
+	private TransactionPlan createTransactionPlan(@Nullable TransactionAttributeSource tas,
+			Method method, @Nullable Class<?> targetClass) {
+
+		TransactionAttribute txAttr = (tas != null ? tas.getTransactionAttribute(method, targetClass) : null);
+		TransactionManager tm = (this.transactionManagerCacheable ? determineTransactionManager(txAttr) : null);
+		String joinpointIdentification = methodIdentification(method, targetClass, txAttr);
+		return new TransactionPlan(txAttr, tm, joinpointIdentification);
+	}
+
+	/**
+	 * Determine whether the given attribute source returns the same attribute
+	 * for a given method at any time, allowing for the transaction plan to be cached.
+	 * <p>This is the case for an {@link AbstractFallbackTransactionAttributeSource},
+	 * which caches its attributes itself, and for a composite of such sources.
+	 */
+	private static boolean isStaticTransactionAttributeSource(@Nullable TransactionAttributeSource tas) {
+		if (tas == null || tas instanceof AbstractFallbackTransactionAttributeSource) {
+			return true;
+		}
+		if (tas instanceof CompositeTransactionAttributeSource) {
+			for (TransactionAttributeSource source :
+					((CompositeTransactionAttributeSource) tas).getTransactionAttributeSources()) {
+				if (!isStaticTransactionAttributeSource(source)) {
+					return false;
+				}
+			}
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Determine whether an invocation on the given transaction manager may join
+	 * the current transaction without obtaining a {@link TransactionStatus} upfront.
+	 * <p>This is the case if the enclosing aspect-managed invocation runs within an
+	 * actual transaction of the same transaction manager, that transaction is still
+	 * the current one, and joining it through {@code getTransaction} would neither
+	 * validate it nor set up any state.
+	 * @return the outer transaction to join, or {@code null} if the status needs
+	 * to be obtained eagerly
+	 */
+	@Nullable
+	private JoinedTransaction getJoinableTransaction(PlatformTransactionManager ptm) {
+		if (!(ptm instanceof AbstractPlatformTransactionManager)) {
+			return null;
+		}
+		AbstractPlatformTransactionManager aptm = (AbstractPlatformTransactionManager) ptm;
+		if (aptm.isValidateExistingTransaction() || aptm.isFailEarlyOnGlobalRollbackOnly() ||
+				!TransactionSynchronizationManager.isSynchronizationActive() ||
+				!TransactionSynchronizationManager.isActualTransactionActive()) {
+			return null;
+		}
+		TransactionInfo outerInfo = transactionInfoHolder.get();
+		if (outerInfo == null || outerInfo.transactionManager != ptm) {
+			return null;
+		}
+		JoinedTransaction joinedTransaction = outerInfo.joinedTransaction;
+		if (joinedTransaction == null) {
+			TransactionStatus outerStatus = outerInfo.transactionStatus;
+			if (!(outerStatus instanceof DefaultTransactionStatus &&
+					((DefaultTransactionStatus) outerStatus).hasTransaction() && !outerStatus.isCompleted())) {
+				return null;
+			}
+			joinedTransaction = new JoinedTransaction((DefaultTransactionStatus) outerStatus);
+			TransactionSynchronizationManager.registerSynchronization(joinedTransaction);
+			outerInfo.joinedTransaction = joinedTransaction;
+		}
+		return (joinedTransaction.isCurrent() ? joinedTransaction : null);
+	}
+
 	/**
 	 * Determine the specific transaction manager to use for the given transaction.
 	 */
@@ -554,19 +692,11 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 	 * tell if there was a transaction created.
 	 * @see #getTransactionAttributeSource()
 	 */
-	@SuppressWarnings("serial")
 	protected TransactionInfo createTransactionIfNecessary(@Nullable PlatformTransactionManager tm,
 			@Nullable TransactionAttribute txAttr, final String joinpointIdentification) {
 
 		// If no name specified, apply method identification as transaction name.
-		if (txAttr != null && txAttr.getName() == null) {
-			txAttr = new DelegatingTransactionAttribute(txAttr) {
-				@Override
-				public String getName() {
-					return joinpointIdentification;
-				}
-			};
-		}
+		txAttr = namedTransactionAttribute(txAttr, joinpointIdentification);
 
 		TransactionStatus status = null;
 		if (txAttr != null) {
@@ -583,6 +713,26 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 		return prepareTransactionInfo(tm, txAttr, joinpointIdentification, status);
 	}
 
+	/**
+	 * Expose the given joinpoint identification as transaction name
+	 * unless the given attribute specifies a name already.
+	 */
+	@Nullable
+	@SuppressWarnings("serial")
+	private static TransactionAttribute namedTransactionAttribute(
+			@Nullable TransactionAttribute txAttr, String joinpointIdentification) {
+
+		if (txAttr != null && txAttr.getName() == null) {
+			return new DelegatingTransactionAttribute(txAttr) {
+				@Override
+				public String getName() {
+					return joinpointIdentification;
+				}
+			};
+		}
+		return txAttr;
+	}
+
 	/**
 	 * Prepare a TransactionInfo for the given attribute and status object.
 	 * @param txAttr the TransactionAttribute (may be {@code null})
@@ -626,7 +776,8 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 	 * @param txInfo information about the current transaction
 	 */
 	protected void commitTransactionAfterReturning(@Nullable TransactionInfo txInfo) {
-		if (txInfo != null && txInfo.getTransactionStatus() != null) {
+		// A joined transaction without a status obtained so far has nothing to complete.
+		if (txInfo != null && txInfo.transactionStatus != null) {
 			if (logger.isTraceEnabled()) {
 				logger.trace("Completing transaction for [" + txInfo.getJoinpointIdentification() + "]");
 			}
@@ -708,6 +859,11 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 		@Nullable
 		private TransactionStatus transactionStatus;
 
+		private boolean joinedWithoutStatus;
+
+		@Nullable
+		private JoinedTransaction joinedTransaction;
+
 		@Nullable
 		private TransactionInfo oldTransactionInfo;
 
@@ -743,6 +899,13 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 
 		@Nullable
 		public TransactionStatus getTransactionStatus() {
+			if (this.transactionStatus == null && this.joinedWithoutStatus) {
+				// Participating in an existing transaction: obtain the status on demand,
+				// as long as the joined transaction has not been suspended or completed.
+				Assert.state(this.joinedTransaction != null && this.joinedTransaction.isCurrent(),
+						"Joined transaction is not the current transaction anymore");
+				this.transactionStatus = getTransactionManager().getTransaction(this.transactionAttribute);
+			}
 			return this.transactionStatus;
 		}
 
@@ -751,7 +914,7 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 		 * or whether we just have a placeholder to keep ThreadLocal stack integrity.
 		 */
 		public boolean hasTransaction() {
-			return (this.transactionStatus != null);
+			return (this.transactionStatus != null || this.joinedWithoutStatus);
 		}
 
 		private void bindToThread() {
@@ -774,6 +937,78 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 	}
 
 
+	/**
+	 * Outer transaction joined by invocations without a status obtained upfront.
+	 * Registered as synchronization with that transaction, so that the status of
+	 * any such invocation gets resolved before the transaction is suspended:
+	 * for example, by a nested programmatic {@code PROPAGATION_REQUIRES_NEW} call.
+	 */
+	private static final class JoinedTransaction implements TransactionSynchronization {
+
+		private final DefaultTransactionStatus outerStatus;
+
+		private boolean suspended;
+
+		public JoinedTransaction(DefaultTransactionStatus outerStatus) {
+			this.outerStatus = outerStatus;
+		}
+
+		public boolean isCurrent() {
+			return (!this.suspended && !this.outerStatus.isCompleted());
+		}
+
+		@Override
+		public void suspend() {
+			// Still bound to the thread at this point: join it for all pending invocations.
+			TransactionInfo info = transactionInfoHolder.get();
+			while (info != null) {
+				if (info.joinedTransaction == this && info.joinedWithoutStatus) {
+					info.getTransactionStatus();
+				}
+				info = info.oldTransactionInfo;
+			}
+			this.suspended = true;
+		}
+
+		@Override
+		public void resume() {
+			this.suspended = false;
+		}
+	}
+
+
+	/**
+	 * Transaction settings resolved once per method and target class.
+	 */
+	private static final class TransactionPlan {
+
+		@Nullable
+		private final TransactionAttribute transactionAttribute;
+
+		@Nullable
+		private final TransactionAttribute namedTransactionAttribute;
+
+		@Nullable
+		private final TransactionManager transactionManager;
+
+		private final String joinpointIdentification;
+
+		private final boolean joinCandidate;
+
+		public TransactionPlan(@Nullable TransactionAttribute transactionAttribute,
+				@Nullable TransactionManager transactionManager, String joinpointIdentification) {
+
+			this.transactionAttribute = transactionAttribute;
+			this.namedTransactionAttribute = namedTransactionAttribute(transactionAttribute, joinpointIdentification);
+			this.transactionManager = transactionManager;
+			this.joinpointIdentification = joinpointIdentification;
+			this.joinCandidate = (transactionAttribute != null &&
+					(transactionAttribute.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRED ||
+					transactionAttribute.getPropagationBehavior() == TransactionDefinition.PROPAGATION_SUPPORTS));
+		}
+	}
+
+
 	/**
 	 * Simple callback interface for proceeding with the target invocation.
 	 * Concrete interceptors/aspects adapt this to their invocation mechanism.
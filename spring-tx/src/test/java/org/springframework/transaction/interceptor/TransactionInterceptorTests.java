@@ -17,13 +17,17 @@
 package org.springframework.transaction.interceptor;
 
 import java.io.Serializable;
+import java.lang.reflect.Method;
 import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Test;
 
 import org.springframework.aop.framework.ProxyFactory;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
+import org.springframework.beans.testfixture.beans.ITestBean;
+import org.springframework.beans.testfixture.beans.TestBean;
 import org.springframework.core.testfixture.io.SerializationTestUtils;
 import org.springframework.lang.Nullable;
 import org.springframework.transaction.PlatformTransactionManager;
@@ -31,11 +35,19 @@ import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.TransactionException;
 import org.springframework.transaction.TransactionManager;
 import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.UnexpectedRollbackException;
+import org.springframework.transaction.interceptor.TransactionAspectSupport.TransactionInfo;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.SmartTransactionObject;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -261,6 +273,174 @@ public class TransactionInterceptorTests extends AbstractTransactionAspectTests
 		verify(beanFactory, times(1)).getBean(TransactionManager.class);
 	}
 
+	@Test
+	public void transactionAttributeResolvedOncePerMethod() {
+		TransactionAttribute txatt = new DefaultTransactionAttribute();
+		AtomicInteger lookups = new AtomicInteger();
+		TransactionAttributeSource tas = new AbstractFallbackTransactionAttributeSource() {
+			@Override
+			@Nullable
+			public TransactionAttribute getTransactionAttribute(Method method, @Nullable Class<?> targetClass) {
+				lookups.incrementAndGet();
+				return super.getTransactionAttribute(method, targetClass);
+			}
+
+			@Override
+			@Nullable
+			protected TransactionAttribute findTransactionAttribute(Class<?> clazz) {
+				return null;
+			}
+
+			@Override
+			@Nullable
+			protected TransactionAttribute findTransactionAttribute(Method method) {
+				return (method.getName().equals("getName") ? txatt : null);
+			}
+		};
+
+		TransactionStatus status = mock(TransactionStatus.class);
+		PlatformTransactionManager ptm = mock(PlatformTransactionManager.class);
+		given(ptm.getTransaction(txatt)).willReturn(status);
+
+		ITestBean itb = (ITestBean) advised(new TestBean(), ptm, tas);
+		itb.getName();
+		itb.getName();
+
+		assertThat(lookups.get()).isEqualTo(1);
+		verify(ptm, times(2)).commit(status);
+	}
+
+	@Test
+	public void transactionAttributeRegisteredAtRuntime() {
+		NameMatchTransactionAttributeSource tas = new NameMatchTransactionAttributeSource();
+		TransactionStatus status = mock(TransactionStatus.class);
+		PlatformTransactionManager ptm = mock(PlatformTransactionManager.class);
+		given(ptm.getTransaction(any())).willReturn(status);
+
+		ITestBean itb = (ITestBean) advised(new TestBean(), ptm, tas);
+		itb.getName();
+		verify(ptm, never()).getTransaction(any());
+
+		tas.addTransactionalMethod("getName", new DefaultTransactionAttribute());
+		itb.getName();
+		verify(ptm, times(1)).commit(status);
+	}
+
+	@Test
+	public void joinedTransactionWithoutStatusUpfront() throws Throwable {
+		JoinTrackingTransactionManager ptm = new JoinTrackingTransactionManager();
+		ITestBean outerProxy = joiningProxies(ptm, new TestBean() {
+			@Override
+			public String getName() {
+				TransactionInfo ti = TransactionAspectSupport.currentTransactionInfo();
+				assertThat(ti.hasTransaction()).isTrue();
+				return "innerName";
+			}
+		});
+
+		outerProxy.exceptional(null);
+
+		assertThat(ptm.lookups).isEqualTo(1);
+		assertThat(ptm.begun).isEqualTo(1);
+		assertThat(ptm.commits).isEqualTo(1);
+		assertThat(ptm.rollbacks).isEqualTo(0);
+		checkTransactionStatus(false);
+	}
+
+	@Test
+	public void joinedTransactionMarkedRollbackOnlyOnException() throws Throwable {
+		JoinTrackingTransactionManager ptm = new JoinTrackingTransactionManager();
+		ITestBean outerProxy = joiningProxies(ptm, new TestBean() {
+			@Override
+			public String getName() {
+				throw new IllegalStateException("inner failure");
+			}
+		});
+
+		assertThatExceptionOfType(UnexpectedRollbackException.class).isThrownBy(() ->
+				outerProxy.exceptional(null));
+
+		assertThat(ptm.lookups).isEqualTo(2);
+		assertThat(ptm.commits).isEqualTo(0);
+		assertThat(ptm.rollbacks).isEqualTo(1);
+		checkTransactionStatus(false);
+	}
+
+	@Test
+	public void joinedTransactionExposesStatusOnDemand() throws Throwable {
+		JoinTrackingTransactionManager ptm = new JoinTrackingTransactionManager();
+		ITestBean outerProxy = joiningProxies(ptm, new TestBean() {
+			@Override
+			public String getName() {
+				TransactionStatus status = TransactionAspectSupport.currentTransactionStatus();
+				assertThat(status.isNewTransaction()).isFalse();
+				status.setRollbackOnly();
+				return "innerName";
+			}
+		});
+
+		assertThatExceptionOfType(UnexpectedRollbackException.class).isThrownBy(() ->
+				outerProxy.exceptional(null));
+
+		assertThat(ptm.lookups).isEqualTo(2);
+		assertThat(ptm.commits).isEqualTo(0);
+		assertThat(ptm.rollbacks).isEqualTo(1);
+		checkTransactionStatus(false);
+	}
+
+	@Test
+	public void joinedTransactionResolvedBeforeSuspension() throws Throwable {
+		JoinTrackingTransactionManager ptm = new JoinTrackingTransactionManager();
+		ITestBean outerProxy = joiningProxies(ptm, new TestBean() {
+			@Override
+			public String getName() {
+				TransactionTemplate tt = new TransactionTemplate(ptm);
+				tt.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+				tt.executeWithoutResult(status -> {
+					assertThat(status.isNewTransaction()).isTrue();
+					// Still refers to the joined outer transaction, not to the new one
+					TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+				});
+				return "innerName";
+			}
+		});
+
+		assertThatExceptionOfType(UnexpectedRollbackException.class).isThrownBy(() ->
+				outerProxy.exceptional(null));
+
+		assertThat(ptm.begun).isEqualTo(2);
+		assertThat(ptm.suspensions).isEqualTo(1);
+		assertThat(ptm.commits).isEqualTo(1);
+		assertThat(ptm.rollbacks).isEqualTo(1);
+		checkTransactionStatus(false);
+	}
+
+	/**
+	 * Create an outer proxy whose {@code exceptional} method calls
+	 * {@code getName} on the given inner target, both with PROPAGATION_REQUIRED.
+	 */
+	private ITestBean joiningProxies(PlatformTransactionManager ptm, TestBean inner) {
+		MapTransactionAttributeSource tas = new MapTransactionAttributeSource();
+		tas.register(exceptionalMethod, new DefaultTransactionAttribute());
+		tas.register(getNameMethod, new DefaultTransactionAttribute());
+
+		TestBean outer = new TestBean() {
+			@Override
+			public void exceptional(Throwable t) {
+				try {
+					getSpouse().getName();
+				}
+				catch (IllegalStateException ex) {
+					// swallow: the joined transaction is rollback-only anyway
+				}
+			}
+		};
+		ITestBean outerProxy = (ITestBean) advised(outer, ptm, tas);
+		ITestBean innerProxy = (ITestBean) advised(inner, ptm, tas);
+		outer.setSpouse(innerProxy);
+		return outerProxy;
+	}
+
 
 	private TransactionInterceptor createTransactionInterceptor(BeanFactory beanFactory,
 			String transactionManagerName, PlatformTransactionManager transactionManager) {
@@ -327,4 +507,105 @@ public class TransactionInterceptorTests extends AbstractTransactionAspectTests
 		}
 	}
 
+
+	/**
+	 * Transaction manager keeping track of transaction lookups, with support for
+	 * participating in an existing transaction, suspending it for a new one,
+	 * and global rollback-only marking.
+	 */
+	@SuppressWarnings("serial")
+	private static class JoinTrackingTransactionManager extends AbstractPlatformTransactionManager {
+
+		@Nullable
+		private TransactionState state;
+
+		public int lookups;
+
+		public int begun;
+
+		public int suspensions;
+
+		public int commits;
+
+		public int rollbacks;
+
+		@Override
+		protected Object doGetTransaction() {
+			this.lookups++;
+			return new TrackedTransaction(this.state);
+		}
+
+		@Override
+		protected boolean isExistingTransaction(Object transaction) {
+			return (((TrackedTransaction) transaction).state != null);
+		}
+
+		@Override
+		protected void doBegin(Object transaction, TransactionDefinition definition) {
+			this.state = new TransactionState();
+			((TrackedTransaction) transaction).state = this.state;
+			this.begun++;
+		}
+
+		@Override
+		protected Object doSuspend(Object transaction) {
+			((TrackedTransaction) transaction).state = null;
+			TransactionState suspendedState = this.state;
+			this.state = null;
+			this.suspensions++;
+			return suspendedState;
+		}
+
+		@Override
+		protected void doResume(@Nullable Object transaction, Object suspendedResources) {
+			this.state = (TransactionState) suspendedResources;
+		}
+
+		@Override
+		protected void doCommit(DefaultTransactionStatus status) {
+			this.commits++;
+		}
+
+		@Override
+		protected void doRollback(DefaultTransactionStatus status) {
+			this.rollbacks++;
+		}
+
+		@Override
+		protected void doSetRollbackOnly(DefaultTransactionStatus status) {
+			((TrackedTransaction) status.getTransaction()).state.rollbackOnly = true;
+		}
+
+		@Override
+		protected void doCleanupAfterCompletion(Object transaction) {
+			this.state = null;
+		}
+	}
+
+
+	private static class TrackedTransaction implements SmartTransactionObject {
+
+		@Nullable
+		private TransactionState state;
+
+		public TrackedTransaction(@Nullable TransactionState state) {
+			this.state = state;
+		}
+
+		@Override
+		public boolean isRollbackOnly() {
+			return (this.state != null && this.state.rollbackOnly);
+		}
+
+		@Override
+		public void flush() {
+		}
+	}
+
+
+	private static class TransactionState {
+
+		private boolean rollbackOnly;
+	}
+
 }
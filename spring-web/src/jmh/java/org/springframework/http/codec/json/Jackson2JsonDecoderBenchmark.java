@@ -0,0 +1,146 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http.codec.json;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import reactor.core.publisher.Flux;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+
+/**
+ * Benchmarks for decoding large JSON arrays and NDJSON streams into a
+ * {@code Flux} of elements with {@link Jackson2JsonDecoder}.
+ *
+ * @author agent
+ */
+@BenchmarkMode(Mode.Throughput)
+public class Jackson2JsonDecoderBenchmark {
+
+	private static final ResolvableType ELEMENT_TYPE = ResolvableType.forClass(Element.class);
+
+
+	@Benchmark
+	public void decodeJsonArray(BenchmarkData data, Blackhole bh) {
+		data.decoder.decode(data.jsonArrayBuffers(), ELEMENT_TYPE, MediaType.APPLICATION_JSON, null)
+				.doOnNext(bh::consume)
+				.blockLast();
+	}
+
+	@Benchmark
+	public void decodeNdjsonStream(BenchmarkData data, Blackhole bh) {
+		data.decoder.decode(data.ndjsonBuffers(), ELEMENT_TYPE, MediaType.APPLICATION_STREAM_JSON, null)
+				.doOnNext(bh::consume)
+				.blockLast();
+	}
+
+	@Benchmark
+	public void decodeJsonArrayToMono(BenchmarkData data, Blackhole bh) {
+		ResolvableType listType = ResolvableType.forClassWithGenerics(List.class, Element.class);
+		bh.consume(data.decoder.decodeToMono(data.jsonArrayBuffers(), listType, MediaType.APPLICATION_JSON, null)
+				.block());
+	}
+
+
+	/**
+	 * Benchmark data holding a JSON array and an NDJSON stream with the same
+	 * elements, split into chunks of {@code chunkSize} bytes.
+	 */
+	@State(Scope.Benchmark)
+	public static class BenchmarkData {
+
+		@Param({"10000"})
+		public int elementCount;
+
+		@Param({"8192"})
+		public int chunkSize;
+
+		public Jackson2JsonDecoder decoder;
+
+		private final DefaultDataBufferFactory bufferFactory = new DefaultDataBufferFactory();
+
+		private List<byte[]> jsonArrayChunks;
+
+		private List<byte[]> ndjsonChunks;
+
+		@Setup(Level.Trial)
+		public void createData() {
+			this.decoder = new Jackson2JsonDecoder();
+			this.decoder.setMaxInMemorySize(-1);
+
+			StringBuilder array = new StringBuilder("[");
+			StringBuilder ndjson = new StringBuilder();
+			for (int i = 0; i < this.elementCount; i++) {
+				String element = "{\"id\":" + i + ",\"name\":\"element" + i + "\",\"active\":" + (i % 2 == 0) +
+						",\"tags\":[\"a\",\"b\",\"c\"],\"score\":" + (i * 0.5) + "}";
+				array.append(i > 0 ? "," : "").append(element);
+				ndjson.append(element).append('\n');
+			}
+			array.append(']');
+			this.jsonArrayChunks = split(array.toString().getBytes(StandardCharsets.UTF_8));
+			this.ndjsonChunks = split(ndjson.toString().getBytes(StandardCharsets.UTF_8));
+		}
+
+		private List<byte[]> split(byte[] content) {
+			List<byte[]> chunks = new ArrayList<>();
+			for (int offset = 0; offset < content.length; offset += this.chunkSize) {
+				int length = Math.min(this.chunkSize, content.length - offset);
+				byte[] chunk = new byte[length];
+				System.arraycopy(content, offset, chunk, 0, length);
+				chunks.add(chunk);
+			}
+			return chunks;
+		}
+
+		public Flux<DataBuffer> jsonArrayBuffers() {
+			return Flux.fromIterable(this.jsonArrayChunks).map(this.bufferFactory::wrap);
+		}
+
+		public Flux<DataBuffer> ndjsonBuffers() {
+			return Flux.fromIterable(this.ndjsonChunks).map(this.bufferFactory::wrap);
+		}
+	}
+
+
+	public static class Element {
+
+		public long id;
+
+		public String name;
+
+		public boolean active;
+
+		public List<String> tags;
+
+		public double score;
+	}
+
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http.codec.multipart;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import reactor.core.publisher.Flux;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ReactiveHttpInputMessage;
+import org.springframework.http.codec.HttpMessageReader;
+
+/**
+ * Benchmarks for reading {@code multipart/form-data} requests with
+ * {@link DefaultPartHttpMessageReader} in its different storage modes,
+ * compared to {@link SynchronossPartHttpMessageReader}. Apart from the
+ * storage mode under test, all readers use their default limits.
+ *
+ * @author agent
+ */
+@BenchmarkMode(Mode.Throughput)
+public class MultipartReaderBenchmark {
+
+	private static final ResolvableType PART_TYPE = ResolvableType.forClass(Part.class);
+
+
+	@Benchmark
+	public void defaultStorage(BenchmarkData data, Blackhole bh) {
+		read(data.defaultStorageReader, data, bh);
+	}
+
+	@Benchmark
+	public void defaultMemoryBudget(BenchmarkData data, Blackhole bh) {
+		read(data.memoryBudgetReader, data, bh);
+	}
+
+	@Benchmark
+	public void defaultStreaming(BenchmarkData data, Blackhole bh) {
+		read(data.streamingReader, data, bh);
+	}
+
+	@Benchmark
+	public void synchronoss(BenchmarkData data, Blackhole bh) {
+		read(data.synchronossReader, data, bh);
+	}
+
+	private static void read(HttpMessageReader<Part> reader, BenchmarkData data, Blackhole bh) {
+		reader.read(PART_TYPE, data.request(), Collections.emptyMap())
+				.concatMap(part -> part.content()
+						.doOnNext(buffer -> {
+							bh.consume(buffer.readableByteCount());
+							DataBufferUtils.release(buffer);
+						})
+						.then())
+				.blockLast();
+	}
+
+
+	/**
+	 * Benchmark data holding a multipart body with {@code partCount} file
+	 * parts of {@code partSize} bytes each, split into chunks of
+	 * {@code chunkSize} bytes.
+	 */
+	@State(Scope.Benchmark)
+	public static class BenchmarkData {
+
+		private static final String BOUNDARY = "benchmark-boundary";
+
+		@Param({"10"})
+		public int partCount;
+
+		@Param({"1024", "1048576"})
+		public int partSize;
+
+		@Param({"8192"})
+		public int chunkSize;
+
+		public HttpMessageReader<Part> defaultStorageReader;
+
+		public HttpMessageReader<Part> memoryBudgetReader;
+
+		public HttpMessageReader<Part> streamingReader;
+
+		public HttpMessageReader<Part> synchronossReader;
+
+		private final DefaultDataBufferFactory bufferFactory = new DefaultDataBufferFactory();
+
+		private final HttpHeaders headers = new HttpHeaders();
+
+		private List<byte[]> chunks;
+
+		@Setup(Level.Trial)
+		public void createData() throws Exception {
+			DefaultPartHttpMessageReader defaultStorage = new DefaultPartHttpMessageReader();
+			this.defaultStorageReader = defaultStorage;
+
+			DefaultPartHttpMessageReader memoryBudget = new DefaultPartHttpMessageReader();
+			memoryBudget.setMaxInMemorySizePerRequest(this.partCount * (long) this.partSize / 2);
+			this.memoryBudgetReader = memoryBudget;
+
+			DefaultPartHttpMessageReader streaming = new DefaultPartHttpMessageReader();
+			streaming.setStreaming(true);
+			this.streamingReader = streaming;
+
+			SynchronossPartHttpMessageReader synchronoss = new SynchronossPartHttpMessageReader();
+			this.synchronossReader = synchronoss;
+
+			this.headers.setContentType(new MediaType(MediaType.MULTIPART_FORM_DATA,
+					Collections.singletonMap("boundary", BOUNDARY)));
+
+			ByteArrayOutputStream body = new ByteArrayOutputStream();
+			byte[] content = new byte[this.partSize];
+			for (int i = 0; i < content.length; i++) {
+				content[i] = (byte) ('a' + (i % 26));
+			}
+			for (int i = 0; i < this.partCount; i++) {
+				String headers = "--" + BOUNDARY + "\r\n" +
+						"Content-Disposition: form-data; name=\"file" + i + "\"; filename=\"file" + i + ".txt\"\r\n" +
+						"Content-Type: application/octet-stream\r\n\r\n";
+				body.write(headers.getBytes(StandardCharsets.ISO_8859_1));
+				body.write(content);
+				body.write("\r\n".getBytes(StandardCharsets.ISO_8859_1));
+			}
+			body.write(("--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.ISO_8859_1));
+			this.chunks = split(body.toByteArray());
+		}
+
+		private List<byte[]> split(byte[] content) {
+			List<byte[]> chunks = new ArrayList<>();
+			for (int offset = 0; offset < content.length; offset += this.chunkSize) {
+				int length = Math.min(this.chunkSize, content.length - offset);
+				byte[] chunk = new byte[length];
+				System.arraycopy(content, offset, chunk, 0, length);
+				chunks.add(chunk);
+			}
+			return chunks;
+		}
+
+		public ReactiveHttpInputMessage request() {
+			Flux<DataBuffer> body = Flux.fromIterable(this.chunks).map(this.bufferFactory::wrap);
+			return new ReactiveHttpInputMessage() {
+				@Override
+				public Flux<DataBuffer> getBody() {
+					return body;
+				}
+				@Override
+				public HttpHeaders getHeaders() {
+					return BenchmarkData.this.headers;
+				}
+			};
+		}
+	}
+
+}
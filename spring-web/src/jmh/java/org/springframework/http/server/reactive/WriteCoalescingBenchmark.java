@@ -0,0 +1,134 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http.server.reactive;
+
+import java.io.File;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+
+import org.apache.catalina.Context;
+import org.apache.catalina.startup.Tomcat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import reactor.core.publisher.Flux;
+
+import org.springframework.core.io.buffer.DataBuffer;
+
+/**
+ * Benchmarks for streaming many small response chunks through an embedded
+ * Tomcat server, with and without write coalescing in
+ * {@link AbstractListenerServerHttpResponse}.
+ *
+ * @author agent
+ */
+@BenchmarkMode(Mode.Throughput)
+public class WriteCoalescingBenchmark {
+
+	@Benchmark
+	public void writeWith(BenchmarkData data, Blackhole bh) throws Exception {
+		bh.consume(data.get("/write"));
+	}
+
+	@Benchmark
+	public void writeAndFlushWith(BenchmarkData data, Blackhole bh) throws Exception {
+		bh.consume(data.get("/flush"));
+	}
+
+
+	/**
+	 * Benchmark data holding an embedded Tomcat server that responds with
+	 * {@code chunkCount} chunks of {@code chunkSize} bytes, either in a single
+	 * write, or with a flush after every {@code chunksPerFlush} chunks.
+	 */
+	@State(Scope.Benchmark)
+	public static class BenchmarkData {
+
+		@Param({"16", "512"})
+		public int chunkSize;
+
+		@Param({"1000"})
+		public int chunkCount;
+
+		@Param({"100"})
+		public int chunksPerFlush;
+
+		@Param({"-1", "8192"})
+		public int writeCoalescingSize;
+
+		private Tomcat tomcat;
+
+		private int port;
+
+		private final byte[] buffer = new byte[8192];
+
+		@Setup(Level.Trial)
+		public void startServer() throws Exception {
+			byte[] chunk = new byte[this.chunkSize];
+			HttpHandler handler = (request, response) -> {
+				Flux<DataBuffer> body = Flux.range(0, this.chunkCount)
+						.map(i -> response.bufferFactory().wrap(chunk));
+				if (request.getPath().value().equals("/flush")) {
+					return response.writeAndFlushWith(body.window(this.chunksPerFlush));
+				}
+				return response.writeWith(body);
+			};
+
+			TomcatHttpHandlerAdapter adapter = new TomcatHttpHandlerAdapter(handler);
+			adapter.setWriteCoalescingSize(this.writeCoalescingSize);
+
+			File baseDir = new File(System.getProperty("java.io.tmpdir"));
+			this.tomcat = new Tomcat();
+			this.tomcat.setBaseDir(baseDir.getAbsolutePath());
+			this.tomcat.setHostname("localhost");
+			this.tomcat.setPort(0);
+			Context context = this.tomcat.addContext("", baseDir.getAbsolutePath());
+			Tomcat.addServlet(context, "httpHandlerServlet", adapter).setAsyncSupported(true);
+			context.addServletMappingDecoded("/", "httpHandlerServlet");
+			this.tomcat.start();
+			this.port = this.tomcat.getConnector().getLocalPort();
+		}
+
+		@TearDown(Level.Trial)
+		public void stopServer() throws Exception {
+			this.tomcat.stop();
+			this.tomcat.destroy();
+		}
+
+		public long get(String path) throws Exception {
+			HttpURLConnection connection =
+					(HttpURLConnection) new URL("http://localhost:" + this.port + path).openConnection();
+			long count = 0;
+			try (InputStream in = connection.getInputStream()) {
+				int read;
+				while ((read = in.read(this.buffer)) != -1) {
+					count += read;
+				}
+			}
+			return count;
+		}
+	}
+
+}
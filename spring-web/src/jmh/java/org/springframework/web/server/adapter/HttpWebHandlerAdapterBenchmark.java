@@ -0,0 +1,86 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.server.adapter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import reactor.core.publisher.Mono;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.testfixture.http.server.reactive.MockServerHttpRequest;
+import org.springframework.web.testfixture.http.server.reactive.MockServerHttpResponse;
+
+/**
+ * Benchmarks for the per-request overhead of {@link HttpWebHandlerAdapter}
+ * with a handler that completes the response right away, as is typical of a
+ * JSON API, compared to a handler that also uses the exchange attributes,
+ * session and form data. Run with {@code -prof gc} to see the allocation
+ * rate per request.
+ *
+ * @author agent
+ */
+@BenchmarkMode(Mode.Throughput)
+public class HttpWebHandlerAdapterBenchmark {
+
+	@Benchmark
+	public void bareExchange(BenchmarkData data, Blackhole bh) {
+		MockServerHttpResponse response = new MockServerHttpResponse();
+		data.bareAdapter.handle(MockServerHttpRequest.get("/api/resource").build(), response).block();
+		bh.consume(response);
+	}
+
+	@Benchmark
+	public void fullExchange(BenchmarkData data, Blackhole bh) {
+		MockServerHttpRequest request = MockServerHttpRequest.post("/api/resource")
+				.contentType(MediaType.APPLICATION_JSON)
+				.build();
+		MockServerHttpResponse response = new MockServerHttpResponse();
+		data.fullAdapter.handle(request, response).block();
+		bh.consume(response);
+	}
+
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkData {
+
+		public HttpWebHandlerAdapter bareAdapter;
+
+		public HttpWebHandlerAdapter fullAdapter;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			this.bareAdapter = new HttpWebHandlerAdapter(exchange -> exchange.getResponse().setComplete());
+			this.fullAdapter = new HttpWebHandlerAdapter(this::handleFully);
+		}
+
+		private Mono<Void> handleFully(ServerWebExchange exchange) {
+			exchange.getAttributes().put("handler", this);
+			return exchange.getSession()
+					.then(exchange.getFormData())
+					.then(exchange.getMultipartData())
+					.then(exchange.getResponse().setComplete());
+		}
+	}
+
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http.client.reactive;
+
+/**
+ * Live view of the connection pool of a {@link ClientHttpConnector}, summed
+ * across all remote destinations, e.g. for exposing as metric gauges.
+ *
+ * <p>Each method returns the current value on every call; values that the
+ * underlying client does not track are reported as {@code -1}.
+ *
+ * @author agent
+ * @since 5.3
+ * @see JettyClientHttpConnector#getConnectionPoolMetrics()
+ * @see HttpComponentsClientHttpConnector#getConnectionPoolMetrics()
+ */
+public interface ClientHttpConnectionPoolMetrics {
+
+	/**
+	 * Return the number of connections currently in use by an exchange.
+	 */
+	int getActiveConnections();
+
+	/**
+	 * Return the number of open connections available for reuse.
+	 */
+	int getIdleConnections();
+
+	/**
+	 * Return the number of exchanges waiting for a connection.
+	 */
+	int getPendingAcquires();
+
+	/**
+	 * Return the maximum number of connections the pool may open.
+	 */
+	int getMaxConnections();
+
+}
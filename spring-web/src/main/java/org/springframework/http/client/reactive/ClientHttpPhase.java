@@ -0,0 +1,57 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http.client.reactive;
+
+/**
+ * Phases of a client HTTP exchange reported to a {@link ClientHttpPhaseListener}.
+ * Phases are reported in the order declared here, each measured from the end
+ * of the previous one, so that their durations add up to the total time of
+ * the exchange. Connectors that cannot tell two adjacent phases apart report
+ * the combined time under the later one.
+ *
+ * @author agent
+ * @since 5.3
+ * @see ClientHttpPhaseListener
+ */
+public enum ClientHttpPhase {
+
+	/**
+	 * From the start of the exchange until a connection is available for it,
+	 * including time spent queued for a pooled connection, connecting, and
+	 * the TLS handshake when a new connection has to be opened.
+	 */
+	CONNECTION_ACQUIRE,
+
+	/**
+	 * From connection acquisition until the request headers and body have
+	 * been written.
+	 */
+	REQUEST_WRITE,
+
+	/**
+	 * From the end of the request write until the response status and
+	 * headers have been received.
+	 */
+	FIRST_BYTE,
+
+	/**
+	 * From the receipt of the response headers until the response body has
+	 * been fully consumed, or its consumption has been cancelled or failed.
+	 */
+	RESPONSE_COMPLETE
+
+}
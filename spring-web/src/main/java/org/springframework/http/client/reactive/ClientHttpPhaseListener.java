@@ -0,0 +1,49 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http.client.reactive;
+
+import java.net.URI;
+
+import org.springframework.http.HttpMethod;
+
+/**
+ * Callback notified by a {@link ClientHttpConnector} each time a
+ * {@link ClientHttpPhase} of an exchange completes, e.g. in order to record
+ * the durations in a metrics registry.
+ *
+ * <p>Invoked on the I/O thread of the underlying client: implementations
+ * must be fast and must not block.
+ *
+ * @author agent
+ * @since 5.3
+ * @see ReactorClientHttpConnector#setPhaseListener
+ * @see JettyClientHttpConnector#setPhaseListener
+ * @see HttpComponentsClientHttpConnector#setPhaseListener
+ */
+@FunctionalInterface
+public interface ClientHttpPhaseListener {
+
+	/**
+	 * Invoked when a phase of the exchange has completed.
+	 * @param method the HTTP method of the exchange
+	 * @param uri the URI of the exchange
+	 * @param phase the completed phase
+	 * @param durationNanos the duration of the phase in nanoseconds
+	 */
+	void onPhaseCompleted(HttpMethod method, URI uri, ClientHttpPhase phase, long durationNanos);
+
+}
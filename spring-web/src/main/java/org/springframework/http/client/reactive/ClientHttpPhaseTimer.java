@@ -0,0 +1,96 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http.client.reactive;
+
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import reactor.core.publisher.Flux;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpMethod;
+
+/**
+ * Measures the {@link ClientHttpPhase phases} of a single exchange and
+ * reports them to a {@link ClientHttpPhaseListener}.
+ *
+ * @author agent
+ * @since 5.3
+ */
+final class ClientHttpPhaseTimer {
+
+	private final ClientHttpPhaseListener listener;
+
+	private final HttpMethod method;
+
+	private final URI uri;
+
+	private volatile long phaseStart;
+
+	private final AtomicBoolean completed = new AtomicBoolean();
+
+
+	ClientHttpPhaseTimer(ClientHttpPhaseListener listener, HttpMethod method, URI uri) {
+		this.listener = listener;
+		this.method = method;
+		this.uri = uri;
+		this.phaseStart = System.nanoTime();
+	}
+
+
+	/**
+	 * Restart the timer, marking the start of the exchange.
+	 */
+	void start() {
+		this.phaseStart = System.nanoTime();
+	}
+
+	/**
+	 * Report the given phase as completed, and start timing the next one.
+	 */
+	void phaseCompleted(ClientHttpPhase phase) {
+		long now = System.nanoTime();
+		long duration = now - this.phaseStart;
+		this.phaseStart = now;
+		this.listener.onPhaseCompleted(this.method, this.uri, phase, duration);
+	}
+
+	/**
+	 * Report {@link ClientHttpPhase#RESPONSE_COMPLETE}, unless already reported.
+	 * This ends the exchange, be it through consumption or release of the
+	 * response body, cancellation, or failure.
+	 */
+	void complete() {
+		if (this.completed.compareAndSet(false, true)) {
+			phaseCompleted(ClientHttpPhase.RESPONSE_COMPLETE);
+		}
+	}
+
+	/**
+	 * Decorate the given response so that {@link ClientHttpPhase#RESPONSE_COMPLETE}
+	 * is reported once its body is consumed, released, cancelled, or fails.
+	 */
+	ClientHttpResponse observe(ClientHttpResponse response) {
+		return new ClientHttpResponseDecorator(response) {
+			@Override
+			public Flux<DataBuffer> getBody() {
+				return super.getBody().doFinally(signalType -> complete());
+			}
+		};
+	}
+
+}
@@ -16,6 +16,7 @@
 
 package org.springframework.http.client.reactive;
 
+import java.io.IOException;
 import java.net.URI;
 import java.nio.ByteBuffer;
 import java.util.function.BiFunction;
@@ -26,10 +27,15 @@ import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
 import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
 import org.apache.hc.client5.http.protocol.HttpClientContext;
 import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.HttpException;
 import org.apache.hc.core5.http.HttpResponse;
 import org.apache.hc.core5.http.HttpStreamResetException;
 import org.apache.hc.core5.http.Message;
 import org.apache.hc.core5.http.nio.AsyncRequestProducer;
+import org.apache.hc.core5.http.nio.DataStreamChannel;
+import org.apache.hc.core5.http.nio.RequestChannel;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.pool.ConnPoolControl;
 import org.apache.hc.core5.reactive.ReactiveResponseConsumer;
 import org.reactivestreams.Publisher;
 import reactor.core.publisher.Mono;
@@ -38,6 +44,7 @@ import reactor.core.publisher.MonoSink;
 import org.springframework.core.io.buffer.DataBufferFactory;
 import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.http.HttpMethod;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 
 /**
@@ -56,6 +63,12 @@ public class HttpComponentsClientHttpConnector implements ClientHttpConnector {
 
 	private DataBufferFactory dataBufferFactory = DefaultDataBufferFactory.sharedInstance;
 
+	@Nullable
+	private ClientHttpPhaseListener phaseListener;
+
+	@Nullable
+	private ConnPoolControl<?> connectionPool;
+
 
 	/**
 	 * Default constructor that creates and starts a new instance of {@link CloseableHttpAsyncClient}.
@@ -97,6 +110,41 @@ public class HttpComponentsClientHttpConnector implements ClientHttpConnector {
 		this.dataBufferFactory = bufferFactory;
 	}
 
+	/**
+	 * Set a listener to be notified of the duration of each
+	 * {@link ClientHttpPhase} of the exchanges performed through this connector.
+	 * <p>HttpComponents does not signal the end of the request write, so its
+	 * duration is included in {@link ClientHttpPhase#FIRST_BYTE}, and
+	 * {@link ClientHttpPhase#REQUEST_WRITE} is not reported.
+	 * @param phaseListener the listener, or {@code null} to remove it
+	 * @since 5.3
+	 */
+	public void setPhaseListener(@Nullable ClientHttpPhaseListener phaseListener) {
+		this.phaseListener = phaseListener;
+	}
+
+	/**
+	 * Set the connection pool of the client, typically the
+	 * {@code PoolingAsyncClientConnectionManager} it was built with, in order
+	 * to expose it through {@link #getConnectionPoolMetrics()}.
+	 * @param connectionPool the connection pool of the client
+	 * @since 5.3
+	 */
+	public void setConnectionPool(@Nullable ConnPoolControl<?> connectionPool) {
+		this.connectionPool = connectionPool;
+	}
+
+	/**
+	 * Return a live view of the connection pool of the client, or {@code null}
+	 * if no {@linkplain #setConnectionPool connection pool} has been set.
+	 * @since 5.3
+	 */
+	@Nullable
+	public ClientHttpConnectionPoolMetrics getConnectionPoolMetrics() {
+		ConnPoolControl<?> pool = this.connectionPool;
+		return (pool != null ? new HttpComponentsConnectionPoolMetrics(pool) : null);
+	}
+
 	@Override
 	public Mono<ClientHttpResponse> connect(HttpMethod method, URI uri,
 			Function<? super ClientHttpRequest, Mono<Void>> requestCallback) {
@@ -114,12 +162,19 @@ public class HttpComponentsClientHttpConnector implements ClientHttpConnector {
 	}
 
 	private Mono<ClientHttpResponse> execute(HttpComponentsClientHttpRequest request, HttpClientContext context) {
-		AsyncRequestProducer requestProducer = request.toRequestProducer();
-
 		return Mono.create(sink -> {
-			ReactiveResponseConsumer reactiveResponseConsumer =
-					new ReactiveResponseConsumer(new MonoFutureCallbackAdapter(sink, this.dataBufferFactory, context));
+			ClientHttpPhaseListener listener = this.phaseListener;
+			ClientHttpPhaseTimer timer = (listener != null ?
+					new ClientHttpPhaseTimer(listener, request.getMethod(), request.getURI()) : null);
+			AsyncRequestProducer requestProducer = (timer != null ?
+					new TimedRequestProducer(request.toRequestProducer(), timer) : request.toRequestProducer());
 
+			ReactiveResponseConsumer reactiveResponseConsumer = new ReactiveResponseConsumer(
+					new MonoFutureCallbackAdapter(sink, this.dataBufferFactory, context, timer));
+
+			if (timer != null) {
+				sink.onCancel(timer::complete);
+			}
 			this.client.execute(requestProducer, reactiveResponseConsumer, context, null);
 		});
 	}
@@ -134,17 +189,25 @@ public class HttpComponentsClientHttpConnector implements ClientHttpConnector {
 
 		private final HttpClientContext context;
 
+		@Nullable
+		private final ClientHttpPhaseTimer timer;
+
 		public MonoFutureCallbackAdapter(MonoSink<ClientHttpResponse> sink,
-				DataBufferFactory dataBufferFactory, HttpClientContext context) {
+				DataBufferFactory dataBufferFactory, HttpClientContext context, @Nullable ClientHttpPhaseTimer timer) {
 			this.sink = sink;
 			this.dataBufferFactory = dataBufferFactory;
 			this.context = context;
+			this.timer = timer;
 		}
 
 		@Override
 		public void completed(Message<HttpResponse, Publisher<ByteBuffer>> result) {
-			HttpComponentsClientHttpResponse response = new HttpComponentsClientHttpResponse(this.dataBufferFactory,
+			ClientHttpResponse response = new HttpComponentsClientHttpResponse(this.dataBufferFactory,
 					result, this.context);
+			if (this.timer != null) {
+				this.timer.phaseCompleted(ClientHttpPhase.FIRST_BYTE);
+				response = this.timer.observe(response);
+			}
 			this.sink.success(response);
 		}
 
@@ -155,11 +218,95 @@ public class HttpComponentsClientHttpConnector implements ClientHttpConnector {
 				HttpStreamResetException httpStreamResetException = (HttpStreamResetException) ex;
 				t = httpStreamResetException.getCause();
 			}
+			if (this.timer != null) {
+				this.timer.complete();
+			}
 			this.sink.error(t);
 		}
 
 		@Override
 		public void cancelled() {
+			if (this.timer != null) {
+				this.timer.complete();
+			}
+		}
+	}
+
+
+	/**
+	 * Reports {@link ClientHttpPhase#CONNECTION_ACQUIRE} when the client, having
+	 * obtained a connection, asks for the request to be sent.
+	 */
+	private static class TimedRequestProducer implements AsyncRequestProducer {
+
+		private final AsyncRequestProducer delegate;
+
+		private final ClientHttpPhaseTimer timer;
+
+		public TimedRequestProducer(AsyncRequestProducer delegate, ClientHttpPhaseTimer timer) {
+			this.delegate = delegate;
+			this.timer = timer;
+		}
+
+		@Override
+		public void sendRequest(RequestChannel channel, HttpContext context) throws HttpException, IOException {
+			this.timer.phaseCompleted(ClientHttpPhase.CONNECTION_ACQUIRE);
+			this.delegate.sendRequest(channel, context);
+		}
+
+		@Override
+		public boolean isRepeatable() {
+			return this.delegate.isRepeatable();
+		}
+
+		@Override
+		public void failed(Exception cause) {
+			this.delegate.failed(cause);
+		}
+
+		@Override
+		public int available() {
+			return this.delegate.available();
+		}
+
+		@Override
+		public void produce(DataStreamChannel channel) throws IOException {
+			this.delegate.produce(channel);
+		}
+
+		@Override
+		public void releaseResources() {
+			this.delegate.releaseResources();
+		}
+	}
+
+
+	private static class HttpComponentsConnectionPoolMetrics implements ClientHttpConnectionPoolMetrics {
+
+		private final ConnPoolControl<?> pool;
+
+		HttpComponentsConnectionPoolMetrics(ConnPoolControl<?> pool) {
+			this.pool = pool;
+		}
+
+		@Override
+		public int getActiveConnections() {
+			return this.pool.getTotalStats().getLeased();
+		}
+
+		@Override
+		public int getIdleConnections() {
+			return this.pool.getTotalStats().getAvailable();
+		}
+
+		@Override
+		public int getPendingAcquires() {
+			return this.pool.getTotalStats().getPending();
+		}
+
+		@Override
+		public int getMaxConnections() {
+			return this.pool.getTotalStats().getMax();
 		}
 	}
 
@@ -17,10 +17,17 @@
 package org.springframework.http.client.reactive;
 
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
+import org.eclipse.jetty.client.AbstractConnectionPool;
+import org.eclipse.jetty.client.ConnectionPool;
 import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.client.HttpDestination;
+import org.eclipse.jetty.client.api.Destination;
+import org.eclipse.jetty.client.api.Request;
 import org.eclipse.jetty.reactive.client.ContentChunk;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -45,6 +52,9 @@ public class JettyClientHttpConnector implements ClientHttpConnector {
 
 	private DataBufferFactory bufferFactory = DefaultDataBufferFactory.sharedInstance;
 
+	@Nullable
+	private ClientHttpPhaseListener phaseListener;
+
 
 	/**
 	 * Default constructor that creates a new instance of {@link HttpClient}.
@@ -98,6 +108,27 @@ public class JettyClientHttpConnector implements ClientHttpConnector {
 		this.bufferFactory = bufferFactory;
 	}
 
+	/**
+	 * Set a listener to be notified of the duration of each
+	 * {@link ClientHttpPhase} of the exchanges performed through this connector.
+	 * <p>The exchange is timed from the point it is queued for a connection,
+	 * after the request body has been prepared.
+	 * @param phaseListener the listener, or {@code null} to remove it
+	 * @since 5.3
+	 */
+	public void setPhaseListener(@Nullable ClientHttpPhaseListener phaseListener) {
+		this.phaseListener = phaseListener;
+	}
+
+	/**
+	 * Return a live view of the connection pools of the underlying
+	 * {@link HttpClient}, summed across all destinations.
+	 * @since 5.3
+	 */
+	public ClientHttpConnectionPoolMetrics getConnectionPoolMetrics() {
+		return new JettyConnectionPoolMetrics(this.httpClient);
+	}
+
 	@Override
 	public Mono<ClientHttpResponse> connect(HttpMethod method, URI uri,
 			Function<? super ClientHttpRequest, Mono<Void>> requestCallback) {
@@ -115,20 +146,97 @@ public class JettyClientHttpConnector implements ClientHttpConnector {
 			}
 		}
 
-		JettyClientHttpRequest clientHttpRequest = new JettyClientHttpRequest(
-				this.httpClient.newRequest(uri).method(method.toString()), this.bufferFactory);
+		Request jettyRequest = this.httpClient.newRequest(uri).method(method.toString());
+		ClientHttpPhaseTimer timer = initPhaseTimer(jettyRequest, method, uri);
+		JettyClientHttpRequest clientHttpRequest = new JettyClientHttpRequest(jettyRequest, this.bufferFactory);
 
 		return requestCallback.apply(clientHttpRequest).then(Mono.from(
 				clientHttpRequest.getReactiveRequest().response((response, chunks) -> {
 					Flux<DataBuffer> content = Flux.from(chunks).map(this::toDataBuffer);
-					return Mono.just(new JettyClientHttpResponse(response, content));
+					ClientHttpResponse clientHttpResponse = new JettyClientHttpResponse(response, content);
+					return Mono.just(timer != null ? timer.observe(clientHttpResponse) : clientHttpResponse);
 				})));
 	}
 
+	@Nullable
+	private ClientHttpPhaseTimer initPhaseTimer(Request request, HttpMethod method, URI uri) {
+		ClientHttpPhaseListener listener = this.phaseListener;
+		if (listener == null) {
+			return null;
+		}
+		ClientHttpPhaseTimer timer = new ClientHttpPhaseTimer(listener, method, uri);
+		request.onRequestQueued(r -> timer.start())
+				.onRequestBegin(r -> timer.phaseCompleted(ClientHttpPhase.CONNECTION_ACQUIRE))
+				.onRequestSuccess(r -> timer.phaseCompleted(ClientHttpPhase.REQUEST_WRITE))
+				.onResponseBegin(r -> timer.phaseCompleted(ClientHttpPhase.FIRST_BYTE));
+		return timer;
+	}
+
 	private DataBuffer toDataBuffer(ContentChunk chunk) {
 		DataBuffer buffer = this.bufferFactory.wrap(chunk.buffer);
 		chunk.callback.succeeded();
 		return buffer;
 	}
 
+
+	private static class JettyConnectionPoolMetrics implements ClientHttpConnectionPoolMetrics {
+
+		private final HttpClient httpClient;
+
+		JettyConnectionPoolMetrics(HttpClient httpClient) {
+			this.httpClient = httpClient;
+		}
+
+		@Override
+		public int getActiveConnections() {
+			int count = 0;
+			for (AbstractConnectionPool pool : getConnectionPools()) {
+				count += pool.getActiveConnectionCount();
+			}
+			return count;
+		}
+
+		@Override
+		public int getIdleConnections() {
+			int count = 0;
+			for (AbstractConnectionPool pool : getConnectionPools()) {
+				count += pool.getIdleConnectionCount();
+			}
+			return count;
+		}
+
+		@Override
+		public int getPendingAcquires() {
+			int count = 0;
+			for (Destination destination : this.httpClient.getDestinations()) {
+				if (destination instanceof HttpDestination) {
+					count += ((HttpDestination) destination).getQueuedRequestCount();
+				}
+			}
+			return count;
+		}
+
+		@Override
+		public int getMaxConnections() {
+			int count = 0;
+			for (AbstractConnectionPool pool : getConnectionPools()) {
+				count += pool.getMaxConnectionCount();
+			}
+			return (count > 0 ? count : this.httpClient.getMaxConnectionsPerDestination());
+		}
+
+		private List<AbstractConnectionPool> getConnectionPools() {
+			List<AbstractConnectionPool> pools = new ArrayList<>();
+			for (Destination destination : this.httpClient.getDestinations()) {
+				if (destination instanceof HttpDestination) {
+					ConnectionPool pool = ((HttpDestination) destination).getConnectionPool();
+					if (pool instanceof AbstractConnectionPool) {
+						pools.add((AbstractConnectionPool) pool);
+					}
+				}
+			}
+			return pools;
+		}
+	}
+
 }
@@ -28,6 +28,7 @@ import reactor.netty.resources.ConnectionProvider;
 import reactor.netty.resources.LoopResources;
 
 import org.springframework.http.HttpMethod;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 
 /**
@@ -45,6 +46,9 @@ public class ReactorClientHttpConnector implements ClientHttpConnector {
 
 	private final HttpClient httpClient;
 
+	@Nullable
+	private ClientHttpPhaseListener phaseListener;
+
 
 	/**
 	 * Default constructor. Initializes {@link HttpClient} via:
@@ -96,6 +100,21 @@ public class ReactorClientHttpConnector implements ClientHttpConnector {
 	}
 
 
+	/**
+	 * Set a listener to be notified of the duration of each
+	 * {@link ClientHttpPhase} of the exchanges performed through this connector.
+	 * <p>Reactor Netty does not expose its connection pool through this
+	 * connector; to monitor it, enable the metrics of the {@link ConnectionProvider}
+	 * (e.g. via {@code ConnectionProvider.builder(name).metrics(true)}) and
+	 * pass it to the {@link HttpClient}.
+	 * @param phaseListener the listener, or {@code null} to remove it
+	 * @since 5.3
+	 */
+	public void setPhaseListener(@Nullable ClientHttpPhaseListener phaseListener) {
+		this.phaseListener = phaseListener;
+	}
+
+
 	@Override
 	public Mono<ClientHttpResponse> connect(HttpMethod method, URI uri,
 			Function<? super ClientHttpRequest, Mono<Void>> requestCallback) {
@@ -104,6 +123,26 @@ public class ReactorClientHttpConnector implements ClientHttpConnector {
 			return Mono.error(new IllegalArgumentException("URI is not absolute: " + uri));
 		}
 
+		ClientHttpPhaseListener listener = this.phaseListener;
+		if (listener != null) {
+			return Mono.defer(() -> {
+				ClientHttpPhaseTimer timer = new ClientHttpPhaseTimer(listener, method, uri);
+				return doConnect(method, uri, request -> {
+					timer.phaseCompleted(ClientHttpPhase.CONNECTION_ACQUIRE);
+					return requestCallback.apply(request)
+							.doOnSuccess(aVoid -> timer.phaseCompleted(ClientHttpPhase.REQUEST_WRITE));
+				}).map(response -> {
+					timer.phaseCompleted(ClientHttpPhase.FIRST_BYTE);
+					return timer.observe(response);
+				});
+			});
+		}
+		return doConnect(method, uri, requestCallback);
+	}
+
+	private Mono<ClientHttpResponse> doConnect(HttpMethod method, URI uri,
+			Function<? super ClientHttpRequest, Mono<Void>> requestCallback) {
+
 		AtomicReference<ReactorClientHttpResponse> responseRef = new AtomicReference<>();
 
 		return this.httpClient
@@ -0,0 +1,285 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http.codec;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.Hints;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ReactiveHttpOutputMessage;
+import org.springframework.util.Assert;
+
+/**
+ * Hub that broadcasts a stream of events to many HTTP responses, encoding
+ * each event only once rather than once per response.
+ *
+ * <p>Events are encoded with an {@link HttpMessageWriter} for a streaming
+ * media type, typically a {@link ServerSentEventHttpMessageWriter} for
+ * {@code "text/event-stream"}, or an {@link EncoderHttpMessageWriter} with a
+ * JSON encoder for a streaming JSON media type such as
+ * {@code "application/stream+json"}. The encoded bytes are
+ * shared by all subscribers, each of which wraps them in a buffer of its own
+ * response without copying.
+ *
+ * <p>Each subscriber has a bounded buffer of pending events. A subscriber
+ * that falls further behind than that is evicted: its stream is completed,
+ * so that the client can reconnect (e.g. via the SSE {@code Last-Event-ID}),
+ * without holding back or slowing down the other subscribers.
+ *
+ * <pre class="code">
+ * HttpMessageBroadcaster&lt;ServerSentEvent&lt;Quote&gt;&gt; broadcaster = new HttpMessageBroadcaster&lt;&gt;(
+ *         new ServerSentEventHttpMessageWriter(new Jackson2JsonEncoder()),
+ *         ResolvableType.forClassWithGenerics(ServerSentEvent.class, Quote.class),
+ *         MediaType.TEXT_EVENT_STREAM, 256);
+ *
+ * // in a handler
+ * return broadcaster.subscribe(exchange.getResponse());
+ *
+ * // elsewhere
+ * quotes.concatMap(quote -&gt; broadcaster.publish(ServerSentEvent.builder(quote).build())).subscribe();
+ * </pre>
+ *
+ * @author agent
+ * @since 5.3
+ * @param <T> the type of events broadcast
+ */
+public class HttpMessageBroadcaster<T> {
+
+	private final HttpMessageWriter<?> writer;
+
+	private final ResolvableType elementType;
+
+	private final MediaType mediaType;
+
+	private final int bufferSize;
+
+	private final Set<BroadcastSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+
+	/**
+	 * Create a new {@code HttpMessageBroadcaster}.
+	 * @param writer the writer to encode events with
+	 * @param elementType the type of events
+	 * @param mediaType the streaming media type to encode events as
+	 * @param bufferSize the maximum number of events buffered for a single
+	 * subscriber, beyond which that subscriber is evicted
+	 */
+	public HttpMessageBroadcaster(HttpMessageWriter<?> writer, ResolvableType elementType,
+			MediaType mediaType, int bufferSize) {
+
+		Assert.notNull(writer, "HttpMessageWriter must not be null");
+		Assert.notNull(elementType, "ResolvableType must not be null");
+		Assert.notNull(mediaType, "MediaType must not be null");
+		Assert.isTrue(bufferSize > 0, "Buffer size must be greater than 0");
+		Assert.isTrue(writer.canWrite(elementType, mediaType),
+				() -> "Writer cannot write " + elementType + " as " + mediaType);
+		this.writer = writer;
+		this.elementType = elementType;
+		this.mediaType = mediaType;
+		this.bufferSize = bufferSize;
+	}
+
+
+	/**
+	 * Return the number of current subscribers.
+	 */
+	public int getSubscriberCount() {
+		return this.subscribers.size();
+	}
+
+	/**
+	 * Encode the given event and send it to all current subscribers.
+	 * <p>Events are delivered in the order in which their encoding completes,
+	 * so publish them sequentially, e.g. via {@code concatMap}, if their
+	 * order matters.
+	 * @param event the event to broadcast
+	 * @return a {@code Mono} that completes once the event has been handed
+	 * to all subscribers
+	 */
+	@SuppressWarnings("unchecked")
+	public Mono<Void> publish(T event) {
+		EncodingOutputMessage message = new EncodingOutputMessage();
+		return ((HttpMessageWriter<Object>) this.writer)
+				.write(Flux.just(event), this.elementType, this.mediaType, message, Hints.none())
+				.then(Mono.fromRunnable(() -> {
+					byte[] bytes = message.getBytes();
+					for (BroadcastSubscriber subscriber : this.subscribers) {
+						subscriber.offer(bytes);
+					}
+				}));
+	}
+
+	/**
+	 * Return the stream of encoded events published from now on, in buffers
+	 * created with the given factory.
+	 * @param bufferFactory the factory to wrap encoded events with
+	 * @return the encoded events, one buffer per event
+	 */
+	public Flux<DataBuffer> subscribe(DataBufferFactory bufferFactory) {
+		Assert.notNull(bufferFactory, "DataBufferFactory must not be null");
+		return Flux.create(sink -> {
+			BroadcastSubscriber subscriber = new BroadcastSubscriber(sink, bufferFactory);
+			sink.onRequest(n -> subscriber.drain());
+			sink.onDispose(() -> this.subscribers.remove(subscriber));
+			this.subscribers.add(subscriber);
+		});
+	}
+
+	/**
+	 * Write the stream of encoded events published from now on to the given
+	 * message, flushing after each event.
+	 * @param message the message to write to, typically a server response
+	 * @return a {@code Mono} that completes when the subscriber is evicted,
+	 * or when the message is closed
+	 */
+	public Mono<Void> subscribe(ReactiveHttpOutputMessage message) {
+		message.getHeaders().setContentType(this.mediaType);
+		return message.writeAndFlushWith(subscribe(message.bufferFactory()).map(Flux::just));
+	}
+
+
+	/**
+	 * A single subscriber with its bounded buffer of pending events.
+	 */
+	private class BroadcastSubscriber {
+
+		private final FluxSink<DataBuffer> sink;
+
+		private final DataBufferFactory bufferFactory;
+
+		private final Queue<byte[]> pending = new ConcurrentLinkedQueue<>();
+
+		private final AtomicInteger pendingCount = new AtomicInteger();
+
+		private final AtomicInteger wip = new AtomicInteger();
+
+		BroadcastSubscriber(FluxSink<DataBuffer> sink, DataBufferFactory bufferFactory) {
+			this.sink = sink;
+			this.bufferFactory = bufferFactory;
+		}
+
+		void offer(byte[] bytes) {
+			if (this.pendingCount.incrementAndGet() > bufferSize) {
+				subscribers.remove(this);
+				this.sink.complete();
+				return;
+			}
+			this.pending.offer(bytes);
+			drain();
+		}
+
+		void drain() {
+			if (this.wip.getAndIncrement() != 0) {
+				return;
+			}
+			int missed = 1;
+			do {
+				while (this.sink.requestedFromDownstream() > 0 && !this.sink.isCancelled()) {
+					byte[] bytes = this.pending.poll();
+					if (bytes == null) {
+						break;
+					}
+					this.pendingCount.decrementAndGet();
+					this.sink.next(this.bufferFactory.wrap(bytes));
+				}
+				missed = this.wip.addAndGet(-missed);
+			}
+			while (missed != 0);
+		}
+	}
+
+
+	/**
+	 * Output message that captures the bytes of a single encoded event.
+	 */
+	private static class EncodingOutputMessage implements ReactiveHttpOutputMessage {
+
+		private final HttpHeaders headers = new HttpHeaders();
+
+		private final List<DataBuffer> buffers = Collections.synchronizedList(new ArrayList<>());
+
+		@Override
+		public HttpHeaders getHeaders() {
+			return this.headers;
+		}
+
+		@Override
+		public DataBufferFactory bufferFactory() {
+			return DefaultDataBufferFactory.sharedInstance;
+		}
+
+		@Override
+		public void beforeCommit(Supplier<? extends Mono<Void>> action) {
+		}
+
+		@Override
+		public boolean isCommitted() {
+			return false;
+		}
+
+		@Override
+		public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+			return Flux.from(body).doOnNext(this.buffers::add).then();
+		}
+
+		@Override
+		public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+			return writeWith(Flux.from(body).concatMap(Flux::from));
+		}
+
+		@Override
+		public Mono<Void> setComplete() {
+			return Mono.empty();
+		}
+
+		byte[] getBytes() {
+			int length = 0;
+			for (DataBuffer buffer : this.buffers) {
+				length += buffer.readableByteCount();
+			}
+			byte[] bytes = new byte[length];
+			int offset = 0;
+			for (DataBuffer buffer : this.buffers) {
+				int count = buffer.readableByteCount();
+				buffer.read(bytes, offset, count);
+				offset += count;
+				DataBufferUtils.release(buffer);
+			}
+			return bytes;
+		}
+	}
+
+}
@@ -17,6 +17,7 @@
 package org.springframework.http.codec.json;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.lang.annotation.Annotation;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
@@ -28,7 +29,6 @@ import java.util.Map;
 import com.fasterxml.jackson.core.JsonEncoding;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.util.ByteArrayBuilder;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectWriter;
@@ -45,6 +45,7 @@ import org.springframework.core.codec.EncodingException;
 import org.springframework.core.codec.Hints;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.core.log.LogFormatUtils;
 import org.springframework.http.MediaType;
 import org.springframework.http.codec.HttpMessageEncoder;
@@ -140,20 +141,23 @@ public abstract class AbstractJackson2Encoder extends Jackson2CodecSupport imple
 		else {
 			byte[] separator = streamSeparator(mimeType);
 			if (separator != null) { // streaming
-				try {
-					ObjectWriter writer = createObjectWriter(elementType, mimeType, hints);
-					ByteArrayBuilder byteBuilder = new ByteArrayBuilder(writer.getFactory()._getBufferRecycler());
-					JsonEncoding encoding = getJsonEncoding(mimeType);
-					JsonGenerator generator = getObjectMapper().getFactory().createGenerator(byteBuilder, encoding);
-					SequenceWriter sequenceWriter = writer.writeValues(generator);
-
-					return Flux.from(inputStream)
-							.map(value -> encodeStreamingValue(value, bufferFactory, hints, sequenceWriter, byteBuilder,
-									separator));
-				}
-				catch (IOException ex) {
-					return Flux.error(ex);
-				}
+				return Flux.defer(() -> {
+					// One generator per subscription, writing into a new DataBuffer per element
+					try {
+						ObjectWriter writer = createObjectWriter(elementType, mimeType, hints);
+						DataBufferTargetOutputStream outputStream = new DataBufferTargetOutputStream();
+						JsonEncoding encoding = getJsonEncoding(mimeType);
+						JsonGenerator generator = getObjectMapper().getFactory().createGenerator(outputStream, encoding);
+						SequenceWriter sequenceWriter = writer.writeValues(generator);
+
+						return Flux.from(inputStream)
+								.map(value -> encodeStreamingValue(value, bufferFactory, hints, sequenceWriter,
+										outputStream, separator));
+					}
+					catch (IOException ex) {
+						return Flux.error(ex);
+					}
+				});
 			}
 			else { // non-streaming
 				ResolvableType listType = ResolvableType.forClassWithGenerics(List.class, elementType);
@@ -171,15 +175,18 @@ public abstract class AbstractJackson2Encoder extends Jackson2CodecSupport imple
 			ResolvableType valueType, @Nullable MimeType mimeType, @Nullable Map<String, Object> hints) {
 
 		ObjectWriter writer = createObjectWriter(valueType, mimeType, hints);
-		ByteArrayBuilder byteBuilder = new ByteArrayBuilder(writer.getFactory()._getBufferRecycler());
 		JsonEncoding encoding = getJsonEncoding(mimeType);
 
 		logValue(hints, value);
 
+		// Write straight into the DataBuffer, which grows as needed
+		DataBuffer buffer = bufferFactory.allocateBuffer();
+		boolean release = true;
 		try {
-			JsonGenerator generator = getObjectMapper().getFactory().createGenerator(byteBuilder, encoding);
+			JsonGenerator generator = getObjectMapper().getFactory().createGenerator(buffer.asOutputStream(), encoding);
 			writer.writeValue(generator, value);
 			generator.flush();
+			release = false;
 		}
 		catch (InvalidDefinitionException ex) {
 			throw new CodecException("Type definition error: " + ex.getType(), ex);
@@ -188,24 +195,29 @@ public abstract class AbstractJackson2Encoder extends Jackson2CodecSupport imple
 			throw new EncodingException("JSON encoding error: " + ex.getOriginalMessage(), ex);
 		}
 		catch (IOException ex) {
-			throw new IllegalStateException("Unexpected I/O error while writing to byte array builder", ex);
+			throw new IllegalStateException("Unexpected I/O error while writing to data buffer", ex);
+		}
+		finally {
+			if (release) {
+				DataBufferUtils.release(buffer);
+			}
 		}
-
-		byte[] bytes = byteBuilder.toByteArray();
-		DataBuffer buffer = bufferFactory.allocateBuffer(bytes.length);
-		buffer.write(bytes);
 
 		return buffer;
 	}
 
 	private DataBuffer encodeStreamingValue(Object value, DataBufferFactory bufferFactory, @Nullable Map<String, Object> hints,
-			SequenceWriter sequenceWriter, ByteArrayBuilder byteArrayBuilder, byte[] separator) {
+			SequenceWriter sequenceWriter, DataBufferTargetOutputStream outputStream, byte[] separator) {
 
 		logValue(hints, value);
 
+		DataBuffer buffer = bufferFactory.allocateBuffer();
+		boolean release = true;
+		outputStream.setTarget(buffer);
 		try {
 			sequenceWriter.write(value);
 			sequenceWriter.flush();
+			release = false;
 		}
 		catch (InvalidDefinitionException ex) {
 			throw new CodecException("Type definition error: " + ex.getType(), ex);
@@ -214,25 +226,20 @@ public abstract class AbstractJackson2Encoder extends Jackson2CodecSupport imple
 			throw new EncodingException("JSON encoding error: " + ex.getOriginalMessage(), ex);
 		}
 		catch (IOException ex) {
-			throw new IllegalStateException("Unexpected I/O error while writing to byte array builder", ex);
+			throw new IllegalStateException("Unexpected I/O error while writing to data buffer", ex);
+		}
+		finally {
+			outputStream.setTarget(null);
+			if (release) {
+				DataBufferUtils.release(buffer);
+			}
 		}
 
-		byte[] bytes = byteArrayBuilder.toByteArray();
-		byteArrayBuilder.reset();
-
-		int offset;
-		int length;
-		if (bytes.length > 0 && bytes[0] == ' ') {
+		int readPosition = buffer.readPosition();
+		if (buffer.readableByteCount() > 0 && buffer.getByte(readPosition) == ' ') {
 			// SequenceWriter writes an unnecessary space in between values
-			offset = 1;
-			length = bytes.length - 1;
+			buffer.readPosition(readPosition + 1);
 		}
-		else {
-			offset = 0;
-			length = bytes.length;
-		}
-		DataBuffer buffer = bufferFactory.allocateBuffer(length + separator.length);
-		buffer.write(bytes, offset, length);
 		buffer.write(separator);
 
 		return buffer;
@@ -323,4 +330,37 @@ public abstract class AbstractJackson2Encoder extends Jackson2CodecSupport imple
 		return parameter.getMethodAnnotation(annotType);
 	}
 
+
+	/**
+	 * {@link OutputStream} that writes to the {@link DataBuffer} of the element
+	 * currently being encoded, allowing a single {@link JsonGenerator} to be
+	 * used for all elements of a stream.
+	 */
+	private static class DataBufferTargetOutputStream extends OutputStream {
+
+		@Nullable
+		private DataBuffer target;
+
+		public void setTarget(@Nullable DataBuffer target) {
+			this.target = target;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			getTarget().write((byte) b);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			getTarget().write(b, off, len);
+		}
+
+		private DataBuffer getTarget() throws IOException {
+			if (this.target == null) {
+				throw new IOException("No target DataBuffer to write to");
+			}
+			return this.target;
+		}
+	}
+
 }
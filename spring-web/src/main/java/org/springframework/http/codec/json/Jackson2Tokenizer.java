@@ -17,6 +17,7 @@
 package org.springframework.http.codec.json;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Function;
@@ -37,6 +38,7 @@ import org.springframework.core.codec.DecodingException;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.DataBufferLimitException;
 import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.lang.Nullable;
 
 /**
  * {@link Function} to transform a JSON stream of arbitrary size, byte array
@@ -68,6 +70,9 @@ final class Jackson2Tokenizer {
 
 	private TokenBuffer tokenBuffer;
 
+	@Nullable
+	private DataBuffer unconsumedBuffer;
+
 
 	// TODO: change to ByteBufferFeeder when supported by Jackson
 	// See https://github.com/FasterXML/jackson-core/issues/478
@@ -87,16 +92,13 @@ final class Jackson2Tokenizer {
 	}
 
 
-
 	private List<TokenBuffer> tokenize(DataBuffer dataBuffer) {
 		int bufferSize = dataBuffer.readableByteCount();
-		byte[] bytes = new byte[bufferSize];
-		dataBuffer.read(bytes);
-		DataBufferUtils.release(dataBuffer);
-
+		boolean shared = false;
 		try {
-			this.inputFeeder.feedInput(bytes, 0, bytes.length);
-			List<TokenBuffer> result = parseTokenBufferFlux();
+			List<TokenBuffer> result = parseUnconsumedInput();
+			shared = feedInput(dataBuffer, bufferSize);
+			result.addAll(parseTokenBufferFlux());
 			assertInMemorySize(bufferSize, result);
 			return result;
 		}
@@ -106,13 +108,71 @@ final class Jackson2Tokenizer {
 		catch (IOException ex) {
 			throw Exceptions.propagate(ex);
 		}
+		finally {
+			if (shared && !this.inputFeeder.needMoreInput() && !this.parser.isClosed()) {
+				this.unconsumedBuffer = dataBuffer;
+			}
+			else {
+				DataBufferUtils.release(dataBuffer);
+			}
+		}
+	}
+
+	/**
+	 * Parse input left over from the previous shared buffer, if any, and
+	 * release that buffer once the parser no longer needs it.
+	 */
+	private List<TokenBuffer> parseUnconsumedInput() throws IOException {
+		if (this.unconsumedBuffer == null) {
+			return new ArrayList<>();
+		}
+		List<TokenBuffer> result = parseTokenBufferFlux();
+		if (this.inputFeeder.needMoreInput()) {
+			releaseUnconsumedInput();
+		}
+		return result;
+	}
+
+	/**
+	 * Feed the readable bytes of the given buffer to the parser, directly from
+	 * the backing array of heap buffers and through a copy otherwise.
+	 * <p>The parser refers to the backing array until it has consumed all of
+	 * the input, which is not necessarily the case when parsing stops at a
+	 * Smile document separator. A shared buffer is therefore only released
+	 * once the parser asks for more input.
+	 * @return {@code true} if the parser was fed the buffer's backing array,
+	 * or {@code false} if it was fed a copy
+	 */
+	private boolean feedInput(DataBuffer dataBuffer, int bufferSize) throws IOException {
+		ByteBuffer byteBuffer = dataBuffer.asByteBuffer();
+		if (byteBuffer.hasArray()) {
+			int offset = byteBuffer.arrayOffset() + byteBuffer.position();
+			this.inputFeeder.feedInput(byteBuffer.array(), offset, offset + bufferSize);
+			return true;
+		}
+		else {
+			byte[] bytes = new byte[bufferSize];
+			dataBuffer.read(bytes);
+			this.inputFeeder.feedInput(bytes, 0, bufferSize);
+			return false;
+		}
+	}
+
+	private void releaseUnconsumedInput() {
+		DataBuffer dataBuffer = this.unconsumedBuffer;
+		if (dataBuffer != null) {
+			this.unconsumedBuffer = null;
+			DataBufferUtils.release(dataBuffer);
+		}
 	}
 
 	private Flux<TokenBuffer> endOfInput() {
 		return Flux.defer(() -> {
-			this.inputFeeder.endOfInput();
 			try {
-				return Flux.fromIterable(parseTokenBufferFlux());
+				List<TokenBuffer> result = parseUnconsumedInput();
+				this.inputFeeder.endOfInput();
+				result.addAll(parseTokenBufferFlux());
+				return Flux.fromIterable(result);
 			}
 			catch (JsonProcessingException ex) {
 				throw new DecodingException("JSON decoding error: " + ex.getOriginalMessage(), ex);
@@ -248,7 +308,9 @@ final class Jackson2Tokenizer {
 			}
 			Jackson2Tokenizer tokenizer =
 					new Jackson2Tokenizer(parser, context, tokenizeArrays, forceUseOfBigDecimal, maxInMemorySize);
-			return dataBuffers.concatMapIterable(tokenizer::tokenize).concatWith(tokenizer.endOfInput());
+			return dataBuffers.concatMapIterable(tokenizer::tokenize)
+					.concatWith(tokenizer.endOfInput())
+					.doFinally(signalType -> tokenizer.releaseUnconsumedInput());
 		}
 		catch (IOException ex) {
 			return Flux.error(ex);
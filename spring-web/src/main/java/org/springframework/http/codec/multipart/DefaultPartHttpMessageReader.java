@@ -68,6 +68,8 @@ public class DefaultPartHttpMessageReader extends LoggingCodecSupport implements
 
 	private int maxHeadersSize = 8 * 1024;
 
+	private long maxInMemorySizePerRequest = -1;
+
 	private long maxDiskUsagePerPart = -1;
 
 	private int maxParts = -1;
@@ -113,6 +115,23 @@ public class DefaultPartHttpMessageReader extends LoggingCodecSupport implements
 		this.maxInMemorySize = maxInMemorySize;
 	}
 
+	/**
+	 * Configure the maximum amount of memory allowed for buffering the contents
+	 * of non-form-field parts across all parts of a single request. When a part
+	 * would exceed this budget, it is written to a temporary file in
+	 * {@link #setFileStorageDirectory(Path) fileStorageDirectory}, even if it
+	 * is smaller than {@link #setMaxInMemorySize(int) maxInMemorySize}.
+	 * <p>By default this is set to -1, meaning that only the per-part
+	 * {@code maxInMemorySize} applies.
+	 * <p>Note that this property is ignored when
+	 * {@linkplain #setStreaming(boolean) streaming} is enabled.
+	 * @param maxInMemorySizePerRequest the in-memory limit in bytes for all
+	 * parts of a request, or -1 for no limit
+	 */
+	public void setMaxInMemorySizePerRequest(long maxInMemorySizePerRequest) {
+		this.maxInMemorySizePerRequest = maxInMemorySizePerRequest;
+	}
+
 	/**
 	 * Configure the maximum amount of disk space allowed for file parts.
 	 * <p>By default this is set to -1, meaning that there is no maximum.
@@ -180,6 +199,7 @@ public class DefaultPartHttpMessageReader extends LoggingCodecSupport implements
 	 *
 	 * <p>Also note that enabling this property effectively ignores
 	 * {@link #setMaxInMemorySize(int) maxInMemorySize},
+	 * {@link #setMaxInMemorySizePerRequest(long) maxInMemorySizePerRequest},
 	 * {@link #setMaxDiskUsagePerPart(long) maxDiskUsagePerPart},
 	 * {@link #setFileStorageDirectory(Path) fileStorageDirectory}, and
 	 * {@link #setBlockingOperationScheduler(Scheduler) fileCreationScheduler}.
@@ -216,8 +236,9 @@ public class DefaultPartHttpMessageReader extends LoggingCodecSupport implements
 			Flux<MultipartParser.Token> tokens = MultipartParser.parse(message.getBody(), boundary,
 					this.maxHeadersSize);
 
-			return PartGenerator.createParts(tokens, this.maxParts, this.maxInMemorySize, this.maxDiskUsagePerPart,
-					this.streaming, this.fileStorageDirectory, this.blockingOperationScheduler);
+			return PartGenerator.createParts(tokens, this.maxParts, this.maxInMemorySize,
+					this.maxInMemorySizePerRequest, this.maxDiskUsagePerPart, this.streaming,
+					this.fileStorageDirectory, this.blockingOperationScheduler);
 		});
 	}
 
@@ -68,6 +68,8 @@ final class PartGenerator extends BaseSubscriber<MultipartParser.Token> {
 
 	private final AtomicBoolean requestOutstanding = new AtomicBoolean();
 
+	private final AtomicLong inMemoryByteCount = new AtomicLong();
+
 	private final FluxSink<Part> sink;
 
 	private final int maxParts;
@@ -76,6 +78,8 @@ final class PartGenerator extends BaseSubscriber<MultipartParser.Token> {
 
 	private final int maxInMemorySize;
 
+	private final long maxInMemorySizePerRequest;
+
 	private final long maxDiskUsagePerPart;
 
 	private final Mono<Path> fileStorageDirectory;
@@ -83,12 +87,14 @@ final class PartGenerator extends BaseSubscriber<MultipartParser.Token> {
 	private final Scheduler blockingOperationScheduler;
 
 
-	private PartGenerator(FluxSink<Part> sink, int maxParts, int maxInMemorySize, long maxDiskUsagePerPart,
-			boolean streaming, Mono<Path> fileStorageDirectory, Scheduler blockingOperationScheduler) {
+	private PartGenerator(FluxSink<Part> sink, int maxParts, int maxInMemorySize, long maxInMemorySizePerRequest,
+			long maxDiskUsagePerPart, boolean streaming, Mono<Path> fileStorageDirectory,
+			Scheduler blockingOperationScheduler) {
 
 		this.sink = sink;
 		this.maxParts = maxParts;
 		this.maxInMemorySize = maxInMemorySize;
+		this.maxInMemorySizePerRequest = maxInMemorySizePerRequest;
 		this.maxDiskUsagePerPart = maxDiskUsagePerPart;
 		this.streaming = streaming;
 		this.fileStorageDirectory = fileStorageDirectory;
@@ -99,12 +105,12 @@ final class PartGenerator extends BaseSubscriber<MultipartParser.Token> {
 	 * Creates parts from a given stream of tokens.
 	 */
 	public static Flux<Part> createParts(Flux<MultipartParser.Token> tokens, int maxParts, int maxInMemorySize,
-			long maxDiskUsagePerPart, boolean streaming, Mono<Path> fileStorageDirectory,
-			Scheduler blockingOperationScheduler) {
+			long maxInMemorySizePerRequest, long maxDiskUsagePerPart, boolean streaming,
+			Mono<Path> fileStorageDirectory, Scheduler blockingOperationScheduler) {
 
 		return Flux.create(sink -> {
-			PartGenerator generator = new PartGenerator(sink, maxParts, maxInMemorySize, maxDiskUsagePerPart, streaming,
-					fileStorageDirectory, blockingOperationScheduler);
+			PartGenerator generator = new PartGenerator(sink, maxParts, maxInMemorySize, maxInMemorySizePerRequest,
+					maxDiskUsagePerPart, streaming, fileStorageDirectory, blockingOperationScheduler);
 
 			sink.onCancel(generator::onSinkCancel);
 			sink.onRequest(l -> generator.requestToken());
@@ -238,6 +244,32 @@ final class PartGenerator extends BaseSubscriber<MultipartParser.Token> {
 		}
 	}
 
+	/**
+	 * Reserve the given number of bytes from the
+	 * {@link #maxInMemorySizePerRequest per-request memory budget}.
+	 * @return {@code true} if the bytes fit in the budget; {@code false} otherwise
+	 */
+	private boolean reserveMemory(int byteCount) {
+		if (this.maxInMemorySizePerRequest == -1) {
+			return true;
+		}
+		if (this.inMemoryByteCount.addAndGet(byteCount) <= this.maxInMemorySizePerRequest) {
+			return true;
+		}
+		this.inMemoryByteCount.addAndGet(-byteCount);
+		return false;
+	}
+
+	/**
+	 * Return the given number of bytes to the
+	 * {@link #maxInMemorySizePerRequest per-request memory budget}.
+	 */
+	private void releaseMemory(long byteCount) {
+		if (this.maxInMemorySizePerRequest != -1) {
+			this.inMemoryByteCount.addAndGet(-byteCount);
+		}
+	}
+
 	private static boolean isFormField(HttpHeaders headers) {
 		MediaType contentType = headers.getContentType();
 		return (contentType == null || MediaType.TEXT_PLAIN.equalsTypeAndSubtype(contentType))
@@ -258,7 +290,9 @@ final class PartGenerator extends BaseSubscriber<MultipartParser.Token> {
 	 * {@link StreamingState}.</li>
 	 * <li>Otherwise, the creator will initially be in the
 	 * {@link InMemoryState}, but will switch over to {@link CreateFileState}
-	 * when the part byte count exceeds {@link #maxInMemorySize},
+	 * when the part byte count exceeds {@link #maxInMemorySize}, or when
+	 * the byte count of all in-memory parts exceeds
+	 * {@link #maxInMemorySizePerRequest},
 	 * then to {@link WritingFileState} (to write the memory contents),
 	 * and finally {@link IdleFileState}, which switches back to
 	 * {@link WritingFileState} when more body data comes in.</li>
@@ -437,7 +471,8 @@ final class PartGenerator extends BaseSubscriber<MultipartParser.Token> {
 	/**
 	 * The creator state when {@link #streaming} is {@code false} (and not
 	 * handling a form field). Stores all received buffers in a queue.
-	 * If the byte count exceeds {@link #maxInMemorySize}, the creator state
+	 * If the byte count exceeds {@link #maxInMemorySize}, or if the buffers
+	 * do not fit in the {@link #maxInMemorySizePerRequest}, the creator state
 	 * is changed to {@link CreateFileState}, and eventually to
 	 * {@link CreateFileState}.
 	 */
@@ -458,13 +493,14 @@ final class PartGenerator extends BaseSubscriber<MultipartParser.Token> {
 
 		@Override
 		public void body(DataBuffer dataBuffer) {
+			int size = dataBuffer.readableByteCount();
 			long prevCount = this.byteCount.get();
-			long count = this.byteCount.addAndGet(dataBuffer.readableByteCount());
-			if (PartGenerator.this.maxInMemorySize == -1 ||
-					count <= PartGenerator.this.maxInMemorySize) {
+			long count = this.byteCount.addAndGet(size);
+			if (withinPartLimit(count) && reserveMemory(size)) {
 				storeBuffer(dataBuffer);
 			}
-			else if (prevCount <= PartGenerator.this.maxInMemorySize) {
+			else if (withinPartLimit(prevCount)) {
+				releaseMemory(prevCount);
 				switchToFile(dataBuffer, count);
 			}
 			else {
@@ -473,6 +509,10 @@ final class PartGenerator extends BaseSubscriber<MultipartParser.Token> {
 			}
 		}
 
+		private boolean withinPartLimit(long count) {
+			return (PartGenerator.this.maxInMemorySize == -1 || count <= PartGenerator.this.maxInMemorySize);
+		}
+
 		private void storeBuffer(DataBuffer dataBuffer) {
 			this.content.add(dataBuffer);
 			requestToken();
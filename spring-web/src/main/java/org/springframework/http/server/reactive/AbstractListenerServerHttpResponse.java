@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,15 +16,31 @@
 
 package org.springframework.http.server.reactive;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.reactivestreams.Processor;
 import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscription;
+import reactor.core.Disposable;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.http.HttpHeaders;
+import org.springframework.lang.Nullable;
 
 /**
  * Abstract base class for listener-based server responses, e.g. Servlet 3.1
@@ -37,6 +53,11 @@ public abstract class AbstractListenerServerHttpResponse extends AbstractServerH
 
 	private final AtomicBoolean writeCalled = new AtomicBoolean();
 
+	private int writeCoalescingSize = -1;
+
+	@Nullable
+	private Duration writeCoalescingLatency;
+
 
 	public AbstractListenerServerHttpResponse(DataBufferFactory dataBufferFactory) {
 		super(dataBufferFactory);
@@ -47,6 +68,36 @@ public abstract class AbstractListenerServerHttpResponse extends AbstractServerH
 	}
 
 
+	/**
+	 * Enable coalescing of the data buffers written to the response, so that
+	 * buffers are combined into writes of (at least) the given number of bytes.
+	 * Coalescing never crosses a flush boundary: with
+	 * {@link #writeAndFlushWith(Publisher)}, the buffers of each inner
+	 * {@code Publisher} are coalesced separately, and written before the flush.
+	 * <p>By default this is set to -1, meaning that every buffer is written
+	 * individually.
+	 * @param byteCount the minimum number of bytes per write, or -1 to disable
+	 * @since 5.3
+	 * @see #setWriteCoalescingLatency(Duration)
+	 */
+	public void setWriteCoalescingSize(int byteCount) {
+		this.writeCoalescingSize = byteCount;
+	}
+
+	/**
+	 * Set the maximum amount of time that a data buffer may be held back for
+	 * {@linkplain #setWriteCoalescingSize(int) coalescing} before it is written.
+	 * <p>By default this is not set, meaning that buffers are held back until
+	 * the coalescing size is reached, or until the current write (or flush
+	 * boundary) completes.
+	 * @param latency the maximum write latency, or {@code null} for none
+	 * @since 5.3
+	 */
+	public void setWriteCoalescingLatency(@Nullable Duration latency) {
+		this.writeCoalescingLatency = latency;
+	}
+
+
 	@Override
 	protected final Mono<Void> writeWithInternal(Publisher<? extends DataBuffer> body) {
 		return writeAndFlushWithInternal(Mono.just(body));
@@ -57,6 +108,9 @@ public abstract class AbstractListenerServerHttpResponse extends AbstractServerH
 			Publisher<? extends Publisher<? extends DataBuffer>> body) {
 
 		if (this.writeCalled.compareAndSet(false, true)) {
+			if (this.writeCoalescingSize > 0) {
+				body = Flux.from(body).map(this::coalesce);
+			}
 			Processor<? super Publisher<? extends DataBuffer>, Void> processor = createBodyFlushProcessor();
 			return Mono.from(subscriber -> {
 				body.subscribe(processor);
@@ -67,6 +121,25 @@ public abstract class AbstractListenerServerHttpResponse extends AbstractServerH
 				"writeWith() or writeAndFlushWith() has already been called"));
 	}
 
+	/**
+	 * Coalesce the buffers of the given publisher into writes of at least
+	 * {@link #setWriteCoalescingSize(int) writeCoalescingSize} bytes. Buffers
+	 * are requested one at a time, and only while there is no complete write
+	 * waiting for downstream demand, so backpressure from the container
+	 * carries over to the body publisher.
+	 */
+	Flux<DataBuffer> coalesce(Publisher<? extends DataBuffer> body) {
+		int size = this.writeCoalescingSize;
+		Duration latency = this.writeCoalescingLatency;
+		DataBufferFactory bufferFactory = bufferFactory();
+		return Flux.create(sink -> {
+			CoalescingSubscriber subscriber = new CoalescingSubscriber(sink, bufferFactory, size, latency);
+			sink.onRequest(n -> subscriber.drain());
+			sink.onCancel(subscriber::cancelCoalescing);
+			body.subscribe(subscriber);
+		});
+	}
+
 	/**
 	 * Abstract template method to create a {@code Processor<Publisher<DataBuffer>, Void>}
 	 * that will write the response body with flushes to the underlying output. Called from
@@ -74,4 +147,178 @@ public abstract class AbstractListenerServerHttpResponse extends AbstractServerH
 	 */
 	protected abstract Processor<? super Publisher<? extends DataBuffer>, Void> createBodyFlushProcessor();
 
+	/**
+	 * Subscriber that collects buffers into writes of a minimum size, emitting
+	 * a write on downstream demand only, and requesting the next buffer from
+	 * upstream only while no write is waiting to be emitted.
+	 */
+	private static class CoalescingSubscriber extends BaseSubscriber<DataBuffer> {
+
+		private final FluxSink<DataBuffer> sink;
+
+		private final DataBufferFactory bufferFactory;
+
+		private final int size;
+
+		@Nullable
+		private final Duration latency;
+
+		private final Queue<DataBuffer> received = new ConcurrentLinkedQueue<>();
+
+		private final AtomicInteger wip = new AtomicInteger();
+
+		private final AtomicLong generation = new AtomicLong();
+
+		private volatile boolean timedOut;
+
+		private volatile boolean done;
+
+		@Nullable
+		private volatile Throwable error;
+
+		private volatile boolean cancelled;
+
+		// Fields below are only accessed from within drain()
+
+		private final List<DataBuffer> pending = new ArrayList<>();
+
+		private int pendingBytes;
+
+		private boolean awaitingBuffer;
+
+		private boolean terminated;
+
+		@Nullable
+		private Disposable timer;
+
+		CoalescingSubscriber(FluxSink<DataBuffer> sink, DataBufferFactory bufferFactory,
+				int size, @Nullable Duration latency) {
+
+			this.sink = sink;
+			this.bufferFactory = bufferFactory;
+			this.size = size;
+			this.latency = latency;
+		}
+
+		@Override
+		protected void hookOnSubscribe(Subscription subscription) {
+			drain();
+		}
+
+		@Override
+		protected void hookOnNext(DataBuffer buffer) {
+			this.received.offer(buffer);
+			drain();
+		}
+
+		@Override
+		protected void hookOnError(Throwable ex) {
+			this.error = ex;
+			this.done = true;
+			drain();
+		}
+
+		@Override
+		protected void hookOnComplete() {
+			this.done = true;
+			drain();
+		}
+
+		void cancelCoalescing() {
+			this.cancelled = true;
+			dispose();
+			drain();
+		}
+
+		void drain() {
+			if (this.wip.getAndIncrement() != 0) {
+				return;
+			}
+			int missed = 1;
+			do {
+				if (this.cancelled || this.terminated) {
+					discardAll();
+				}
+				else {
+					drainReceived();
+				}
+				missed = this.wip.addAndGet(-missed);
+			}
+			while (missed != 0);
+		}
+
+		private void drainReceived() {
+			DataBuffer buffer;
+			while ((buffer = this.received.poll()) != null) {
+				this.awaitingBuffer = false;
+				this.pending.add(buffer);
+				this.pendingBytes += buffer.readableByteCount();
+				if (this.latency != null && this.timer == null) {
+					long current = this.generation.get();
+					this.timer = Schedulers.parallel().schedule(() -> onTimeout(current),
+							this.latency.toMillis(), TimeUnit.MILLISECONDS);
+				}
+			}
+			Throwable ex = this.error;
+			if (ex != null) {
+				this.terminated = true;
+				discardAll();
+				this.sink.error(ex);
+				return;
+			}
+			boolean ready = !this.pending.isEmpty() &&
+					(this.pendingBytes >= this.size || this.timedOut || this.done);
+			if (ready && this.sink.requestedFromDownstream() > 0) {
+				emitPending();
+				ready = false;
+			}
+			if (this.done) {
+				if (this.pending.isEmpty()) {
+					this.terminated = true;
+					this.sink.complete();
+				}
+			}
+			else if (!ready && !this.awaitingBuffer && upstream() != null) {
+				this.awaitingBuffer = true;
+				request(1);
+			}
+		}
+
+		private void emitPending() {
+			DataBuffer buffer = (this.pending.size() == 1 ? this.pending.get(0) :
+					this.bufferFactory.join(this.pending));
+			this.pending.clear();
+			this.pendingBytes = 0;
+			resetTimer();
+			this.sink.next(buffer);
+		}
+
+		private void onTimeout(long expected) {
+			if (this.generation.get() == expected) {
+				this.timedOut = true;
+				drain();
+			}
+		}
+
+		private void resetTimer() {
+			this.generation.incrementAndGet();
+			this.timedOut = false;
+			if (this.timer != null) {
+				this.timer.dispose();
+				this.timer = null;
+			}
+		}
+
+		private void discardAll() {
+			resetTimer();
+			this.pending.forEach(DataBufferUtils::release);
+			this.pending.clear();
+			this.pendingBytes = 0;
+			DataBuffer buffer;
+			while ((buffer = this.received.poll()) != null) {
+				DataBufferUtils.release(buffer);
+			}
+		}
+	}
+
 }
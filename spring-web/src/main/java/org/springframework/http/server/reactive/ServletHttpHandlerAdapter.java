@@ -18,6 +18,7 @@ package org.springframework.http.server.reactive;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.time.Duration;
 import java.util.Collection;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -68,6 +69,11 @@ public class ServletHttpHandlerAdapter implements Servlet {
 
 	private int bufferSize = DEFAULT_BUFFER_SIZE;
 
+	private int writeCoalescingSize = -1;
+
+	@Nullable
+	private Duration writeCoalescingLatency;
+
 	@Nullable
 	private String servletPath;
 
@@ -96,6 +102,28 @@ public class ServletHttpHandlerAdapter implements Servlet {
 		return this.bufferSize;
 	}
 
+	/**
+	 * Set the minimum number of bytes per response write, coalescing smaller
+	 * data buffers within the same flush boundary.
+	 * <p>By default this is set to -1, meaning that buffers are written
+	 * individually.
+	 * @since 5.3
+	 * @see AbstractListenerServerHttpResponse#setWriteCoalescingSize(int)
+	 */
+	public void setWriteCoalescingSize(int writeCoalescingSize) {
+		this.writeCoalescingSize = writeCoalescingSize;
+	}
+
+	/**
+	 * Set the maximum amount of time a data buffer may be held back for
+	 * {@linkplain #setWriteCoalescingSize(int) write coalescing}.
+	 * @since 5.3
+	 * @see AbstractListenerServerHttpResponse#setWriteCoalescingLatency(Duration)
+	 */
+	public void setWriteCoalescingLatency(@Nullable Duration writeCoalescingLatency) {
+		this.writeCoalescingLatency = writeCoalescingLatency;
+	}
+
 	/**
 	 * Return the Servlet path under which the Servlet is deployed by checking
 	 * the Servlet registration from {@link #init(ServletConfig)}.
@@ -179,7 +207,11 @@ public class ServletHttpHandlerAdapter implements Servlet {
 			return;
 		}
 
-		ServerHttpResponse httpResponse = createResponse(((HttpServletResponse) response), asyncContext, httpRequest);
+		ServletServerHttpResponse servletResponse =
+				createResponse(((HttpServletResponse) response), asyncContext, httpRequest);
+		servletResponse.setWriteCoalescingSize(this.writeCoalescingSize);
+		servletResponse.setWriteCoalescingLatency(this.writeCoalescingLatency);
+		ServerHttpResponse httpResponse = servletResponse;
 		if (httpRequest.getMethod() == HttpMethod.HEAD) {
 			httpResponse = new HttpHeadResponseDecorator(httpResponse);
 		}
@@ -18,6 +18,7 @@ package org.springframework.http.server.reactive;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.time.Duration;
 
 import io.undertow.server.HttpServerExchange;
 import org.apache.commons.logging.Log;
@@ -28,6 +29,7 @@ import org.springframework.core.io.buffer.DataBufferFactory;
 import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.http.HttpLogging;
 import org.springframework.http.HttpMethod;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 
 /**
@@ -47,6 +49,11 @@ public class UndertowHttpHandlerAdapter implements io.undertow.server.HttpHandle
 
 	private DataBufferFactory bufferFactory = DefaultDataBufferFactory.sharedInstance;
 
+	private int writeCoalescingSize = -1;
+
+	@Nullable
+	private Duration writeCoalescingLatency;
+
 
 	public UndertowHttpHandlerAdapter(HttpHandler httpHandler) {
 		Assert.notNull(httpHandler, "HttpHandler must not be null");
@@ -63,6 +70,28 @@ public class UndertowHttpHandlerAdapter implements io.undertow.server.HttpHandle
 		return this.bufferFactory;
 	}
 
+	/**
+	 * Set the minimum number of bytes per response write, coalescing smaller
+	 * data buffers within the same flush boundary.
+	 * <p>By default this is set to -1, meaning that buffers are written
+	 * individually.
+	 * @since 5.3
+	 * @see AbstractListenerServerHttpResponse#setWriteCoalescingSize(int)
+	 */
+	public void setWriteCoalescingSize(int writeCoalescingSize) {
+		this.writeCoalescingSize = writeCoalescingSize;
+	}
+
+	/**
+	 * Set the maximum amount of time a data buffer may be held back for
+	 * {@linkplain #setWriteCoalescingSize(int) write coalescing}.
+	 * @since 5.3
+	 * @see AbstractListenerServerHttpResponse#setWriteCoalescingLatency(Duration)
+	 */
+	public void setWriteCoalescingLatency(@Nullable Duration writeCoalescingLatency) {
+		this.writeCoalescingLatency = writeCoalescingLatency;
+	}
+
 
 	@Override
 	public void handleRequest(HttpServerExchange exchange) {
@@ -77,7 +106,11 @@ public class UndertowHttpHandlerAdapter implements io.undertow.server.HttpHandle
 			exchange.setStatusCode(400);
 			return;
 		}
-		ServerHttpResponse response = new UndertowServerHttpResponse(exchange, getDataBufferFactory(), request);
+		UndertowServerHttpResponse undertowResponse =
+				new UndertowServerHttpResponse(exchange, getDataBufferFactory(), request);
+		undertowResponse.setWriteCoalescingSize(this.writeCoalescingSize);
+		undertowResponse.setWriteCoalescingLatency(this.writeCoalescingLatency);
+		ServerHttpResponse response = undertowResponse;
 
 		if (request.getMethod() == HttpMethod.HEAD) {
 			response = new HttpHeadResponseDecorator(response);
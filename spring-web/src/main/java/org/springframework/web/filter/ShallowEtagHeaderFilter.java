@@ -19,16 +19,19 @@ package org.springframework.web.filter;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.PrintWriter;
+import java.nio.charset.Charset;
 
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
 import javax.servlet.ServletOutputStream;
 import javax.servlet.ServletRequest;
+import javax.servlet.WriteListener;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.DigestUtils;
 import org.springframework.util.StringUtils;
@@ -46,6 +49,11 @@ import org.springframework.web.util.WebUtils;
  * (e.g. a {@link org.springframework.web.servlet.View}) is still rendered.
  * As such, this filter only saves bandwidth, not server performance.
  *
+ * <p>The response content is held in memory until the ETag has been computed.
+ * A {@link #setContentCacheLimit content cache limit} can be set in order to
+ * stream large responses through to the client, without an ETag, once they
+ * grow beyond the limit.
+ *
  * <p><b>NOTE:</b> As of Spring Framework 5.0, this filter uses request/response
  * decorators built on the Servlet 3.1 API.
  *
@@ -64,6 +72,8 @@ public class ShallowEtagHeaderFilter extends OncePerRequestFilter {
 
 	private boolean writeWeakETag = false;
 
+	private int contentCacheLimit = -1;
+
 
 	/**
 	 * Set whether the ETag value written to the response should be weak, as per RFC 7232.
@@ -84,6 +94,32 @@ public class ShallowEtagHeaderFilter extends OncePerRequestFilter {
 		return this.writeWeakETag;
 	}
 
+	/**
+	 * Set the maximum number of response body bytes to hold in memory for the
+	 * purpose of ETag generation.
+	 * <p>Once the response content grows beyond this limit, the content cached
+	 * so far is written to the underlying response and the remaining content is
+	 * streamed through, as if {@link #disableContentCaching} had been called
+	 * before the first write. No ETag is generated for such responses and
+	 * conditional requests for them are not answered with "304 Not Modified".
+	 * <p>Should be configured using an {@code <init-param>} for parameter name
+	 * "contentCacheLimit" in the filter definition in {@code web.xml}.
+	 * <p>The default is -1, i.e. the entire response content is cached.
+	 * @since 5.3
+	 */
+	public void setContentCacheLimit(int contentCacheLimit) {
+		this.contentCacheLimit = contentCacheLimit;
+	}
+
+	/**
+	 * Return the configured maximum number of response body bytes to hold in
+	 * memory, or -1 if not limited.
+	 * @since 5.3
+	 */
+	public int getContentCacheLimit() {
+		return this.contentCacheLimit;
+	}
+
 
 	/**
 	 * The default value is {@code false} so that the filter may delay the generation
@@ -100,7 +136,7 @@ public class ShallowEtagHeaderFilter extends OncePerRequestFilter {
 
 		HttpServletResponse responseToUse = response;
 		if (!isAsyncDispatch(request) && !(response instanceof ContentCachingResponseWrapper)) {
-			responseToUse = new ConditionalContentCachingResponseWrapper(response, request);
+			responseToUse = new ConditionalContentCachingResponseWrapper(response, request, this.contentCacheLimit);
 		}
 
 		filterChain.doFilter(request, responseToUse);
@@ -203,33 +239,195 @@ public class ShallowEtagHeaderFilter extends OncePerRequestFilter {
 
 	/**
 	 * Returns the raw OutputStream, instead of the one that does caching,
-	 * if {@link #isContentCachingDisabled}.
+	 * if {@link #isContentCachingDisabled}. Also switches to the raw
+	 * OutputStream or Writer once the content cache limit, if any, is exceeded.
 	 */
 	private static class ConditionalContentCachingResponseWrapper extends ContentCachingResponseWrapper {
 
 		private final HttpServletRequest request;
 
+		private final int contentCacheLimit;
+
+		@Nullable
+		private ServletOutputStream limitingOutputStream;
+
+		@Nullable
+		private PrintWriter limitingWriter;
+
+
+		ConditionalContentCachingResponseWrapper(
+				HttpServletResponse response, HttpServletRequest request, int contentCacheLimit) {
 
-		ConditionalContentCachingResponseWrapper(HttpServletResponse response, HttpServletRequest request) {
 			super(response);
 			this.request = request;
+			this.contentCacheLimit = contentCacheLimit;
 		}
 
 		@Override
 		public ServletOutputStream getOutputStream() throws IOException {
-			return (isContentCachingDisabled(this.request) || hasETag() ?
-					getResponse().getOutputStream() : super.getOutputStream());
+			if (isContentCachingDisabled(this.request) || hasETag()) {
+				return getResponse().getOutputStream();
+			}
+			if (this.contentCacheLimit < 0) {
+				return super.getOutputStream();
+			}
+			if (this.limitingOutputStream == null) {
+				this.limitingOutputStream = new LimitingServletOutputStream(super.getOutputStream());
+			}
+			return this.limitingOutputStream;
 		}
 
 		@Override
 		public PrintWriter getWriter() throws IOException {
-			return (isContentCachingDisabled(this.request) || hasETag()?
-					getResponse().getWriter() : super.getWriter());
+			if (isContentCachingDisabled(this.request) || hasETag()) {
+				return getResponse().getWriter();
+			}
+			if (this.contentCacheLimit < 0) {
+				return super.getWriter();
+			}
+			if (this.limitingWriter == null) {
+				this.limitingWriter = new LimitingPrintWriter(super.getWriter());
+			}
+			return this.limitingWriter;
 		}
 
 		private boolean hasETag() {
 			return StringUtils.hasText(getHeader(HttpHeaders.ETAG));
 		}
+
+		private boolean isStreaming() {
+			return isContentCachingDisabled(this.request);
+		}
+
+		private boolean exceedsContentCacheLimit(int additionalBytes) {
+			return (getContentSize() + additionalBytes > this.contentCacheLimit);
+		}
+
+
+		/**
+		 * Caches content up to the limit, then flushes the cached content and
+		 * writes through to the raw OutputStream.
+		 */
+		private class LimitingServletOutputStream extends ServletOutputStream {
+
+			private final ServletOutputStream cachingStream;
+
+			LimitingServletOutputStream(ServletOutputStream cachingStream) {
+				this.cachingStream = cachingStream;
+			}
+
+			@Override
+			public void write(int b) throws IOException {
+				getTargetStream(1).write(b);
+			}
+
+			@Override
+			public void write(byte[] b, int off, int len) throws IOException {
+				getTargetStream(len).write(b, off, len);
+			}
+
+			private ServletOutputStream getTargetStream(int len) throws IOException {
+				if (!isStreaming() && exceedsContentCacheLimit(len)) {
+					disableContentCaching(request);
+					copyBodyToResponse(false);
+				}
+				return (isStreaming() ? getResponse().getOutputStream() : this.cachingStream);
+			}
+
+			@Override
+			public void flush() throws IOException {
+				if (isStreaming()) {
+					getResponse().getOutputStream().flush();
+				}
+			}
+
+			@Override
+			public boolean isReady() {
+				return this.cachingStream.isReady();
+			}
+
+			@Override
+			public void setWriteListener(WriteListener writeListener) {
+				this.cachingStream.setWriteListener(writeListener);
+			}
+		}
+
+
+		/**
+		 * Caches content up to the limit, then flushes the cached content and
+		 * writes through to the raw Writer.
+		 */
+		private class LimitingPrintWriter extends PrintWriter {
+
+			LimitingPrintWriter(PrintWriter cachingWriter) {
+				super(cachingWriter);
+			}
+
+			@Override
+			public void write(char[] buf, int off, int len) {
+				if (isStreaming()) {
+					getRawWriter().write(buf, off, len);
+					return;
+				}
+				super.write(buf, off, len);
+				checkContentCacheLimit();
+			}
+
+			@Override
+			public void write(String s, int off, int len) {
+				if (isStreaming()) {
+					getRawWriter().write(s, off, len);
+					return;
+				}
+				super.write(s, off, len);
+				checkContentCacheLimit();
+			}
+
+			@Override
+			public void write(int c) {
+				if (isStreaming()) {
+					getRawWriter().write(c);
+					return;
+				}
+				super.write(c);
+				checkContentCacheLimit();
+			}
+
+			@Override
+			public void println() {
+				write(System.lineSeparator());
+			}
+
+			@Override
+			public void flush() {
+				if (isStreaming()) {
+					getRawWriter().flush();
+				}
+				else {
+					super.flush();
+				}
+			}
+
+			private void checkContentCacheLimit() {
+				if (exceedsContentCacheLimit(0)) {
+					disableContentCaching(request);
+					String encoding = getCharacterEncoding();
+					String content = new String(getContentAsByteArray(),
+							Charset.forName(encoding != null ? encoding : WebUtils.DEFAULT_CHARACTER_ENCODING));
+					resetBuffer();
+					getRawWriter().write(content);
+				}
+			}
+
+			private PrintWriter getRawWriter() {
+				try {
+					return getResponse().getWriter();
+				}
+				catch (IOException ex) {
+					throw new IllegalStateException("Failed to obtain the response Writer", ex);
+				}
+			}
+		}
 	}
 
 }
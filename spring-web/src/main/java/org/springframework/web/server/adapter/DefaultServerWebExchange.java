@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -23,6 +23,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.function.Function;
 
 import reactor.core.publisher.Mono;
@@ -77,22 +78,49 @@ public class DefaultServerWebExchange implements ServerWebExchange {
 					.cache();
 
 
+	@SuppressWarnings("rawtypes")
+	private static final AtomicReferenceFieldUpdater<DefaultServerWebExchange, Map> ATTRIBUTES_UPDATER =
+			AtomicReferenceFieldUpdater.newUpdater(DefaultServerWebExchange.class, Map.class, "attributes");
+
+	@SuppressWarnings("rawtypes")
+	private static final AtomicReferenceFieldUpdater<DefaultServerWebExchange, Mono> SESSION_UPDATER =
+			AtomicReferenceFieldUpdater.newUpdater(DefaultServerWebExchange.class, Mono.class, "sessionMono");
+
+	@SuppressWarnings("rawtypes")
+	private static final AtomicReferenceFieldUpdater<DefaultServerWebExchange, Mono> FORM_DATA_UPDATER =
+			AtomicReferenceFieldUpdater.newUpdater(DefaultServerWebExchange.class, Mono.class, "formDataMono");
+
+	@SuppressWarnings("rawtypes")
+	private static final AtomicReferenceFieldUpdater<DefaultServerWebExchange, Mono> MULTIPART_DATA_UPDATER =
+			AtomicReferenceFieldUpdater.newUpdater(DefaultServerWebExchange.class, Mono.class, "multipartDataMono");
+
+
 	private final ServerHttpRequest request;
 
 	private final ServerHttpResponse response;
 
-	private final Map<String, Object> attributes = new ConcurrentHashMap<>();
+	private final WebSessionManager sessionManager;
 
-	private final Mono<WebSession> sessionMono;
+	private final ServerCodecConfigurer codecConfigurer;
 
 	private final LocaleContextResolver localeContextResolver;
 
-	private final Mono<MultiValueMap<String, String>> formDataMono;
+	@Nullable
+	private final ApplicationContext applicationContext;
 
-	private final Mono<MultiValueMap<String, Part>> multipartDataMono;
+	// The following are initialized on first access, since many requests never use them
 
 	@Nullable
-	private final ApplicationContext applicationContext;
+	private volatile Map<String, Object> attributes;
+
+	@Nullable
+	private volatile Mono<WebSession> sessionMono;
+
+	@Nullable
+	private volatile Mono<MultiValueMap<String, String>> formDataMono;
+
+	@Nullable
+	private volatile Mono<MultiValueMap<String, Part>> multipartDataMono;
 
 	private volatile boolean notModified;
 
@@ -121,15 +149,11 @@ public class DefaultServerWebExchange implements ServerWebExchange {
 		Assert.notNull(codecConfigurer, "'codecConfigurer' is required");
 		Assert.notNull(localeContextResolver, "'localeContextResolver' is required");
 
-		// Initialize before first call to getLogPrefix()
-		this.attributes.put(ServerWebExchange.LOG_ID_ATTRIBUTE, request.getId());
-
 		this.request = request;
 		this.response = response;
-		this.sessionMono = sessionManager.getSession(this).cache();
+		this.sessionManager = sessionManager;
+		this.codecConfigurer = codecConfigurer;
 		this.localeContextResolver = localeContextResolver;
-		this.formDataMono = initFormData(request, codecConfigurer, getLogPrefix());
-		this.multipartDataMono = initMultipartData(request, codecConfigurer, getLogPrefix());
 		this.applicationContext = applicationContext;
 	}
 
@@ -198,12 +222,45 @@ public class DefaultServerWebExchange implements ServerWebExchange {
 
 	@Override
 	public Map<String, Object> getAttributes() {
-		return this.attributes;
+		Map<String, Object> attributes = this.attributes;
+		if (attributes == null) {
+			attributes = new ConcurrentHashMap<>();
+			attributes.put(ServerWebExchange.LOG_ID_ATTRIBUTE, this.request.getId());
+			if (!ATTRIBUTES_UPDATER.compareAndSet(this, null, attributes)) {
+				attributes = this.attributes;
+			}
+		}
+		return attributes;
+	}
+
+	@Override
+	@Nullable
+	@SuppressWarnings("unchecked")
+	public <T> T getAttribute(String name) {
+		Map<String, Object> attributes = this.attributes;
+		if (attributes == null) {
+			// Avoid creating the attributes map for a read
+			return (LOG_ID_ATTRIBUTE.equals(name) ? (T) this.request.getId() : null);
+		}
+		return (T) attributes.get(name);
+	}
+
+	@Override
+	public <T> T getAttributeOrDefault(String name, T defaultValue) {
+		T value = getAttribute(name);
+		return (value != null ? value : defaultValue);
 	}
 
 	@Override
 	public Mono<WebSession> getSession() {
-		return this.sessionMono;
+		Mono<WebSession> sessionMono = this.sessionMono;
+		if (sessionMono == null) {
+			sessionMono = this.sessionManager.getSession(this).cache();
+			if (!SESSION_UPDATER.compareAndSet(this, null, sessionMono)) {
+				sessionMono = this.sessionMono;
+			}
+		}
+		return sessionMono;
 	}
 
 	@Override
@@ -213,12 +270,26 @@ public class DefaultServerWebExchange implements ServerWebExchange {
 
 	@Override
 	public Mono<MultiValueMap<String, String>> getFormData() {
-		return this.formDataMono;
+		Mono<MultiValueMap<String, String>> formDataMono = this.formDataMono;
+		if (formDataMono == null) {
+			formDataMono = initFormData(this.request, this.codecConfigurer, getLogPrefix());
+			if (!FORM_DATA_UPDATER.compareAndSet(this, null, formDataMono)) {
+				formDataMono = this.formDataMono;
+			}
+		}
+		return formDataMono;
 	}
 
 	@Override
 	public Mono<MultiValueMap<String, Part>> getMultipartData() {
-		return this.multipartDataMono;
+		Mono<MultiValueMap<String, Part>> multipartDataMono = this.multipartDataMono;
+		if (multipartDataMono == null) {
+			multipartDataMono = initMultipartData(this.request, this.codecConfigurer, getLogPrefix());
+			if (!MULTIPART_DATA_UPDATER.compareAndSet(this, null, multipartDataMono)) {
+				multipartDataMono = this.multipartDataMono;
+			}
+		}
+		return multipartDataMono;
 	}
 
 	@Override
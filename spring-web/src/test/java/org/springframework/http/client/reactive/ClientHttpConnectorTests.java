@@ -28,6 +28,7 @@ import java.util.Arrays;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.function.Consumer;
 
@@ -35,8 +36,14 @@ import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
 import okhttp3.mockwebserver.RecordedRequest;
 import okio.Buffer;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManager;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.eclipse.jetty.client.HttpClient;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -169,6 +176,127 @@ public class ClientHttpConnectorTests {
 				.verify();
 	}
 
+	@ParameterizedConnectorTest
+	void phaseListener(ClientHttpConnector connector) {
+		List<ClientHttpPhase> phases = new CopyOnWriteArrayList<>();
+		ClientHttpPhaseListener listener = (method, uri, phase, durationNanos) -> {
+			assertThat(method).isEqualTo(HttpMethod.GET);
+			assertThat(durationNanos).isGreaterThanOrEqualTo(0);
+			phases.add(phase);
+		};
+		setPhaseListener(connector, listener);
+
+		prepareResponse(response -> response.setBody("foo"));
+		Mono<String> result = connector.connect(HttpMethod.GET, this.server.url("/").uri(),
+				ReactiveHttpOutputMessage::setComplete)
+				.flatMap(response -> DataBufferUtils.join(response.getBody()))
+				.map(buffer -> {
+					String s = buffer.toString(StandardCharsets.UTF_8);
+					DataBufferUtils.release(buffer);
+					return s;
+				});
+
+		StepVerifier.create(result).expectNext("foo").verifyComplete();
+
+		assertThat(phases).startsWith(ClientHttpPhase.CONNECTION_ACQUIRE);
+		assertThat(phases).endsWith(ClientHttpPhase.FIRST_BYTE, ClientHttpPhase.RESPONSE_COMPLETE);
+		assertThat(phases).isSorted();
+	}
+
+	@ParameterizedConnectorTest
+	void phaseListenerWithCancelledBody(ClientHttpConnector connector) {
+		List<ClientHttpPhase> phases = new CopyOnWriteArrayList<>();
+		ClientHttpPhaseListener listener = (method, uri, phase, durationNanos) -> phases.add(phase);
+		setPhaseListener(connector, listener);
+
+		prepareResponse(response -> response.setBody(randomBody(100)));
+		Mono<DataBuffer> result = connector.connect(HttpMethod.GET, this.server.url("/").uri(),
+				ReactiveHttpOutputMessage::setComplete)
+				.flatMap(response -> response.getBody().next());
+
+		StepVerifier.create(result)
+				.consumeNextWith(DataBufferUtils::release)
+				.verifyComplete();
+
+		assertThat(phases).endsWith(ClientHttpPhase.RESPONSE_COMPLETE);
+		assertThat(phases).filteredOn(phase -> phase == ClientHttpPhase.RESPONSE_COMPLETE).hasSize(1);
+	}
+
+	@Test
+	void jettyConnectionPoolMetrics() throws Exception {
+		HttpClient httpClient = new HttpClient();
+		httpClient.setMaxConnectionsPerDestination(5);
+		JettyClientHttpConnector connector = new JettyClientHttpConnector(httpClient);
+		try {
+			ClientHttpConnectionPoolMetrics metrics = connector.getConnectionPoolMetrics();
+			assertThat(metrics.getActiveConnections()).isEqualTo(0);
+			assertThat(metrics.getIdleConnections()).isEqualTo(0);
+			assertThat(metrics.getPendingAcquires()).isEqualTo(0);
+			assertThat(metrics.getMaxConnections()).isEqualTo(5);
+
+			exchange(connector);
+
+			assertThat(metrics.getActiveConnections() + metrics.getIdleConnections()).isEqualTo(1);
+			assertThat(metrics.getPendingAcquires()).isEqualTo(0);
+			assertThat(metrics.getMaxConnections()).isEqualTo(5);
+		}
+		finally {
+			httpClient.stop();
+		}
+	}
+
+	@Test
+	void httpComponentsConnectionPoolMetrics() throws Exception {
+		PoolingAsyncClientConnectionManager connectionManager =
+				PoolingAsyncClientConnectionManagerBuilder.create().setMaxConnTotal(5).build();
+		CloseableHttpAsyncClient client = HttpAsyncClients.custom().setConnectionManager(connectionManager).build();
+		HttpComponentsClientHttpConnector connector = new HttpComponentsClientHttpConnector(client);
+		try {
+			assertThat(connector.getConnectionPoolMetrics()).isNull();
+			connector.setConnectionPool(connectionManager);
+			ClientHttpConnectionPoolMetrics metrics = connector.getConnectionPoolMetrics();
+			assertThat(metrics).isNotNull();
+			assertThat(metrics.getActiveConnections()).isEqualTo(0);
+			assertThat(metrics.getIdleConnections()).isEqualTo(0);
+			assertThat(metrics.getPendingAcquires()).isEqualTo(0);
+			assertThat(metrics.getMaxConnections()).isEqualTo(5);
+
+			exchange(connector);
+
+			assertThat(metrics.getActiveConnections() + metrics.getIdleConnections()).isEqualTo(1);
+			assertThat(metrics.getPendingAcquires()).isEqualTo(0);
+			assertThat(metrics.getMaxConnections()).isEqualTo(5);
+		}
+		finally {
+			client.close();
+		}
+	}
+
+	private void exchange(ClientHttpConnector connector) {
+		prepareResponse(response -> response.setBody("foo"));
+		Mono<String> result = connector.connect(HttpMethod.GET, this.server.url("/").uri(),
+				ReactiveHttpOutputMessage::setComplete)
+				.flatMap(response -> DataBufferUtils.join(response.getBody()))
+				.map(buffer -> {
+					String s = buffer.toString(StandardCharsets.UTF_8);
+					DataBufferUtils.release(buffer);
+					return s;
+				});
+		StepVerifier.create(result).expectNext("foo").verifyComplete();
+	}
+
+	private static void setPhaseListener(ClientHttpConnector connector, ClientHttpPhaseListener listener) {
+		if (connector instanceof ReactorClientHttpConnector) {
+			((ReactorClientHttpConnector) connector).setPhaseListener(listener);
+		}
+		else if (connector instanceof JettyClientHttpConnector) {
+			((JettyClientHttpConnector) connector).setPhaseListener(listener);
+		}
+		else if (connector instanceof HttpComponentsClientHttpConnector) {
+			((HttpComponentsClientHttpConnector) connector).setPhaseListener(listener);
+		}
+	}
+
 	@NonNull
 	private Buffer randomBody(int size) {
 		Buffer responseBody = new Buffer();
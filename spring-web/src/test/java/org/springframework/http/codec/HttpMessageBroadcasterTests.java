@@ -0,0 +1,123 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http.codec;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.ReactiveHttpOutputMessage;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.lang.Nullable;
+import org.springframework.web.testfixture.xml.Pojo;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link HttpMessageBroadcaster}.
+ *
+ * @author agent
+ */
+class HttpMessageBroadcasterTests {
+
+	private static final ResolvableType SSE_TYPE =
+			ResolvableType.forClassWithGenerics(ServerSentEvent.class, String.class);
+
+
+	@Test
+	void serverSentEvents() {
+		CountingWriter writer = new CountingWriter();
+		HttpMessageBroadcaster<ServerSentEvent<String>> broadcaster =
+				new HttpMessageBroadcaster<>(writer, SSE_TYPE, MediaType.TEXT_EVENT_STREAM, 16);
+
+		Flux<String> first = broadcaster.subscribe(DefaultDataBufferFactory.sharedInstance).map(this::string);
+		Flux<String> second = broadcaster.subscribe(DefaultDataBufferFactory.sharedInstance).map(this::string);
+		ServerSentEvent<String> event = ServerSentEvent.builder("foo").id("1").build();
+
+		StepVerifier.create(Flux.merge(first, second).take(2))
+				.then(() -> broadcaster.publish(event).block())
+				.expectNext("id:1\ndata:foo\n\n")
+				.expectNext("id:1\ndata:foo\n\n")
+				.verifyComplete();
+
+		assertThat(writer.count.get()).isEqualTo(1);
+		assertThat(broadcaster.getSubscriberCount()).isEqualTo(0);
+	}
+
+	@Test
+	void streamingJson() {
+		HttpMessageBroadcaster<Pojo> broadcaster = new HttpMessageBroadcaster<>(
+				new EncoderHttpMessageWriter<>(new Jackson2JsonEncoder()),
+				ResolvableType.forClass(Pojo.class), MediaType.APPLICATION_STREAM_JSON, 16);
+
+		StepVerifier.create(broadcaster.subscribe(DefaultDataBufferFactory.sharedInstance).map(this::string))
+				.then(() -> broadcaster.publish(new Pojo("foo", "bar")).block())
+				.expectNext("{\"foo\":\"foo\",\"bar\":\"bar\"}\n")
+				.thenCancel()
+				.verify();
+	}
+
+	@Test
+	void slowSubscriberEvicted() {
+		HttpMessageBroadcaster<ServerSentEvent<String>> broadcaster = new HttpMessageBroadcaster<>(
+				new ServerSentEventHttpMessageWriter(), SSE_TYPE, MediaType.TEXT_EVENT_STREAM, 1);
+
+		Flux<String> fast = broadcaster.subscribe(DefaultDataBufferFactory.sharedInstance).map(this::string);
+		Flux<String> slow = broadcaster.subscribe(DefaultDataBufferFactory.sharedInstance).map(this::string);
+
+		StepVerifier.create(slow, 0)
+				.then(() -> StepVerifier.create(fast.take(2))
+						.then(() -> {
+							broadcaster.publish(ServerSentEvent.builder("foo").build()).block();
+							broadcaster.publish(ServerSentEvent.builder("bar").build()).block();
+						})
+						.expectNext("data:foo\n\n", "data:bar\n\n")
+						.verifyComplete())
+				.verifyComplete();
+
+		assertThat(broadcaster.getSubscriberCount()).isEqualTo(0);
+	}
+
+	private String string(DataBuffer buffer) {
+		return buffer.toString(UTF_8);
+	}
+
+
+	private static class CountingWriter extends ServerSentEventHttpMessageWriter {
+
+		private final AtomicInteger count = new AtomicInteger();
+
+		@Override
+		public Mono<Void> write(Publisher<?> input, ResolvableType elementType, @Nullable MediaType mediaType,
+				ReactiveHttpOutputMessage message, Map<String, Object> hints) {
+
+			this.count.incrementAndGet();
+			return super.write(input, elementType, mediaType, message, hints);
+		}
+	}
+
+}
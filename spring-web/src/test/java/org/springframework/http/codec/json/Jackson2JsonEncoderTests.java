@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -154,6 +154,20 @@ public class Jackson2JsonEncoderTests extends AbstractEncoderTests<Jackson2JsonE
 	}
 
 
+	@Test
+	public void encodeStreamSubscribedTwice() {
+		Flux<Pojo> input = Flux.just(new Pojo("foo", "bar"), new Pojo("foofoo", "barbar"));
+		Flux<DataBuffer> output = this.encoder.encode(input, this.bufferFactory,
+				ResolvableType.forClass(Pojo.class), APPLICATION_STREAM_JSON, null);
+
+		for (int i = 0; i < 2; i++) {
+			StepVerifier.create(output)
+					.consumeNextWith(expectString("{\"foo\":\"foo\",\"bar\":\"bar\"}\n"))
+					.consumeNextWith(expectString("{\"foo\":\"foofoo\",\"bar\":\"barbar\"}\n"))
+					.verifyComplete();
+		}
+	}
+
 	@Test  // SPR-15727
 	public void encodeAsStreamWithCustomStreamingType() {
 		MediaType fooMediaType = new MediaType("application", "foo");
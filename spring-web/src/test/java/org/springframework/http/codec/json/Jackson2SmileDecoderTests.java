@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -79,6 +79,23 @@ public class Jackson2SmileDecoderTests extends AbstractDecoderTests<Jackson2Smil
 
 	}
 
+	@Test
+	public void decodeDocumentsInSingleBuffer() {
+		byte[] bytes1 = writeObject(this.pojo1);
+		byte[] bytes2 = writeObject(this.pojo2);
+		byte[] bytes = new byte[bytes1.length + bytes2.length];
+		System.arraycopy(bytes1, 0, bytes, 0, bytes1.length);
+		System.arraycopy(bytes2, 0, bytes, bytes1.length, bytes2.length);
+
+		Flux<DataBuffer> input = Flux.concat(dataBuffer(bytes), dataBuffer(writeObject(this.pojo1)));
+
+		testDecode(input, Pojo.class, step -> step
+				.expectNext(pojo1)
+				.expectNext(pojo2)
+				.expectNext(pojo1)
+				.verifyComplete());
+	}
+
 	private byte[] writeObject(Object o) {
 		try {
 			return this.mapper.writer().writeValueAsBytes(o);
@@ -48,6 +48,7 @@ import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.core.io.buffer.NettyDataBufferFactory;
 import org.springframework.http.MediaType;
 import org.springframework.lang.Nullable;
+import org.springframework.util.FileSystemUtils;
 import org.springframework.web.testfixture.http.server.reactive.MockServerHttpRequest;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
@@ -233,6 +234,27 @@ public class DefaultPartHttpMessageReaderTests  {
 		latch.await();
 	}
 
+	@Test
+	public void maxInMemorySizePerRequest() throws Exception {
+		Path directory = Files.createTempDirectory("DefaultPartHttpMessageReaderTests");
+		try {
+			DefaultPartHttpMessageReader reader = new DefaultPartHttpMessageReader();
+			reader.setMaxInMemorySize(1000);
+			reader.setMaxInMemorySizePerRequest(150);
+			reader.setFileStorageDirectory(directory);
+
+			testBrowser(reader, new ClassPathResource("firefox.multipart", getClass()),
+					"---------------------------18399284482060392383840973206");
+
+			try (Stream<Path> files = Files.list(directory)) {
+				assertThat(files.count()).isEqualTo(2);
+			}
+		}
+		finally {
+			FileSystemUtils.deleteRecursively(directory);
+		}
+	}
+
 	private void testBrowser(DefaultPartHttpMessageReader reader, Resource resource, String boundary)
 			throws InterruptedException {
 
@@ -362,10 +384,16 @@ public class DefaultPartHttpMessageReaderTests  {
 		onDisk.setStreaming(false);
 		onDisk.setMaxInMemorySize(100);
 
+		DefaultPartHttpMessageReader memoryBudget = new DefaultPartHttpMessageReader();
+		memoryBudget.setStreaming(false);
+		memoryBudget.setMaxInMemorySize(1000);
+		memoryBudget.setMaxInMemorySizePerRequest(150);
+
 		return Stream.of(
 				arguments("streaming", streaming),
 				arguments("in-memory", inMemory),
-				arguments("on-disk", onDisk)
+				arguments("on-disk", onDisk),
+				arguments("memory-budget", memoryBudget)
 				);
 	}
 
@@ -0,0 +1,217 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.http.server.reactive;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Processor;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link AbstractListenerServerHttpResponse}.
+ *
+ * @author agent
+ */
+public class ListenerServerHttpResponseTests {
+
+	private final TestListenerServerHttpResponse response = new TestListenerServerHttpResponse();
+
+
+	@Test
+	public void writeWithoutCoalescing() {
+		this.response.writeWith(Flux.just("a", "b", "c").map(this::buffer)).block();
+
+		assertThat(this.response.getWrites()).containsExactly(Arrays.asList("a", "b", "c"));
+	}
+
+	@Test
+	public void writeWithCoalescing() {
+		this.response.setWriteCoalescingSize(2);
+		this.response.writeWith(Flux.just("a", "b", "c", "dd", "e").map(this::buffer)).block();
+
+		assertThat(this.response.getWrites()).containsExactly(Arrays.asList("ab", "cdd", "e"));
+	}
+
+	@Test
+	public void writeAndFlushWithCoalescingWithinFlushBoundaries() {
+		this.response.setWriteCoalescingSize(10);
+		this.response.writeAndFlushWith(Flux.just(
+				Flux.just("a", "b").map(this::buffer),
+				Flux.just("c", "d", "e").map(this::buffer))).block();
+
+		assertThat(this.response.getWrites()).containsExactly(
+				Arrays.asList("ab"), Arrays.asList("cde"));
+	}
+
+	@Test
+	public void coalesceWithLatencyAndSlowConsumer() {
+		this.response.setWriteCoalescingSize(1000);
+		this.response.setWriteCoalescingLatency(Duration.ofMillis(5));
+		Flux<DataBuffer> body = Flux.range(0, 20)
+				.delayElements(Duration.ofMillis(2))
+				.map(i -> buffer(String.valueOf(i % 10)));
+
+		StepVerifier.create(this.response.coalesce(body), 0)
+				.expectSubscription()
+				.expectNoEvent(Duration.ofMillis(100))
+				.thenRequest(1)
+				.assertNext(buffer -> assertThat(buffer.readableByteCount()).isGreaterThan(0))
+				.expectNoEvent(Duration.ofMillis(50))
+				.thenRequest(Long.MAX_VALUE)
+				.thenConsumeWhile(buffer -> true)
+				.expectComplete()
+				.verify(Duration.ofSeconds(5));
+	}
+
+	@Test
+	public void coalesceWithLatencyKeepsContent() {
+		this.response.setWriteCoalescingSize(1000);
+		this.response.setWriteCoalescingLatency(Duration.ofMillis(5));
+		Flux<DataBuffer> body = Flux.range(0, 20)
+				.delayElements(Duration.ofMillis(1))
+				.map(i -> buffer(String.valueOf(i % 10)));
+
+		String content = this.response.coalesce(body)
+				.map(buffer -> buffer.toString(StandardCharsets.UTF_8))
+				.collect(Collectors.joining())
+				.block(Duration.ofSeconds(5));
+
+		assertThat(content).isEqualTo("01234567890123456789");
+	}
+
+	private DataBuffer buffer(String value) {
+		return DefaultDataBufferFactory.sharedInstance.wrap(value.getBytes(StandardCharsets.UTF_8));
+	}
+
+
+	private static class TestListenerServerHttpResponse extends AbstractListenerServerHttpResponse {
+
+		private final List<List<String>> writes = new ArrayList<>();
+
+		TestListenerServerHttpResponse() {
+			super(DefaultDataBufferFactory.sharedInstance);
+		}
+
+		public List<List<String>> getWrites() {
+			return this.writes;
+		}
+
+		@Override
+		public <T> T getNativeResponse() {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		protected void applyStatusCode() {
+		}
+
+		@Override
+		protected void applyHeaders() {
+		}
+
+		@Override
+		protected void applyCookies() {
+		}
+
+		@Override
+		protected Processor<? super Publisher<? extends DataBuffer>, Void> createBodyFlushProcessor() {
+			return new TestBodyFlushProcessor(this.writes);
+		}
+	}
+
+
+	/**
+	 * Records the buffers of each flush boundary, and completes once the
+	 * upstream completes.
+	 */
+	private static class TestBodyFlushProcessor implements Processor<Publisher<? extends DataBuffer>, Void> {
+
+		private final List<List<String>> writes;
+
+		private boolean completed;
+
+		private Subscriber<? super Void> subscriber;
+
+		TestBodyFlushProcessor(List<List<String>> writes) {
+			this.writes = writes;
+		}
+
+		@Override
+		public void onSubscribe(Subscription subscription) {
+			subscription.request(Long.MAX_VALUE);
+		}
+
+		@Override
+		public void onNext(Publisher<? extends DataBuffer> publisher) {
+			List<String> values = Flux.from(publisher)
+					.map(buffer -> {
+						String value = buffer.toString(StandardCharsets.UTF_8);
+						DataBufferUtils.release(buffer);
+						return value;
+					})
+					.collect(Collectors.toList())
+					.block();
+			this.writes.add(values);
+		}
+
+		@Override
+		public void onError(Throwable ex) {
+			throw new IllegalStateException(ex);
+		}
+
+		@Override
+		public void onComplete() {
+			this.completed = true;
+			if (this.subscriber != null) {
+				this.subscriber.onComplete();
+			}
+		}
+
+		@Override
+		public void subscribe(Subscriber<? super Void> subscriber) {
+			this.subscriber = subscriber;
+			subscriber.onSubscribe(new Subscription() {
+				@Override
+				public void request(long n) {
+				}
+				@Override
+				public void cancel() {
+				}
+			});
+			if (this.completed) {
+				subscriber.onComplete();
+			}
+		}
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,12 +16,18 @@
 
 package org.springframework.web.server.adapter;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.codec.ServerCodecConfigurer;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.i18n.AcceptHeaderLocaleContextResolver;
 import org.springframework.web.server.session.DefaultWebSessionManager;
+import org.springframework.web.server.session.WebSessionManager;
 import org.springframework.web.testfixture.http.server.reactive.MockServerHttpRequest;
 import org.springframework.web.testfixture.http.server.reactive.MockServerHttpResponse;
 
@@ -56,6 +62,55 @@ public class DefaultServerWebExchangeTests {
 		assertThat(exchange.transformUrl("/foo")).isEqualTo("/foo;p=abc?q=123");
 	}
 
+	@Test
+	public void logIdAttribute() {
+		MockServerHttpRequest request = MockServerHttpRequest.get("https://example.com").build();
+		ServerWebExchange exchange = createExchange(request);
+		assertThat((String) exchange.getAttribute(ServerWebExchange.LOG_ID_ATTRIBUTE)).isEqualTo(request.getId());
+		assertThat(exchange.getAttributes()).containsEntry(ServerWebExchange.LOG_ID_ATTRIBUTE, request.getId());
+		assertThat(exchange.getLogPrefix()).isEqualTo("[" + request.getId() + "] ");
+	}
+
+	@Test
+	public void attributes() {
+		ServerWebExchange exchange = createExchange();
+		assertThat((Object) exchange.getAttribute("foo")).isNull();
+		assertThat(exchange.getAttributeOrDefault("foo", "bar")).isEqualTo("bar");
+		exchange.getAttributes().put("foo", "baz");
+		assertThat((String) exchange.getAttribute("foo")).isEqualTo("baz");
+		assertThat(exchange.getAttributeOrDefault("foo", "bar")).isEqualTo("baz");
+	}
+
+	@Test
+	public void sessionInitializedOnFirstAccess() {
+		AtomicInteger count = new AtomicInteger();
+		WebSessionManager sessionManager = exchange -> {
+			count.incrementAndGet();
+			return Mono.empty();
+		};
+		ServerWebExchange exchange = new DefaultServerWebExchange(
+				MockServerHttpRequest.get("https://example.com").build(), new MockServerHttpResponse(),
+				sessionManager, ServerCodecConfigurer.create(), new AcceptHeaderLocaleContextResolver());
+		assertThat(count.get()).isEqualTo(0);
+
+		assertThat(exchange.getSession()).isSameAs(exchange.getSession());
+		assertThat(count.get()).isEqualTo(1);
+	}
+
+	@Test
+	public void formDataInitializedOnFirstAccess() {
+		MockServerHttpRequest request = MockServerHttpRequest.post("https://example.com")
+				.contentType(MediaType.APPLICATION_FORM_URLENCODED)
+				.body("foo=bar");
+		ServerWebExchange exchange = createExchange(request);
+
+		assertThat(exchange.getFormData()).isSameAs(exchange.getFormData());
+		StepVerifier.create(exchange.getFormData())
+				.consumeNextWith(formData -> assertThat(formData.getFirst("foo")).isEqualTo("bar"))
+				.verifyComplete();
+		assertThat(exchange.getMultipartData()).isSameAs(exchange.getMultipartData());
+	}
+
 
 	private DefaultServerWebExchange createExchange() {
 		MockServerHttpRequest request = MockServerHttpRequest.get("https://example.com").build();
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.reactive.function.client;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import org.springframework.util.Assert;
+
+/**
+ * {@link ExchangeFilterFunction} that isolates the exchanges passing through
+ * it in a bulkhead: at most a fixed number run concurrently, a bounded number
+ * more wait in line for a slot, and any further ones are rejected with a
+ * {@link RequestRejectedException}.
+ *
+ * @author agent
+ * @since 5.3
+ * @see ExchangeFilterFunctions#bulkhead(int, int)
+ */
+final class BulkheadExchangeFilterFunction implements ExchangeFilterFunction {
+
+	private final int maxConcurrentRequests;
+
+	private final int maxQueuedRequests;
+
+	private final Deque<MonoSink<Permit>> waiting = new ArrayDeque<>();
+
+	private int available;
+
+
+	BulkheadExchangeFilterFunction(int maxConcurrentRequests, int maxQueuedRequests) {
+		Assert.isTrue(maxConcurrentRequests > 0, "Max concurrent requests must be greater than 0");
+		Assert.isTrue(maxQueuedRequests >= 0, "Max queued requests must not be negative");
+		this.maxConcurrentRequests = maxConcurrentRequests;
+		this.maxQueuedRequests = maxQueuedRequests;
+		this.available = maxConcurrentRequests;
+	}
+
+
+	@Override
+	public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+		return Mono.create(this::acquire)
+				.flatMap(permit -> next.exchange(request).doFinally(signal -> permit.release()))
+				.doOnDiscard(Permit.class, Permit::release);
+	}
+
+	private void acquire(MonoSink<Permit> sink) {
+		sink.onCancel(() -> {
+			synchronized (this.waiting) {
+				this.waiting.remove(sink);
+			}
+		});
+		boolean granted = false;
+		synchronized (this.waiting) {
+			if (this.available > 0) {
+				this.available--;
+				granted = true;
+			}
+			else if (this.waiting.size() < this.maxQueuedRequests) {
+				this.waiting.add(sink);
+				return;
+			}
+		}
+		if (granted) {
+			sink.success(new Permit());
+		}
+		else {
+			sink.error(new RequestRejectedException("Bulkhead full: " + this.maxConcurrentRequests +
+					" concurrent and " + this.maxQueuedRequests + " queued requests"));
+		}
+	}
+
+	private void release() {
+		MonoSink<Permit> next;
+		synchronized (this.waiting) {
+			next = this.waiting.poll();
+			if (next == null) {
+				this.available++;
+				return;
+			}
+		}
+		next.success(new Permit());
+	}
+
+
+	/**
+	 * A slot in the bulkhead, returned at most once.
+	 */
+	private class Permit {
+
+		private final AtomicBoolean released = new AtomicBoolean();
+
+		void release() {
+			if (this.released.compareAndSet(false, true)) {
+				BulkheadExchangeFilterFunction.this.release();
+			}
+		}
+	}
+
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.reactive.function.client;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import reactor.core.publisher.Mono;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.util.Assert;
+
+/**
+ * {@link ExchangeFilterFunction} that limits the number of concurrent
+ * exchanges per host, adapting each limit with an additive increase,
+ * multiplicative decrease (AIMD) scheme: a timely, successful response raises
+ * the limit by one per round of requests, while an error, a slow response or
+ * a {@code 429} or {@code 503} status multiplies it by a backoff ratio.
+ *
+ * @author agent
+ * @since 5.3
+ * @see ExchangeFilterFunctions#concurrencyLimit(int, int, Duration)
+ */
+final class ConcurrencyLimitExchangeFilterFunction implements ExchangeFilterFunction {
+
+	private static final double BACKOFF_RATIO = 0.9;
+
+
+	private final int initialLimit;
+
+	private final int maxLimit;
+
+	private final long latencyThresholdNanos;
+
+	private final Map<String, Limit> limits = new ConcurrentHashMap<>();
+
+
+	ConcurrencyLimitExchangeFilterFunction(int initialLimit, int maxLimit, Duration latencyThreshold) {
+		Assert.isTrue(initialLimit > 0, "Initial limit must be greater than 0");
+		Assert.isTrue(maxLimit >= initialLimit, "Maximum limit must not be less than the initial limit");
+		this.initialLimit = initialLimit;
+		this.maxLimit = maxLimit;
+		this.latencyThresholdNanos = latencyThreshold.toNanos();
+	}
+
+
+	@Override
+	public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+		String host = getHost(request.url());
+		Limit limit = this.limits.computeIfAbsent(host, key -> new Limit(this.initialLimit, this.maxLimit));
+		return Mono.defer(() -> {
+			if (!limit.tryAcquire()) {
+				return Mono.error(new RequestRejectedException(
+						"Concurrency limit of " + limit.getLimit() + " reached for " + host));
+			}
+			long start = System.nanoTime();
+			AtomicBoolean released = new AtomicBoolean();
+			return next.exchange(request)
+					.doOnSuccess(response -> {
+						if (released.compareAndSet(false, true)) {
+							if (response != null && !isOverloaded(response) &&
+									System.nanoTime() - start <= this.latencyThresholdNanos) {
+								limit.increase();
+							}
+							else {
+								limit.decrease();
+							}
+						}
+					})
+					.doOnError(ex -> {
+						if (released.compareAndSet(false, true)) {
+							limit.decrease();
+						}
+					})
+					.doOnCancel(() -> {
+						if (released.compareAndSet(false, true)) {
+							limit.release();
+						}
+					});
+		});
+	}
+
+	/**
+	 * Return the current limit for the given host, for testing purposes.
+	 */
+	int getLimit(String host) {
+		Limit limit = this.limits.get(host);
+		return (limit != null ? limit.getLimit() : this.initialLimit);
+	}
+
+	static String getHost(URI url) {
+		return url.getHost() + ":" + url.getPort();
+	}
+
+	private static boolean isOverloaded(ClientResponse response) {
+		int status = response.rawStatusCode();
+		return (status == HttpStatus.TOO_MANY_REQUESTS.value() || status == HttpStatus.SERVICE_UNAVAILABLE.value());
+	}
+
+
+	/**
+	 * The adaptive limit and in-flight count of a single host.
+	 */
+	private static class Limit {
+
+		private final int maxLimit;
+
+		private double limit;
+
+		private int inFlight;
+
+		Limit(int initialLimit, int maxLimit) {
+			this.limit = initialLimit;
+			this.maxLimit = maxLimit;
+		}
+
+		synchronized int getLimit() {
+			return (int) this.limit;
+		}
+
+		synchronized boolean tryAcquire() {
+			if (this.inFlight >= (int) this.limit) {
+				return false;
+			}
+			this.inFlight++;
+			return true;
+		}
+
+		synchronized void increase() {
+			this.inFlight--;
+			this.limit = Math.min(this.maxLimit, this.limit + 1 / this.limit);
+		}
+
+		synchronized void decrease() {
+			this.inFlight--;
+			this.limit = Math.max(1, this.limit * BACKOFF_RATIO);
+		}
+
+		synchronized void release() {
+			this.inFlight--;
+		}
+	}
+
+}
@@ -17,6 +17,7 @@
 package org.springframework.web.reactive.function.client;
 
 import java.nio.charset.Charset;
+import java.time.Duration;
 import java.util.Map;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -128,6 +129,57 @@ public abstract class ExchangeFilterFunctions {
 		};
 	}
 
+	/**
+	 * Return a filter that hedges safe requests ({@code GET}, {@code HEAD} and
+	 * {@code OPTIONS}): if no response has arrived after a delay, a second copy
+	 * of the request is sent, and whichever exchange loses is cancelled.
+	 * <p>The delay tracks the given percentile of recently observed latencies,
+	 * so that only the slowest requests are duplicated; it never falls below
+	 * {@code minDelay}, which is also used until enough latencies have been
+	 * observed. The filter keeps state, so the same instance should be shared
+	 * by all requests to a service, e.g. via {@link WebClient.Builder#filter}.
+	 * @param percentile the latency percentile that triggers a hedged request,
+	 * between 0 and 1 (e.g. 0.95)
+	 * @param minDelay the minimum delay before sending a hedged request
+	 * @return the filter to hedge requests with
+	 * @since 5.3
+	 */
+	public static ExchangeFilterFunction hedge(double percentile, Duration minDelay) {
+		return new HedgingExchangeFilterFunction(percentile, minDelay);
+	}
+
+	/**
+	 * Return a filter that limits the number of concurrent exchanges per host,
+	 * and rejects requests beyond the limit with a {@link RequestRejectedException}.
+	 * <p>Each limit adapts to the host: it grows additively while responses
+	 * arrive within {@code latencyThreshold}, and shrinks multiplicatively on
+	 * errors, slower responses, and {@code 429} or {@code 503} statuses. An
+	 * exchange counts against the limit until its response headers arrive.
+	 * @param initialLimit the initial limit for each host
+	 * @param maxLimit the maximum limit for each host
+	 * @param latencyThreshold the latency above which a response is treated as
+	 * a sign of overload
+	 * @return the filter to limit concurrency with
+	 * @since 5.3
+	 */
+	public static ExchangeFilterFunction concurrencyLimit(int initialLimit, int maxLimit, Duration latencyThreshold) {
+		return new ConcurrencyLimitExchangeFilterFunction(initialLimit, maxLimit, latencyThreshold);
+	}
+
+	/**
+	 * Return a filter that runs at most {@code maxConcurrentRequests} exchanges
+	 * at a time, queues up to {@code maxQueuedRequests} more, and rejects any
+	 * further ones with a {@link RequestRejectedException}. An exchange holds
+	 * its slot until its response headers arrive.
+	 * @param maxConcurrentRequests the maximum number of concurrent exchanges
+	 * @param maxQueuedRequests the maximum number of exchanges waiting for a slot
+	 * @return the filter to isolate exchanges with
+	 * @since 5.3
+	 */
+	public static ExchangeFilterFunction bulkhead(int maxConcurrentRequests, int maxQueuedRequests) {
+		return new BulkheadExchangeFilterFunction(maxConcurrentRequests, maxQueuedRequests);
+	}
+
 
 	/**
 	 * Stores username and password for HTTP basic authentication.
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.reactive.function.client;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.util.Assert;
+
+/**
+ * {@link ExchangeFilterFunction} that sends a second, hedged copy of a safe
+ * request if no response has arrived within a delay derived from recently
+ * observed latencies, and cancels whichever of the two exchanges loses.
+ *
+ * @author agent
+ * @since 5.3
+ * @see ExchangeFilterFunctions#hedge(double, Duration)
+ */
+final class HedgingExchangeFilterFunction implements ExchangeFilterFunction {
+
+	private static final Set<HttpMethod> SAFE_METHODS =
+			EnumSet.of(HttpMethod.GET, HttpMethod.HEAD, HttpMethod.OPTIONS);
+
+	private static final int MAX_SAMPLES = 128;
+
+	private static final int MIN_SAMPLES = 16;
+
+
+	private final double percentile;
+
+	private final long minDelayNanos;
+
+	private final long[] samples = new long[MAX_SAMPLES];
+
+	private int sampleCount;
+
+	private int sampleIndex;
+
+
+	HedgingExchangeFilterFunction(double percentile, Duration minDelay) {
+		Assert.isTrue(percentile > 0 && percentile < 1, "Percentile must be between 0 and 1");
+		Assert.isTrue(!minDelay.isNegative(), "Minimum delay must not be negative");
+		this.percentile = percentile;
+		this.minDelayNanos = minDelay.toNanos();
+	}
+
+
+	@Override
+	public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+		if (!SAFE_METHODS.contains(request.method())) {
+			return next.exchange(request);
+		}
+		return Mono.defer(() -> {
+			long start = System.nanoTime();
+			// A winning primary is cancelled by next() after its response:
+			// make sure to sample each primary exchange once only
+			AtomicBoolean sampled = new AtomicBoolean();
+			Runnable sample = () -> {
+				if (sampled.compareAndSet(false, true)) {
+					recordLatency(System.nanoTime() - start);
+				}
+			};
+			Mono<ClientResponse> primary = next.exchange(request)
+					.doOnNext(response -> sample.run())
+					.doOnCancel(sample);
+			Mono<ClientResponse> hedge = Mono.delay(Duration.ofNanos(getDelayNanos()))
+					.flatMap(tick -> next.exchange(request));
+			return Flux.merge(primary, hedge)
+					.next()
+					.doOnDiscard(ClientResponse.class, response -> response.releaseBody().subscribe());
+		});
+	}
+
+	/**
+	 * Return the delay after which to send the hedged request: the configured
+	 * percentile of the recent primary latencies, but no less than the minimum
+	 * delay. Primary exchanges cancelled because the hedge won are sampled at
+	 * the time of cancellation, which keeps the estimate from drifting down.
+	 */
+	long getDelayNanos() {
+		long[] sorted;
+		synchronized (this.samples) {
+			if (this.sampleCount < MIN_SAMPLES) {
+				return this.minDelayNanos;
+			}
+			sorted = Arrays.copyOf(this.samples, this.sampleCount);
+		}
+		Arrays.sort(sorted);
+		int index = (int) Math.ceil(this.percentile * sorted.length) - 1;
+		return Math.max(this.minDelayNanos, sorted[Math.max(index, 0)]);
+	}
+
+	/**
+	 * Return the number of latency samples currently held.
+	 */
+	int getSampleCount() {
+		synchronized (this.samples) {
+			return this.sampleCount;
+		}
+	}
+
+	private void recordLatency(long nanos) {
+		synchronized (this.samples) {
+			this.samples[this.sampleIndex] = nanos;
+			this.sampleIndex = (this.sampleIndex + 1) % MAX_SAMPLES;
+			if (this.sampleCount < MAX_SAMPLES) {
+				this.sampleCount++;
+			}
+		}
+	}
+
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.reactive.function.client;
+
+/**
+ * Exception published when a request is rejected by a client-side limit, such
+ * as {@link ExchangeFilterFunctions#concurrencyLimit} or
+ * {@link ExchangeFilterFunctions#bulkhead}, without being sent.
+ *
+ * @author agent
+ * @since 5.3
+ */
+public class RequestRejectedException extends WebClientException {
+
+	private static final long serialVersionUID = -2383497587946302342L;
+
+
+	/**
+	 * Construct a new instance of {@code RequestRejectedException} with the given message.
+	 * @param msg the message
+	 */
+	public RequestRejectedException(String msg) {
+		super(msg);
+	}
+
+}
@@ -0,0 +1,345 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.reactive.function.server;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Function;
+
+import reactor.core.publisher.Mono;
+
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.lang.Nullable;
+
+/**
+ * Necessary condition for a router function to match a request, in terms of
+ * the HTTP methods and the first literal path segment it can match. Used by
+ * {@link RouterFunctions#optimize(RouterFunction)} to index routes.
+ *
+ * <p>Keys are derived from the logical structure of request predicates, as
+ * exposed through {@link RequestPredicates.Visitor}. Predicates that cannot be
+ * analyzed (e.g. custom predicates, or negations) result in a key that
+ * matches any request.
+ *
+ * @author agent
+ * @since 5.3
+ */
+final class RouteKey {
+
+	/**
+	 * Key that matches any request.
+	 */
+	static final RouteKey ANY = new RouteKey(null, null);
+
+
+	@Nullable
+	private final Set<HttpMethod> methods;
+
+	@Nullable
+	private final String pathSegment;
+
+
+	private RouteKey(@Nullable Set<HttpMethod> methods, @Nullable String pathSegment) {
+		this.methods = methods;
+		this.pathSegment = pathSegment;
+	}
+
+
+	/**
+	 * Return the lower-case first path segment that requests must have, or
+	 * {@code null} if any path can match.
+	 */
+	@Nullable
+	public String getPathSegment() {
+		return this.pathSegment;
+	}
+
+	/**
+	 * Whether a request with the given method can match this key.
+	 * @param method the resolved request method, or {@code null} if unknown
+	 */
+	public boolean matchesMethod(@Nullable HttpMethod method) {
+		return (this.methods == null || (method != null && this.methods.contains(method)));
+	}
+
+	/**
+	 * Whether a request with the given first path segment can match this key.
+	 * @param pathSegment the lower-case first path segment
+	 */
+	public boolean matchesPathSegment(String pathSegment) {
+		return (this.pathSegment == null || this.pathSegment.equals(pathSegment));
+	}
+
+	/**
+	 * Combine with the given key for a logical AND of both conditions.
+	 */
+	public RouteKey and(RouteKey other) {
+		Set<HttpMethod> methods;
+		if (this.methods != null && other.methods != null) {
+			methods = EnumSet.noneOf(HttpMethod.class);
+			methods.addAll(this.methods);
+			methods.retainAll(other.methods);
+		}
+		else {
+			methods = (this.methods != null ? this.methods : other.methods);
+		}
+		String pathSegment = (this.pathSegment != null ? this.pathSegment : other.pathSegment);
+		return new RouteKey(methods, pathSegment);
+	}
+
+	/**
+	 * Combine with the given key for a logical OR of both conditions.
+	 */
+	public RouteKey or(RouteKey other) {
+		Set<HttpMethod> methods = null;
+		if (this.methods != null && other.methods != null) {
+			methods = EnumSet.noneOf(HttpMethod.class);
+			methods.addAll(this.methods);
+			methods.addAll(other.methods);
+		}
+		String pathSegment = (this.pathSegment != null && this.pathSegment.equals(other.pathSegment) ?
+				this.pathSegment : null);
+		return new RouteKey(methods, pathSegment);
+	}
+
+	@Override
+	public String toString() {
+		return "RouteKey[methods=" + this.methods + ", pathSegment=" + this.pathSegment + "]";
+	}
+
+
+	/**
+	 * Return the key for the given router function, i.e. the condition that
+	 * applies to all of its top-level routes.
+	 */
+	public static RouteKey of(RouterFunction<?> routerFunction) {
+		RouterFunctionVisitor visitor = new RouterFunctionVisitor();
+		routerFunction.accept(visitor);
+		return visitor.getKey();
+	}
+
+	/**
+	 * Return the key for the given request predicate.
+	 */
+	public static RouteKey of(RequestPredicate predicate) {
+		PredicateVisitor visitor = new PredicateVisitor();
+		predicate.accept(visitor);
+		return visitor.getKey();
+	}
+
+	/**
+	 * Return the lower-case first path segment of the given path, or
+	 * {@code null} if the path does not start with a separator followed by
+	 * a segment.
+	 */
+	@Nullable
+	public static String firstPathSegment(PathContainer path) {
+		List<PathContainer.Element> elements = path.elements();
+		if (elements.size() > 1 && elements.get(0) instanceof PathContainer.Separator &&
+				elements.get(1) instanceof PathContainer.PathSegment) {
+			return ((PathContainer.PathSegment) elements.get(1)).valueToMatch().toLowerCase(Locale.ROOT);
+		}
+		return null;
+	}
+
+	/**
+	 * Return the lower-case first segment of the given pattern if it is a
+	 * plain literal, or {@code null} otherwise.
+	 */
+	@Nullable
+	static String literalPathSegment(String pattern) {
+		if (!pattern.startsWith("/")) {
+			return null;
+		}
+		int end = pattern.indexOf('/', 1);
+		String segment = (end != -1 ? pattern.substring(1, end) : pattern.substring(1));
+		if (segment.isEmpty()) {
+			return null;
+		}
+		for (int i = 0; i < segment.length(); i++) {
+			char c = segment.charAt(i);
+			if (!Character.isLetterOrDigit(c) && c != '-' && c != '_' && c != '.' && c != '~') {
+				return null;
+			}
+		}
+		return segment.toLowerCase(Locale.ROOT);
+	}
+
+
+	/**
+	 * Collects the keys of top-level routes, ignoring the routes within nested
+	 * router functions, as those are covered by the nested predicate.
+	 */
+	private static class RouterFunctionVisitor implements RouterFunctions.Visitor {
+
+		@Nullable
+		private RouteKey key;
+
+		private int depth;
+
+		public RouteKey getKey() {
+			return (this.key != null ? this.key : ANY);
+		}
+
+		@Override
+		public void startNested(RequestPredicate predicate) {
+			if (this.depth++ == 0) {
+				add(RouteKey.of(predicate));
+			}
+		}
+
+		@Override
+		public void endNested(RequestPredicate predicate) {
+			this.depth--;
+		}
+
+		@Override
+		public void route(RequestPredicate predicate, HandlerFunction<?> handlerFunction) {
+			if (this.depth == 0) {
+				add(RouteKey.of(predicate));
+			}
+		}
+
+		@Override
+		public void resources(Function<ServerRequest, Mono<Resource>> lookupFunction) {
+			if (this.depth == 0) {
+				add(ANY);
+			}
+		}
+
+		@Override
+		public void unknown(RouterFunction<?> routerFunction) {
+			if (this.depth == 0) {
+				add(ANY);
+			}
+		}
+
+		private void add(RouteKey key) {
+			this.key = (this.key != null ? this.key.or(key) : key);
+		}
+	}
+
+
+	/**
+	 * Derives a key from the logical structure of a request predicate.
+	 */
+	private static class PredicateVisitor implements RequestPredicates.Visitor {
+
+		private final Deque<List<RouteKey>> operands = new ArrayDeque<>();
+
+		private RouteKey key = ANY;
+
+		public RouteKey getKey() {
+			return this.key;
+		}
+
+		@Override
+		public void method(Set<HttpMethod> methods) {
+			add(new RouteKey(EnumSet.copyOf(methods), null));
+		}
+
+		@Override
+		public void path(String pattern) {
+			add(new RouteKey(null, literalPathSegment(pattern)));
+		}
+
+		@Override
+		public void pathExtension(String extension) {
+			add(ANY);
+		}
+
+		@Override
+		public void header(String name, String value) {
+			add(ANY);
+		}
+
+		@Override
+		public void queryParam(String name, String value) {
+			add(ANY);
+		}
+
+		@Override
+		public void startAnd() {
+			this.operands.push(new ArrayList<>(2));
+		}
+
+		@Override
+		public void and() {
+		}
+
+		@Override
+		public void endAnd() {
+			RouteKey result = null;
+			for (RouteKey operand : this.operands.pop()) {
+				result = (result != null ? result.and(operand) : operand);
+			}
+			add(result != null ? result : ANY);
+		}
+
+		@Override
+		public void startOr() {
+			this.operands.push(new ArrayList<>(2));
+		}
+
+		@Override
+		public void or() {
+		}
+
+		@Override
+		public void endOr() {
+			RouteKey result = null;
+			for (RouteKey operand : this.operands.pop()) {
+				result = (result != null ? result.or(operand) : operand);
+			}
+			add(result != null ? result : ANY);
+		}
+
+		@Override
+		public void startNegate() {
+			this.operands.push(new ArrayList<>(1));
+		}
+
+		@Override
+		public void endNegate() {
+			this.operands.pop();
+			add(ANY);
+		}
+
+		@Override
+		public void unknown(RequestPredicate predicate) {
+			add(ANY);
+		}
+
+		private void add(RouteKey key) {
+			List<RouteKey> current = this.operands.peek();
+			if (current != null) {
+				current.add(key);
+			}
+			else {
+				this.key = key;
+			}
+		}
+	}
+
+}
@@ -52,6 +52,11 @@ public class RouterFunctionMapping extends AbstractHandlerMapping implements Ini
 	@Nullable
 	private RouterFunction<?> routerFunction;
 
+	@Nullable
+	private RouterFunction<?> optimizedRouterFunction;
+
+	private boolean optimizeRoutes = false;
+
 	private List<HttpMessageReader<?>> messageReaders = Collections.emptyList();
 
 
@@ -85,6 +90,27 @@ public class RouterFunctionMapping extends AbstractHandlerMapping implements Ini
 		return this.routerFunction;
 	}
 
+	/**
+	 * Set whether to index the router function with
+	 * {@link RouterFunctions#optimize(RouterFunction)} on initialization, so
+	 * that only candidate routes are tested for each request, rather than
+	 * every route in turn.
+	 * <p>The default is "false". {@link #getRouterFunction()} returns the
+	 * original router function either way.
+	 * @since 5.3
+	 */
+	public void setOptimizeRoutes(boolean optimizeRoutes) {
+		this.optimizeRoutes = optimizeRoutes;
+	}
+
+	/**
+	 * Return whether the router function is indexed on initialization.
+	 * @since 5.3
+	 */
+	public boolean isOptimizeRoutes() {
+		return this.optimizeRoutes;
+	}
+
 	/**
 	 * Configure HTTP message readers to de-serialize the request body with.
 	 * <p>By default this is set to the {@link ServerCodecConfigurer}'s defaults.
@@ -105,6 +131,9 @@ public class RouterFunctionMapping extends AbstractHandlerMapping implements Ini
 		}
 		if (this.routerFunction != null) {
 			RouterFunctions.changeParser(this.routerFunction, getPathPatternParser());
+			if (this.optimizeRoutes) {
+				this.optimizedRouterFunction = RouterFunctions.optimize(this.routerFunction);
+			}
 		}
 
 	}
@@ -148,9 +177,11 @@ public class RouterFunctionMapping extends AbstractHandlerMapping implements Ini
 
 	@Override
 	protected Mono<?> getHandlerInternal(ServerWebExchange exchange) {
-		if (this.routerFunction != null) {
+		RouterFunction<?> routerFunction = (this.optimizedRouterFunction != null ?
+				this.optimizedRouterFunction : this.routerFunction);
+		if (routerFunction != null) {
 			ServerRequest request = ServerRequest.create(exchange, this.messageReaders);
-			return this.routerFunction.route(request)
+			return routerFunction.route(request)
 					.doOnNext(handler -> setAttributes(exchange.getAttributes(), request, handler));
 		}
 		else {
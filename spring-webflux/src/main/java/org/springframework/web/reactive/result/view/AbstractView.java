@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -85,6 +85,15 @@ public abstract class AbstractView implements View, BeanNameAware, ApplicationCo
 	}
 
 
+	/**
+	 * Return the {@link ReactiveAdapterRegistry} used to adapt asynchronous
+	 * model attributes.
+	 * @since 5.3
+	 */
+	protected ReactiveAdapterRegistry getReactiveAdapterRegistry() {
+		return this.adapterRegistry;
+	}
+
 	/**
 	 * Set the supported media types for this view.
 	 * <p>Default is {@code "text/html;charset=UTF-8"}.
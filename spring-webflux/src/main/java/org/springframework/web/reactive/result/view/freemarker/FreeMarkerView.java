@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,29 +18,50 @@ package org.springframework.web.reactive.result.view.freemarker;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
 import java.nio.charset.Charset;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Stream;
 
+import freemarker.core.Environment;
 import freemarker.core.ParseException;
 import freemarker.template.Configuration;
 import freemarker.template.DefaultObjectWrapperBuilder;
 import freemarker.template.ObjectWrapper;
 import freemarker.template.SimpleHash;
 import freemarker.template.Template;
+import freemarker.template.TemplateCollectionModel;
+import freemarker.template.TemplateHashModel;
+import freemarker.template.TemplateModel;
+import freemarker.template.TemplateModelException;
+import freemarker.template.TemplateModelIterator;
 import freemarker.template.Version;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.BeanFactoryUtils;
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
 import org.springframework.context.ApplicationContextException;
 import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.core.ReactiveAdapter;
+import org.springframework.core.ReactiveAdapterRegistry;
 import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
 import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.core.io.buffer.PooledDataBuffer;
 import org.springframework.http.MediaType;
@@ -90,6 +111,8 @@ public class FreeMarkerView extends AbstractUrlBasedView {
 
 	private boolean exposeSpringMacroHelpers = true;
 
+	private boolean streaming = false;
+
 
 	/**
 	 * Set the FreeMarker {@link Configuration} to be used by this view.
@@ -154,6 +177,40 @@ public class FreeMarkerView extends AbstractUrlBasedView {
 		this.exposeSpringMacroHelpers = exposeSpringMacroHelpers;
 	}
 
+	/**
+	 * Set whether to render the template progressively rather than only once
+	 * all asynchronous model attributes have been resolved.
+	 * <p>In streaming mode, asynchronous attributes are left unresolved, and
+	 * the template is processed on a {@link Schedulers#boundedElastic()
+	 * bounded elastic} thread as soon as rendering starts. Output is flushed to
+	 * the response whenever the template reaches an asynchronous attribute
+	 * that has not resolved yet, so that for instance the head section of a
+	 * page is sent right away. A single-value attribute is awaited where the
+	 * template first uses it, while a multi-value attribute, such as a
+	 * {@code Flux}, is exposed as a sequence that can be listed once, with
+	 * each element rendered and flushed as it arrives.
+	 * <p>Flushed output is only emitted on demand from the response, with the
+	 * template processing waiting for demand otherwise. If the response is
+	 * cancelled, the subscriptions to asynchronous attributes are cancelled
+	 * and template processing is interrupted.
+	 * <p>Note that no {@code BindingResult} is exposed for asynchronous
+	 * attributes in this mode.
+	 * <p>Default is {@code false}.
+	 * @since 5.3
+	 */
+	public void setStreaming(boolean streaming) {
+		this.streaming = streaming;
+	}
+
+	/**
+	 * Return whether the template is rendered progressively.
+	 * @since 5.3
+	 * @see #setStreaming(boolean)
+	 */
+	public boolean isStreaming() {
+		return this.streaming;
+	}
+
 
 	@Override
 	public void afterPropertiesSet() throws Exception {
@@ -238,10 +295,23 @@ public class FreeMarkerView extends AbstractUrlBasedView {
 		return super.getModelAttributes(model, exchange);
 	}
 
+	/**
+	 * In {@linkplain #setStreaming streaming mode}, leave asynchronous
+	 * attributes to be resolved while the template is rendered.
+	 */
+	@Override
+	protected Mono<Void> resolveAsyncAttributes(Map<String, Object> model, ServerWebExchange exchange) {
+		return (this.streaming ? Mono.empty() : super.resolveAsyncAttributes(model, exchange));
+	}
+
 	@Override
 	protected Mono<Void> renderInternal(Map<String, Object> renderAttributes,
 			@Nullable MediaType contentType, ServerWebExchange exchange) {
 
+		if (this.streaming) {
+			return renderStreaming(renderAttributes, contentType, exchange);
+		}
+
 		return exchange.getResponse().writeWith(Mono
 				.fromCallable(() -> {
 					// Expose all standard FreeMarker hash models.
@@ -272,6 +342,69 @@ public class FreeMarkerView extends AbstractUrlBasedView {
 				.doOnDiscard(PooledDataBuffer.class, DataBufferUtils::release));
 	}
 
+	private Mono<Void> renderStreaming(Map<String, Object> renderAttributes,
+			@Nullable MediaType contentType, ServerWebExchange exchange) {
+
+		Map<String, Object> attributes = new HashMap<>(renderAttributes.size());
+		Map<String, Object> asyncAttributes = new HashMap<>();
+		renderAttributes.forEach((name, value) -> {
+			if (getReactiveAdapterRegistry().getAdapter(null, value) != null) {
+				asyncAttributes.put(name, value);
+			}
+			else {
+				attributes.put(name, value);
+			}
+		});
+
+		DataBufferFactory bufferFactory = exchange.getResponse().bufferFactory();
+		Flux<DataBuffer> body = Flux.<DataBuffer>create(sink -> {
+					RenderControl control = new RenderControl();
+					SinkOutputStream outputStream = new SinkOutputStream(sink, bufferFactory);
+					sink.onRequest(n -> outputStream.signalDemand());
+					sink.onCancel(() -> {
+						control.cancel();
+						outputStream.signalDemand();
+					});
+
+					TemplateHashModel freeMarkerModel = new StreamingTemplateModel(
+							getTemplateModel(attributes, exchange), asyncAttributes,
+							getReactiveAdapterRegistry(), getObjectWrapper(), control);
+
+					if (logger.isDebugEnabled()) {
+						logger.debug(exchange.getLogPrefix() + "Rendering [" + getUrl() + "] progressively");
+					}
+
+					Locale locale = LocaleContextHolder.getLocale(exchange.getLocaleContext());
+					control.start();
+					try {
+						Writer writer = new OutputStreamWriter(outputStream, getCharset(contentType));
+						getTemplate(locale).process(freeMarkerModel, writer);
+						writer.flush();
+						sink.complete();
+					}
+					catch (IOException ex) {
+						outputStream.release();
+						if (!sink.isCancelled()) {
+							sink.error(new IllegalStateException(
+									"Could not render FreeMarker template for URL [" + getUrl() + "]", ex));
+						}
+					}
+					catch (Throwable ex) {
+						outputStream.release();
+						if (!sink.isCancelled()) {
+							sink.error(ex);
+						}
+					}
+					finally {
+						control.finish();
+					}
+				})
+				.subscribeOn(Schedulers.boundedElastic())
+				.doOnDiscard(PooledDataBuffer.class, DataBufferUtils::release);
+
+		return exchange.getResponse().writeAndFlushWith(body.map(Flux::just));
+	}
+
 	private Charset getCharset(@Nullable MediaType mediaType) {
 		return Optional.ofNullable(mediaType).map(MimeType::getCharset).orElse(getDefaultCharset());
 	}
@@ -312,4 +445,275 @@ public class FreeMarkerView extends AbstractUrlBasedView {
 				obtainConfiguration().getTemplate(getUrl(), locale));
 	}
 
+	/**
+	 * Flush the output of the template being processed on the current thread.
+	 */
+	private static void flushOutput() throws TemplateModelException {
+		Environment environment = Environment.getCurrentEnvironment();
+		if (environment != null) {
+			try {
+				environment.getOut().flush();
+			}
+			catch (IOException ex) {
+				throw new TemplateModelException("Failed to flush template output", ex);
+			}
+		}
+	}
+
+
+	/**
+	 * Template model that resolves asynchronous attributes only where the
+	 * template first uses them, flushing the output rendered so far before
+	 * waiting on them.
+	 */
+	private static class StreamingTemplateModel implements TemplateHashModel {
+
+		private final TemplateHashModel delegate;
+
+		private final Map<String, Object> asyncAttributes;
+
+		private final ReactiveAdapterRegistry adapterRegistry;
+
+		private final ObjectWrapper objectWrapper;
+
+		private final RenderControl control;
+
+		private final Map<String, TemplateModel> resolved = new HashMap<>();
+
+		StreamingTemplateModel(TemplateHashModel delegate, Map<String, Object> asyncAttributes,
+				ReactiveAdapterRegistry adapterRegistry, ObjectWrapper objectWrapper, RenderControl control) {
+
+			this.delegate = delegate;
+			this.asyncAttributes = asyncAttributes;
+			this.adapterRegistry = adapterRegistry;
+			this.objectWrapper = objectWrapper;
+			this.control = control;
+		}
+
+		@Override
+		@Nullable
+		public TemplateModel get(String key) throws TemplateModelException {
+			Object value = this.asyncAttributes.get(key);
+			if (value == null) {
+				return this.delegate.get(key);
+			}
+			if (this.resolved.containsKey(key)) {
+				return this.resolved.get(key);
+			}
+			ReactiveAdapter adapter = this.adapterRegistry.getAdapter(null, value);
+			Assert.state(adapter != null, "No ReactiveAdapter");
+			TemplateModel model;
+			if (adapter.isMultiValue()) {
+				Stream<?> elements = Flux.from(adapter.toPublisher(value)).toStream(1);
+				this.control.register(elements::close);
+				model = new StreamingCollectionModel(elements.iterator(), this.objectWrapper);
+			}
+			else {
+				flushOutput();
+				CompletableFuture<?> future = Mono.from(adapter.toPublisher(value)).toFuture();
+				this.control.register(() -> future.cancel(false));
+				Object result = await(future, key);
+				model = (result != null ? this.objectWrapper.wrap(result) : null);
+			}
+			this.resolved.put(key, model);
+			return model;
+		}
+
+		@Override
+		public boolean isEmpty() throws TemplateModelException {
+			return (this.delegate.isEmpty() && this.asyncAttributes.isEmpty());
+		}
+
+		@Nullable
+		private static Object await(CompletableFuture<?> future, String key) throws TemplateModelException {
+			try {
+				return future.get();
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				throw new TemplateModelException("Interrupted while waiting for attribute '" + key + "'", ex);
+			}
+			catch (CancellationException ex) {
+				throw new TemplateModelException("Attribute '" + key + "' was cancelled", ex);
+			}
+			catch (ExecutionException ex) {
+				throw new TemplateModelException("Failed to resolve attribute '" + key + "'", ex.getCause());
+			}
+		}
+	}
+
+
+	/**
+	 * Sequence over the elements of a multi-value attribute as they arrive,
+	 * flushing the output rendered so far before waiting on each one.
+	 */
+	private static class StreamingCollectionModel implements TemplateCollectionModel {
+
+		private final Iterator<?> elements;
+
+		private final ObjectWrapper objectWrapper;
+
+		private boolean iterated;
+
+		StreamingCollectionModel(Iterator<?> elements, ObjectWrapper objectWrapper) {
+			this.elements = elements;
+			this.objectWrapper = objectWrapper;
+		}
+
+		@Override
+		public TemplateModelIterator iterator() throws TemplateModelException {
+			if (this.iterated) {
+				throw new TemplateModelException("Asynchronous sequence can be listed only once");
+			}
+			this.iterated = true;
+			Iterator<?> iterator = this.elements;
+			ObjectWrapper wrapper = this.objectWrapper;
+			return new TemplateModelIterator() {
+				@Override
+				public TemplateModel next() throws TemplateModelException {
+					return wrapper.wrap(iterator.next());
+				}
+				@Override
+				public boolean hasNext() throws TemplateModelException {
+					flushOutput();
+					return iterator.hasNext();
+				}
+			};
+		}
+	}
+
+
+	/**
+	 * {@code OutputStream} that emits what was written to it as a new
+	 * {@code DataBuffer} every time it is flushed.
+	 */
+	private static class SinkOutputStream extends OutputStream {
+
+		private final FluxSink<DataBuffer> sink;
+
+		private final DataBufferFactory bufferFactory;
+
+		private final Object demandMonitor = new Object();
+
+		@Nullable
+		private DataBuffer buffer;
+
+		SinkOutputStream(FluxSink<DataBuffer> sink, DataBufferFactory bufferFactory) {
+			this.sink = sink;
+			this.bufferFactory = bufferFactory;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			obtainBuffer().write((byte) b);
+		}
+
+		@Override
+		public void write(byte[] bytes, int off, int len) throws IOException {
+			obtainBuffer().write(bytes, off, len);
+		}
+
+		private DataBuffer obtainBuffer() throws IOException {
+			if (this.sink.isCancelled()) {
+				throw new IOException("Response cancelled");
+			}
+			if (this.buffer == null) {
+				this.buffer = this.bufferFactory.allocateBuffer();
+			}
+			return this.buffer;
+		}
+
+		/**
+		 * Emit the buffered output, waiting for demand from the response first.
+		 */
+		@Override
+		public void flush() throws IOException {
+			DataBuffer buffer = this.buffer;
+			if (buffer != null && buffer.readableByteCount() > 0) {
+				awaitDemand();
+				this.buffer = null;
+				this.sink.next(buffer);
+			}
+		}
+
+		private void awaitDemand() throws IOException {
+			synchronized (this.demandMonitor) {
+				while (this.sink.requestedFromDownstream() == 0 && !this.sink.isCancelled()) {
+					try {
+						this.demandMonitor.wait();
+					}
+					catch (InterruptedException ex) {
+						Thread.currentThread().interrupt();
+						throw new InterruptedIOException("Interrupted while waiting for demand");
+					}
+				}
+			}
+			if (this.sink.isCancelled()) {
+				throw new IOException("Response cancelled");
+			}
+		}
+
+		/**
+		 * Wake up the rendering thread if it is waiting for demand.
+		 */
+		void signalDemand() {
+			synchronized (this.demandMonitor) {
+				this.demandMonitor.notifyAll();
+			}
+		}
+
+		void release() {
+			if (this.buffer != null) {
+				DataBufferUtils.release(this.buffer);
+				this.buffer = null;
+			}
+		}
+	}
+
+
+	/**
+	 * Cancels the subscriptions to asynchronous attributes and interrupts
+	 * the template processing when the response is cancelled.
+	 */
+	private static class RenderControl {
+
+		private final Disposable.Composite subscriptions = Disposables.composite();
+
+		private final Object monitor = new Object();
+
+		@Nullable
+		private Thread renderThread;
+
+		void start() {
+			synchronized (this.monitor) {
+				this.renderThread = Thread.currentThread();
+			}
+		}
+
+		void finish() {
+			// Release attributes not consumed to the end, e.g. after a <#break>
+			this.subscriptions.dispose();
+			synchronized (this.monitor) {
+				this.renderThread = null;
+				// Do not leave an interrupt from cancel() behind on a pooled thread
+				Thread.interrupted();
+			}
+		}
+
+		void register(Disposable subscription) {
+			if (!this.subscriptions.add(subscription)) {
+				subscription.dispose();
+			}
+		}
+
+		void cancel() {
+			this.subscriptions.dispose();
+			synchronized (this.monitor) {
+				if (this.renderThread != null) {
+					this.renderThread.interrupt();
+				}
+			}
+		}
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2017 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,7 @@
 
 package org.springframework.web.reactive.result.view.freemarker;
 
+import org.springframework.web.reactive.result.view.AbstractUrlBasedView;
 import org.springframework.web.reactive.result.view.UrlBasedViewResolver;
 
 /**
@@ -30,6 +31,9 @@ import org.springframework.web.reactive.result.view.UrlBasedViewResolver;
  */
 public class FreeMarkerViewResolver extends UrlBasedViewResolver {
 
+	private boolean streaming = false;
+
+
 	/**
 	 * Simple constructor.
 	 */
@@ -49,6 +53,25 @@ public class FreeMarkerViewResolver extends UrlBasedViewResolver {
 	}
 
 
+	/**
+	 * Set whether the resolved views render their templates progressively.
+	 * <p>Default is {@code false}.
+	 * @since 5.3
+	 * @see FreeMarkerView#setStreaming(boolean)
+	 */
+	public void setStreaming(boolean streaming) {
+		this.streaming = streaming;
+	}
+
+	/**
+	 * Return whether the resolved views render their templates progressively.
+	 * @since 5.3
+	 */
+	public boolean isStreaming() {
+		return this.streaming;
+	}
+
+
 	/**
 	 * Requires {@link FreeMarkerView}.
 	 */
@@ -57,4 +80,13 @@ public class FreeMarkerViewResolver extends UrlBasedViewResolver {
 		return FreeMarkerView.class;
 	}
 
+	@Override
+	protected AbstractUrlBasedView createView(String viewName) {
+		AbstractUrlBasedView view = super.createView(viewName);
+		if (view instanceof FreeMarkerView) {
+			((FreeMarkerView) view).setStreaming(this.streaming);
+		}
+		return view;
+	}
+
 }
@@ -18,8 +18,13 @@ package org.springframework.web.reactive.function.client;
 
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
@@ -215,6 +220,125 @@ public class ExchangeFilterFunctionsTests {
 
 	}
 
+	@Test
+	public void hedge() {
+		ClientRequest request = ClientRequest.create(HttpMethod.GET, DEFAULT_URL).build();
+		ClientResponse response = mock(ClientResponse.class);
+		AtomicInteger count = new AtomicInteger();
+		AtomicBoolean cancelled = new AtomicBoolean();
+
+		ExchangeFunction exchange = r -> (count.incrementAndGet() == 1 ?
+				Mono.<ClientResponse>never().doOnCancel(() -> cancelled.set(true)) : Mono.just(response));
+
+		StepVerifier.withVirtualTime(() -> ExchangeFilterFunctions.hedge(0.9, Duration.ofMillis(100))
+				.filter(request, exchange))
+				.expectSubscription()
+				.expectNoEvent(Duration.ofMillis(99))
+				.thenAwait(Duration.ofMillis(1))
+				.expectNext(response)
+				.expectComplete()
+				.verify();
+
+		assertThat(count.get()).isEqualTo(2);
+		assertThat(cancelled.get()).isTrue();
+	}
+
+	@Test
+	public void hedgeSamplesEachPrimaryOnce() {
+		ClientRequest request = ClientRequest.create(HttpMethod.GET, DEFAULT_URL).build();
+		ClientResponse response = mock(ClientResponse.class);
+		HedgingExchangeFilterFunction filter = (HedgingExchangeFilterFunction)
+				ExchangeFilterFunctions.hedge(0.9, Duration.ofMillis(100));
+
+		for (int i = 0; i < 3; i++) {
+			StepVerifier.create(filter.filter(request, r -> Mono.just(response)))
+					.expectNext(response)
+					.expectComplete()
+					.verify();
+		}
+		assertThat(filter.getSampleCount()).isEqualTo(3);
+
+		AtomicInteger count = new AtomicInteger();
+		ExchangeFunction exchange = r -> (count.incrementAndGet() == 1 ? Mono.<ClientResponse>never() : Mono.just(response));
+		StepVerifier.withVirtualTime(() -> filter.filter(request, exchange))
+				.expectSubscription()
+				.thenAwait(Duration.ofMillis(100))
+				.expectNext(response)
+				.expectComplete()
+				.verify();
+		assertThat(filter.getSampleCount()).isEqualTo(4);
+	}
+
+	@Test
+	public void hedgeUnsafeMethod() {
+		ClientRequest request = ClientRequest.create(HttpMethod.POST, DEFAULT_URL).build();
+		AtomicInteger count = new AtomicInteger();
+		ExchangeFunction exchange = r -> {
+			count.incrementAndGet();
+			return Mono.never();
+		};
+
+		StepVerifier.withVirtualTime(() -> ExchangeFilterFunctions.hedge(0.9, Duration.ofMillis(100))
+				.filter(request, exchange))
+				.expectSubscription()
+				.expectNoEvent(Duration.ofSeconds(1))
+				.thenCancel()
+				.verify();
+
+		assertThat(count.get()).isEqualTo(1);
+	}
+
+	@Test
+	public void concurrencyLimit() {
+		ClientRequest request = ClientRequest.create(HttpMethod.GET, DEFAULT_URL).build();
+		ClientResponse response = mock(ClientResponse.class);
+		given(response.rawStatusCode()).willReturn(200);
+		ConcurrencyLimitExchangeFilterFunction filter = (ConcurrencyLimitExchangeFilterFunction)
+				ExchangeFilterFunctions.concurrencyLimit(1, 10, Duration.ofSeconds(1));
+		String host = ConcurrencyLimitExchangeFilterFunction.getHost(DEFAULT_URL);
+
+		Disposable pending = filter.filter(request, r -> Mono.never()).subscribe();
+		StepVerifier.create(filter.filter(request, r -> Mono.just(response)))
+				.expectError(RequestRejectedException.class)
+				.verify();
+		pending.dispose();
+
+		StepVerifier.create(filter.filter(request, r -> Mono.just(response)))
+				.expectNext(response)
+				.expectComplete()
+				.verify();
+		assertThat(filter.getLimit(host)).isEqualTo(2);
+
+		StepVerifier.create(filter.filter(request, r -> Mono.error(new MyException())))
+				.expectError(MyException.class)
+				.verify();
+		assertThat(filter.getLimit(host)).isEqualTo(1);
+	}
+
+	@Test
+	public void bulkhead() {
+		ClientRequest request = ClientRequest.create(HttpMethod.GET, DEFAULT_URL).build();
+		ClientResponse response = mock(ClientResponse.class);
+		ExchangeFilterFunction filter = ExchangeFilterFunctions.bulkhead(1, 1);
+
+		Disposable active = filter.filter(request, r -> Mono.never()).subscribe();
+		AtomicReference<ClientResponse> queued = new AtomicReference<>();
+		filter.filter(request, r -> Mono.just(response)).subscribe(queued::set);
+		assertThat(queued.get()).isNull();
+
+		StepVerifier.create(filter.filter(request, r -> Mono.just(response)))
+				.expectError(RequestRejectedException.class)
+				.verify();
+
+		active.dispose();
+		assertThat(queued.get()).isSameAs(response);
+
+		StepVerifier.create(filter.filter(request, r -> Mono.just(response)))
+				.expectNext(response)
+				.expectComplete()
+				.verify();
+	}
+
 	private String string(DataBuffer buffer) {
 		String value = buffer.toString(UTF_8);
 		DataBufferUtils.release(buffer);
@@ -297,4 +297,40 @@ public class RouterFunctionsTests {
 		assertThat(filterInvoked.get()).isTrue();
 	}
 
+	@Test
+	public void optimize() {
+		HandlerFunction<ServerResponse> users = request -> ServerResponse.ok().build();
+		HandlerFunction<ServerResponse> user = request -> ServerResponse.ok().build();
+		HandlerFunction<ServerResponse> createUser = request -> ServerResponse.ok().build();
+		HandlerFunction<ServerResponse> order = request -> ServerResponse.ok().build();
+		HandlerFunction<ServerResponse> fallback = request -> ServerResponse.ok().build();
+
+		RouterFunction<ServerResponse> routerFunction = RouterFunctions.route()
+				.GET("/users", users)
+				.GET("/users/{id}", user)
+				.POST("/users", createUser)
+				.nest(RequestPredicates.path("/orders"), builder -> builder.GET("/{id}", order))
+				.route(RequestPredicates.all(), fallback)
+				.build();
+
+		RouterFunction<ServerResponse> result = RouterFunctions.optimize(routerFunction);
+		assertThat(result.toString()).isEqualTo(routerFunction.toString());
+
+		assertThat(route(result, MockServerHttpRequest.get("/users"))).isSameAs(users);
+		assertThat(route(result, MockServerHttpRequest.get("/users/42"))).isSameAs(user);
+		assertThat(route(result, MockServerHttpRequest.post("/users"))).isSameAs(createUser);
+		assertThat(route(result, MockServerHttpRequest.get("/orders/42"))).isSameAs(order);
+		assertThat(route(result, MockServerHttpRequest.delete("/users"))).isSameAs(fallback);
+		assertThat(route(result, MockServerHttpRequest.get("/other"))).isSameAs(fallback);
+		assertThat(route(result, MockServerHttpRequest.get("/"))).isSameAs(fallback);
+	}
+
+	private static HandlerFunction<ServerResponse> route(
+			RouterFunction<ServerResponse> routerFunction, MockServerHttpRequest.BaseBuilder<?> requestBuilder) {
+
+		ServerRequest request = new DefaultServerRequest(
+				MockServerWebExchange.from(requestBuilder.build()), Collections.emptyList());
+		return routerFunction.route(request).block();
+	}
+
 }
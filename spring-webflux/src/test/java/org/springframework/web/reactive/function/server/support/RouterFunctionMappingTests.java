@@ -29,6 +29,8 @@ import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.testfixture.http.server.reactive.MockServerHttpRequest;
 import org.springframework.web.testfixture.server.MockServerWebExchange;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 /**
  * @author Arjen Poutsma
  */
@@ -90,4 +92,28 @@ public class RouterFunctionMappingTests {
 
 	}
 
+	@Test
+	public void optimizeRoutes() throws Exception {
+		HandlerFunction<ServerResponse> fooFunction = request -> ServerResponse.ok().build();
+		HandlerFunction<ServerResponse> barFunction = request -> ServerResponse.ok().build();
+		RouterFunction<ServerResponse> routerFunction = RouterFunctions.route()
+				.GET("/foo", fooFunction)
+				.GET("/bar", barFunction)
+				.build();
+
+		RouterFunctionMapping mapping = new RouterFunctionMapping(routerFunction);
+		mapping.setMessageReaders(this.codecConfigurer.getReaders());
+		mapping.setOptimizeRoutes(true);
+		mapping.afterPropertiesSet();
+
+		assertThat(mapping.getRouterFunction()).isSameAs(routerFunction);
+
+		ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("https://example.com/bar"));
+		Mono<Object> result = mapping.getHandler(exchange);
+
+		StepVerifier.create(result)
+				.expectNext(barFunction)
+				.verifyComplete();
+	}
+
 }
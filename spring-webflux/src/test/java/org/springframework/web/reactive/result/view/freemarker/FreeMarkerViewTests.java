@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,15 +20,24 @@ import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 import freemarker.template.Configuration;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import org.springframework.context.ApplicationContextException;
 import org.springframework.context.support.GenericApplicationContext;
 import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.testfixture.io.buffer.LeakAwareDataBufferFactory;
 import org.springframework.http.codec.ServerCodecConfigurer;
 import org.springframework.ui.ExtendedModelMap;
 import org.springframework.ui.ModelMap;
@@ -38,6 +47,7 @@ import org.springframework.web.server.adapter.DefaultServerWebExchange;
 import org.springframework.web.server.i18n.AcceptHeaderLocaleContextResolver;
 import org.springframework.web.server.session.DefaultWebSessionManager;
 import org.springframework.web.testfixture.http.server.reactive.MockServerHttpRequest;
+import org.springframework.web.testfixture.http.server.reactive.MockServerHttpResponse;
 import org.springframework.web.testfixture.server.MockServerWebExchange;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -118,6 +128,29 @@ public class FreeMarkerViewTests {
 				.verify();
 	}
 
+	@Test
+	public void renderStreaming() {
+		FreeMarkerView view = new FreeMarkerView();
+		view.setApplicationContext(this.context);
+		view.setConfiguration(this.freeMarkerConfig);
+		view.setUrl("streaming.ftl");
+		view.setStreaming(true);
+
+		ModelMap model = new ExtendedModelMap();
+		model.addAttribute("title", Mono.just("Items"));
+		model.addAttribute("items", Flux.just("a", "b"));
+		view.render(model, null, this.exchange).block(Duration.ofMillis(5000));
+
+		StepVerifier.create(this.exchange.getResponse().getBody())
+				.consumeNextWith(buf -> assertThat(asString(buf)).isEqualTo("<html><head><title>"))
+				.consumeNextWith(buf -> assertThat(asString(buf)).isEqualTo("Items</title></head><body>"))
+				.consumeNextWith(buf -> assertThat(asString(buf)).isEqualTo("a"))
+				.consumeNextWith(buf -> assertThat(asString(buf)).isEqualTo("b"))
+				.consumeNextWith(buf -> assertThat(asString(buf)).isEqualTo("</body></html>"))
+				.expectComplete()
+				.verify();
+	}
+
 	@Test // gh-22754
 	public void subscribeWithoutDemand() {
 		ZeroDemandResponse response = new ZeroDemandResponse();
@@ -140,6 +173,90 @@ public class FreeMarkerViewTests {
 	}
 
 
+	@Test
+	public void renderStreamingWaitsForDemand() {
+		FlushCapturingResponse response = new FlushCapturingResponse();
+		AtomicBoolean titleSubscribed = new AtomicBoolean();
+
+		ModelMap model = new ExtendedModelMap();
+		model.addAttribute("title", Mono.just("Items").doOnSubscribe(subscription -> titleSubscribed.set(true)));
+		model.addAttribute("items", Flux.just("a"));
+		renderStreaming("streaming.ftl", model, response);
+
+		StepVerifier.create(response.getFlushes(), 0)
+				.expectSubscription()
+				.expectNoEvent(Duration.ofMillis(200))
+				.then(() -> assertThat(titleSubscribed).isFalse())
+				.thenRequest(1)
+				.consumeNextWith(flush -> assertThat(flushAsString(flush)).isEqualTo("<html><head><title>"))
+				.thenRequest(Long.MAX_VALUE)
+				.consumeNextWith(flush -> assertThat(flushAsString(flush)).isEqualTo("Items</title></head><body>"))
+				.consumeNextWith(flush -> assertThat(flushAsString(flush)).isEqualTo("a"))
+				.consumeNextWith(flush -> assertThat(flushAsString(flush)).isEqualTo("</body></html>"))
+				.expectComplete()
+				.verify(Duration.ofSeconds(5));
+	}
+
+	@Test
+	public void renderStreamingCancelled() throws Exception {
+		FlushCapturingResponse response = new FlushCapturingResponse();
+		CountDownLatch itemsCancelled = new CountDownLatch(1);
+
+		ModelMap model = new ExtendedModelMap();
+		model.addAttribute("title", Mono.just("Items"));
+		model.addAttribute("items", Flux.<String>never().doOnCancel(itemsCancelled::countDown));
+		renderStreaming("streaming.ftl", model, response);
+
+		StepVerifier.create(response.getFlushes())
+				.consumeNextWith(flush -> assertThat(flushAsString(flush)).isEqualTo("<html><head><title>"))
+				.consumeNextWith(flush -> assertThat(flushAsString(flush)).isEqualTo("Items</title></head><body>"))
+				.thenCancel()
+				.verify(Duration.ofSeconds(5));
+
+		assertThat(itemsCancelled.await(5, TimeUnit.SECONDS)).isTrue();
+		response.checkForLeaks();
+	}
+
+	@Test
+	public void renderStreamingReleasesPartlyIteratedAttribute() throws Exception {
+		FlushCapturingResponse response = new FlushCapturingResponse();
+		CountDownLatch itemsCancelled = new CountDownLatch(1);
+
+		ModelMap model = new ExtendedModelMap();
+		model.addAttribute("items", Flux.just("a", "b", "c").doOnCancel(itemsCancelled::countDown));
+		renderStreaming("streaming-break.ftl", model, response);
+
+		StepVerifier.create(response.getFlushes())
+				.consumeNextWith(flush -> assertThat(flushAsString(flush)).isEqualTo("<html><body>"))
+				.consumeNextWith(flush -> assertThat(flushAsString(flush)).isEqualTo("a</body></html>"))
+				.expectComplete()
+				.verify(Duration.ofSeconds(5));
+
+		assertThat(itemsCancelled.await(5, TimeUnit.SECONDS)).isTrue();
+		response.checkForLeaks();
+	}
+
+	private void renderStreaming(String url, ModelMap model, FlushCapturingResponse response) {
+		ServerWebExchange exchange = new DefaultServerWebExchange(
+				MockServerHttpRequest.get("/path").build(), response,
+				new DefaultWebSessionManager(), ServerCodecConfigurer.create(),
+				new AcceptHeaderLocaleContextResolver());
+
+		FreeMarkerView view = new FreeMarkerView();
+		view.setApplicationContext(this.context);
+		view.setConfiguration(this.freeMarkerConfig);
+		view.setUrl(url);
+		view.setStreaming(true);
+		view.render(model, null, exchange).subscribe();
+	}
+
+	private static String flushAsString(Publisher<? extends DataBuffer> flush) {
+		DataBuffer buffer = DataBufferUtils.join(flush).block(Duration.ofSeconds(5));
+		String value = asString(buffer);
+		DataBufferUtils.release(buffer);
+		return value;
+	}
+
 	private static String asString(DataBuffer dataBuffer) {
 		ByteBuffer byteBuffer = dataBuffer.asByteBuffer();
 		final byte[] bytes = new byte[byteBuffer.remaining()];
@@ -153,4 +270,37 @@ public class FreeMarkerViewTests {
 		return null;
 	}
 
+
+	/**
+	 * Response that exposes what is passed to writeAndFlushWith as is, so that
+	 * demand for flushes goes straight to the view.
+	 */
+	private static class FlushCapturingResponse extends MockServerHttpResponse {
+
+		private final AtomicReference<Publisher<? extends Publisher<? extends DataBuffer>>> flushes =
+				new AtomicReference<>();
+
+		FlushCapturingResponse() {
+			super(new LeakAwareDataBufferFactory());
+		}
+
+		Flux<Publisher<? extends DataBuffer>> getFlushes() {
+			return Flux.defer(() -> {
+				Publisher<? extends Publisher<? extends DataBuffer>> body = this.flushes.get();
+				assertThat(body).as("writeAndFlushWith not called").isNotNull();
+				return Flux.from(body);
+			});
+		}
+
+		void checkForLeaks() {
+			((LeakAwareDataBufferFactory) bufferFactory()).checkForLeaks();
+		}
+
+		@Override
+		protected Mono<Void> writeAndFlushWithInternal(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+			this.flushes.set(body);
+			return Mono.never();
+		}
+	}
+
 }
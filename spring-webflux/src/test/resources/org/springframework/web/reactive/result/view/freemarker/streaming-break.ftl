@@ -0,0 +1 @@
+<html><body><#list items as item>${item}<#break></#list></body></html>
\ No newline at end of file
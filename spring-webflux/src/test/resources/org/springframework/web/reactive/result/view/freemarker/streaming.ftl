@@ -0,0 +1 @@
+<html><head><title>${title}</title></head><body><#list items as item>${item}</#list></body></html>
\ No newline at end of file
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.servlet;
+
+/**
+ * The phases of request processing in {@link DispatcherServlet#doDispatch}
+ * that are reported to a {@link DispatchPhaseListener}.
+ *
+ * <p>Phases nested within the handler invocation are reported by the
+ * annotated controller infrastructure, if involved.
+ *
+ * @author agent
+ * @since 5.3
+ * @see DispatchPhaseListener
+ */
+public enum DispatchPhase {
+
+	/**
+	 * Lookup of the handler through the {@link HandlerMapping HandlerMappings}.
+	 */
+	HANDLER_LOOKUP,
+
+	/**
+	 * Invocation of {@link HandlerInterceptor#preHandle}.
+	 */
+	INTERCEPTOR_PRE_HANDLE,
+
+	/**
+	 * Invocation of the handler through {@link HandlerAdapter#handle},
+	 * including argument resolution and message conversion.
+	 */
+	HANDLER_INVOCATION,
+
+	/**
+	 * Resolution of the arguments for an annotated handler method, nested
+	 * within {@link #HANDLER_INVOCATION}.
+	 */
+	ARGUMENT_RESOLUTION,
+
+	/**
+	 * Reading of a request body or writing of a response body through an
+	 * {@link org.springframework.http.converter.HttpMessageConverter}, nested
+	 * within {@link #ARGUMENT_RESOLUTION} or {@link #HANDLER_INVOCATION}
+	 * respectively.
+	 */
+	MESSAGE_CONVERSION,
+
+	/**
+	 * Invocation of {@link HandlerInterceptor#postHandle}.
+	 */
+	INTERCEPTOR_POST_HANDLE,
+
+	/**
+	 * Resolution of a handler exception through the
+	 * {@link HandlerExceptionResolver HandlerExceptionResolvers}.
+	 */
+	EXCEPTION_RESOLUTION,
+
+	/**
+	 * Resolution of a view name through the {@link ViewResolver ViewResolvers}.
+	 */
+	VIEW_RESOLUTION,
+
+	/**
+	 * Rendering of the {@link View}.
+	 */
+	VIEW_RENDERING,
+
+	/**
+	 * Invocation of {@link HandlerInterceptor#afterCompletion}.
+	 */
+	INTERCEPTOR_AFTER_COMPLETION
+
+}
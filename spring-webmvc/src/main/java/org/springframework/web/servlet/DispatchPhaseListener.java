@@ -0,0 +1,54 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.servlet;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * Callback interface for observing the time spent in the individual
+ * {@link DispatchPhase phases} of request processing by the
+ * {@link DispatcherServlet}.
+ *
+ * <p>A listener is registered through
+ * {@link DispatcherServlet#setDispatchPhaseListener} or as a bean named
+ * {@link DispatcherServlet#DISPATCH_PHASE_LISTENER_BEAN_NAME "dispatchPhaseListener"}.
+ * When none is present, the {@code DispatcherServlet} does not take any
+ * timings at all.
+ *
+ * <p>Implementations are invoked on the request processing thread and
+ * should therefore return quickly. Information about the request such as the
+ * {@link HandlerMapping#BEST_MATCHING_PATTERN_ATTRIBUTE best matching pattern}
+ * or the {@link HandlerMapping#BEST_MATCHING_HANDLER_ATTRIBUTE handler} may
+ * be obtained from the request attributes, depending on the phase.
+ *
+ * @author agent
+ * @since 5.3
+ * @see DispatcherServlet#setDispatchPhaseListener
+ */
+@FunctionalInterface
+public interface DispatchPhaseListener {
+
+	/**
+	 * Invoked when a phase of request processing has completed, either
+	 * normally or with an exception.
+	 * @param request the current request
+	 * @param phase the phase that completed
+	 * @param durationNanos the time spent in the phase, in nanoseconds
+	 */
+	void onPhaseCompleted(HttpServletRequest request, DispatchPhase phase, long durationNanos);
+
+}
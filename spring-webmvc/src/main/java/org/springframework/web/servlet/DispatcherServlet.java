@@ -212,6 +212,13 @@ public class DispatcherServlet extends FrameworkServlet {
 	 */
 	public static final String FLASH_MAP_MANAGER_BEAN_NAME = "flashMapManager";
 
+	/**
+	 * Well-known name for the DispatchPhaseListener object in the bean factory for this namespace.
+	 * @since 5.3
+	 * @see #setDispatchPhaseListener
+	 */
+	public static final String DISPATCH_PHASE_LISTENER_BEAN_NAME = "dispatchPhaseListener";
+
 	/**
 	 * Request attribute to hold the current web application context.
 	 * Otherwise only the global web app context is obtainable by tags etc.
@@ -264,6 +271,15 @@ public class DispatcherServlet extends FrameworkServlet {
 	 */
 	public static final String EXCEPTION_ATTRIBUTE = DispatcherServlet.class.getName() + ".EXCEPTION";
 
+	/**
+	 * Request attribute to hold the current DispatchPhaseListener, if any,
+	 * for reporting nested phases such as argument resolution.
+	 * @since 5.3
+	 * @see org.springframework.web.servlet.support.RequestContextUtils#getDispatchPhaseListener
+	 */
+	public static final String DISPATCH_PHASE_LISTENER_ATTRIBUTE =
+			DispatcherServlet.class.getName() + ".DISPATCH_PHASE_LISTENER";
+
 	/** Log category to use when no mapped handler is found for a request. */
 	public static final String PAGE_NOT_FOUND_LOG_CATEGORY = "org.springframework.web.servlet.PageNotFound";
 
@@ -339,6 +355,10 @@ public class DispatcherServlet extends FrameworkServlet {
 	@Nullable
 	private List<ViewResolver> viewResolvers;
 
+	/** DispatchPhaseListener used by this servlet. */
+	@Nullable
+	private DispatchPhaseListener dispatchPhaseListener;
+
 	private boolean parseRequestPath;
 
 
@@ -480,6 +500,18 @@ public class DispatcherServlet extends FrameworkServlet {
 		this.cleanupAfterInclude = cleanupAfterInclude;
 	}
 
+	/**
+	 * Set a {@link DispatchPhaseListener} to be notified of the time spent
+	 * in each phase of request processing.
+	 * <p>If not set, a bean named "dispatchPhaseListener" is detected in the
+	 * context, if present. Otherwise no timings are taken at all.
+	 * @since 5.3
+	 * @see #DISPATCH_PHASE_LISTENER_BEAN_NAME
+	 */
+	public void setDispatchPhaseListener(@Nullable DispatchPhaseListener dispatchPhaseListener) {
+		this.dispatchPhaseListener = dispatchPhaseListener;
+	}
+
 
 	/**
 	 * This implementation calls {@link #initStrategies}.
@@ -503,6 +535,7 @@ public class DispatcherServlet extends FrameworkServlet {
 		initRequestToViewNameTranslator(context);
 		initViewResolvers(context);
 		initFlashMapManager(context);
+		initDispatchPhaseListener(context);
 	}
 
 	/**
@@ -793,6 +826,33 @@ public class DispatcherServlet extends FrameworkServlet {
 		}
 	}
 
+	/**
+	 * Initialize the {@link DispatchPhaseListener} used by this servlet instance,
+	 * unless one has been set explicitly.
+	 * <p>If no bean is defined with the given name in the BeanFactory for this namespace,
+	 * no dispatch phases are observed.
+	 */
+	private void initDispatchPhaseListener(ApplicationContext context) {
+		if (this.dispatchPhaseListener != null) {
+			return;
+		}
+		try {
+			this.dispatchPhaseListener = context.getBean(DISPATCH_PHASE_LISTENER_BEAN_NAME, DispatchPhaseListener.class);
+			if (logger.isTraceEnabled()) {
+				logger.trace("Detected " + this.dispatchPhaseListener);
+			}
+			else if (logger.isDebugEnabled()) {
+				logger.debug("Detected " + this.dispatchPhaseListener.getClass().getSimpleName());
+			}
+		}
+		catch (NoSuchBeanDefinitionException ex) {
+			// Default is no dispatch phase listener.
+			if (logger.isTraceEnabled()) {
+				logger.trace("No DispatchPhaseListener '" + DISPATCH_PHASE_LISTENER_BEAN_NAME + "' declared");
+			}
+		}
+	}
+
 	/**
 	 * Return this servlet's ThemeSource, if any; else return {@code null}.
 	 * <p>Default is to return the WebApplicationContext as ThemeSource,
@@ -943,6 +1003,9 @@ public class DispatcherServlet extends FrameworkServlet {
 		request.setAttribute(LOCALE_RESOLVER_ATTRIBUTE, this.localeResolver);
 		request.setAttribute(THEME_RESOLVER_ATTRIBUTE, this.themeResolver);
 		request.setAttribute(THEME_SOURCE_ATTRIBUTE, getThemeSource());
+		if (this.dispatchPhaseListener != null) {
+			request.setAttribute(DISPATCH_PHASE_LISTENER_ATTRIBUTE, this.dispatchPhaseListener);
+		}
 
 		if (this.flashMapManager != null) {
 			FlashMap inputFlashMap = this.flashMapManager.retrieveAndUpdate(request, response);
@@ -1035,7 +1098,13 @@ public class DispatcherServlet extends FrameworkServlet {
 				multipartRequestParsed = (processedRequest != request);
 
 				// Determine handler for the current request.
-				mappedHandler = getHandler(processedRequest);
+				long startTime = startDispatchPhase();
+				try {
+					mappedHandler = getHandler(processedRequest);
+				}
+				finally {
+					endDispatchPhase(processedRequest, DispatchPhase.HANDLER_LOOKUP, startTime);
+				}
 				if (mappedHandler == null) {
 					noHandlerFound(processedRequest, response);
 					return;
@@ -1054,19 +1123,39 @@ public class DispatcherServlet extends FrameworkServlet {
 					}
 				}
 
-				if (!mappedHandler.applyPreHandle(processedRequest, response)) {
+				startTime = startDispatchPhase();
+				boolean proceed;
+				try {
+					proceed = mappedHandler.applyPreHandle(processedRequest, response);
+				}
+				finally {
+					endDispatchPhase(processedRequest, DispatchPhase.INTERCEPTOR_PRE_HANDLE, startTime);
+				}
+				if (!proceed) {
 					return;
 				}
 
 				// Actually invoke the handler.
-				mv = ha.handle(processedRequest, response, mappedHandler.getHandler());
+				startTime = startDispatchPhase();
+				try {
+					mv = ha.handle(processedRequest, response, mappedHandler.getHandler());
+				}
+				finally {
+					endDispatchPhase(processedRequest, DispatchPhase.HANDLER_INVOCATION, startTime);
+				}
 
 				if (asyncManager.isConcurrentHandlingStarted()) {
 					return;
 				}
 
 				applyDefaultViewName(processedRequest, mv);
-				mappedHandler.applyPostHandle(processedRequest, response, mv);
+				startTime = startDispatchPhase();
+				try {
+					mappedHandler.applyPostHandle(processedRequest, response, mv);
+				}
+				finally {
+					endDispatchPhase(processedRequest, DispatchPhase.INTERCEPTOR_POST_HANDLE, startTime);
+				}
 			}
 			catch (Exception ex) {
 				dispatchException = ex;
@@ -1130,7 +1219,13 @@ public class DispatcherServlet extends FrameworkServlet {
 			}
 			else {
 				Object handler = (mappedHandler != null ? mappedHandler.getHandler() : null);
-				mv = processHandlerException(request, response, handler, exception);
+				long startTime = startDispatchPhase();
+				try {
+					mv = processHandlerException(request, response, handler, exception);
+				}
+				finally {
+					endDispatchPhase(request, DispatchPhase.EXCEPTION_RESOLUTION, startTime);
+				}
 				errorView = (mv != null);
 			}
 		}
@@ -1155,7 +1250,31 @@ public class DispatcherServlet extends FrameworkServlet {
 
 		if (mappedHandler != null) {
 			// Exception (if any) is already handled..
-			mappedHandler.triggerAfterCompletion(request, response, null);
+			long startTime = startDispatchPhase();
+			try {
+				mappedHandler.triggerAfterCompletion(request, response, null);
+			}
+			finally {
+				endDispatchPhase(request, DispatchPhase.INTERCEPTOR_AFTER_COMPLETION, startTime);
+			}
+		}
+	}
+
+	/**
+	 * Return the start time for a dispatch phase, or 0 if no
+	 * {@link DispatchPhaseListener} is registered.
+	 */
+	private long startDispatchPhase() {
+		return (this.dispatchPhaseListener != null ? System.nanoTime() : 0);
+	}
+
+	/**
+	 * Notify the {@link DispatchPhaseListener}, if any, of a completed phase.
+	 */
+	private void endDispatchPhase(HttpServletRequest request, DispatchPhase phase, long startTime) {
+		DispatchPhaseListener listener = this.dispatchPhaseListener;
+		if (listener != null) {
+			listener.onPhaseCompleted(request, phase, System.nanoTime() - startTime);
 		}
 	}
 
@@ -1369,7 +1488,13 @@ public class DispatcherServlet extends FrameworkServlet {
 		String viewName = mv.getViewName();
 		if (viewName != null) {
 			// We need to resolve the view name.
-			view = resolveViewName(viewName, mv.getModelInternal(), locale, request);
+			long startTime = startDispatchPhase();
+			try {
+				view = resolveViewName(viewName, mv.getModelInternal(), locale, request);
+			}
+			finally {
+				endDispatchPhase(request, DispatchPhase.VIEW_RESOLUTION, startTime);
+			}
 			if (view == null) {
 				throw new ServletException("Could not resolve view with name '" + mv.getViewName() +
 						"' in servlet with name '" + getServletName() + "'");
@@ -1388,6 +1513,7 @@ public class DispatcherServlet extends FrameworkServlet {
 		if (logger.isTraceEnabled()) {
 			logger.trace("Rendering view [" + view + "] ");
 		}
+		long startTime = startDispatchPhase();
 		try {
 			if (mv.getStatus() != null) {
 				response.setStatus(mv.getStatus().value());
@@ -1400,6 +1526,9 @@ public class DispatcherServlet extends FrameworkServlet {
 			}
 			throw ex;
 		}
+		finally {
+			endDispatchPhase(request, DispatchPhase.VIEW_RENDERING, startTime);
+		}
 	}
 
 	/**
@@ -16,7 +16,14 @@
 
 package org.springframework.web.servlet.function;
 
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -27,7 +34,11 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
+import org.springframework.web.cors.CorsUtils;
 import org.springframework.web.util.pattern.PathPatternParser;
 
 /**
@@ -189,6 +200,67 @@ public abstract class RouterFunctions {
 		return routerFunction;
 	}
 
+	/**
+	 * Optimize the given {@linkplain RouterFunction router function} for request
+	 * dispatching. Routes composed via {@link RouterFunction#and(RouterFunction)}
+	 * or {@link RouterFunction#andOther(RouterFunction)} are flattened into a
+	 * dispatch table, indexed by the HTTP methods and the first literal path
+	 * segment that their request predicates require, so that each request is
+	 * only tested against candidate routes. Nested and filtered router
+	 * functions are optimized recursively.
+	 * <p>Candidate routes are tested in their original order, so the returned
+	 * router function routes all requests in the same way as the given one.
+	 * @param routerFunction the router function to optimize
+	 * @param <T> the type of response returned by the handler function
+	 * @return the optimized router function
+	 * @since 5.3
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T extends ServerResponse> RouterFunction<T> optimize(RouterFunction<T> routerFunction) {
+		Assert.notNull(routerFunction, "RouterFunction must not be null");
+
+		List<RouterFunction<?>> routes = new ArrayList<>();
+		flatten(routerFunction, routes);
+		if (routes.size() == 1) {
+			return (RouterFunction<T>) routes.get(0);
+		}
+		return new DispatchTableRouterFunction<>(routerFunction, routes);
+	}
+
+	private static void flatten(RouterFunction<?> routerFunction, List<RouterFunction<?>> routes) {
+		if (routerFunction instanceof SameComposedRouterFunction) {
+			SameComposedRouterFunction<?> composed = (SameComposedRouterFunction<?>) routerFunction;
+			flatten(composed.first, routes);
+			flatten(composed.second, routes);
+		}
+		else if (routerFunction instanceof DifferentComposedRouterFunction) {
+			DifferentComposedRouterFunction composed = (DifferentComposedRouterFunction) routerFunction;
+			flatten(composed.first, routes);
+			flatten(composed.second, routes);
+		}
+		else if (routerFunction instanceof DefaultNestedRouterFunction) {
+			routes.add(optimizeNested((DefaultNestedRouterFunction<?>) routerFunction));
+		}
+		else if (routerFunction instanceof FilteredRouterFunction) {
+			routes.add(optimizeFiltered((FilteredRouterFunction<?, ?>) routerFunction));
+		}
+		else {
+			routes.add(routerFunction);
+		}
+	}
+
+	private static <T extends ServerResponse> RouterFunction<T> optimizeNested(
+			DefaultNestedRouterFunction<T> nested) {
+
+		return new DefaultNestedRouterFunction<>(nested.predicate, optimize(nested.routerFunction));
+	}
+
+	private static <T extends ServerResponse, S extends ServerResponse> RouterFunction<S> optimizeFiltered(
+			FilteredRouterFunction<T, S> filtered) {
+
+		return new FilteredRouterFunction<>(optimize(filtered.routerFunction), filtered.filterFunction);
+	}
+
 
 	/**
 	 * Represents a discoverable builder for router functions.
@@ -905,4 +977,115 @@ public abstract class RouterFunctions {
 	}
 
 
+	/**
+	 * A routing function that dispatches to a flat list of router functions
+	 * through a table indexed by HTTP method and first path segment, invoking
+	 * only the candidate functions, in their original order.
+	 * @param <T> the server response type
+	 * @see #optimize(RouterFunction)
+	 */
+	static final class DispatchTableRouterFunction<T extends ServerResponse> extends AbstractRouterFunction<T> {
+
+		private final RouterFunction<T> routerFunction;
+
+		private final Map<HttpMethod, DispatchTable> methodTables = new EnumMap<>(HttpMethod.class);
+
+		private final DispatchTable unknownMethodTable;
+
+		public DispatchTableRouterFunction(RouterFunction<T> routerFunction, List<RouterFunction<?>> routes) {
+			this.routerFunction = routerFunction;
+			List<RouteKey> keys = new ArrayList<>(routes.size());
+			Set<String> pathSegments = new LinkedHashSet<>();
+			for (RouterFunction<?> route : routes) {
+				RouteKey key = RouteKey.of(route);
+				keys.add(key);
+				if (key.getPathSegment() != null) {
+					pathSegments.add(key.getPathSegment());
+				}
+			}
+			for (HttpMethod method : HttpMethod.values()) {
+				this.methodTables.put(method, new DispatchTable(routes, keys, pathSegments, method));
+			}
+			this.unknownMethodTable = new DispatchTable(routes, keys, pathSegments, null);
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public Optional<HandlerFunction<T>> route(ServerRequest request) {
+			HttpMethod method = method(request);
+			DispatchTable table = (method != null ? this.methodTables.get(method) : this.unknownMethodTable);
+			for (RouterFunction<?> candidate : table.candidates(RouteKey.firstPathSegment(request.pathContainer()))) {
+				Optional<? extends HandlerFunction<?>> result = candidate.route(request);
+				if (result.isPresent()) {
+					return (Optional<HandlerFunction<T>>) result;
+				}
+			}
+			return Optional.empty();
+		}
+
+		@Nullable
+		private static HttpMethod method(ServerRequest request) {
+			// Resolve the method in the same way as RequestPredicates.method(...)
+			if (CorsUtils.isPreFlightRequest(request.servletRequest())) {
+				String accessControlRequestMethod =
+						request.headers().firstHeader(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD);
+				return HttpMethod.resolve(accessControlRequestMethod);
+			}
+			else {
+				return request.method();
+			}
+		}
+
+		@Override
+		public void accept(Visitor visitor) {
+			this.routerFunction.accept(visitor);
+		}
+	}
+
+
+	/**
+	 * The candidate router functions for a single HTTP method, per first path segment.
+	 */
+	private static final class DispatchTable {
+
+		private final Map<String, RouterFunction<?>[]> pathSegmentCandidates = new HashMap<>();
+
+		private final RouterFunction<?>[] otherCandidates;
+
+		public DispatchTable(List<RouterFunction<?>> routes, List<RouteKey> keys, Set<String> pathSegments,
+				@Nullable HttpMethod method) {
+
+			this.otherCandidates = select(routes, keys, method, null);
+			for (String pathSegment : pathSegments) {
+				this.pathSegmentCandidates.put(pathSegment, select(routes, keys, method, pathSegment));
+			}
+		}
+
+		private static RouterFunction<?>[] select(List<RouterFunction<?>> routes, List<RouteKey> keys,
+				@Nullable HttpMethod method, @Nullable String pathSegment) {
+
+			List<RouterFunction<?>> result = new ArrayList<>();
+			for (int i = 0; i < routes.size(); i++) {
+				RouteKey key = keys.get(i);
+				boolean pathSegmentMatch = (pathSegment != null ?
+						key.matchesPathSegment(pathSegment) : key.getPathSegment() == null);
+				if (pathSegmentMatch && key.matchesMethod(method)) {
+					result.add(routes.get(i));
+				}
+			}
+			return result.toArray(new RouterFunction<?>[0]);
+		}
+
+		public RouterFunction<?>[] candidates(@Nullable String pathSegment) {
+			if (pathSegment != null) {
+				RouterFunction<?>[] candidates = this.pathSegmentCandidates.get(pathSegment);
+				if (candidates != null) {
+					return candidates;
+				}
+			}
+			return this.otherCandidates;
+		}
+	}
+
+
 }
@@ -65,6 +65,11 @@ public class RouterFunctionMapping extends AbstractHandlerMapping implements Ini
 	@Nullable
 	private RouterFunction<?> routerFunction;
 
+	@Nullable
+	private RouterFunction<?> optimizedRouterFunction;
+
+	private boolean optimizeRoutes = false;
+
 	private List<HttpMessageConverter<?>> messageConverters = Collections.emptyList();
 
 	private boolean detectHandlerFunctionsInAncestorContexts = false;
@@ -94,6 +99,7 @@ public class RouterFunctionMapping extends AbstractHandlerMapping implements Ini
 	 */
 	public void setRouterFunction(@Nullable RouterFunction<?> routerFunction) {
 		this.routerFunction = routerFunction;
+		this.optimizedRouterFunction = null;
 	}
 
 	/**
@@ -108,6 +114,27 @@ public class RouterFunctionMapping extends AbstractHandlerMapping implements Ini
 		return this.routerFunction;
 	}
 
+	/**
+	 * Set whether to index the router function with
+	 * {@link RouterFunctions#optimize(RouterFunction)} on initialization, so
+	 * that only candidate routes are tested for each request, rather than
+	 * every route in turn.
+	 * <p>The default is "false". {@link #getRouterFunction()} returns the
+	 * original router function either way.
+	 * @since 5.3
+	 */
+	public void setOptimizeRoutes(boolean optimizeRoutes) {
+		this.optimizeRoutes = optimizeRoutes;
+	}
+
+	/**
+	 * Return whether the router function is indexed on initialization.
+	 * @since 5.3
+	 */
+	public boolean isOptimizeRoutes() {
+		return this.optimizeRoutes;
+	}
+
 	public void setMessageConverters(List<HttpMessageConverter<?>> messageConverters) {
 		this.messageConverters = messageConverters;
 	}
@@ -139,6 +166,9 @@ public class RouterFunctionMapping extends AbstractHandlerMapping implements Ini
 				setPatternParser(patternParser);
 			}
 			RouterFunctions.changeParser(this.routerFunction, patternParser);
+			if (this.optimizeRoutes) {
+				this.optimizedRouterFunction = RouterFunctions.optimize(this.routerFunction);
+			}
 		}
 	}
 
@@ -187,10 +217,12 @@ public class RouterFunctionMapping extends AbstractHandlerMapping implements Ini
 	@Nullable
 	@Override
 	protected Object getHandlerInternal(HttpServletRequest servletRequest) throws Exception {
-		if (this.routerFunction != null) {
+		RouterFunction<?> routerFunction = (this.optimizedRouterFunction != null ?
+				this.optimizedRouterFunction : this.routerFunction);
+		if (routerFunction != null) {
 			ServerRequest request = ServerRequest.create(servletRequest, this.messageConverters);
 			servletRequest.setAttribute(RouterFunctions.REQUEST_ATTRIBUTE, request);
-			return this.routerFunction.route(request).orElse(null);
+			return routerFunction.route(request).orElse(null);
 		}
 		else {
 			return null;
@@ -21,6 +21,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.servlet.DispatcherType;
 import javax.servlet.http.HttpServletRequest;
@@ -30,6 +31,7 @@ import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.BeanFactoryUtils;
 import org.springframework.beans.factory.BeanNameAware;
 import org.springframework.core.Ordered;
+import org.springframework.http.server.PathContainer;
 import org.springframework.http.server.RequestPath;
 import org.springframework.lang.Nullable;
 import org.springframework.util.AntPathMatcher;
@@ -75,6 +77,10 @@ import org.springframework.web.util.pattern.PathPatternParser;
 public abstract class AbstractHandlerMapping extends WebApplicationObjectSupport
 		implements HandlerMapping, Ordered, BeanNameAware {
 
+	/** Number of distinct lookup paths after which interceptor matches are no longer cached. */
+	private static final int INTERCEPTOR_CACHE_TURNOFF_THRESHOLD = 4096;
+
+
 	@Nullable
 	private Object defaultHandler;
 
@@ -89,6 +95,13 @@ public abstract class AbstractHandlerMapping extends WebApplicationObjectSupport
 
 	private final List<HandlerInterceptor> adaptedInterceptors = new ArrayList<>();
 
+	private boolean hasMappedInterceptors;
+
+	@Nullable
+	private volatile Boolean cacheMappedInterceptors;
+
+	private final Map<String, HandlerInterceptor[]> mappedInterceptorCache = new ConcurrentHashMap<>(64);
+
 	@Nullable
 	private CorsConfigurationSource corsConfigurationSource;
 
@@ -264,6 +277,36 @@ public abstract class AbstractHandlerMapping extends WebApplicationObjectSupport
 		this.interceptors.addAll(Arrays.asList(interceptors));
 	}
 
+	/**
+	 * Specify whether to cache the interceptors that apply to a given lookup
+	 * path, so that {@link MappedInterceptor} patterns are not re-matched for
+	 * every request to the same path.
+	 * <p>Default is for the cache to be on, but with the variant to automatically
+	 * turn it off when encountering too many distinct lookup paths at runtime
+	 * (the threshold is 4096), assuming that arbitrary paths are coming in
+	 * (e.g. with path variables) and are therefore unlikely to be reoccurring.
+	 * <p>Set this to {@code true} to always cache, or to {@code false} to
+	 * match {@code MappedInterceptor}s against every request.
+	 * @since 5.3
+	 * @see #clearMappedInterceptorCache()
+	 */
+	public void setCacheMappedInterceptors(boolean cacheMappedInterceptors) {
+		this.cacheMappedInterceptors = cacheMappedInterceptors;
+		this.mappedInterceptorCache.clear();
+	}
+
+	/**
+	 * Clear the cache of interceptors resolved per lookup path. Needs to be
+	 * called when the patterns of registered {@link MappedInterceptor}s are
+	 * changed at runtime; this is done automatically when the interceptors
+	 * are re-initialized through {@link #initInterceptors()}.
+	 * @since 5.3
+	 * @see #setCacheMappedInterceptors(boolean)
+	 */
+	public void clearMappedInterceptorCache() {
+		this.mappedInterceptorCache.clear();
+	}
+
 	/**
 	 * Set "global" CORS configuration mappings. The first matching URL pattern
 	 * determines the {@code CorsConfiguration} to use which is then further
@@ -416,6 +459,8 @@ public abstract class AbstractHandlerMapping extends WebApplicationObjectSupport
 				this.adaptedInterceptors.add(adaptInterceptor(interceptor));
 			}
 		}
+		this.hasMappedInterceptors = this.adaptedInterceptors.stream().anyMatch(MappedInterceptor.class::isInstance);
+		clearMappedInterceptorCache();
 	}
 
 	/**
@@ -583,6 +628,8 @@ public abstract class AbstractHandlerMapping extends WebApplicationObjectSupport
 	 * <p>For simply adding an interceptor in a custom subclass, consider calling
 	 * {@code super.getHandlerExecutionChain(handler, request)} and invoking
 	 * {@link HandlerExecutionChain#addInterceptor} on the returned chain object.
+	 * <p>As of 5.3, the interceptors applicable to a given lookup path are
+	 * cached, see {@link #setCacheMappedInterceptors(boolean)}.
 	 * @param handler the resolved handler instance (never {@code null})
 	 * @param request current HTTP request
 	 * @return the HandlerExecutionChain (never {@code null})
@@ -592,17 +639,54 @@ public abstract class AbstractHandlerMapping extends WebApplicationObjectSupport
 		HandlerExecutionChain chain = (handler instanceof HandlerExecutionChain ?
 				(HandlerExecutionChain) handler : new HandlerExecutionChain(handler));
 
+		if (!this.hasMappedInterceptors) {
+			for (HandlerInterceptor interceptor : this.adaptedInterceptors) {
+				chain.addInterceptor(interceptor);
+			}
+			return chain;
+		}
+
+		Boolean cacheMappedInterceptors = this.cacheMappedInterceptors;
+		String cacheKey = null;
+		if ((cacheMappedInterceptors == null || cacheMappedInterceptors.booleanValue()) &&
+				ServletRequestPathUtils.hasCachedPath(request)) {
+			Object path = ServletRequestPathUtils.getCachedPath(request);
+			cacheKey = (path instanceof PathContainer ? ((PathContainer) path).value() : (String) path);
+			HandlerInterceptor[] interceptors = this.mappedInterceptorCache.get(cacheKey);
+			if (interceptors != null) {
+				chain.addInterceptors(interceptors);
+				return chain;
+			}
+		}
+
+		List<HandlerInterceptor> interceptors = new ArrayList<>(this.adaptedInterceptors.size());
 		for (HandlerInterceptor interceptor : this.adaptedInterceptors) {
 			if (interceptor instanceof MappedInterceptor) {
 				MappedInterceptor mappedInterceptor = (MappedInterceptor) interceptor;
 				if (mappedInterceptor.matches(request)) {
-					chain.addInterceptor(mappedInterceptor.getInterceptor());
+					interceptors.add(mappedInterceptor.getInterceptor());
 				}
 			}
 			else {
-				chain.addInterceptor(interceptor);
+				interceptors.add(interceptor);
 			}
 		}
+		HandlerInterceptor[] interceptorArray = interceptors.toArray(new HandlerInterceptor[0]);
+
+		if (cacheKey != null) {
+			if (cacheMappedInterceptors == null &&
+					this.mappedInterceptorCache.size() >= INTERCEPTOR_CACHE_TURNOFF_THRESHOLD) {
+				// Too many distinct lookup paths, e.g. due to path variables,
+				// so they are unlikely to be reoccurring: turn off the cache.
+				this.cacheMappedInterceptors = false;
+				this.mappedInterceptorCache.clear();
+			}
+			else {
+				this.mappedInterceptorCache.put(cacheKey, interceptorArray);
+			}
+		}
+
+		chain.addInterceptors(interceptorArray);
 		return chain;
 	}
 
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -58,6 +58,7 @@ import org.springframework.web.HttpMediaTypeNotSupportedException;
 import org.springframework.web.bind.WebDataBinder;
 import org.springframework.web.context.request.NativeWebRequest;
 import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.DispatchPhase;
 
 /**
  * A base class for resolving method argument values by reading from the body of
@@ -202,8 +203,18 @@ public abstract class AbstractMessageConverterMethodArgumentResolver implements
 					if (message.hasBody()) {
 						HttpInputMessage msgToUse =
 								getAdvice().beforeBodyRead(message, parameter, targetType, converterType);
-						body = (genericConverter != null ? genericConverter.read(targetType, contextClass, msgToUse) :
-								((HttpMessageConverter<T>) converter).read(targetClass, msgToUse));
+						DispatchPhaseTimer timer = DispatchPhaseTimer.start((inputMessage instanceof ServletServerHttpRequest ?
+								((ServletServerHttpRequest) inputMessage).getServletRequest() : null),
+								DispatchPhase.MESSAGE_CONVERSION);
+						try {
+							body = (genericConverter != null ? genericConverter.read(targetType, contextClass, msgToUse) :
+									((HttpMessageConverter<T>) converter).read(targetClass, msgToUse));
+						}
+						finally {
+							if (timer != null) {
+								timer.end();
+							}
+						}
 						body = getAdvice().afterBodyRead(body, msgToUse, parameter, targetType, converterType);
 					}
 					else {
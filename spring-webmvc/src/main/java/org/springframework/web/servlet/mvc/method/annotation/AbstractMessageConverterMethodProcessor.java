@@ -59,6 +59,7 @@ import org.springframework.web.accept.ContentNegotiationManager;
 import org.springframework.web.context.request.NativeWebRequest;
 import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.method.support.HandlerMethodReturnValueHandler;
+import org.springframework.web.servlet.DispatchPhase;
 import org.springframework.web.servlet.HandlerMapping;
 import org.springframework.web.util.UrlPathHelper;
 
@@ -283,11 +284,20 @@ public abstract class AbstractMessageConverterMethodProcessor extends AbstractMe
 						LogFormatUtils.traceDebug(logger, traceOn ->
 								"Writing [" + LogFormatUtils.formatValue(theBody, !traceOn) + "]");
 						addContentDispositionHeader(inputMessage, outputMessage);
-						if (genericConverter != null) {
-							genericConverter.write(body, targetType, selectedMediaType, outputMessage);
+						DispatchPhaseTimer timer =
+								DispatchPhaseTimer.start(inputMessage.getServletRequest(), DispatchPhase.MESSAGE_CONVERSION);
+						try {
+							if (genericConverter != null) {
+								genericConverter.write(body, targetType, selectedMediaType, outputMessage);
+							}
+							else {
+								((HttpMessageConverter) converter).write(body, selectedMediaType, outputMessage);
+							}
 						}
-						else {
-							((HttpMessageConverter) converter).write(body, selectedMediaType, outputMessage);
+						finally {
+							if (timer != null) {
+								timer.end();
+							}
 						}
 					}
 					else {
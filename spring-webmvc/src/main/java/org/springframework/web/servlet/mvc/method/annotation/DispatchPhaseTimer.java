@@ -0,0 +1,72 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.servlet.mvc.method.annotation;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.springframework.lang.Nullable;
+import org.springframework.web.servlet.DispatchPhase;
+import org.springframework.web.servlet.DispatchPhaseListener;
+import org.springframework.web.servlet.support.RequestContextUtils;
+
+/**
+ * Measures a {@link DispatchPhase} nested within handler invocation and reports
+ * it to the {@link DispatchPhaseListener} bound to the current request, if any.
+ *
+ * @author agent
+ * @since 5.3
+ */
+final class DispatchPhaseTimer {
+
+	private final DispatchPhaseListener listener;
+
+	private final HttpServletRequest request;
+
+	private final DispatchPhase phase;
+
+	private final long startTime = System.nanoTime();
+
+
+	private DispatchPhaseTimer(DispatchPhaseListener listener, HttpServletRequest request, DispatchPhase phase) {
+		this.listener = listener;
+		this.request = request;
+		this.phase = phase;
+	}
+
+
+	/**
+	 * Report the time elapsed since the timer was started.
+	 */
+	public void end() {
+		this.listener.onPhaseCompleted(this.request, this.phase, System.nanoTime() - this.startTime);
+	}
+
+
+	/**
+	 * Start timing the given phase for the given request.
+	 * @return the timer, or {@code null} if no listener is bound to the request
+	 */
+	@Nullable
+	public static DispatchPhaseTimer start(@Nullable HttpServletRequest request, DispatchPhase phase) {
+		if (request == null) {
+			return null;
+		}
+		DispatchPhaseListener listener = RequestContextUtils.getDispatchPhaseListener(request);
+		return (listener != null ? new DispatchPhaseTimer(listener, request, phase) : null);
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -35,12 +35,14 @@ import org.springframework.util.ClassUtils;
 import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.context.request.NativeWebRequest;
 import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.method.support.HandlerMethodReturnValueHandler;
 import org.springframework.web.method.support.HandlerMethodReturnValueHandlerComposite;
 import org.springframework.web.method.support.InvocableHandlerMethod;
 import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.servlet.DispatchPhase;
 import org.springframework.web.servlet.View;
 import org.springframework.web.util.NestedServletException;
 
@@ -131,6 +133,27 @@ public class ServletInvocableHandlerMethod extends InvocableHandlerMethod {
 		}
 	}
 
+	/**
+	 * This implementation reports the time spent to a
+	 * {@link org.springframework.web.servlet.DispatchPhaseListener}, if any,
+	 * as {@link DispatchPhase#ARGUMENT_RESOLUTION}.
+	 */
+	@Override
+	protected Object[] getMethodArgumentValues(NativeWebRequest request, @Nullable ModelAndViewContainer mavContainer,
+			Object... providedArgs) throws Exception {
+
+		DispatchPhaseTimer timer = DispatchPhaseTimer.start(
+				request.getNativeRequest(HttpServletRequest.class), DispatchPhase.ARGUMENT_RESOLUTION);
+		try {
+			return super.getMethodArgumentValues(request, mavContainer, providedArgs);
+		}
+		finally {
+			if (timer != null) {
+				timer.end();
+			}
+		}
+	}
+
 	/**
 	 * Set the response status according to the {@link ResponseStatus} annotation.
 	 */
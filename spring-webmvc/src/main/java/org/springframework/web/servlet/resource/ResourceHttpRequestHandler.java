@@ -16,6 +16,7 @@
 
 package org.springframework.web.servlet.resource;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
@@ -29,6 +30,7 @@ import java.util.Map;
 import java.util.stream.Collectors;
 
 import javax.servlet.ServletException;
+import javax.servlet.ServletResponseWrapper;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
@@ -103,6 +105,15 @@ public class ResourceHttpRequestHandler extends WebContentGenerator
 
 	private static final String URL_RESOURCE_CHARSET_PREFIX = "[charset=";
 
+	/** Request attribute through which Tomcat signals sendfile support. */
+	private static final String SENDFILE_SUPPORT_ATTRIBUTE = "org.apache.tomcat.sendfile.support";
+
+	private static final String SENDFILE_FILENAME_ATTRIBUTE = "org.apache.tomcat.sendfile.filename";
+
+	private static final String SENDFILE_START_ATTRIBUTE = "org.apache.tomcat.sendfile.start";
+
+	private static final String SENDFILE_END_ATTRIBUTE = "org.apache.tomcat.sendfile.end";
+
 
 	private final List<String> locationValues = new ArrayList<>(4);
 
@@ -140,6 +151,8 @@ public class ResourceHttpRequestHandler extends WebContentGenerator
 	@Nullable
 	private StringValueResolver embeddedValueResolver;
 
+	private boolean useSendfile = false;
+
 
 	public ResourceHttpRequestHandler() {
 		super(HttpMethod.GET.name(), HttpMethod.HEAD.name());
@@ -346,6 +359,36 @@ public class ResourceHttpRequestHandler extends WebContentGenerator
 		this.embeddedValueResolver = resolver;
 	}
 
+	/**
+	 * Whether to delegate the transfer of resources that reside in the file
+	 * system to the Servlet container, for containers that support it through
+	 * the "org.apache.tomcat.sendfile.*" request attributes (e.g. Tomcat with
+	 * an NIO or APR connector). The container then sends the file with a
+	 * zero-copy transfer, i.e. without reading the content into the heap.
+	 * <p>This applies to complete (non-range) GET requests for resources that
+	 * are {@link Resource#isFile() files}, including pre-encoded variants
+	 * resolved by {@link EncodedResourceResolver}, but not to transformed
+	 * resources. Other requests are served as usual.
+	 * <p>Sendfile is not used when the response is wrapped, e.g. by
+	 * {@link org.springframework.web.filter.ShallowEtagHeaderFilter} or a
+	 * compression filter, since the container writes the file to the underlying
+	 * response, bypassing any {@link ServletResponseWrapper} in between.
+	 * <p>By default this is set to {@code false}.
+	 * @since 5.3
+	 */
+	public void setUseSendfile(boolean useSendfile) {
+		this.useSendfile = useSendfile;
+	}
+
+	/**
+	 * Whether to delegate the transfer of file system resources to the
+	 * Servlet container, if supported.
+	 * @since 5.3
+	 */
+	public boolean isUseSendfile() {
+		return this.useSendfile;
+	}
+
 
 	@Override
 	public void afterPropertiesSet() throws Exception {
@@ -519,7 +562,9 @@ public class ResourceHttpRequestHandler extends WebContentGenerator
 		if (request.getHeader(HttpHeaders.RANGE) == null) {
 			Assert.state(this.resourceHttpMessageConverter != null, "Not initialized");
 			setHeaders(response, resource, mediaType);
-			this.resourceHttpMessageConverter.write(resource, mediaType, outputMessage);
+			if (!sendFile(request, response, resource)) {
+				this.resourceHttpMessageConverter.write(resource, mediaType, outputMessage);
+			}
 		}
 		else {
 			Assert.state(this.resourceRegionHttpMessageConverter != null, "Not initialized");
@@ -538,6 +583,31 @@ public class ResourceHttpRequestHandler extends WebContentGenerator
 		}
 	}
 
+	/**
+	 * Hand the given resource over to the Servlet container for a zero-copy
+	 * transfer, if {@link #setUseSendfile enabled} and supported.
+	 * <p>A wrapped response is always written to, since response wrappers
+	 * may need to see or transform the content.
+	 * @return {@code true} if the container will send the resource content,
+	 * {@code false} if it needs to be written to the response
+	 */
+	private boolean sendFile(HttpServletRequest request, HttpServletResponse response, Resource resource)
+			throws IOException {
+
+		if (!this.useSendfile || !Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTRIBUTE)) ||
+				response instanceof ServletResponseWrapper || !resource.isFile()) {
+			return false;
+		}
+		File file = resource.getFile();
+		request.setAttribute(SENDFILE_FILENAME_ATTRIBUTE, file.getAbsolutePath());
+		request.setAttribute(SENDFILE_START_ATTRIBUTE, 0L);
+		request.setAttribute(SENDFILE_END_ATTRIBUTE, resource.contentLength());
+		if (logger.isTraceEnabled()) {
+			logger.trace("Delegating transfer of " + file + " to the Servlet container");
+		}
+		return true;
+	}
+
 	@Nullable
 	protected Resource getResource(HttpServletRequest request) throws IOException {
 		String path = (String) request.getAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE);
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -35,6 +35,7 @@ import org.springframework.util.CollectionUtils;
 import org.springframework.web.context.ContextLoader;
 import org.springframework.web.context.WebApplicationContext;
 import org.springframework.web.context.support.WebApplicationContextUtils;
+import org.springframework.web.servlet.DispatchPhaseListener;
 import org.springframework.web.servlet.DispatcherServlet;
 import org.springframework.web.servlet.FlashMap;
 import org.springframework.web.servlet.FlashMapManager;
@@ -120,6 +121,18 @@ public abstract class RequestContextUtils {
 		return findWebApplicationContext(request, request.getServletContext());
 	}
 
+	/**
+	 * Return the DispatchPhaseListener that has been bound to the request by the
+	 * DispatcherServlet.
+	 * @param request current HTTP request
+	 * @return the current DispatchPhaseListener, or {@code null} if none
+	 * @since 5.3
+	 */
+	@Nullable
+	public static DispatchPhaseListener getDispatchPhaseListener(HttpServletRequest request) {
+		return (DispatchPhaseListener) request.getAttribute(DispatcherServlet.DISPATCH_PHASE_LISTENER_ATTRIBUTE);
+	}
+
 	/**
 	 * Return the LocaleResolver that has been bound to the request by the
 	 * DispatcherServlet.
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,7 +16,9 @@
 
 package org.springframework.web.servlet.view;
 
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -39,6 +41,10 @@ import org.springframework.web.servlet.ViewResolver;
  * <p>Subclasses need to implement the {@link #loadView} template method,
  * building the View object for a specific view name and locale.
  *
+ * <p>Cached views can be {@link #refreshCache() refreshed} in the background,
+ * e.g. from a scheduled task, in order to pick up changed templates without
+ * request threads having to wait for views to be re-created.
+ *
  * @author Rod Johnson
  * @author Juergen Hoeller
  * @see #loadView
@@ -76,6 +82,9 @@ public abstract class AbstractCachingViewResolver extends WebApplicationObjectSu
 	/** Fast access cache for Views, returning already cached instances without a global lock. */
 	private final Map<Object, View> viewAccessCache = new ConcurrentHashMap<>(DEFAULT_CACHE_LIMIT);
 
+	/** Map from view key to the view name and locale it was created for. */
+	private final Map<Object, ViewSource> viewSources = new ConcurrentHashMap<>(DEFAULT_CACHE_LIMIT);
+
 	/** Map from view key to View instance, synchronized for View creation. */
 	@SuppressWarnings("serial")
 	private final Map<Object, View> viewCreationCache =
@@ -84,6 +93,7 @@ public abstract class AbstractCachingViewResolver extends WebApplicationObjectSu
 				protected boolean removeEldestEntry(Map.Entry<Object, View> eldest) {
 					if (size() > getCacheLimit()) {
 						viewAccessCache.remove(eldest.getKey());
+						viewSources.remove(eldest.getKey());
 						return true;
 					}
 					else {
@@ -188,6 +198,7 @@ public abstract class AbstractCachingViewResolver extends WebApplicationObjectSu
 						if (view != null && this.cacheFilter.filter(view, viewName, locale)) {
 							this.viewAccessCache.put(cacheKey, view);
 							this.viewCreationCache.put(cacheKey, view);
+							this.viewSources.put(cacheKey, new ViewSource(viewName, locale));
 						}
 					}
 				}
@@ -234,6 +245,7 @@ public abstract class AbstractCachingViewResolver extends WebApplicationObjectSu
 			Object cachedView;
 			synchronized (this.viewCreationCache) {
 				this.viewAccessCache.remove(cacheKey);
+				this.viewSources.remove(cacheKey);
 				cachedView = this.viewCreationCache.remove(cacheKey);
 			}
 			if (logger.isDebugEnabled()) {
@@ -252,10 +264,74 @@ public abstract class AbstractCachingViewResolver extends WebApplicationObjectSu
 		logger.debug("Clearing all views from the cache");
 		synchronized (this.viewCreationCache) {
 			this.viewAccessCache.clear();
+			this.viewSources.clear();
 			this.viewCreationCache.clear();
 		}
 	}
 
+	/**
+	 * Re-create all currently cached view objects and replace them in the cache.
+	 * <p>In contrast to {@link #clearCache()}, cached views remain available
+	 * while their replacements are being created, so concurrent requests are
+	 * served from the cache without waiting for views (and the templates
+	 * behind them) to be loaded again. Unresolved views are resolved again.
+	 * <p>This is intended to be invoked periodically from a background thread,
+	 * e.g. through a {@link org.springframework.scheduling.TaskScheduler} or
+	 * a {@code @Scheduled} method, in order to pick up modified templates
+	 * while keeping template checks off the request threads.
+	 * <p>A view that fails to be re-created is logged, and the previously
+	 * cached view remains in place; the remaining views are refreshed regardless.
+	 * @since 5.3
+	 */
+	public void refreshCache() {
+		if (!isCache()) {
+			return;
+		}
+		List<Map.Entry<Object, ViewSource>> entries;
+		synchronized (this.viewCreationCache) {
+			entries = new ArrayList<>(this.viewSources.entrySet());
+		}
+		int failed = 0;
+		for (Map.Entry<Object, ViewSource> entry : entries) {
+			Object cacheKey = entry.getKey();
+			ViewSource source = entry.getValue();
+			View view;
+			try {
+				view = createView(source.viewName, source.locale);
+			}
+			catch (Exception ex) {
+				if (logger.isWarnEnabled()) {
+					logger.warn("Failed to refresh view '" + source.viewName + "' for locale " +
+							source.locale + ", keeping previously cached view", ex);
+				}
+				failed++;
+				continue;
+			}
+			if (view == null && this.cacheUnresolved) {
+				view = UNRESOLVED_VIEW;
+			}
+			synchronized (this.viewCreationCache) {
+				if (this.viewSources.get(cacheKey) != source) {
+					// Removed or re-created concurrently
+					continue;
+				}
+				if (view != null && this.cacheFilter.filter(view, source.viewName, source.locale)) {
+					this.viewAccessCache.put(cacheKey, view);
+					this.viewCreationCache.put(cacheKey, view);
+				}
+				else {
+					this.viewAccessCache.remove(cacheKey);
+					this.viewSources.remove(cacheKey);
+					this.viewCreationCache.remove(cacheKey);
+				}
+			}
+		}
+		if (logger.isDebugEnabled()) {
+			logger.debug("Refreshed " + (entries.size() - failed) + " cached views" +
+					(failed > 0 ? ", " + failed + " failed" : ""));
+		}
+	}
+
 
 	/**
 	 * Create the actual View object.
@@ -313,4 +389,20 @@ public abstract class AbstractCachingViewResolver extends WebApplicationObjectSu
 		boolean filter(View view, String viewName, Locale locale);
 	}
 
+
+	/**
+	 * The view name and locale that a cached view was created for.
+	 */
+	private static final class ViewSource {
+
+		final String viewName;
+
+		final Locale locale;
+
+		ViewSource(String viewName, Locale locale) {
+			this.viewName = viewName;
+			this.locale = locale;
+		}
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -101,6 +101,11 @@ public class FreeMarkerView extends AbstractTemplateView {
 	@Nullable
 	private ServletContextHashModel servletContextHashModel;
 
+	private boolean cacheTemplate = false;
+
+	@Nullable
+	private volatile Template cachedTemplate;
+
 
 	/**
 	 * Set the encoding of the FreeMarker template file. Default is determined
@@ -120,6 +125,20 @@ public class FreeMarkerView extends AbstractTemplateView {
 		return this.encoding;
 	}
 
+	/**
+	 * Set whether to keep the template loaded by {@link #checkResource} and
+	 * render it directly for the same locale, rather than retrieving it from the
+	 * FreeMarker Configuration on each request. This avoids FreeMarker's template
+	 * freshness checks on request threads; a changed template is only picked up
+	 * by a newly created view then.
+	 * <p>Default is "false".
+	 * @since 5.3
+	 * @see FreeMarkerViewResolver#setCacheTemplates
+	 */
+	public void setCacheTemplate(boolean cacheTemplate) {
+		this.cacheTemplate = cacheTemplate;
+	}
+
 	/**
 	 * Set the FreeMarker Configuration to be used by this view.
 	 * <p>If this is not set, the default lookup will occur: a single {@link FreeMarkerConfig}
@@ -226,7 +245,10 @@ public class FreeMarkerView extends AbstractTemplateView {
 
 		try {
 			// Check that we can get the template, even if we might subsequently get it again.
-			getTemplate(url, locale);
+			Template template = getTemplate(url, locale);
+			if (this.cacheTemplate) {
+				this.cachedTemplate = template;
+			}
 			return true;
 		}
 		catch (FileNotFoundException ex) {
@@ -354,6 +376,10 @@ public class FreeMarkerView extends AbstractTemplateView {
 	 * @see #getTemplate(String, java.util.Locale)
 	 */
 	protected Template getTemplate(Locale locale) throws IOException {
+		Template template = this.cachedTemplate;
+		if (template != null && locale.equals(template.getLocale())) {
+			return template;
+		}
 		String url = getUrl();
 		Assert.state(url != null, "'url' not set");
 		return getTemplate(url, locale);
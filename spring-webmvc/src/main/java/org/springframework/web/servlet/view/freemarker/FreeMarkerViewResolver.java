@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2009 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,6 +17,7 @@
 package org.springframework.web.servlet.view.freemarker;
 
 import org.springframework.web.servlet.view.AbstractTemplateViewResolver;
+import org.springframework.web.servlet.view.AbstractUrlBasedView;
 
 /**
  * Convenience subclass of {@link org.springframework.web.servlet.view.UrlBasedViewResolver}
@@ -40,6 +41,9 @@ import org.springframework.web.servlet.view.AbstractTemplateViewResolver;
  */
 public class FreeMarkerViewResolver extends AbstractTemplateViewResolver {
 
+	private boolean cacheTemplates = false;
+
+
 	/**
 	 * Sets the default {@link #setViewClass view class} to {@link #requiredViewClass}:
 	 * by default {@link FreeMarkerView}.
@@ -62,6 +66,31 @@ public class FreeMarkerViewResolver extends AbstractTemplateViewResolver {
 	}
 
 
+	/**
+	 * Set whether the views created by this resolver should keep the FreeMarker
+	 * template that they load on creation, rendering it without going back to
+	 * FreeMarker's template cache on each request.
+	 * <p>This keeps FreeMarker's template freshness checks off the request threads.
+	 * Modified templates are picked up when views are re-created instead, which
+	 * is best done through a periodic {@link #refreshCache()} call from a
+	 * background thread.
+	 * <p>Default is "false".
+	 * @since 5.3
+	 * @see FreeMarkerView#setCacheTemplate
+	 */
+	public void setCacheTemplates(boolean cacheTemplates) {
+		this.cacheTemplates = cacheTemplates;
+	}
+
+	/**
+	 * Return whether views keep the FreeMarker template loaded on creation.
+	 * @since 5.3
+	 */
+	public boolean isCacheTemplates() {
+		return this.cacheTemplates;
+	}
+
+
 	/**
 	 * Requires {@link FreeMarkerView}.
 	 */
@@ -70,4 +99,13 @@ public class FreeMarkerViewResolver extends AbstractTemplateViewResolver {
 		return FreeMarkerView.class;
 	}
 
+	@Override
+	protected AbstractUrlBasedView buildView(String viewName) throws Exception {
+		AbstractUrlBasedView view = super.buildView(viewName);
+		if (this.cacheTemplates) {
+			((FreeMarkerView) view).setCacheTemplate(true);
+		}
+		return view;
+	}
+
 }
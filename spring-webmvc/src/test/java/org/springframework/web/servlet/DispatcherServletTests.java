@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,6 +17,8 @@
 package org.springframework.web.servlet;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
 
 import javax.servlet.Servlet;
@@ -163,6 +165,41 @@ public class DispatcherServletTests {
 		assertThat("myform.jsp".equals(response.getForwardedUrl())).as("forwarded to form").isTrue();
 	}
 
+	@Test
+	public void dispatchPhaseListener() throws Exception {
+		List<DispatchPhase> phases = new ArrayList<>();
+		complexDispatcherServlet.setDispatchPhaseListener((request, phase, durationNanos) -> {
+			assertThat(durationNanos).isGreaterThanOrEqualTo(0);
+			phases.add(phase);
+		});
+		MockHttpServletRequest request = new MockHttpServletRequest(getServletContext(), "GET", "/view.do");
+		request.addUserRole("role1");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		complexDispatcherServlet.service(request, response);
+		assertThat("myform.jsp".equals(response.getForwardedUrl())).as("forwarded to form").isTrue();
+		assertThat(phases).containsSubsequence(DispatchPhase.HANDLER_LOOKUP, DispatchPhase.INTERCEPTOR_PRE_HANDLE,
+				DispatchPhase.HANDLER_INVOCATION, DispatchPhase.INTERCEPTOR_POST_HANDLE,
+				DispatchPhase.VIEW_RENDERING, DispatchPhase.INTERCEPTOR_AFTER_COMPLETION);
+		assertThat(phases).doesNotContain(DispatchPhase.EXCEPTION_RESOLUTION);
+	}
+
+	@Test
+	public void dispatchPhaseListenerWithFailingInterceptor() throws Exception {
+		List<DispatchPhase> phases = new ArrayList<>();
+		complexDispatcherServlet.setDispatchPhaseListener((request, phase, durationNanos) -> phases.add(phase));
+		MockHttpServletRequest request = new MockHttpServletRequest(getServletContext(), "GET", "/locale.do");
+		request.addPreferredLocale(Locale.CANADA);
+		request.addUserRole("role1");
+		// makes MyHandlerInterceptor1.preHandle throw
+		request.setAttribute("test2", "test2");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		complexDispatcherServlet.service(request, response);
+		assertThat(response.getForwardedUrl()).as("forwarded to failed").isEqualTo("failed0.jsp");
+		assertThat(phases).containsSubsequence(DispatchPhase.HANDLER_LOOKUP, DispatchPhase.INTERCEPTOR_PRE_HANDLE,
+				DispatchPhase.EXCEPTION_RESOLUTION, DispatchPhase.VIEW_RENDERING);
+		assertThat(phases).doesNotContain(DispatchPhase.HANDLER_INVOCATION);
+	}
+
 	@Test
 	public void handlerInterceptorSuppressesView() throws Exception {
 		MockHttpServletRequest request = new MockHttpServletRequest(getServletContext(), "GET", "/view.do");
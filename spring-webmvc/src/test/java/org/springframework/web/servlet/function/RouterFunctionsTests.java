@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -97,4 +97,40 @@ public class RouterFunctionsTests {
 		assertThat(resultHandlerFunction.isPresent()).isFalse();
 	}
 
+	@Test
+	public void optimize() {
+		HandlerFunction<ServerResponse> users = request -> ServerResponse.ok().build();
+		HandlerFunction<ServerResponse> user = request -> ServerResponse.ok().build();
+		HandlerFunction<ServerResponse> createUser = request -> ServerResponse.ok().build();
+		HandlerFunction<ServerResponse> order = request -> ServerResponse.ok().build();
+		HandlerFunction<ServerResponse> fallback = request -> ServerResponse.ok().build();
+
+		RouterFunction<ServerResponse> routerFunction = RouterFunctions.route()
+				.GET("/users", users)
+				.GET("/users/{id}", user)
+				.POST("/users", createUser)
+				.nest(RequestPredicates.path("/orders"), builder -> builder.GET("/{id}", order))
+				.route(RequestPredicates.all(), fallback)
+				.build();
+
+		RouterFunction<ServerResponse> result = RouterFunctions.optimize(routerFunction);
+		assertThat(result.toString()).isEqualTo(routerFunction.toString());
+
+		assertThat(route(result, "GET", "/users")).contains(users);
+		assertThat(route(result, "GET", "/users/42")).contains(user);
+		assertThat(route(result, "POST", "/users")).contains(createUser);
+		assertThat(route(result, "GET", "/orders/42")).contains(order);
+		assertThat(route(result, "DELETE", "/users")).contains(fallback);
+		assertThat(route(result, "GET", "/other")).contains(fallback);
+		assertThat(route(result, "GET", "/")).contains(fallback);
+	}
+
+	private static Optional<HandlerFunction<ServerResponse>> route(
+			RouterFunction<ServerResponse> routerFunction, String method, String path) {
+
+		ServerRequest request = new DefaultServerRequest(
+				PathPatternsTestUtils.initRequest(method, path, true), Collections.emptyList());
+		return routerFunction.route(request);
+	}
+
 }
@@ -95,4 +95,29 @@ class RouterFunctionMappingTests {
 		assertThat(result.getHandler()).isSameAs(handlerFunction);
 	}
 
+	@Test
+	public void optimizeRoutes() throws Exception {
+		HandlerFunction<ServerResponse> fooFunction = request -> ServerResponse.ok().build();
+		HandlerFunction<ServerResponse> barFunction = request -> ServerResponse.ok().build();
+		RouterFunction<ServerResponse> routerFunction = RouterFunctions.route()
+				.GET("/foo", fooFunction)
+				.GET("/bar", barFunction)
+				.build();
+
+		RouterFunctionMapping mapping = new RouterFunctionMapping(routerFunction);
+		mapping.setMessageConverters(this.messageConverters);
+		mapping.setOptimizeRoutes(true);
+		mapping.afterPropertiesSet();
+
+		assertThat(mapping.getRouterFunction()).isSameAs(routerFunction);
+
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/bar");
+		ServletRequestPathUtils.parseAndCache(request);
+
+		HandlerExecutionChain result = mapping.getHandler(request);
+
+		assertThat(result).isNotNull();
+		assertThat(result.getHandler()).isSameAs(barFunction);
+	}
+
 }
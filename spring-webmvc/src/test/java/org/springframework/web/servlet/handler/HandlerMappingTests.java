@@ -70,6 +70,54 @@ class HandlerMappingTests {
 		assertThat(chain.getInterceptors()).contains(i1.getInterceptor(), i2, i3.getInterceptor(), i4);
 	}
 
+	@PathPatternsParameterizedTest
+	void mappedInterceptorsCachedPerLookupPath(
+			TestHandlerMapping mapping, Function<String, MockHttpServletRequest> requestFactory)
+			throws Exception {
+
+		MappedInterceptor i1 = new MappedInterceptor(new String[] {"/foo/**"}, mock(HandlerInterceptor.class));
+		HandlerInterceptor i2 = mock(HandlerInterceptor.class);
+		MappedInterceptor i3 = new MappedInterceptor(
+				new String[] {"/**"}, new String[] {"/foo/bar"}, mock(HandlerInterceptor.class));
+
+		mapping.setInterceptors(i1, i2, i3);
+		mapping.setApplicationContext(new StaticWebApplicationContext());
+
+		for (int i = 0; i < 2; i++) {
+			HandlerExecutionChain chain = mapping.getHandler(requestFactory.apply("/foo/bar"));
+			assertThat(chain).isNotNull();
+			assertThat(chain.getInterceptors()).containsExactly(i1.getInterceptor(), i2);
+
+			chain = mapping.getHandler(requestFactory.apply("/foo/baz"));
+			assertThat(chain).isNotNull();
+			assertThat(chain.getInterceptors()).containsExactly(i1.getInterceptor(), i2, i3.getInterceptor());
+
+			chain = mapping.getHandler(requestFactory.apply("/other"));
+			assertThat(chain).isNotNull();
+			assertThat(chain.getInterceptors()).containsExactly(i2, i3.getInterceptor());
+		}
+	}
+
+	@PathPatternsParameterizedTest
+	void mappedInterceptorsWithCacheDisabled(
+			TestHandlerMapping mapping, Function<String, MockHttpServletRequest> requestFactory)
+			throws Exception {
+
+		MappedInterceptor i1 = new MappedInterceptor(new String[] {"/foo/**"}, mock(HandlerInterceptor.class));
+
+		mapping.setInterceptors(i1);
+		mapping.setCacheMappedInterceptors(false);
+		mapping.setApplicationContext(new StaticWebApplicationContext());
+
+		HandlerExecutionChain chain = mapping.getHandler(requestFactory.apply("/foo/bar"));
+		assertThat(chain).isNotNull();
+		assertThat(chain.getInterceptors()).containsExactly(i1.getInterceptor());
+
+		chain = mapping.getHandler(requestFactory.apply("/bar"));
+		assertThat(chain).isNotNull();
+		assertThat(chain.getInterceptors()).isNullOrEmpty();
+	}
+
 
 	private static class TestHandlerMapping extends AbstractHandlerMapping {
 
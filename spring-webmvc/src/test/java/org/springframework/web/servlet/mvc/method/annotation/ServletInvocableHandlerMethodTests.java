@@ -19,6 +19,8 @@ package org.springframework.web.servlet.mvc.method.annotation;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -40,6 +42,7 @@ import org.springframework.http.converter.HttpMessageNotWritableException;
 import org.springframework.http.converter.StringHttpMessageConverter;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.web.accept.ContentNegotiationManager;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.ResponseStatus;
@@ -52,6 +55,9 @@ import org.springframework.web.method.support.HandlerMethodArgumentResolverCompo
 import org.springframework.web.method.support.HandlerMethodReturnValueHandler;
 import org.springframework.web.method.support.HandlerMethodReturnValueHandlerComposite;
 import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.servlet.DispatchPhase;
+import org.springframework.web.servlet.DispatchPhaseListener;
+import org.springframework.web.servlet.DispatcherServlet;
 import org.springframework.web.servlet.view.RedirectView;
 import org.springframework.web.testfixture.servlet.MockHttpServletRequest;
 import org.springframework.web.testfixture.servlet.MockHttpServletResponse;
@@ -234,6 +240,26 @@ public class ServletInvocableHandlerMethodTests {
 		assertThat(this.mavContainer.getViewName()).isEqualTo("view");
 	}
 
+	@Test
+	public void invokeAndHandle_ReportsDispatchPhases() throws Exception {
+		List<DispatchPhase> phases = new ArrayList<>();
+		DispatchPhaseListener listener = (request, phase, durationNanos) -> phases.add(phase);
+		this.request.setAttribute(DispatcherServlet.DISPATCH_PHASE_LISTENER_ATTRIBUTE, listener);
+		this.request.setContentType("text/plain");
+		this.request.setContent("body".getBytes(StandardCharsets.UTF_8));
+
+		RequestResponseBodyMethodProcessor processor = new RequestResponseBodyMethodProcessor(this.converters);
+		this.argumentResolvers.addResolver(processor);
+		this.returnValueHandlers.addHandler(processor);
+
+		ServletInvocableHandlerMethod handlerMethod = getHandlerMethod(new Handler(), "echo", String.class);
+		handlerMethod.invokeAndHandle(this.webRequest, this.mavContainer);
+
+		assertThat(this.response.getContentAsString()).isEqualTo("body");
+		assertThat(phases).containsExactly(DispatchPhase.MESSAGE_CONVERSION,
+				DispatchPhase.ARGUMENT_RESOLUTION, DispatchPhase.MESSAGE_CONVERSION);
+	}
+
 	@Test
 	public void wrapConcurrentResult_MethodLevelResponseBody() throws Exception {
 		wrapConcurrentResult_ResponseBody(new MethodLevelResponseBodyHandler(), "bar", String.class);
@@ -430,6 +456,11 @@ public class ServletInvocableHandlerMethodTests {
 		public Object dynamicReturnValue(@RequestParam(required=false) String param) {
 			return (param != null) ? "view" : new RedirectView("redirectView");
 		}
+
+		@ResponseBody
+		public String echo(@RequestBody String body) {
+			return body;
+		}
 	}
 
 
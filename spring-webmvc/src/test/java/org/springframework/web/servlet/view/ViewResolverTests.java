@@ -20,6 +20,7 @@ import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.servlet.RequestDispatcher;
@@ -561,6 +562,58 @@ public class ViewResolverTests {
 		assertThat(count.intValue()).isEqualTo(2);
 	}
 
+	@Test
+	public void refreshCache() throws Exception {
+		AtomicInteger count = new AtomicInteger();
+		AbstractCachingViewResolver viewResolver = new AbstractCachingViewResolver() {
+			@Override
+			protected View loadView(String viewName, Locale locale) {
+				count.incrementAndGet();
+				return (viewName.equals("missing") ? null : new TestView());
+			}
+		};
+
+		View view1 = viewResolver.resolveViewName("view1", Locale.getDefault());
+		View view2 = viewResolver.resolveViewName("view2", Locale.getDefault());
+		assertThat(viewResolver.resolveViewName("missing", Locale.getDefault())).isNull();
+		viewResolver.removeFromCache("view2", Locale.getDefault());
+		assertThat(count.intValue()).isEqualTo(3);
+
+		viewResolver.refreshCache();
+		assertThat(count.intValue()).isEqualTo(5);
+
+		View refreshedView1 = viewResolver.resolveViewName("view1", Locale.getDefault());
+		assertThat(refreshedView1).isNotNull().isNotSameAs(view1);
+		assertThat(viewResolver.resolveViewName("missing", Locale.getDefault())).isNull();
+		assertThat(count.intValue()).isEqualTo(5);
+
+		assertThat(viewResolver.resolveViewName("view2", Locale.getDefault())).isNotNull().isNotSameAs(view2);
+		assertThat(count.intValue()).isEqualTo(6);
+	}
+
+	@Test
+	public void refreshCacheWithFailingView() throws Exception {
+		AtomicBoolean failing = new AtomicBoolean();
+		AbstractCachingViewResolver viewResolver = new AbstractCachingViewResolver() {
+			@Override
+			protected View loadView(String viewName, Locale locale) {
+				if (failing.get() && viewName.equals("view1")) {
+					throw new IllegalStateException("broken template");
+				}
+				return new TestView();
+			}
+		};
+
+		View view1 = viewResolver.resolveViewName("view1", Locale.getDefault());
+		View view2 = viewResolver.resolveViewName("view2", Locale.getDefault());
+
+		failing.set(true);
+		viewResolver.refreshCache();
+
+		assertThat(viewResolver.resolveViewName("view1", Locale.getDefault())).isSameAs(view1);
+		assertThat(viewResolver.resolveViewName("view2", Locale.getDefault())).isNotNull().isNotSameAs(view2);
+	}
+
 
 	public static class TestView extends InternalResourceView {
 
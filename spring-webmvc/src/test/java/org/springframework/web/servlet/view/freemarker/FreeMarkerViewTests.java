@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -23,6 +23,7 @@ import java.io.Writer;
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.servlet.http.HttpServletResponse;
 
@@ -145,6 +146,47 @@ public class FreeMarkerViewTests {
 		assertThat(response.getContentType()).isEqualTo("myContentType");
 	}
 
+	@Test
+	public void cacheTemplate() throws Exception {
+		MockServletContext sc = new MockServletContext();
+
+		AtomicInteger lookups = new AtomicInteger();
+		FreeMarkerConfigurer configurer = new FreeMarkerConfigurer();
+		configurer.setConfiguration(new TestConfiguration() {
+			@Override
+			public Template getTemplate(String name, Locale locale) throws IOException {
+				lookups.incrementAndGet();
+				return super.getTemplate(name, locale);
+			}
+		});
+		configurer.setServletContext(sc);
+
+		StaticWebApplicationContext wac = new StaticWebApplicationContext();
+		wac.setServletContext(sc);
+		wac.getBeanFactory().registerSingleton("configurer", configurer);
+		wac.refresh();
+
+		FreeMarkerViewResolver vr = new FreeMarkerViewResolver("prefix_", "_suffix");
+		vr.setCacheTemplates(true);
+		vr.setApplicationContext(wac);
+
+		View view = vr.resolveViewName("test", Locale.US);
+		assertThat(lookups.get()).isEqualTo(1);
+
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.addPreferredLocale(Locale.US);
+		request.setAttribute(DispatcherServlet.WEB_APPLICATION_CONTEXT_ATTRIBUTE, wac);
+		request.setAttribute(DispatcherServlet.LOCALE_RESOLVER_ATTRIBUTE, new AcceptHeaderLocaleResolver());
+		Map<String, Object> model = new HashMap<>();
+		model.put("myattr", "myvalue");
+		view.render(model, request, new MockHttpServletResponse());
+		view.render(model, request, new MockHttpServletResponse());
+		assertThat(lookups.get()).isEqualTo(1);
+
+		vr.refreshCache();
+		assertThat(lookups.get()).isEqualTo(2);
+	}
+
 	@Test
 	public void freeMarkerViewResolver() throws Exception {
 		MockServletContext sc = new MockServletContext();
@@ -187,7 +229,7 @@ public class FreeMarkerViewTests {
 		@Override
 		public Template getTemplate(String name, final Locale locale) throws IOException {
 			if (name.equals("templateName") || name.equals("prefix_test_suffix")) {
-				return new Template(name, new StringReader("test"), this) {
+				Template template = new Template(name, new StringReader("test"), this) {
 					@Override
 					public void process(Object model, Writer writer) throws TemplateException, IOException {
 						assertThat(locale).isEqualTo(Locale.US);
@@ -197,6 +239,8 @@ public class FreeMarkerViewTests {
 						assertThat(fmModel.get("myattr").toString()).isEqualTo("myvalue");
 					}
 				};
+				template.setLocale(locale);
+				return template;
 			}
 			else {
 				throw new FileNotFoundException();